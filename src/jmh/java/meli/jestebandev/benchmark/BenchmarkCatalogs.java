@@ -0,0 +1,28 @@
+package meli.jestebandev.benchmark;
+
+import meli.jestebandev.fixtures.CatalogGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Synthetic catalogs shared by the benchmarks, all generated from the same seed.
+ */
+final class BenchmarkCatalogs {
+
+    static final long SEED = 42L;
+
+    private BenchmarkCatalogs() {
+    }
+
+    static CatalogGenerator generator(int size) {
+        return CatalogGenerator.of(size, SEED);
+    }
+
+    static Path file(int size) throws IOException {
+        Path file = Files.createTempFile("catalog-" + size + "-", ".json");
+        file.toFile().deleteOnExit();
+        return generator(size).writeJson(file);
+    }
+}
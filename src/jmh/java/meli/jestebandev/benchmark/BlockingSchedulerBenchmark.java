@@ -0,0 +1,62 @@
+package meli.jestebandev.benchmark;
+
+import meli.jestebandev.infrastructure.config.BlockingSchedulerStrategy;
+import meli.jestebandev.infrastructure.config.SchedulerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to complete a burst of {@code concurrency} simultaneous blocking adapter calls, each
+ * waiting {@code blockMillis} (as a JDBC query or a remote pricing call would), on each
+ * {@link BlockingSchedulerStrategy}. Bounded elastic runs at most ten calls per core at a time
+ * and queues the rest; virtual threads run them all at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockingSchedulerBenchmark {
+
+    @Param({"BOUNDED_ELASTIC", "VIRTUAL_THREADS"})
+    public BlockingSchedulerStrategy strategy;
+
+    @Param({"100", "1000", "10000"})
+    public int concurrency;
+
+    @Param({"5"})
+    public int blockMillis;
+
+    private Scheduler scheduler;
+
+    @Setup
+    public void setUp() {
+        scheduler = new SchedulerConfig().blockingScheduler(strategy);
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Benchmark
+    public Long burstOfBlockingCalls() {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> Mono.fromCallable(() -> {
+                    Thread.sleep(blockMillis);
+                    return i;
+                }).subscribeOn(scheduler), concurrency)
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,131 @@
+package meli.jestebandev.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemFields;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemPage;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemProjection;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.PageResponse;
+import meli.jestebandev.infrastructure.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * DTO mapping ({@link ItemResponse#fromDomain}) and Jackson serialization of item and page payloads,
+ * in full or with the fields of a listing page ({@link ItemFields}), and pages streamed from the
+ * domain result into a pooled Netty buffer ({@link ItemPage}) as PrecompressedJsonWriter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemResponseSerializationBenchmark {
+
+    private static final String LISTING_FIELDS = "id,title,price,image,condition";
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Item item;
+    private List<Item> page;
+    private PageResponse<ItemResponse> pageResponse;
+    private PaginatedResult<Item> result;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        page = BenchmarkCatalogs.generator(pageSize).items().toList();
+        item = page.get(0);
+        pageResponse = toPageResponse(page);
+        result = new PaginatedResult<>(page, page.size(), 0, page.size());
+    }
+
+    @Benchmark
+    public ItemResponse mapItem() {
+        return ItemResponse.fromDomain(item);
+    }
+
+    @Benchmark
+    public byte[] serializeItem() throws Exception {
+        return objectMapper.writeValueAsBytes(ItemResponse.fromDomain(item));
+    }
+
+    @Benchmark
+    public PageResponse<ItemResponse> mapPage() {
+        return toPageResponse(page);
+    }
+
+    @Benchmark
+    public byte[] serializeMappedPage() throws Exception {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(toPageResponse(page));
+    }
+
+    @Benchmark
+    public byte[] projectAndSerializePage() throws Exception {
+        ItemFields fields = ItemFields.of(LISTING_FIELDS);
+        return objectMapper.writeValueAsBytes(toPage(page, item -> new ItemProjection(item, fields)));
+    }
+
+    @Benchmark
+    public int streamPage() throws Exception {
+        return stream(ItemPage.of(result));
+    }
+
+    @Benchmark
+    public int streamProjectedPage() throws Exception {
+        return stream(new ItemPage(result, ItemFields.of(LISTING_FIELDS)));
+    }
+
+    private int stream(ItemPage itemPage) throws Exception {
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.buffer(8 * 1024);
+        try {
+            OutputStream out = new ByteBufOutputStream(buffer);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                itemPage.write(generator);
+            }
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static PageResponse<ItemResponse> toPageResponse(List<Item> items) {
+        return toPage(items, ItemResponse::fromDomain);
+    }
+
+    private static <T> PageResponse<T> toPage(List<Item> items, Function<Item, T> mapper) {
+        return PageResponse.<T>builder()
+                .content(items.stream().map(mapper).toList())
+                .page(0)
+                .size(items.size())
+                .totalElements(items.size())
+                .totalPages(1)
+                .hasNext(false)
+                .hasPrevious(false)
+                .isFirst(true)
+                .isLast(true)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package meli.jestebandev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogChangeFeed;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogJournal;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogMerger;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogSharding;
+import meli.jestebandev.infrastructure.adapter.out.persistence.JsonItemRepository;
+import meli.jestebandev.infrastructure.adapter.out.persistence.PartitionedScanExecutor;
+import meli.jestebandev.infrastructure.adapter.out.persistence.TextAnalyzer;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw {@link JsonItemRepository} cost per lookup, per filtered scan and per type-ahead suggestion, on one shard and split
+ * across four scanned in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonItemRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"1", "4"})
+    public int shards;
+
+    private CatalogSharding sharding;
+    private JsonItemRepository repository;
+    private String[] ids;
+    private String category;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        CatalogGenerator generator = BenchmarkCatalogs.generator(catalogSize);
+        sharding = CatalogSharding.of(shards, "hash");
+        repository = new JsonItemRepository(
+                new ObjectMapper(),
+                new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true),
+                new PartitionedScanExecutor(0, Duration.ofMillis(2), 16_384),
+                Schedulers.boundedElastic(),
+                new FileSystemResource(BenchmarkCatalogs.file(catalogSize)),
+                CatalogJournal.disabled(),
+                new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 16),
+                CatalogMerger.disabled(),
+                sharding
+        );
+        // Warm the catalog cache so only the lookup/scan is measured
+        repository.findAll().count().block();
+
+        ids = new String[1024];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generator.itemId((int) ((i * 2_654_435_761L) % catalogSize));
+        }
+        category = generator.category(7).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sharding.destroy();
+    }
+
+    @Benchmark
+    public Item findById() {
+        String id = ids[next++ & (ids.length - 1)];
+        return repository.findById(id).block();
+    }
+
+    @Benchmark
+    public Item findByIdMissing() {
+        return repository.findById("MLA999999999999").block();
+    }
+
+    @Benchmark
+    public Long findByQuery() {
+        return repository.findByQuery("gamer pro").count().block();
+    }
+
+    @Benchmark
+    public Long findByFuzzyQuery() {
+        return repository.findByFuzzyQuery("gamre pro").count().block();
+    }
+
+    @Benchmark
+    public Long findByCategory() {
+        return repository.findByCategory(category).count().block();
+    }
+
+    @Benchmark
+    public Long findByQueryAndCategory() {
+        return repository.findByQueryAndCategory("envío gratis", category).count().block();
+    }
+
+    @Benchmark
+    public List<Item> suggest() {
+        return repository.suggest("gam", 5).collectList().block();
+    }
+}
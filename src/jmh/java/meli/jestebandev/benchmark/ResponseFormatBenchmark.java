@@ -0,0 +1,93 @@
+package meli.jestebandev.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.infrastructure.adapter.in.rest.codec.Jackson2ProtobufEncoder;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.PageResponse;
+import meli.jestebandev.infrastructure.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a search page in each response format ItemController negotiates, and of
+ * parsing it back as a caller would. The encoded size of each page is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private PageResponse<ItemResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        TypeReference<PageResponse<ItemResponse>> type = new TypeReference<>() {
+        };
+        switch (format) {
+            case "json" -> {
+                writer = new JacksonConfig().objectMapper().writerFor(type);
+                reader = new JacksonConfig().objectMapper().readerFor(type);
+            }
+            case "smile" -> {
+                writer = new SmileMapper().writerFor(type);
+                reader = new SmileMapper().readerFor(type);
+            }
+            case "cbor" -> {
+                writer = new CBORMapper().writerFor(type);
+                reader = new CBORMapper().readerFor(type);
+            }
+            case "protobuf" -> {
+                var schema = new Jackson2ProtobufEncoder().schema(PageResponse.class);
+                writer = new ProtobufMapper().writerFor(type).with(schema);
+                reader = new ProtobufMapper().readerFor(type).with(schema);
+            }
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+        List<Item> items = BenchmarkCatalogs.generator(pageSize).items().toList();
+        page = PageResponse.<ItemResponse>builder()
+                .content(items.stream().map(ItemResponse::fromDomain).toList())
+                .page(0)
+                .size(items.size())
+                .totalElements(items.size())
+                .totalPages(1)
+                .isFirst(true)
+                .isLast(true)
+                .build();
+        encoded = writer.writeValueAsBytes(page);
+        System.out.printf("%n%s page of %d items: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageResponse<ItemResponse> parsePage() throws Exception {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,123 @@
+package meli.jestebandev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import meli.jestebandev.application.usecase.SearchItemsService;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogChangeFeed;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogJournal;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogMerger;
+import meli.jestebandev.infrastructure.adapter.out.persistence.CatalogSharding;
+import meli.jestebandev.infrastructure.adapter.out.persistence.JsonItemRepository;
+import meli.jestebandev.infrastructure.adapter.out.persistence.PartitionedScanExecutor;
+import meli.jestebandev.infrastructure.adapter.out.persistence.R2dbcItemRepository;
+import meli.jestebandev.infrastructure.adapter.out.persistence.TextAnalyzer;
+import meli.jestebandev.infrastructure.adapter.out.validation.SecurityInputValidator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full paginated search through {@link SearchItemsService}: validation, filtering, count and page,
+ * on either catalog engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchItemsServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    // json: in-memory JsonItemRepository; h2: R2dbcItemRepository over an in-memory H2 database
+    @Param({"json", "h2"})
+    public String engine;
+
+    private SearchItemsService service;
+    private String category;
+    private ConnectionPool pool;
+
+    @Setup
+    public void setUp() throws Exception {
+        FileSystemResource catalog = new FileSystemResource(BenchmarkCatalogs.file(catalogSize));
+        ItemRepository repository;
+        if (engine.equals("h2")) {
+            pool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                    ConnectionFactories.get("r2dbc:h2:mem:///benchmark?options=DB_CLOSE_DELAY=-1")).build());
+            repository = new R2dbcItemRepository(
+                    DatabaseClient.create(pool),
+                    new ObjectMapper(),
+                    new ItemMetrics(new SimpleMeterRegistry()),
+                    new TextAnalyzer(false, true),
+                    Schedulers.boundedElastic(),
+                    catalog
+            );
+        } else {
+            repository = new JsonItemRepository(
+                    new ObjectMapper(),
+                    new ItemMetrics(new SimpleMeterRegistry()),
+                    new TextAnalyzer(false, true),
+                    new PartitionedScanExecutor(0, Duration.ofMillis(2), 16_384),
+                    Schedulers.boundedElastic(),
+                    catalog,
+                    CatalogJournal.disabled(),
+                    new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 16),
+                    CatalogMerger.disabled(),
+                    CatalogSharding.single()
+            );
+        }
+        repository.findAll().count().block();
+        service = new SearchItemsService(repository, new SecurityInputValidator());
+        category = BenchmarkCatalogs.generator(catalogSize).category(7).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    @Benchmark
+    public PaginatedResult<Item> firstPageAll() {
+        return service.executeWithPagination(new SearchCriteria(null, null, MatchMode.EXACT_OR_FUZZY), 0, 20).block();
+    }
+
+    @Benchmark
+    public PaginatedResult<Item> firstPageByQuery() {
+        return service.executeWithPagination(
+                new SearchCriteria("gamer", null, MatchMode.EXACT_OR_FUZZY), 0, 20).block();
+    }
+
+    @Benchmark
+    public PaginatedResult<Item> deepPageByQuery() {
+        return service.executeWithPagination(
+                new SearchCriteria("gamer", null, MatchMode.EXACT_OR_FUZZY), 50, 20).block();
+    }
+
+    @Benchmark
+    public PaginatedResult<Item> firstPageByQueryAndCategory() {
+        return service.executeWithPagination(
+                new SearchCriteria("gratis", category, MatchMode.EXACT_OR_FUZZY), 0, 20).block();
+    }
+}
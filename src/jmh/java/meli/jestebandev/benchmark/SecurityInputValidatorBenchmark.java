@@ -0,0 +1,47 @@
+package meli.jestebandev.benchmark;
+
+import meli.jestebandev.infrastructure.adapter.out.validation.SecurityInputValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link SecurityInputValidator} checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecurityInputValidatorBenchmark {
+
+    private final SecurityInputValidator validator = new SecurityInputValidator();
+
+    private final String itemId = "MLU123456789";
+    private final String shortQuery = "laptop";
+    private final String longQuery = "Laptop Dell XPS 15 Intel Core i7 16GB RAM & 512GB SSD <new> ".repeat(3).trim();
+    private final String category = "MLA1648";
+
+    @Benchmark
+    public String validateItemId() {
+        return validator.validateItemId(itemId);
+    }
+
+    @Benchmark
+    public String validateShortQuery() {
+        return validator.validateSearchQuery(shortQuery);
+    }
+
+    @Benchmark
+    public String validateLongQuery() {
+        return validator.validateSearchQuery(longQuery);
+    }
+
+    @Benchmark
+    public String validateCategory() {
+        return validator.validateCategory(category);
+    }
+}
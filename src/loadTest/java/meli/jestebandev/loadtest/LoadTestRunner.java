@@ -0,0 +1,176 @@
+package meli.jestebandev.loadtest;
+
+import meli.jestebandev.MeliApiApplication;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.fixtures.ZipfDistribution;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * End-to-end macro benchmark: boots {@link MeliApiApplication} on a random port against a
+ * generated catalog and drives lookups and searches over HTTP at a fixed arrival rate.
+ * <p>
+ * Run with {@code ./gradlew loadTest -Pload.rate=2000 -Pload.items=1000000}; see
+ * {@link LoadTestSettings} for every option.
+ */
+public final class LoadTestRunner {
+
+    private static final String[] QUERIES = {
+            "laptop", "smart tv", "celular", "gamer", "auriculares", "samsung", "garantía",
+            "envío gratis", "consola", "bicicleta", "16gb ram", "inalámbrico", "pro", "cámara"
+    };
+    private static final int[] PAGE_SIZES = {10, 10, 10, 20, 50};
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        CatalogGenerator generator = CatalogGenerator.of(settings.items(), settings.seed());
+
+        Path catalog = Files.createTempFile("loadtest-catalog-", ".json");
+        catalog.toFile().deleteOnExit();
+        long generationStart = System.nanoTime();
+        generator.writeJson(catalog);
+        System.out.printf("Generated %,d items in %d ms%n",
+                settings.items(), (System.nanoTime() - generationStart) / 1_000_000);
+
+        // Passed as arguments (not default properties) so they take precedence over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MeliApiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--catalog.location=file:" + catalog.toAbsolutePath(),
+                        "--logging.level.meli.jestebandev=WARN"
+                );
+        int exitCode;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            WebClient webClient = webClient(port, settings.maxInFlight());
+
+            // Force the catalog load before the clock starts
+            webClient.get().uri("/api/items?size=1").retrieve().toBodilessEntity().block(Duration.ofMinutes(5));
+
+            OpenModelLoadGenerator load = new OpenModelLoadGenerator(webClient, settings.maxInFlight());
+            LongFunction<OpenModelLoadGenerator.Request> requests = requestMix(generator, settings);
+
+            System.out.printf("Warming up for %s at %,d req/s%n", settings.warmup(), settings.rate());
+            load.run(settings.rate(), settings.warmup(), requests);
+
+            System.out.printf("Measuring for %s at %,d req/s%n", settings.duration(), settings.rate());
+            OpenModelLoadGenerator.Result result = load.run(settings.rate(), settings.duration(), requests);
+
+            report(settings, result, System.out);
+            writeHistograms(settings, result);
+            exitCode = meetsSlo(settings, result) ? 0 : 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static WebClient webClient(int port, int maxConnections) {
+        ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                .maxConnections(Math.min(maxConnections, 2_048))
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(30));
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Deterministic request mix: IDs are drawn uniformly from the catalog, categories follow
+     * the same Zipf popularity as the catalog, and most searches ask for the first pages.
+     */
+    private static LongFunction<OpenModelLoadGenerator.Request> requestMix(CatalogGenerator generator,
+                                                                           LoadTestSettings settings) {
+        ZipfDistribution categories = new ZipfDistribution(generator.spec().categories(), 1.07);
+        return sequence -> {
+            SplittableRandom random = new SplittableRandom(settings.seed() * 31 + sequence);
+            if (random.nextDouble() >= settings.searchRatio()) {
+                String id = generator.itemId(random.nextInt(settings.items()));
+                return new OpenModelLoadGenerator.Request(false, "/api/items/" + id);
+            }
+            // Raw text: WebClient encodes spaces and accents when expanding the URI
+            StringBuilder uri = new StringBuilder("/api/items?");
+            int shape = random.nextInt(10);
+            if (shape < 8) {
+                uri.append("q=").append(QUERIES[random.nextInt(QUERIES.length)]).append('&');
+            }
+            if (shape >= 5) {
+                uri.append("category=").append(generator.category(categories.sample(random)).getId()).append('&');
+            }
+            uri.append("page=").append(random.nextInt(100) < 80 ? 0 : random.nextInt(1, 5));
+            uri.append("&size=").append(PAGE_SIZES[random.nextInt(PAGE_SIZES.length)]);
+            return new OpenModelLoadGenerator.Request(true, uri.toString());
+        };
+    }
+
+    private static void report(LoadTestSettings settings, OpenModelLoadGenerator.Result result, PrintStream out) {
+        out.println();
+        out.printf("Catalog: %,d items | target %,d req/s | achieved %,.1f req/s | errors %,d | dropped %,d%n",
+                settings.items(), settings.rate(), result.throughput(), result.errors(), result.dropped());
+        out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        printRow(out, "lookup", result.lookups());
+        printRow(out, "search", result.searches());
+        printRow(out, "all", result.all());
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-10s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static void writeHistograms(LoadTestSettings settings, OpenModelLoadGenerator.Result result) throws IOException {
+        Path dir = Files.createDirectories(Path.of(settings.reportDir()));
+        writeHistogram(dir.resolve("lookup.hgrm"), result.lookups());
+        writeHistogram(dir.resolve("search.hgrm"), result.searches());
+        writeHistogram(dir.resolve("all.hgrm"), result.all());
+        System.out.println("Percentile distributions written to " + dir.toAbsolutePath());
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Output scaled to milliseconds so the files load directly into HdrHistogram's plotter
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+
+    private static boolean meetsSlo(LoadTestSettings settings, OpenModelLoadGenerator.Result result) {
+        if (settings.sloP99() == null) {
+            return true;
+        }
+        long p99 = result.all().getValueAtPercentile(99);
+        boolean met = p99 <= settings.sloP99().toNanos() && result.errors() == 0 && result.dropped() == 0;
+        System.out.printf("SLO p99 <= %d ms: %s (p99 %.2f ms)%n",
+                settings.sloP99().toMillis(), met ? "MET" : "MISSED", millis(p99));
+        return met;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,44 @@
+package meli.jestebandev.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from {@code load.*} system properties (see the {@code loadTest} Gradle task).
+ *
+ * @param items          size of the generated catalog
+ * @param seed           catalog and request-mix seed
+ * @param rate           target arrival rate in requests per second (open model)
+ * @param warmup         warm-up phase, excluded from the report
+ * @param duration       measured phase
+ * @param searchRatio    share of requests that are searches; the rest are lookups by ID
+ * @param maxInFlight    outstanding requests above which new arrivals are dropped and counted
+ * @param sloP99         optional p99 objective; the run fails when it is exceeded
+ * @param reportDir      directory for the HdrHistogram percentile distributions
+ */
+record LoadTestSettings(
+        int items,
+        long seed,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        double searchRatio,
+        int maxInFlight,
+        Duration sloP99,
+        String reportDir
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        String slo = System.getProperty("load.sloP99Millis");
+        return new LoadTestSettings(
+                Integer.getInteger("load.items", 100_000),
+                Long.getLong("load.seed", 42L),
+                Integer.getInteger("load.rate", 500),
+                Duration.ofSeconds(Long.getLong("load.warmupSeconds", 10L)),
+                Duration.ofSeconds(Long.getLong("load.durationSeconds", 30L)),
+                Double.parseDouble(System.getProperty("load.searchRatio", "0.5")),
+                Integer.getInteger("load.maxInFlight", 10_000),
+                slo == null || slo.isBlank() ? null : Duration.ofMillis(Long.parseLong(slo)),
+                System.getProperty("load.reportDir", "build/reports/loadtest")
+        );
+    }
+}
@@ -0,0 +1,119 @@
+package meli.jestebandev.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load generator: requests are issued on a fixed schedule regardless of how fast
+ * the server answers, and latency is measured from each request's <em>intended</em> start time.
+ * A stalled server therefore shows up as latency instead of silently lowering the offered load
+ * (no coordinated omission).
+ */
+class OpenModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final WebClient webClient;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelLoadGenerator(WebClient webClient, int maxInFlight) {
+        this.webClient = webClient;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Drives {@code rate} requests per second for {@code duration}. {@code requests} maps the
+     * sequence number of a request to its endpoint and URI.
+     */
+    Result run(int rate, Duration duration, LongFunction<Request> requests) throws InterruptedException {
+        Recorder lookups = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        Recorder searches = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        AtomicLong errors = new AtomicLong();
+        AtomicLong dropped = new AtomicLong();
+
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = duration.toNanos() / periodNanos;
+        CountDownLatch completed = new CountDownLatch((int) total);
+        long start = System.nanoTime();
+
+        for (long sequence = 0; sequence < total; sequence++) {
+            long intended = start + sequence * periodNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (inFlight.get() >= maxInFlight) {
+                dropped.incrementAndGet();
+                completed.countDown();
+                continue;
+            }
+
+            Request request = requests.apply(sequence);
+            Recorder recorder = request.search() ? searches : lookups;
+            inFlight.incrementAndGet();
+            webClient.get()
+                    .uri(request.uri())
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().is2xxSuccessful()))
+                    .subscribe(
+                            ok -> {
+                                if (!ok) {
+                                    errors.incrementAndGet();
+                                }
+                                record(recorder, intended);
+                            },
+                            error -> {
+                                errors.incrementAndGet();
+                                record(recorder, intended);
+                                finish(completed);
+                            },
+                            () -> finish(completed)
+                    );
+        }
+        long issuedNanos = System.nanoTime() - start;
+
+        completed.await(1, TimeUnit.MINUTES);
+        return new Result(
+                lookups.getIntervalHistogram(),
+                searches.getIntervalHistogram(),
+                errors.get(),
+                dropped.get(),
+                issuedNanos
+        );
+    }
+
+    private void finish(CountDownLatch completed) {
+        inFlight.decrementAndGet();
+        completed.countDown();
+    }
+
+    private static void record(Recorder recorder, long intendedStart) {
+        recorder.recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    record Request(boolean search, String uri) {
+    }
+
+    record Result(Histogram lookups, Histogram searches, long errors, long dropped, long elapsedNanos) {
+
+        Histogram all() {
+            Histogram all = lookups.copy();
+            all.add(searches);
+            return all;
+        }
+
+        double throughput() {
+            return all().getTotalCount() / (elapsedNanos / 1e9);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package meli.jestebandev.application.usecase;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every paginated search. Disabled by default.
+ */
+@Name("meli.ItemSearch")
+@Label("Item Search")
+@Description("Paginated item search, from validation to the assembled page")
+@Category({"MeliApi", "Search"})
+@Enabled(false)
+@StackTrace(false)
+class ItemSearchEvent extends jdk.jfr.Event {
+
+    @Label("Filter")
+    String filter;
+
+    @Label("Query Length")
+    int queryLength;
+
+    @Label("Page")
+    int page;
+
+    @Label("Page Size")
+    int size;
+
+    @Label("Results")
+    int results;
+
+    @Label("Total Matches")
+    long totalElements;
+}
@@ -0,0 +1,44 @@
+package meli.jestebandev.application.usecase;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.in.ManageItemsUseCase;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ManageItemsService implements ManageItemsUseCase {
+
+    private final ItemRepository itemRepository;
+    private final InputValidator inputValidator;
+
+    @Override
+    public Mono<Item> create(Item item) {
+        return itemRepository.create(inputValidator.validateItem(item));
+    }
+
+    @Override
+    public Mono<Item> update(String id, Item item) {
+        String validatedId = inputValidator.validateItemId(id);
+        // The ID comes from the path; a body naming another item is a client error
+        if (item != null && item.getId() != null && !validatedId.equals(item.getId().trim())) {
+            throw new ValidationException("Item ID in the body does not match the path");
+        }
+        Item validatedItem = inputValidator.validateItem(
+                item != null ? item.toBuilder().id(validatedId).build() : null);
+
+        return itemRepository.update(validatedItem);
+    }
+
+    @Override
+    public Mono<Item> decrementStock(String id, int quantity) {
+        String validatedId = inputValidator.validateItemId(id);
+        inputValidator.validateStockQuantity(quantity);
+
+        return itemRepository.decrementStock(validatedId, quantity);
+    }
+}
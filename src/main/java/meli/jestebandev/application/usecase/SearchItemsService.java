@@ -1,8 +1,12 @@
 package meli.jestebandev.application.usecase;
 
+import jdk.jfr.EventType;
 import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.exception.ValidationException;
 import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
 import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
 import meli.jestebandev.domain.port.in.SearchItemsUseCase;
 import meli.jestebandev.domain.port.out.InputValidator;
 import meli.jestebandev.domain.port.out.ItemRepository;
@@ -10,12 +14,14 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class SearchItemsService implements SearchItemsUseCase {
 
+    private static final EventType SEARCH_EVENT = EventType.getEventType(ItemSearchEvent.class);
+
     private final ItemRepository itemRepository;
     private final InputValidator inputValidator;
 
@@ -27,26 +33,79 @@ public class SearchItemsService implements SearchItemsUseCase {
     }
 
     @Override
-    public Mono<PaginatedResult<Item>> executeWithPagination(String query, String categoryId, int page, int size) {
-        inputValidator.validatePagination(page, size);
+    public Mono<PaginatedResult<Item>> executeWithPagination(SearchCriteria criteria, int page, int size) {
+        SearchCriteria validated = validated(criteria, page, size);
+        Mono<PaginatedResult<Item>> result;
+        if (validated.match() == MatchMode.EXACT_OR_FUZZY) {
+            result = itemRepository.findPage(validated.withMatch(MatchMode.EXACT), page, size);
+            if (validated.hasQuery()) {
+                // Typo-tolerant fallback, only paid for when the exact search finds nothing
+                result = result.flatMap(paginated -> paginated.totalElements() == 0
+                        ? itemRepository.findPage(validated.withMatch(MatchMode.FUZZY), page, size)
+                        : Mono.just(paginated));
+            }
+        } else {
+            result = itemRepository.findPage(validated, page, size);
+        }
 
-        String validatedQuery = inputValidator.validateSearchQuery(query);
-        String validatedCategory = inputValidator.validateCategory(categoryId);
-        
-        Flux<Item> itemsFlux = getFilteredItems(validatedQuery, validatedCategory);
+        return SEARCH_EVENT.isEnabled()
+                ? withSearchEvent(result, validated.query(), validated.categoryId())
+                : result;
+    }
+
+    @Override
+    public Optional<String> pageKey(SearchCriteria criteria, int page, int size) {
+        Optional<String> version = itemRepository.version();
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        SearchCriteria validated;
+        try {
+            validated = validated(criteria, page, size);
+        } catch (ValidationException e) {
+            return Optional.empty();
+        }
+        String category = validated.categoryId() != null ? validated.categoryId() : "";
+        String query = validated.query() != null ? itemRepository.matchedQuery(validated.query()) : "";
+        // The query last, as the only part that may hold spaces
+        return Optional.of(version.get() + ' ' + validated.match() + ' ' + page + ' ' + size + ' '
+                + category + ' ' + query);
+    }
 
-        Mono<Long> totalCount = itemsFlux.count();
+    private SearchCriteria validated(SearchCriteria criteria, int page, int size) {
+        inputValidator.validatePagination(page, size);
+        String validatedQuery = inputValidator.validateSearchQuery(criteria.query());
+        String validatedCategory = inputValidator.validateCategory(criteria.categoryId());
+        return new SearchCriteria(validatedQuery, validatedCategory, criteria.match());
+    }
 
-        Flux<Item> paginatedItems = getFilteredItems(validatedQuery, validatedCategory)
-                .skip((long) page * size)
-                .take(size);
+    private Mono<PaginatedResult<Item>> withSearchEvent(Mono<PaginatedResult<Item>> result,
+                                                        String query, String categoryId) {
+        return Mono.defer(() -> {
+            ItemSearchEvent event = new ItemSearchEvent();
+            event.begin();
+            return result.doOnNext(paginated -> {
+                event.filter = filterOf(query, categoryId);
+                event.queryLength = query != null ? query.length() : 0;
+                event.page = paginated.page();
+                event.size = paginated.size();
+                event.results = paginated.content().size();
+                event.totalElements = paginated.totalElements();
+                event.commit();
+            });
+        });
+    }
 
-        return Mono.zip(paginatedItems.collectList(), totalCount)
-                .map(tuple -> {
-                    List<Item> content = tuple.getT1();
-                    long totalElements = tuple.getT2();
-                    return new PaginatedResult<>(content, totalElements, page, size);
-                });
+    private static String filterOf(String query, String categoryId) {
+        boolean hasQuery = query != null && !query.isBlank();
+        boolean hasCategory = categoryId != null && !categoryId.isBlank();
+        if (hasQuery && hasCategory) {
+            return "query+category";
+        }
+        if (hasQuery) {
+            return "query";
+        }
+        return hasCategory ? "category" : "all";
     }
 
     private Flux<Item> getFilteredItems(String query, String categoryId) {
@@ -65,4 +124,3 @@ public class SearchItemsService implements SearchItemsUseCase {
         return itemRepository.findAll();
     }
 }
-
@@ -0,0 +1,23 @@
+package meli.jestebandev.application.usecase;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.ItemChange;
+import meli.jestebandev.domain.port.in.StreamItemChangesUseCase;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.domain.port.out.ItemChangeStream;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@RequiredArgsConstructor
+public class StreamItemChangesService implements StreamItemChangesUseCase {
+
+    private final ItemChangeStream itemChangeStream;
+    private final InputValidator inputValidator;
+
+    @Override
+    public Flux<ItemChange> execute(Long sinceVersion) {
+        inputValidator.validateChangeVersion(sinceVersion);
+        return itemChangeStream.changesSince(sinceVersion);
+    }
+}
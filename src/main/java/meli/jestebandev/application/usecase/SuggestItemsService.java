@@ -0,0 +1,28 @@
+package meli.jestebandev.application.usecase;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.in.SuggestItemsUseCase;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@RequiredArgsConstructor
+public class SuggestItemsService implements SuggestItemsUseCase {
+
+    private final ItemRepository itemRepository;
+    private final InputValidator inputValidator;
+
+    @Override
+    public Flux<Item> execute(String prefix, int limit) {
+        inputValidator.validateSuggestionLimit(limit);
+        String validatedPrefix = inputValidator.validateSearchQuery(prefix);
+
+        if (validatedPrefix == null) {
+            return Flux.empty();
+        }
+        return itemRepository.suggest(validatedPrefix, limit);
+    }
+}
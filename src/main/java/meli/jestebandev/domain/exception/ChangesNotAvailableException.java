@@ -0,0 +1,9 @@
+package meli.jestebandev.domain.exception;
+
+public class ChangesNotAvailableException extends DomainException {
+
+    public ChangesNotAvailableException(long sinceVersion, long oldestVersion, long latestVersion) {
+        super("Changes since version " + sinceVersion + " are not available (oldest kept: " + oldestVersion
+                + ", latest: " + latestVersion + "); reload the catalog and follow the changes from the latest version");
+    }
+}
@@ -0,0 +1,8 @@
+package meli.jestebandev.domain.exception;
+
+public class InsufficientStockException extends DomainException {
+
+    public InsufficientStockException(String id, int requested, int available) {
+        super("Insufficient stock for item " + id + ": requested " + requested + ", available " + available);
+    }
+}
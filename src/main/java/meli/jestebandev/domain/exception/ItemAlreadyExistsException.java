@@ -0,0 +1,8 @@
+package meli.jestebandev.domain.exception;
+
+public class ItemAlreadyExistsException extends DomainException {
+
+    public ItemAlreadyExistsException(String id) {
+        super("Item already exists with ID: " + id);
+    }
+}
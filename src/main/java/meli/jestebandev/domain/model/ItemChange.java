@@ -0,0 +1,18 @@
+package meli.jestebandev.domain.model;
+
+/**
+ * One change to the catalog. {@code version} numbers the changes in the order they were
+ * published, starting at 1; {@code item} is the item after the change, null when removed.
+ */
+public record ItemChange(
+        long version,
+        Type type,
+        String itemId,
+        Item item
+) {
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED
+    }
+}
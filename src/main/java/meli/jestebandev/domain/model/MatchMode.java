@@ -0,0 +1,23 @@
+package meli.jestebandev.domain.model;
+
+/**
+ * How the words of a search query match catalog text.
+ */
+public enum MatchMode {
+
+    /** The whole query must appear as written, as one phrase within the text, accents and case aside. */
+    EXACT,
+
+    /** Every word may also match its closest catalog words, tolerating typos. */
+    FUZZY,
+
+    /** {@link #EXACT}, retried as {@link #FUZZY} when nothing matches. */
+    EXACT_OR_FUZZY;
+
+    /**
+     * The mode a search asks for with its {@code fuzzy} and {@code fallback} options.
+     */
+    public static MatchMode of(boolean fuzzy, boolean fallback) {
+        return fuzzy ? FUZZY : fallback ? EXACT_OR_FUZZY : EXACT;
+    }
+}
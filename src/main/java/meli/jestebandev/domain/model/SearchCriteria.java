@@ -0,0 +1,27 @@
+package meli.jestebandev.domain.model;
+
+/**
+ * Filters of a catalog search. A blank {@code query} or {@code categoryId} does not filter;
+ * {@code match} tells how the query matches.
+ */
+public record SearchCriteria(
+        String query,
+        String categoryId,
+        MatchMode match
+) {
+    public boolean hasQuery() {
+        return query != null && !query.isBlank();
+    }
+
+    public boolean hasCategory() {
+        return categoryId != null && !categoryId.isBlank();
+    }
+
+    public boolean fuzzy() {
+        return match == MatchMode.FUZZY;
+    }
+
+    public SearchCriteria withMatch(MatchMode match) {
+        return new SearchCriteria(query, categoryId, match);
+    }
+}
@@ -0,0 +1,13 @@
+package meli.jestebandev.domain.port.in;
+
+import meli.jestebandev.domain.model.Item;
+import reactor.core.publisher.Mono;
+
+public interface ManageItemsUseCase {
+
+    Mono<Item> create(Item item);
+
+    Mono<Item> update(String id, Item item);
+
+    Mono<Item> decrementStock(String id, int quantity);
+}
@@ -2,13 +2,27 @@ package meli.jestebandev.domain.port.in;
 
 import meli.jestebandev.domain.model.Item;
 import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 public interface SearchItemsUseCase {
 
     Flux<Item> execute(String query, String categoryId);
 
-    Mono<PaginatedResult<Item>> executeWithPagination(String query, String categoryId, int page, int size);
+    /**
+     * Page {@code page} of the items matching {@code criteria}, in catalog order, with the total
+     * number of matches.
+     */
+    Mono<PaginatedResult<Item>> executeWithPagination(SearchCriteria criteria, int page, int size);
+
+    /**
+     * Key of the page {@link #executeWithPagination} finds for the same arguments in the current
+     * catalog: equal keys find equal pages until the catalog changes. Empty when the catalog has
+     * no version or the arguments are not valid.
+     */
+    Optional<String> pageKey(SearchCriteria criteria, int page, int size);
 }
 
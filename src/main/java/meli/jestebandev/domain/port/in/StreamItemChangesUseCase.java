@@ -0,0 +1,8 @@
+package meli.jestebandev.domain.port.in;
+
+import meli.jestebandev.domain.model.ItemChange;
+import reactor.core.publisher.Flux;
+
+public interface StreamItemChangesUseCase {
+    Flux<ItemChange> execute(Long sinceVersion);
+}
@@ -0,0 +1,8 @@
+package meli.jestebandev.domain.port.in;
+
+import meli.jestebandev.domain.model.Item;
+import reactor.core.publisher.Flux;
+
+public interface SuggestItemsUseCase {
+    Flux<Item> execute(String prefix, int limit);
+}
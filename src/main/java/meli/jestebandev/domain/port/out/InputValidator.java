@@ -1,5 +1,9 @@
 package meli.jestebandev.domain.port.out;
 
+import meli.jestebandev.domain.model.Item;
+
+import java.time.Duration;
+
 public interface InputValidator {
 
     String validateItemId(String id);
@@ -9,5 +13,15 @@ public interface InputValidator {
     String validateCategory(String category);
 
     void validatePagination(int page, int size);
+
+    void validateSuggestionLimit(int limit);
+
+    Item validateItem(Item item);
+
+    void validateStockQuantity(int quantity);
+
+    void validateChangeVersion(Long version);
+
+    void validateSearchTimeout(Duration timeout);
 }
 
@@ -0,0 +1,14 @@
+package meli.jestebandev.domain.port.out;
+
+import meli.jestebandev.domain.model.ItemChange;
+import reactor.core.publisher.Flux;
+
+public interface ItemChangeStream {
+
+    /**
+     * The changes after {@code sinceVersion}, in version order, followed by every change
+     * published from then on; only the new ones when {@code sinceVersion} is null. Fails with
+     * {@code ChangesNotAvailableException} when some of the requested changes are no longer kept.
+     */
+    Flux<ItemChange> changesSince(Long sinceVersion);
+}
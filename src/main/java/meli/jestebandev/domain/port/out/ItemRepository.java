@@ -1,9 +1,13 @@
 package meli.jestebandev.domain.port.out;
 
 import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 public interface ItemRepository {
 
     Mono<Item> findById(String id);
@@ -15,5 +19,53 @@ public interface ItemRepository {
     Flux<Item> findByCategory(String categoryId);
 
     Flux<Item> findByQueryAndCategory(String query, String categoryId);
+
+    Flux<Item> findByFuzzyQuery(String query);
+
+    Flux<Item> findByFuzzyQueryAndCategory(String query, String categoryId);
+
+    /**
+     * One page of the items matching {@code criteria}, in catalog order, with the total number
+     * of matches. A single call so that adapters can compute both in one query.
+     */
+    Mono<PaginatedResult<Item>> findPage(SearchCriteria criteria, int page, int size);
+
+    Flux<Item> suggest(String prefix, int limit);
+
+    /**
+     * Adds {@code item} to the catalog; fails with {@code ItemAlreadyExistsException} when its
+     * ID is taken.
+     */
+    Mono<Item> create(Item item);
+
+    /**
+     * Replaces the item with the same ID; fails with {@code ItemNotFoundException} when there
+     * is none.
+     */
+    Mono<Item> update(Item item);
+
+    /**
+     * Takes {@code quantity} units out of the stock of item {@code id} as a single atomic step,
+     * returning the item with its new stock. Fails with {@code InsufficientStockException},
+     * leaving the stock untouched, when fewer units are left, so concurrent calls never sell
+     * more than there is.
+     */
+    Mono<Item> decrementStock(String id, int quantity);
+
+    /**
+     * Version of the catalog searches read, changed by every write and reload that may make a
+     * search find something else; empty when the repository does not keep one.
+     */
+    default Optional<String> version() {
+        return Optional.empty();
+    }
+
+    /**
+     * {@code query} in the form the repository matches it, so queries that find the same items
+     * are equal.
+     */
+    default String matchedQuery(String query) {
+        return query;
+    }
 }
 
@@ -2,21 +2,40 @@ package meli.jestebandev.infrastructure.adapter.in.rest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
 import meli.jestebandev.domain.port.in.GetItemByIdUseCase;
+import meli.jestebandev.domain.port.in.ManageItemsUseCase;
 import meli.jestebandev.domain.port.in.SearchItemsUseCase;
+import meli.jestebandev.domain.port.in.StreamItemChangesUseCase;
+import meli.jestebandev.domain.port.in.SuggestItemsUseCase;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemChangeResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemFields;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemPage;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemProjection;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemRequest;
 import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemResponse;
 import meli.jestebandev.infrastructure.adapter.in.rest.dto.PageResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.StockDecrementRequest;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.SuggestionResponse;
 import meli.jestebandev.infrastructure.exception.ErrorResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -27,6 +46,9 @@ public class ItemController {
 
     private final GetItemByIdUseCase getItemByIdUseCase;
     private final SearchItemsUseCase searchItemsUseCase;
+    private final SuggestItemsUseCase suggestItemsUseCase;
+    private final ManageItemsUseCase manageItemsUseCase;
+    private final StreamItemChangesUseCase streamItemChangesUseCase;
 
     @GetMapping("/{id}")
     @Operation(
@@ -72,6 +94,23 @@ public class ItemController {
                 .map(ResponseEntity::ok);
     }
 
+    // Same operation as getItemById in the API docs, which list the fields parameter with it
+    @GetMapping(value = "/{id}", params = "fields")
+    public Mono<ResponseEntity<ItemProjection>> getItemFieldsById(
+            @PathVariable String id,
+            @Parameter(
+                    description = "Comma-separated properties to return: id, title, price, description, image, stock, "
+                            + "condition, category, seller, or category.* / seller.* properties",
+                    example = "id,title,price,image,condition"
+            )
+            @RequestParam String fields
+    ) {
+        ItemFields itemFields = ItemFields.of(fields);
+        return getItemByIdUseCase.execute(id)
+                .map(item -> new ItemProjection(item, itemFields))
+                .map(ResponseEntity::ok);
+    }
+
     @GetMapping
     @Operation(
             summary = "Search and Filter Products",
@@ -80,6 +119,9 @@ public class ItemController {
                     
                     **Search Capabilities:**
                     - Text search in product titles and descriptions (case-insensitive)
+                    - Typo tolerance: with `fuzzy=true`, or automatically when the exact search finds nothing
+                      (unless `fallback=false`), each word also matches the closest catalog words (up to 2 edits,
+                      fewer for short words)
                     - Filter by category ID
                     - Combine multiple filters
                     - Paginated results for efficient data handling
@@ -106,7 +148,7 @@ public class ItemController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))
             )
     })
-    public Mono<ResponseEntity<PageResponse<ItemResponse>>> searchItems(
+    public Mono<ResponseEntity<ItemPage>> searchItems(
             @Parameter(
                     description = "Search text to match in product title or description",
                     example = "laptop"
@@ -126,28 +168,277 @@ public class ItemController {
                     description = "Number of items per page (max: 100)",
                     example = "10"
             )
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(
+                    description = "Tolerate typos in the search text (e.g., 'lapotp' finds 'laptop')",
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(
+                    description = "Retry with typo tolerance when the exact search finds nothing",
+                    example = "true"
+            )
+            @RequestParam(defaultValue = "true") boolean fallback
     ) {
-        return searchItemsUseCase.executeWithPagination(q, category, page, size)
-                .map(result -> {
-                    List<ItemResponse> itemResponses = result.content().stream()
-                            .map(ItemResponse::fromDomain)
-                            .toList();
-                    
-                    PageResponse<ItemResponse> pageResponse = PageResponse.<ItemResponse>builder()
-                            .content(itemResponses)
-                            .page(result.page())
-                            .size(result.size())
-                            .totalElements(result.totalElements())
-                            .totalPages(result.totalPages())
-                            .hasNext(result.hasNext())
-                            .hasPrevious(result.hasPrevious())
-                            .isFirst(result.isFirst())
-                            .isLast(result.isLast())
-                            .build();
-                    
-                    return ResponseEntity.ok(pageResponse);
-                });
+        return search(q, category, page, size, fuzzy, fallback)
+                .map(result -> ResponseEntity.ok(ItemPage.of(result)));
+    }
+
+    // Same operation as searchItems in the API docs, which list the fields parameter with it
+    @GetMapping(params = "fields")
+    public Mono<ResponseEntity<ItemPage>> searchItemFields(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "true") boolean fallback,
+            @Parameter(
+                    description = "Comma-separated properties to return for each item: id, title, price, description, "
+                            + "image, stock, condition, category, seller, or category.* / seller.* properties",
+                    example = "id,title,price,image,condition"
+            )
+            @RequestParam String fields
+    ) {
+        ItemFields itemFields = ItemFields.of(fields);
+        return search(q, category, page, size, fuzzy, fallback)
+                .map(result -> ResponseEntity.ok(new ItemPage(result, itemFields)));
+    }
+
+    private Mono<PaginatedResult<Item>> search(String q, String category, int page, int size,
+                                               boolean fuzzy, boolean fallback) {
+        return searchItemsUseCase.executeWithPagination(
+                new SearchCriteria(q, category, MatchMode.of(fuzzy, fallback)), page, size);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Suggest Products (Type-ahead)",
+            description = """
+                    Returns lightweight suggestions for a search box while the user types.
+                    
+                    **Matching:**
+                    - The last word of the prefix matches the beginning of any word in the product title
+                    - Previous words must appear as whole words in the title (e.g., "smart t" matches "Smart TV")
+                    - Case-insensitive
+                    
+                    **Ranking:** Products from the best-rated sellers first.
+                    
+                    Suggestions are served from an index built when the catalog is loaded, so the cost
+                    does not grow with the catalog size.
+                    
+                    **Reactive:** This endpoint is non-blocking and returns a Mono<ResponseEntity>.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions returned successfully - Empty list if nothing matches",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SuggestionResponse.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid parameters (e.g., limit out of range)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public Mono<ResponseEntity<List<SuggestionResponse>>> suggestItems(
+            @Parameter(
+                    description = "Text typed so far",
+                    example = "lap"
+            )
+            @RequestParam(required = false) String prefix,
+            @Parameter(
+                    description = "Maximum number of suggestions (1 to 10)",
+                    example = "5"
+            )
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return suggestItemsUseCase.execute(prefix, limit)
+                .map(SuggestionResponse::fromDomain)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream Catalog Changes",
+            description = """
+                    Server-Sent Events stream of every product added, updated or removed, so that caches can
+                    apply the changes instead of downloading the whole catalog again.
+                    
+                    Each event has the change version as its `id`, the change type (`ADDED`, `UPDATED`,
+                    `REMOVED`) as its name, and the change as its data, with the product as it is now (none
+                    when removed). Apply `ADDED` and `UPDATED` alike, as a replacement of the whole product.
+                    
+                    **Resuming:** Pass the last version received as `sinceVersion` (or the `Last-Event-ID`
+                    header, which browsers send when they reconnect) to get the changes missed in between
+                    first. Only the most recent changes are kept; when some of them are gone, or the version
+                    comes from before a restart, the answer is 410 and the catalog must be fetched again.
+                    Without a version, only the changes from now on are sent.
+                    
+                    **Reactive:** This endpoint is non-blocking and returns a Flux<ServerSentEvent>.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of changes, open until the client disconnects",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = ItemChangeResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid version (must be zero or positive)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "410",
+                    description = "The changes since the requested version are no longer available",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public Flux<ServerSentEvent<ItemChangeResponse>> streamChanges(
+            @Parameter(
+                    description = "Last change version received; only the changes after it are sent",
+                    example = "0"
+            )
+            @RequestParam(required = false) Long sinceVersion,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return streamItemChangesUseCase.execute(sinceVersion != null ? sinceVersion : lastEventId)
+                .map(change -> ServerSentEvent.builder(ItemChangeResponse.fromDomain(change))
+                        .id(Long.toString(change.version()))
+                        .event(change.type().name())
+                        .build());
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Create Product",
+            description = """
+                    Adds a product to the catalog. The body has the same fields a lookup returns.
+                    
+                    The product is visible to lookups and searches as soon as the response is sent.
+                    
+                    **Reactive:** This endpoint is non-blocking and returns a Mono<ResponseEntity>.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Product created - The Location header points to it",
+                    content = @Content(schema = @Schema(implementation = ItemResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid product (e.g., bad ID format, missing title, negative price or stock)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A product with the same ID already exists",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public Mono<ResponseEntity<ItemResponse>> createItem(
+            @RequestBody ItemRequest request
+    ) {
+        return manageItemsUseCase.create(request.toDomain())
+                .map(ItemResponse::fromDomain)
+                .map(item -> ResponseEntity.created(URI.create("/api/items/" + item.getId())).body(item));
     }
-}
 
+    @PutMapping("/{id}")
+    @Operation(
+            summary = "Replace Product",
+            description = """
+                    Replaces every field of an existing product. The ID is taken from the path; an ID in the
+                    body must be the same one.
+                    
+                    **Reactive:** This endpoint is non-blocking and returns a Mono<ResponseEntity>.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Product replaced successfully",
+                    content = @Content(schema = @Schema(implementation = ItemResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid product or product ID",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found - The specified product ID does not exist",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public Mono<ResponseEntity<ItemResponse>> updateItem(
+            @Parameter(
+                    description = "Unique product identifier (MercadoLibre format)",
+                    example = "MLU123456789",
+                    required = true
+            )
+            @PathVariable String id,
+            @RequestBody ItemRequest request
+    ) {
+        return manageItemsUseCase.update(id, request.toDomain())
+                .map(ItemResponse::fromDomain)
+                .map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/{id}/stock")
+    @Operation(
+            summary = "Decrement Product Stock",
+            description = """
+                    Takes units out of the stock of a product, e.g. at checkout.
+                    
+                    The check and the decrement are a single atomic step: concurrent requests for the same
+                    product never sell more units than there are, and a request that does not fit the
+                    remaining stock changes nothing.
+                    
+                    **Reactive:** This endpoint is non-blocking and returns a Mono<ResponseEntity>.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stock decremented - Returns the product with its remaining stock",
+                    content = @Content(schema = @Schema(implementation = ItemResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid product ID or quantity (must be between 1 and 10000)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found - The specified product ID does not exist",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Not enough stock left for the requested quantity",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public Mono<ResponseEntity<ItemResponse>> decrementStock(
+            @Parameter(
+                    description = "Unique product identifier (MercadoLibre format)",
+                    example = "MLU123456789",
+                    required = true
+            )
+            @PathVariable String id,
+            @RequestBody StockDecrementRequest request
+    ) {
+        return manageItemsUseCase.decrementStock(id, request.getQuantity())
+                .map(ItemResponse::fromDomain)
+                .map(ResponseEntity::ok);
+    }
+}
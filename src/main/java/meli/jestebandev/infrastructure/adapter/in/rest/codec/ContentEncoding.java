@@ -0,0 +1,119 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.Zstd;
+import io.netty.handler.codec.compression.ZstdEncoder;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Response body encodings, in order of preference when a client accepts several equally. Brotli
+ * and zstd are only offered when their native libraries ({@code brotli4j}, {@code zstd-jni}) are
+ * on the classpath, as for the responses Netty compresses itself; gzip always is.
+ */
+enum ContentEncoding {
+
+    // Lambdas rather than constructor references, which would load the encoders, and the
+    // libraries they need, even when unavailable
+    BR("br", Brotli::isAvailable, () -> new BrotliEncoder()),
+    ZSTD("zstd", Zstd::isAvailable, () -> new ZstdEncoder()),
+    GZIP("gzip", () -> true, () -> ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, 6));
+
+    private final String token;
+    private final boolean available;
+    private final Supplier<ChannelHandler> encoder;
+
+    ContentEncoding(String token, BooleanSupplier available, Supplier<ChannelHandler> encoder) {
+        this.token = token;
+        this.available = available.getAsBoolean();
+        this.encoder = encoder;
+    }
+
+    String token() {
+        return token;
+    }
+
+    /**
+     * The available encoding with the highest weight in {@code Accept-Encoding} header values
+     * {@code accepted}, or null to send the body as it is.
+     */
+    static ContentEncoding negotiate(List<String> accepted) {
+        if (accepted == null || accepted.isEmpty()) {
+            return null;
+        }
+        Map<String, Double> weights = new HashMap<>();
+        for (String header : accepted) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                double weight = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            weight = Double.parseDouble(parameter.substring(2));
+                        } catch (NumberFormatException e) {
+                            weight = 0;
+                        }
+                    }
+                }
+                weights.put(name, weight);
+            }
+        }
+        ContentEncoding best = null;
+        double bestWeight = 0;
+        for (ContentEncoding encoding : values()) {
+            double weight = weights.getOrDefault(encoding.token, weights.getOrDefault("*", 0.0));
+            if (encoding.available && weight > bestWeight) {
+                best = encoding;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * {@code plain} compressed with this encoding, by the same Netty encoders that compress the
+     * other responses.
+     */
+    byte[] encode(byte[] plain) {
+        return encode(List.of(ByteBuffer.wrap(plain)).iterator(), plain.length);
+    }
+
+    /**
+     * The {@code size} bytes {@code plain} reads compressed with this encoding, without copying
+     * them first.
+     */
+    byte[] encode(Iterator<ByteBuffer> plain, int size) {
+        EmbeddedChannel channel = new EmbeddedChannel(encoder.get());
+        while (plain.hasNext()) {
+            channel.writeOutbound(Unpooled.wrappedBuffer(plain.next()));
+        }
+        channel.finish();
+        ByteBuf encoded = Unpooled.buffer(size / 4);
+        try {
+            for (ByteBuf chunk = channel.readOutbound(); chunk != null; chunk = channel.readOutbound()) {
+                encoded.writeBytes(chunk);
+                chunk.release();
+            }
+            return ByteBufUtil.getBytes(encoded);
+        } finally {
+            encoded.release();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.codec;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Writes responses as CBOR ({@code application/cbor}). Spring's {@code Jackson2CborEncoder} only
+ * encodes single values, not the publishers WebFlux hands a response writer.
+ */
+public class Jackson2CborResponseEncoder extends AbstractJackson2Encoder {
+
+    public Jackson2CborResponseEncoder() {
+        super(Jackson2ObjectMapperBuilder.cbor().build(), MediaType.APPLICATION_CBOR);
+    }
+}
@@ -0,0 +1,70 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.codec;
+
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes responses as Protobuf ({@code application/x-protobuf}) with the messages of
+ * {@code proto/items.proto}: a response class is written as the message of the same name, its
+ * properties as the fields of the same name, so the DTOs need no generated code.
+ */
+public class Jackson2ProtobufEncoder extends AbstractJackson2Encoder {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final String SCHEMA = "proto/items.proto";
+
+    private final NativeProtobufSchema messages;
+    private final Map<Class<?>, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    public Jackson2ProtobufEncoder() {
+        // Dates as ISO-8601 strings: a Protobuf field cannot hold the array Jackson writes by default
+        super(Jackson2ObjectMapperBuilder.json()
+                .factory(new ProtobufFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build(), APPLICATION_PROTOBUF);
+        try (InputStream schema = new ClassPathResource(SCHEMA).getInputStream()) {
+            this.messages = ProtobufSchemaLoader.std.loadNative(schema, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + SCHEMA, e);
+        }
+    }
+
+    /**
+     * The message {@code type} is written as, named by its {@link JsonRootName} or else its class,
+     * or null when {@code items.proto} has none.
+     */
+    public ProtobufSchema schema(Class<?> type) {
+        JsonRootName rootName = type.getAnnotation(JsonRootName.class);
+        String name = rootName != null ? rootName.value() : type.getSimpleName();
+        return messages.hasMessageType(name) ? schemas.computeIfAbsent(type, t -> messages.forType(name)) : null;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return schema(elementType.toClass()) != null && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType, ResolvableType elementType,
+                                           Map<String, Object> hints) {
+        return writer.with(schema(elementType.toClass()));
+    }
+}
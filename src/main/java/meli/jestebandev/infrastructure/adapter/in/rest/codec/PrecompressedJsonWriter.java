@@ -0,0 +1,394 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.in.SearchItemsUseCase;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemPage;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemResponse;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Writes item lookups ({@link ItemResponse}) and search pages ({@link ItemPage}) as JSON,
+ * keeping the serialized body of up to {@code responses.cache.items} items, and each
+ * {@link ContentEncoding compressed} form of it once a client asks for it, and the compressed
+ * body of up to {@code responses.cache.searches} searches. An item that did not change is then
+ * written without serializing or compressing anything, and a search asked again before the
+ * catalog changed without even running it: as a filter, this writer answers it from the body kept
+ * for the encoding, the selected fields and the {@link SearchItemsUseCase#pageKey page key} of the
+ * search, so searches are only kept over a catalog with a version.
+ * <p>
+ * Pages are streamed by their own generator into pooled buffers of the response, and sent from
+ * there when they are not compressed, so they are never copied; a compressed page is encoded
+ * straight from that buffer.
+ * <p>
+ * A kept item body is only reused for a response equal to the one it was serialized from, and a
+ * search body for the catalog version it was found in, so writes and reloads never need to evict
+ * anything. Bodies are kept in concurrent maps, evicted by a clock sweep once full: a body read
+ * since the hand last passed is spared once. Compression follows {@code server.compression}: the
+ * encoding the client accepts, for bodies of at least {@code min-response-size}; Netty then
+ * leaves these responses alone, since they already have a {@code Content-Encoding}.
+ */
+@Component
+public class PrecompressedJsonWriter implements HttpMessageWriter<Object>, WebFilter {
+
+    private static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+    // Enough for a page of ten catalog items; the buffer grows for larger pages
+    private static final int PAGE_BUFFER_SIZE = 8 * 1024;
+    private static final String SEARCH_PATH = "/api/items";
+    // Context key of the kept search a page is written for
+    static final String SEARCH_KEY = PrecompressedJsonWriter.class.getName() + ".search";
+
+    // The encoder WebFlux writes JSON with, so bodies are the same as without this writer
+    private final Jackson2JsonEncoder encoder = new Jackson2JsonEncoder();
+    private final EncoderHttpMessageWriter<Object> plainWriter = new EncoderHttpMessageWriter<>(encoder);
+    private final JsonFactory jsonFactory = encoder.getObjectMapper().getFactory();
+    private final ItemMetrics metrics;
+    private final boolean compression;
+    private final long minCompressedSize;
+    private final Bodies<Body> items;
+    // Compressed search bodies only: those sent plain are streamed
+    private final Bodies<byte[]> searches;
+    private final SearchItemsUseCase searchItems;
+
+    public PrecompressedJsonWriter(
+            ItemMetrics metrics,
+            @Value("${server.compression.enabled:false}") boolean compression,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minCompressedSize,
+            @Value("${responses.cache.items:10000}") int items,
+            @Value("${responses.cache.searches:1000}") int searches,
+            SearchItemsUseCase searchItems
+    ) {
+        this.metrics = metrics;
+        this.compression = compression;
+        this.minCompressedSize = minCompressedSize.toBytes();
+        this.items = new Bodies<>(items);
+        this.searches = new Bodies<>(compression ? searches : 0);
+        this.searchItems = searchItems;
+    }
+
+    /**
+     * Answers a search kept for the current catalog version and the encoding the client accepts
+     * from its compressed body, without running it; any other compressed search goes on with the
+     * key to keep its body under.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ContentEncoding encoding = encoding(exchange.getRequest());
+        String key = encoding != null ? searchKey(exchange.getRequest(), encoding) : null;
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+        byte[] kept = searches.get(key);
+        if (kept == null) {
+            return chain.filter(exchange).contextWrite(context -> context.put(SEARCH_KEY, key));
+        }
+        metrics.recordResponseCache(true);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return write(kept, encoding, response);
+    }
+
+    /**
+     * Key of the search {@code request} asks for, in the current catalog version, compressed
+     * with {@code encoding}; null when it is not a valid JSON search that can be kept.
+     */
+    private String searchKey(ServerHttpRequest request, ContentEncoding encoding) {
+        if (!searches.enabled() || request.getMethod() != HttpMethod.GET
+                || !SEARCH_PATH.equals(request.getPath().pathWithinApplication().value())
+                || !request.getHeaders().getAccept().stream().allMatch(MediaType.APPLICATION_JSON::isCompatibleWith)) {
+            return null;
+        }
+        // Read as the controller binds them; anything it could read otherwise is not kept
+        MultiValueMap<String, String> params = request.getQueryParams();
+        String q = param(params, "q", null);
+        String category = param(params, "category", null);
+        Integer page = integer(param(params, "page", "0"));
+        Integer size = integer(param(params, "size", "10"));
+        Boolean fuzzy = bool(param(params, "fuzzy", "false"));
+        Boolean fallback = bool(param(params, "fallback", "true"));
+        String fields = param(params, "fields", null);
+        if (page == null || size == null || fuzzy == null || fallback == null
+                || params.containsKey("fields") && fields == null) {
+            return null;
+        }
+        SearchCriteria criteria = new SearchCriteria(q, category, MatchMode.of(fuzzy, fallback));
+        return searchItems.pageKey(criteria, page, size)
+                .map(key -> encoding.token() + ' '
+                        + (fields != null ? '=' + UriUtils.encodeQueryParam(fields, StandardCharsets.UTF_8) : "")
+                        + ' ' + key)
+                .orElse(null);
+    }
+
+    /**
+     * The decoded value of query parameter {@code name}, {@code absent} when it is not given and
+     * null when it is given more than once.
+     */
+    private static String param(MultiValueMap<String, String> params, String name, String absent) {
+        List<String> values = params.get(name);
+        if (values == null) {
+            return absent;
+        }
+        return values.size() == 1 && values.get(0) != null
+                ? UriUtils.decode(values.get(0), StandardCharsets.UTF_8)
+                : null;
+    }
+
+    private static Integer integer(String value) {
+        try {
+            return value != null ? Integer.parseInt(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Boolean bool(String value) {
+        return "true".equals(value) ? Boolean.TRUE : "false".equals(value) ? Boolean.FALSE : null;
+    }
+
+    @Override
+    public List<MediaType> getWritableMediaTypes() {
+        return MEDIA_TYPES;
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType elementType, MediaType mediaType) {
+        Class<?> type = elementType.toClass();
+        return (type == ItemResponse.class && items.enabled() || type == ItemPage.class)
+                && (mediaType == null || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType));
+    }
+
+    @Override
+    public Mono<Void> write(Publisher<?> inputStream, ResolvableType elementType, MediaType mediaType,
+                            ReactiveHttpOutputMessage message, Map<String, Object> hints) {
+        return plainWriter.write(inputStream, elementType, mediaType, message, hints);
+    }
+
+    @Override
+    public Mono<Void> write(Publisher<?> inputStream, ResolvableType actualType, ResolvableType elementType,
+                            MediaType mediaType, ServerHttpRequest request, ServerHttpResponse response,
+                            Map<String, Object> hints) {
+        ContentEncoding encoding = encoding(request);
+        return Mono.from(inputStream).flatMap(value -> Mono.deferContextual(context -> {
+            response.getHeaders().setContentType(
+                    mediaType != null && mediaType.isConcrete() ? mediaType : MediaType.APPLICATION_JSON);
+            if (value instanceof ItemPage page) {
+                return write(page, encoding, context.getOrDefault(SEARCH_KEY, null), response);
+            }
+            return write(body((ItemResponse) value), encoding, response);
+        }));
+    }
+
+    /**
+     * Streams {@code page} into a buffer of the response and sends it as it is, unless it is to
+     * be compressed with {@code encoding}: its compressed body is then kept under {@code search},
+     * when given, and sent instead.
+     */
+    private Mono<Void> write(ItemPage page, ContentEncoding encoding, String search, ServerHttpResponse response) {
+        DataBuffer buffer = stream(page, response.bufferFactory());
+        if (encoding == null || buffer.readableByteCount() < minCompressedSize) {
+            if (compression) {
+                response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            response.getHeaders().setContentLength(buffer.readableByteCount());
+            return response.writeWith(Mono.just(buffer));
+        }
+        byte[] encoded;
+        try (DataBuffer.ByteBufferIterator plain = buffer.readableByteBuffers()) {
+            encoded = encoding.encode(plain, buffer.readableByteCount());
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        if (search != null) {
+            metrics.recordResponseCache(false);
+            searches.put(search, encoded);
+        }
+        return write(encoded, encoding, response);
+    }
+
+    /**
+     * The encoding to compress bodies with for {@code request}, null for none.
+     */
+    private ContentEncoding encoding(ServerHttpRequest request) {
+        return compression ? ContentEncoding.negotiate(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING)) : null;
+    }
+
+    private Mono<Void> write(Body body, ContentEncoding encoding, ServerHttpResponse response) {
+        boolean compress = encoding != null && body.plain().length >= minCompressedSize;
+        return compress ? write(body.encoded(encoding), encoding, response) : write(body.plain(), null, response);
+    }
+
+    /**
+     * Sends {@code bytes}, compressed with {@code encoding} unless it is null.
+     */
+    private Mono<Void> write(byte[] bytes, ContentEncoding encoding, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (compression) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        headers.setContentLength(bytes.length);
+        if (encoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    private Body body(ItemResponse item) {
+        if (item.getId() == null) {
+            return new Body(item, serialize(item));
+        }
+        Body kept = items.get(item.getId());
+        if (kept != null && kept.value().equals(item)) {
+            metrics.recordResponseCache(true);
+            return kept;
+        }
+        metrics.recordResponseCache(false);
+        Body body = new Body(item, serialize(item));
+        items.put(item.getId(), body);
+        return body;
+    }
+
+    /**
+     * {@code page} as JSON in a buffer of {@code bufferFactory}, written without mapping it to DTOs.
+     */
+    private DataBuffer stream(ItemPage page, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(PAGE_BUFFER_SIZE);
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer.asOutputStream())) {
+            page.write(generator);
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("Could not write search page", e);
+        }
+        return buffer;
+    }
+
+    private byte[] serialize(ItemResponse item) {
+        DataBuffer buffer = encoder.encodeValue(item, DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forInstance(item), MediaType.APPLICATION_JSON, null);
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * A response, its JSON body and the compressed forms of the body made so far.
+     */
+    private record Body(Object value, byte[] plain, AtomicReferenceArray<byte[]> encodings) {
+
+        Body(Object value, byte[] plain) {
+            this(value, plain, new AtomicReferenceArray<>(ContentEncoding.values().length));
+        }
+
+        byte[] encoded(ContentEncoding encoding) {
+            byte[] encoded = encodings.get(encoding.ordinal());
+            if (encoded == null) {
+                // Concurrent first requests may both compress; either result is kept
+                encoded = encoding.encode(plain);
+                encodings.set(encoding.ordinal(), encoded);
+            }
+            return encoded;
+        }
+    }
+
+    /**
+     * Up to {@code capacity} bodies, read without locking. Past it, a clock hand sweeps the
+     * bodies, evicting those not read since it last passed.
+     */
+    private static final class Bodies<B> {
+
+        private final int capacity;
+        private final Map<String, Kept<B>> bodies = new ConcurrentHashMap<>();
+        // Clock hand, moved by one eviction at a time
+        private Iterator<Map.Entry<String, Kept<B>>> hand = Collections.emptyIterator();
+
+        Bodies(int capacity) {
+            this.capacity = capacity;
+        }
+
+        boolean enabled() {
+            return capacity > 0;
+        }
+
+        B get(String key) {
+            Kept<B> kept = bodies.get(key);
+            if (kept == null) {
+                return null;
+            }
+            kept.referenced = true;
+            return kept.body;
+        }
+
+        void put(String key, B body) {
+            if (bodies.put(key, new Kept<>(body)) == null && bodies.size() > capacity) {
+                evict();
+            }
+        }
+
+        private synchronized void evict() {
+            while (bodies.size() > capacity) {
+                if (!hand.hasNext()) {
+                    hand = bodies.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<String, Kept<B>> entry = hand.next();
+                if (entry.getValue().referenced) {
+                    entry.getValue().referenced = false;
+                } else {
+                    bodies.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private static final class Kept<B> {
+
+            final B body;
+            // Read since the clock hand last passed
+            volatile boolean referenced;
+
+            Kept(B body) {
+                this.body = body;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import meli.jestebandev.domain.model.ItemChange;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChangeResponse {
+    private long version;
+    private String type;
+    private String itemId;
+    private ItemResponse item;
+
+    public static ItemChangeResponse fromDomain(ItemChange change) {
+        return ItemChangeResponse.builder()
+                .version(change.version())
+                .type(change.type().name())
+                .itemId(change.itemId())
+                .item(change.item() != null ? ItemResponse.fromDomain(change.item()) : null)
+                .build();
+    }
+}
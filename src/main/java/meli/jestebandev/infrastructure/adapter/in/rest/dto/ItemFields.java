@@ -0,0 +1,221 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Category;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.Seller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@link ItemResponse} properties a client asked for with {@code fields}, e.g.
+ * {@code id,title,price,seller.name}: top-level properties, {@code category} or {@code seller}
+ * for the whole object, or one of their properties. Items are written straight from the domain
+ * {@link Item}, with the selected properties in {@link ItemResponse} order, so all fields give the
+ * same body as {@link ItemResponse#fromDomain}.
+ * <p>
+ * A selection is compiled to a bit set once: each distinct set has one instance, and up to
+ * {@value #MAX_CACHED} {@code fields} values are kept already parsed. Property names are encoded
+ * and quoted once, for every generator.
+ */
+public final class ItemFields {
+
+    private static final List<String> PATHS = List.of(
+            "id", "title", "price", "description", "image", "stock", "condition",
+            "category.id", "category.name",
+            "seller.id", "seller.name", "seller.reputation"
+    );
+    private static final int ID = 1, TITLE = 1 << 1, PRICE = 1 << 2, DESCRIPTION = 1 << 3, IMAGE = 1 << 4,
+            STOCK = 1 << 5, CONDITION = 1 << 6, CATEGORY_ID = 1 << 7, CATEGORY_NAME = 1 << 8,
+            SELLER_ID = 1 << 9, SELLER_NAME = 1 << 10, SELLER_REPUTATION = 1 << 11;
+    private static final int CATEGORY = CATEGORY_ID | CATEGORY_NAME;
+    private static final int SELLER = SELLER_ID | SELLER_NAME | SELLER_REPUTATION;
+    private static final int MAX_LENGTH = 256;
+    private static final int MAX_CACHED = 1024;
+
+    private static final AtomicReferenceArray<ItemFields> BY_MASK = new AtomicReferenceArray<>(1 << PATHS.size());
+    private static final Map<String, ItemFields> PARSED = new ConcurrentHashMap<>();
+
+    /**
+     * Every property, as in {@link ItemResponse}.
+     */
+    public static final ItemFields ALL = forMask((1 << PATHS.size()) - 1);
+
+    private final int mask;
+
+    private ItemFields(int mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * The selection in {@code fields}, a comma-separated list of property paths.
+     *
+     * @throws ValidationException if {@code fields} is empty, too long or names an unknown property
+     */
+    public static ItemFields of(String fields) {
+        ItemFields parsed = PARSED.get(fields);
+        if (parsed == null) {
+            parsed = forMask(parse(fields));
+            if (PARSED.size() < MAX_CACHED) {
+                PARSED.putIfAbsent(fields, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    private static int parse(String fields) {
+        if (fields.length() > MAX_LENGTH) {
+            throw new ValidationException("Fields cannot exceed " + MAX_LENGTH + " characters");
+        }
+        int mask = 0;
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.equals("category")) {
+                mask |= CATEGORY;
+            } else if (path.equals("seller")) {
+                mask |= SELLER;
+            } else if (PATHS.contains(path)) {
+                mask |= 1 << PATHS.indexOf(path);
+            } else if (!path.isEmpty()) {
+                throw new ValidationException("Unknown field '" + path + "'. Valid fields: category, seller, "
+                        + String.join(", ", PATHS));
+            }
+        }
+        if (mask == 0) {
+            throw new ValidationException("Fields cannot be empty");
+        }
+        return mask;
+    }
+
+    private static ItemFields forMask(int mask) {
+        ItemFields fields = BY_MASK.get(mask);
+        if (fields == null) {
+            BY_MASK.compareAndSet(mask, null, new ItemFields(mask));
+            fields = BY_MASK.get(mask);
+        }
+        return fields;
+    }
+
+    /**
+     * Writes the selected properties of {@code item} as an object.
+     */
+    public void write(Item item, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (has(ID)) {
+            writeString(generator, Names.ID, item.getId());
+        }
+        if (has(TITLE)) {
+            writeString(generator, Names.TITLE, item.getTitle());
+        }
+        if (has(PRICE)) {
+            generator.writeFieldName(Names.PRICE);
+            generator.writeNumber(item.getPrice());
+        }
+        if (has(DESCRIPTION)) {
+            writeString(generator, Names.DESCRIPTION, item.getDescription());
+        }
+        if (has(IMAGE)) {
+            writeString(generator, Names.IMAGE, item.getImage());
+        }
+        if (has(STOCK)) {
+            generator.writeFieldName(Names.STOCK);
+            if (item.getStock() != null) {
+                generator.writeNumber(item.getStock());
+            } else {
+                generator.writeNull();
+            }
+        }
+        if (has(CONDITION)) {
+            writeString(generator, Names.CONDITION, item.getCondition() != null ? item.getCondition().name() : null);
+        }
+        if ((mask & CATEGORY) != 0) {
+            generator.writeFieldName(Names.CATEGORY);
+            writeCategory(item.getCategory(), generator);
+        }
+        if ((mask & SELLER) != 0) {
+            generator.writeFieldName(Names.SELLER);
+            writeSeller(item.getSeller(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeCategory(Category category, JsonGenerator generator) throws IOException {
+        if (category == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        if (has(CATEGORY_ID)) {
+            writeString(generator, Names.ID, category.getId());
+        }
+        if (has(CATEGORY_NAME)) {
+            writeString(generator, Names.NAME, category.getName());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeSeller(Seller seller, JsonGenerator generator) throws IOException {
+        if (seller == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        if (has(SELLER_ID)) {
+            writeString(generator, Names.ID, seller.getId());
+        }
+        if (has(SELLER_NAME)) {
+            writeString(generator, Names.NAME, seller.getName());
+        }
+        if (has(SELLER_REPUTATION)) {
+            generator.writeFieldName(Names.REPUTATION);
+            if (seller.getReputation() != null) {
+                generator.writeNumber(seller.getReputation());
+            } else {
+                generator.writeNull();
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value)
+            throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+
+    private boolean has(int field) {
+        return (mask & field) != 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < PATHS.size(); i++) {
+            if (has(1 << i)) {
+                fields.append(fields.isEmpty() ? "" : ",").append(PATHS.get(i));
+            }
+        }
+        return fields.toString();
+    }
+
+    private static final class Names {
+        static final SerializableString ID = new SerializedString("id");
+        static final SerializableString TITLE = new SerializedString("title");
+        static final SerializableString PRICE = new SerializedString("price");
+        static final SerializableString DESCRIPTION = new SerializedString("description");
+        static final SerializableString IMAGE = new SerializedString("image");
+        static final SerializableString STOCK = new SerializedString("stock");
+        static final SerializableString CONDITION = new SerializedString("condition");
+        static final SerializableString CATEGORY = new SerializedString("category");
+        static final SerializableString SELLER = new SerializedString("seller");
+        static final SerializableString NAME = new SerializedString("name");
+        static final SerializableString REPUTATION = new SerializedString("reputation");
+    }
+}
@@ -0,0 +1,80 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.PaginatedResult;
+
+import java.io.IOException;
+
+/**
+ * A search page, written straight from the domain result: the same body as a
+ * {@link PageResponse} of {@link ItemResponse}s (or of the {@link ItemFields} asked for), without
+ * building either.
+ */
+@JsonRootName("PageResponse")
+@JsonSerialize(using = ItemPage.Serializer.class)
+public record ItemPage(PaginatedResult<Item> result, ItemFields fields) {
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializableString HAS_PREVIOUS = new SerializedString("hasPrevious");
+    private static final SerializableString FIRST = new SerializedString("first");
+    private static final SerializableString LAST = new SerializedString("last");
+
+    public static ItemPage of(PaginatedResult<Item> result) {
+        return new ItemPage(result, ItemFields.ALL);
+    }
+
+    /**
+     * Writes the page in {@link PageResponse} property order.
+     */
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+        for (Item item : result.content()) {
+            fields.write(item, generator);
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(PAGE);
+        generator.writeNumber(result.page());
+        generator.writeFieldName(SIZE);
+        generator.writeNumber(result.size());
+        generator.writeFieldName(TOTAL_ELEMENTS);
+        generator.writeNumber(result.totalElements());
+        generator.writeFieldName(TOTAL_PAGES);
+        generator.writeNumber(result.totalPages());
+        generator.writeFieldName(HAS_NEXT);
+        generator.writeBoolean(result.hasNext());
+        generator.writeFieldName(HAS_PREVIOUS);
+        generator.writeBoolean(result.hasPrevious());
+        generator.writeFieldName(FIRST);
+        generator.writeBoolean(result.isFirst());
+        generator.writeFieldName(LAST);
+        generator.writeBoolean(result.isLast());
+        generator.writeEndObject();
+    }
+
+    static class Serializer extends StdSerializer<ItemPage> {
+
+        Serializer() {
+            super(ItemPage.class);
+        }
+
+        @Override
+        public void serialize(ItemPage value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            value.write(generator);
+        }
+    }
+}
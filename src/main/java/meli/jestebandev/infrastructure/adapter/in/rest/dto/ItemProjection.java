@@ -0,0 +1,32 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import meli.jestebandev.domain.model.Item;
+
+import java.io.IOException;
+
+/**
+ * An item written with only the {@link ItemFields} a client asked for. Protobuf clients get it as
+ * an {@link ItemResponse} message without the other fields.
+ */
+@JsonRootName("ItemResponse")
+@JsonSerialize(using = ItemProjection.Serializer.class)
+public record ItemProjection(Item item, ItemFields fields) {
+
+    static class Serializer extends StdSerializer<ItemProjection> {
+
+        Serializer() {
+            super(ItemProjection.class);
+        }
+
+        @Override
+        public void serialize(ItemProjection value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            value.fields().write(value.item(), generator);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Category;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.ItemCondition;
+import meli.jestebandev.domain.model.Seller;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Body of item creations and replacements: the same fields {@link ItemResponse} returns.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemRequest {
+    private String id;
+    private String title;
+    private BigDecimal price;
+    private String description;
+    private String image;
+    private Integer stock;
+    private String condition;
+    private CategoryResponse category;
+    private SellerResponse seller;
+
+    public Item toDomain() {
+        return Item.builder()
+                .id(id)
+                .title(title)
+                .price(price)
+                .description(description)
+                .image(image)
+                .stock(stock)
+                .condition(condition != null ? toCondition(condition) : null)
+                .category(category != null
+                        ? Category.builder().id(category.getId()).name(category.getName()).build()
+                        : null)
+                .seller(seller != null
+                        ? Seller.builder().id(seller.getId()).name(seller.getName()).reputation(seller.getReputation()).build()
+                        : null)
+                .build();
+    }
+
+    private static ItemCondition toCondition(String condition) {
+        try {
+            return ItemCondition.valueOf(condition.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Item condition must be NEW or USED");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+    private String id;
+    private String title;
+
+    public static SuggestionResponse fromDomain(Item item) {
+        return SuggestionResponse.builder()
+                .id(item.getId())
+                .title(item.getTitle())
+                .build();
+    }
+}
@@ -0,0 +1,395 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link ItemRepository} of the {@code coordinator} profile, which holds no catalog: every call is
+ * answered over HTTP by the {@link ShardNodes}, each the same application holding the items the
+ * {@link ConsistentHashRing} gives it.
+ * <p>
+ * A lookup by ID goes to the owner of the item only. When the owner has not answered within the
+ * {@link HedgeDelay} (the p95 of recent owner lookups), or failed, the same lookup is sent to the
+ * next replica and the first answer wins. Writes go to the owner, which decides whether they
+ * apply, and are then copied to the replicas.
+ * <p>
+ * Searches ask every node, each searching the items it owns in catalog order and giving the
+ * position of each match in the whole catalog. A page merges the matches of every node by that
+ * position, as a single node would order them, fetching from each node only as many as its total
+ * and the page need; its total is the sum of the node totals. All the requests of a page must
+ * answer within one {@code cluster.shard-timeout}, and any other request within its own; a node
+ * that fails or times out counts as having no more matches, so reads degrade to partial results
+ * instead of failing. Before that, each node stops scanning its shards at
+ * {@code cluster.scan-timeout} and answers with the matches found so far. Searches go to the
+ * node-internal endpoint of the {@link ShardNodeController}, which gives the positions and takes
+ * the scan timeout, so neither is part of the public API.
+ */
+@Slf4j
+@Repository
+@Profile("coordinator")
+public class ClusterItemRepository implements ItemRepository {
+
+    // Largest page a node serves
+    static final int NODE_PAGE_SIZE = 100;
+
+    private static final ParameterizedTypeReference<List<Item>> ITEMS = new ParameterizedTypeReference<>() {};
+
+    private final ItemMetrics metrics;
+    private final List<String> nodes;
+    private final ConsistentHashRing ring;
+    private final Duration timeout;
+    private final Duration scanTimeout;
+    private final HedgeDelay hedgeDelay;
+    private final WebClient client;
+
+    public ClusterItemRepository(
+            ObjectMapper objectMapper,
+            ItemMetrics metrics,
+            ShardNodes nodes,
+            @Value("${cluster.shard-timeout:1s}") Duration timeout,
+            @Value("${cluster.scan-timeout:800ms}") Duration scanTimeout,
+            @Value("${cluster.hedge-min-delay:10ms}") Duration hedgeMinDelay
+    ) {
+        this.metrics = metrics;
+        this.nodes = List.copyOf(nodes.urls());
+        this.ring = nodes.ring();
+        this.timeout = timeout;
+        this.scanTimeout = scanTimeout;
+        this.hedgeDelay = new HedgeDelay(hedgeMinDelay);
+        this.client = WebClient.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .build();
+    }
+
+    @Override
+    public Mono<Item> findById(String id) {
+        int[] replicas = ring.replicas(id);
+        Mono<Optional<Item>> owner = ownerLookup(nodes.get(replicas[0]), id).cache();
+        if (replicas.length == 1) {
+            return owner.onErrorResume(e -> Mono.empty()).flatMap(Mono::justOrEmpty);
+        }
+        // Sent once the hedge delay passes, or the owner fails; cancelled when the owner answers
+        Mono<Optional<Item>> hedge = Mono.firstWithSignal(Mono.delay(hedgeDelay.current()).then(),
+                        owner.then().onErrorComplete())
+                .then(Mono.defer(() -> {
+                    metrics.recordHedgedLookup();
+                    return lookup(nodes.get(replicas[1]), id);
+                }));
+        return Mono.firstWithValue(owner, hedge)
+                // Neither node answered
+                .onErrorResume(e -> Mono.empty())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Flux<Item> findAll() {
+        return stream(new SearchCriteria(null, null, MatchMode.EXACT));
+    }
+
+    @Override
+    public Flux<Item> findByQuery(String query) {
+        return stream(new SearchCriteria(query, null, MatchMode.EXACT));
+    }
+
+    @Override
+    public Flux<Item> findByCategory(String categoryId) {
+        return stream(new SearchCriteria(null, categoryId, MatchMode.EXACT));
+    }
+
+    @Override
+    public Flux<Item> findByQueryAndCategory(String query, String categoryId) {
+        return stream(new SearchCriteria(query, categoryId, MatchMode.EXACT));
+    }
+
+    @Override
+    public Flux<Item> findByFuzzyQuery(String query) {
+        return stream(new SearchCriteria(query, null, MatchMode.FUZZY));
+    }
+
+    @Override
+    public Flux<Item> findByFuzzyQueryAndCategory(String query, String categoryId) {
+        return stream(new SearchCriteria(query, categoryId, MatchMode.FUZZY));
+    }
+
+    @Override
+    public Mono<PaginatedResult<Item>> findPage(SearchCriteria criteria, int page, int size) {
+        long offset = (long) page * size;
+        int window = (int) Math.min(Integer.MAX_VALUE, offset + size);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            // Ends every request of the page at once
+            Mono<Long> deadline = Mono.delay(timeout).cache();
+            AtomicLong total = new AtomicLong();
+            @SuppressWarnings("unchecked")
+            Flux<Ranked>[] tops = new Flux[nodes.size()];
+            for (int index = 0; index < tops.length; index++) {
+                String node = nodes.get(index);
+                tops[index] = top(node, criteria, window, total)
+                        .takeUntilOther(deadline.doOnNext(expired -> {
+                            metrics.recordShardRequest(System.nanoTime() - start, new TimeoutException());
+                            log.warn("Shard node {} timed out, answering without it", node);
+                        }));
+            }
+            // Every node has answered its first page, and so its total, before the first match
+            return Flux.mergeComparing(Math.min(window, NODE_PAGE_SIZE), Ranked.ORDER, tops)
+                    .skip(offset)
+                    .take(size)
+                    .map(Ranked::item)
+                    .collectList()
+                    .map(content -> new PaginatedResult<>(content, total.get(), page, size));
+        });
+    }
+
+    /**
+     * Suggestions of every node, taking turns by rank: nodes do not share seller reputations, so
+     * the best of each node come first.
+     */
+    @Override
+    public Flux<Item> suggest(String prefix, int limit) {
+        return Flux.fromIterable(nodes)
+                .flatMapSequential(node -> request(node, client.get()
+                        .uri(node + "/api/items/suggest?prefix={prefix}&limit={limit}", prefix, limit)
+                        .retrieve()
+                        .bodyToMono(ITEMS))
+                        .defaultIfEmpty(List.of()))
+                .collectList()
+                .flatMapIterable(suggestions -> {
+                    List<Item> merged = new ArrayList<>();
+                    for (int rank = 0; merged.size() < limit; rank++) {
+                        boolean more = false;
+                        for (List<Item> node : suggestions) {
+                            if (rank < node.size() && merged.size() < limit) {
+                                merged.add(node.get(rank));
+                                more = true;
+                            }
+                        }
+                        if (!more) {
+                            break;
+                        }
+                    }
+                    return merged;
+                });
+    }
+
+    @Override
+    public Mono<Item> create(Item item) {
+        int[] replicas = ring.replicas(item.getId());
+        return client.post()
+                .uri(nodes.get(replicas[0]) + "/api/items")
+                .bodyValue(item)
+                .retrieve()
+                .bodyToMono(Item.class)
+                .flatMap(created -> replicate(replicas, created, node -> client.post()
+                        .uri(node + "/api/items")
+                        .bodyValue(created)));
+    }
+
+    @Override
+    public Mono<Item> update(Item item) {
+        int[] replicas = ring.replicas(item.getId());
+        return client.put()
+                .uri(nodes.get(replicas[0]) + "/api/items/{id}", item.getId())
+                .bodyValue(item)
+                .retrieve()
+                .bodyToMono(Item.class)
+                .flatMap(updated -> replicate(replicas, updated, replace(updated)));
+    }
+
+    @Override
+    public Mono<Item> decrementStock(String id, int quantity) {
+        int[] replicas = ring.replicas(id);
+        return client.patch()
+                .uri(nodes.get(replicas[0]) + "/api/items/{id}/stock", id)
+                .bodyValue(Map.of("quantity", quantity))
+                .retrieve()
+                .bodyToMono(Item.class)
+                // Replicas take the stock the owner left, rather than decrementing their own
+                .flatMap(updated -> replicate(replicas, updated, replace(updated)));
+    }
+
+    private Function<String, WebClient.RequestHeadersSpec<?>> replace(Item item) {
+        return node -> client.put()
+                .uri(node + "/api/items/{id}", item.getId())
+                .bodyValue(item);
+    }
+
+    /**
+     * Sends {@code write}, already taken by the owner of {@code written}, to its replicas, and
+     * then emits {@code written}. A replica that fails misses the write, until the next reload.
+     */
+    private Mono<Item> replicate(int[] replicas, Item written,
+                                 Function<String, WebClient.RequestHeadersSpec<?>> write) {
+        return Flux.range(1, replicas.length - 1)
+                .map(replica -> nodes.get(replicas[replica]))
+                .flatMap(node -> request(node, write.apply(node).retrieve().toBodilessEntity()))
+                .then(Mono.just(written));
+    }
+
+    /**
+     * Item {@code id} as {@code node} has it, empty when it has none, failing when the node
+     * does.
+     */
+    private Mono<Optional<Item>> lookup(String node, String id) {
+        return timed(node, client.get()
+                .uri(node + "/api/items/{id}", id)
+                .retrieve()
+                .bodyToMono(Item.class)
+                .map(Optional::of)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Optional.empty())));
+    }
+
+    /**
+     * {@link #lookup} at the owner of the item, recording for the {@link HedgeDelay} how long it
+     * took however it ended: a slow owner that fails, times out or is cancelled still counts, and
+     * replica lookups never do, so the delay follows the owners alone.
+     */
+    private Mono<Optional<Item>> ownerLookup(String node, String id) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return lookup(node, id).doFinally(signal -> hedgeDelay.record(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * The first {@code window} matches of {@code node}, ranked, adding its total to {@code total}
+     * once the first page tells it. Pages past the first are only fetched while the total has
+     * more matches and the merge asks for them, without a timeout of their own.
+     */
+    private Flux<Ranked> top(String node, SearchCriteria criteria, int window, AtomicLong total) {
+        int pageSize = Math.min(window, NODE_PAGE_SIZE);
+        return gathered(node, page(node, criteria, 0, pageSize))
+                .flatMapMany(first -> {
+                    total.addAndGet(first.totalElements());
+                    long wanted = Math.min(window, first.totalElements());
+                    int pages = (int) Math.max(1, (wanted + pageSize - 1) / pageSize);
+                    return Flux.range(0, pages)
+                            .concatMap(page -> (page == 0 ? Mono.just(first)
+                                    : gathered(node, page(node, criteria, page, pageSize)))
+                                    .map(fetched -> fetched.ranked((long) page * pageSize)), 1);
+                })
+                .takeUntil(ranked -> ranked.size() < pageSize)
+                .concatMapIterable(Function.identity())
+                .take(window);
+    }
+
+    /**
+     * Every match of every node, in catalog order, a page at a time from each.
+     */
+    private Flux<Item> stream(SearchCriteria criteria) {
+        @SuppressWarnings("unchecked")
+        Flux<Ranked>[] matches = new Flux[nodes.size()];
+        for (int index = 0; index < matches.length; index++) {
+            String node = nodes.get(index);
+            matches[index] = Flux.range(0, Integer.MAX_VALUE)
+                    .concatMap(page -> request(node, page(node, criteria, page, NODE_PAGE_SIZE))
+                            .defaultIfEmpty(NodePage.EMPTY)
+                            .map(fetched -> fetched.ranked((long) page * NODE_PAGE_SIZE)), 1)
+                    .takeUntil(ranked -> ranked.size() < NODE_PAGE_SIZE)
+                    .concatMapIterable(Function.identity());
+        }
+        return Flux.mergeComparing(NODE_PAGE_SIZE, Ranked.ORDER, matches).map(Ranked::item);
+    }
+
+    /**
+     * One page of the exact or typo-tolerant matches of {@code node}, never falling back from one
+     * to the other there: the coordinator decides that on the totals of every node. Scanned within
+     * the scan timeout.
+     */
+    private Mono<NodePage> page(String node, SearchCriteria criteria, int page, int size) {
+        return client.get()
+                .uri(node + "/internal/shard/items", uri -> {
+                    // Values are expanded into the templates, so they are encoded in full
+                    Map<String, Object> values = new HashMap<>();
+                    if (criteria.hasQuery()) {
+                        uri.queryParam("q", "{q}");
+                        values.put("q", criteria.query());
+                    }
+                    if (criteria.hasCategory()) {
+                        uri.queryParam("category", "{category}");
+                        values.put("category", criteria.categoryId());
+                    }
+                    return uri.queryParam("page", page)
+                            .queryParam("size", size)
+                            .queryParam("fuzzy", criteria.fuzzy())
+                            .queryParam("timeout", scanTimeout.toMillis() + "ms")
+                            .build(values);
+                })
+                .retrieve()
+                .bodyToMono(NodePage.class);
+    }
+
+    /**
+     * {@code request} to {@code node} within the shard timeout, empty when it fails.
+     */
+    private <T> Mono<T> request(String node, Mono<T> request) {
+        return timed(node, request).onErrorResume(e -> Mono.empty());
+    }
+
+    /**
+     * {@code request} to {@code node} within the shard timeout.
+     */
+    private <T> Mono<T> timed(String node, Mono<T> request) {
+        return measured(node, request.timeout(timeout));
+    }
+
+    /**
+     * {@code page} from {@code node}, with no timeout of its own, {@link NodePage#EMPTY} when it
+     * fails.
+     */
+    private Mono<NodePage> gathered(String node, Mono<NodePage> page) {
+        return measured(node, page).onErrorReturn(NodePage.EMPTY);
+    }
+
+    /**
+     * {@code request} to {@code node}, timed.
+     */
+    private <T> Mono<T> measured(String node, Mono<T> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request
+                    .doOnSuccess(result -> metrics.recordShardRequest(System.nanoTime() - start, null))
+                    .doOnError(e -> {
+                        metrics.recordShardRequest(System.nanoTime() - start, e);
+                        log.warn("Shard node {} failed, answering without it: {}", node, e.toString());
+                    });
+        });
+    }
+
+    /**
+     * A match of a node and its position in the catalog order.
+     */
+    record Ranked(long position, Item item) {
+
+        static final Comparator<Ranked> ORDER = Comparator.comparingLong(Ranked::position);
+    }
+}
@@ -0,0 +1,116 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Consistent-hash ring of {@code nodes} nodes, numbered from 0, each placed at
+ * {@code virtualNodes} points so that keys spread evenly and adding or removing a node only moves
+ * the keys of its own points. A key belongs to the first node at or after its hash, going round,
+ * and is replicated to the next distinct nodes, {@code replicationFactor} in all.
+ * <p>
+ * Hashes depend on the key and the node numbers only, so the coordinator and every shard node
+ * built with the same settings agree on where each item lives.
+ */
+public final class ConsistentHashRing {
+
+    private final int nodes;
+    private final int replicationFactor;
+    // Points sorted by hash, and the node at each
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(int nodes, int virtualNodes, int replicationFactor) {
+        if (nodes < 1 || virtualNodes < 1 || replicationFactor < 1) {
+            throw new IllegalArgumentException("A ring needs at least one node, virtual node and replica");
+        }
+        this.nodes = nodes;
+        this.replicationFactor = Math.min(replicationFactor, nodes);
+        long[][] placed = new long[nodes * virtualNodes][];
+        for (int node = 0; node < nodes; node++) {
+            for (int point = 0; point < virtualNodes; point++) {
+                placed[node * virtualNodes + point] = new long[] {hash("node-" + node + "#" + point), node};
+            }
+        }
+        Arrays.sort(placed, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[placed.length];
+        this.owners = new int[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            points[i] = placed[i][0];
+            owners[i] = (int) placed[i][1];
+        }
+    }
+
+    public int nodes() {
+        return nodes;
+    }
+
+    /**
+     * Node that owns {@code key}.
+     */
+    public int owner(String key) {
+        return owners[first(hash(key))];
+    }
+
+    /**
+     * Nodes holding {@code key}: its owner first, then its replicas in ring order.
+     */
+    public int[] replicas(String key) {
+        int[] replicas = new int[replicationFactor];
+        int found = 0;
+        for (int point = first(hash(key)); found < replicationFactor; point = (point + 1) % points.length) {
+            int node = owners[point];
+            if (!contains(replicas, found, node)) {
+                replicas[found++] = node;
+            }
+        }
+        return replicas;
+    }
+
+    /**
+     * Whether {@code node} holds {@code key}, as owner or replica.
+     */
+    public boolean holds(int node, String key) {
+        int[] replicas = replicas(key);
+        return contains(replicas, replicas.length, node);
+    }
+
+    private int first(long hash) {
+        int point = Arrays.binarySearch(points, hash);
+        if (point < 0) {
+            point = -point - 1;
+        } else {
+            // Equal hashes: the first point holding it
+            while (point > 0 && points[point - 1] == hash) {
+                point--;
+            }
+        }
+        return point == points.length ? 0 : point;
+    }
+
+    private static boolean contains(int[] nodes, int length, int node) {
+        for (int i = 0; i < length; i++) {
+            if (nodes[i] == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes of {@code key}, finished with the MurmurHash3 mixer so
+     * that keys differing in the last characters only land far apart.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,45 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How long a lookup waits for the owner of an item before also asking a replica: the 95th
+ * percentile of the latest lookups at owners, however they ended, so only the slowest one in
+ * twenty is hedged, and never less than {@code minDelay}.
+ * <p>
+ * Latencies go round a fixed window and the percentile is recomputed every
+ * {@value #RECOMPUTE_EVERY} of them, so recording is a counter increment and an array store.
+ * Until the first recomputation the delay is {@code minDelay}.
+ */
+final class HedgeDelay {
+
+    private static final int WINDOW = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final double PERCENTILE = 0.95;
+
+    private final long minDelayNanos;
+    private final long[] latencies = new long[WINDOW];
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long delayNanos;
+
+    HedgeDelay(Duration minDelay) {
+        this.minDelayNanos = minDelay.toNanos();
+        this.delayNanos = minDelayNanos;
+    }
+
+    void record(long latencyNanos) {
+        long count = recorded.getAndIncrement();
+        latencies[(int) (count % WINDOW)] = latencyNanos;
+        if ((count + 1) % RECOMPUTE_EVERY == 0) {
+            long[] window = Arrays.copyOf(latencies, (int) Math.min(count + 1, WINDOW));
+            Arrays.sort(window);
+            delayNanos = Math.max(minDelayNanos, window[(int) Math.ceil(PERCENTILE * window.length) - 1]);
+        }
+    }
+
+    Duration current() {
+        return Duration.ofNanos(delayNanos);
+    }
+}
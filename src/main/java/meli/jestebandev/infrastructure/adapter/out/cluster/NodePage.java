@@ -0,0 +1,29 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import meli.jestebandev.domain.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of a node's search, as the {@link ShardNodeController} of the node writes it and the
+ * {@link ClusterItemRepository} reads it: its matches, the node total and the position of each
+ * match in the catalog order. Without positions, matches are ranked by their index in the node's
+ * results.
+ */
+record NodePage(List<Item> content, long totalElements, List<Long> positions) {
+
+    static final NodePage EMPTY = new NodePage(List.of(), 0, null);
+
+    /**
+     * The matches of this page, the first at index {@code first} of the node's results.
+     */
+    List<ClusterItemRepository.Ranked> ranked(long first) {
+        List<ClusterItemRepository.Ranked> ranked = new ArrayList<>(content.size());
+        for (int index = 0; index < content.size(); index++) {
+            long position = positions != null && index < positions.size() ? positions.get(index) : first + index;
+            ranked.add(new ClusterItemRepository.Ranked(position, content.get(index)));
+        }
+        return ranked;
+    }
+}
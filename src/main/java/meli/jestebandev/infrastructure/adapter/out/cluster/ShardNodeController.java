@@ -0,0 +1,50 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.infrastructure.adapter.out.persistence.JsonItemRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Node side of the searches of a {@link ClusterItemRepository}: one page of the exact or
+ * typo-tolerant matches of this node, scanned within the {@code timeout} the coordinator gives,
+ * with the catalog position of each match. Internal to the cluster, so neither the deadline nor
+ * the positions are part of the public API; the query comes as the coordinator validated it.
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/shard")
+@Profile("!h2 & !coordinator")
+@RequiredArgsConstructor
+public class ShardNodeController {
+
+    private final JsonItemRepository repository;
+    private final InputValidator inputValidator;
+
+    @GetMapping("/items")
+    public Mono<NodePage> searchItems(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam Duration timeout
+    ) {
+        inputValidator.validatePagination(page, size);
+        inputValidator.validateSearchTimeout(timeout);
+        SearchCriteria criteria = new SearchCriteria(q, inputValidator.validateCategory(category),
+                fuzzy ? MatchMode.FUZZY : MatchMode.EXACT);
+        return repository.findNodePage(criteria, page, size, timeout)
+                .map(found -> new NodePage(found.content(), found.totalElements(), found.positions()));
+    }
+}
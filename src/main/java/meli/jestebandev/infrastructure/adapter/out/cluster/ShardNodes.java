@@ -0,0 +1,106 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import meli.jestebandev.MeliApiApplication;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shard nodes of the {@code coordinator} profile and the {@link ConsistentHashRing} that places
+ * items on them: node {@code i} holds the items the ring gives node {@code i}, as set by
+ * {@code catalog.node.index} and {@code catalog.node.count} on that node, with the same
+ * {@code replication-factor} and {@code virtual-nodes} as the coordinator.
+ * <p>
+ * The nodes are the base URLs listed in {@code cluster.nodes}, or, when there are none,
+ * {@code cluster.local-nodes} nodes started in this process on random local ports, all serving
+ * {@code catalog.location} and loaded before the coordinator takes requests.
+ */
+@Slf4j
+@Component
+@Profile("coordinator")
+public class ShardNodes implements DisposableBean {
+
+    private final List<String> urls = new ArrayList<>();
+    private final List<ConfigurableApplicationContext> localNodes = new ArrayList<>();
+    private final int replicationFactor;
+    private final int virtualNodes;
+    private final ConsistentHashRing ring;
+
+    public ShardNodes(
+            @Value("${cluster.nodes:}") List<String> nodes,
+            @Value("${cluster.local-nodes:0}") int localNodes,
+            @Value("${catalog.location:classpath:data/items.json}") String catalogLocation,
+            @Value("${cluster.replication-factor:1}") int replicationFactor,
+            @Value("${cluster.virtual-nodes:128}") int virtualNodes
+    ) {
+        this.replicationFactor = replicationFactor;
+        this.virtualNodes = virtualNodes;
+        nodes.stream().map(String::trim).filter(url -> !url.isEmpty()).forEach(urls::add);
+        if (urls.isEmpty()) {
+            try {
+                for (int index = 0; index < localNodes; index++) {
+                    urls.add(start(index, localNodes, catalogLocation));
+                }
+            } catch (RuntimeException e) {
+                destroy();
+                throw e;
+            }
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("The coordinator profile needs cluster.nodes or cluster.local-nodes");
+        }
+        this.ring = new ConsistentHashRing(urls.size(), virtualNodes, replicationFactor);
+        log.info("Coordinating {} shard nodes holding {} copies of each item: {}", urls.size(),
+                Math.min(replicationFactor, urls.size()), urls);
+    }
+
+    /**
+     * Base URLs of the nodes, by node number.
+     */
+    public List<String> urls() {
+        return urls;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    private String start(int index, int count, String catalogLocation) {
+        long start = System.nanoTime();
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(MeliApiApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                // Command-line arguments, so that nothing set for the coordinator overrides them
+                .run("--spring.profiles.active=shard",
+                        "--server.port=0",
+                        "--catalog.location=" + catalogLocation,
+                        "--catalog.node.index=" + index,
+                        "--catalog.node.count=" + count,
+                        "--catalog.node.replication-factor=" + replicationFactor,
+                        "--catalog.node.virtual-nodes=" + virtualNodes);
+        localNodes.add(node);
+        // Loads the catalog part now rather than on the first, timed, request
+        node.getBean(ItemRepository.class).findPage(new SearchCriteria(null, null, MatchMode.EXACT), 0, 1).block();
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        log.info("Started shard node {} of {} on port {} in {} ms", index, count, port,
+                (System.nanoTime() - start) / 1_000_000);
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void destroy() {
+        localNodes.forEach(ConfigurableApplicationContext::close);
+        localNodes.clear();
+    }
+}
@@ -0,0 +1,122 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.exception.ChangesNotAvailableException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.ItemChange;
+import meli.jestebandev.domain.port.out.ItemChangeStream;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Numbers the changes to the in-memory catalog and streams them to subscribers.
+ * <p>
+ * The last {@code catalog.changes.buffer-size} changes are kept in a ring buffer, so a client
+ * that reconnects with the last version it saw gets exactly what it missed, then continues with
+ * the live changes. Replay and subscription happen under the same lock as publishing, which is
+ * what guarantees no change is skipped or delivered twice in between. A client that falls more
+ * than a buffer behind, on reconnection or while connected, gets a
+ * {@link ChangesNotAvailableException} and must reload the catalog.
+ * <p>
+ * Concurrent writes to one item finish in any order, so each change carries the latest version
+ * of the item when it is published rather than the one its write produced: whatever the order,
+ * the last change published for an item is its current state.
+ */
+@Component
+public class CatalogChangeFeed implements ItemChangeStream {
+
+    private final ItemMetrics metrics;
+    private final ItemChange[] ring;
+    private final List<FluxSink<ItemChange>> subscribers = new ArrayList<>();
+    // Written under the lock, read without it by latest()
+    private volatile long latest;
+
+    public CatalogChangeFeed(ItemMetrics metrics, @Value("${catalog.changes.buffer-size:4096}") int bufferSize) {
+        this.metrics = metrics;
+        this.ring = new ItemChange[Math.max(1, bufferSize)];
+    }
+
+    /**
+     * Publishes a change to item {@code itemId}, whose latest version {@code current} returns;
+     * nothing when it returns null for an item that was added or updated, since that item was
+     * removed in the meantime and its removal is published separately.
+     */
+    void publish(ItemChange.Type type, String itemId, Supplier<Item> current) {
+        synchronized (this) {
+            Item item = type == ItemChange.Type.REMOVED ? null : current.get();
+            if (type != ItemChange.Type.REMOVED && item == null) {
+                return;
+            }
+            ItemChange change = new ItemChange(++latest, type, itemId, item);
+            ring[slot(change.version())] = change;
+            for (FluxSink<ItemChange> subscriber : subscribers) {
+                subscriber.next(change);
+            }
+        }
+        metrics.recordItemChange(type);
+    }
+
+    /**
+     * Version of the last change published, 0 before the first.
+     */
+    long latest() {
+        return latest;
+    }
+
+    @Override
+    public Flux<ItemChange> changesSince(Long sinceVersion) {
+        return Flux.defer(() -> {
+            // Last version that reached the subscriber, to report where it fell behind
+            long[] delivered = new long[1];
+            return Flux.<ItemChange>create(sink -> {
+                        synchronized (this) {
+                            long from = sinceVersion != null ? sinceVersion : latest;
+                            // Ahead of the feed means it was numbered before a restart
+                            if (from < oldest() - 1 || from > latest) {
+                                sink.error(new ChangesNotAvailableException(from, oldest(), latest));
+                                return;
+                            }
+                            delivered[0] = from;
+                            for (long version = from + 1; version <= latest; version++) {
+                                sink.next(ring[slot(version)]);
+                            }
+                            subscribers.add(sink);
+                        }
+                        metrics.recordChangeSubscriber(1);
+                        sink.onDispose(() -> {
+                            synchronized (this) {
+                                subscribers.remove(sink);
+                            }
+                            metrics.recordChangeSubscriber(-1);
+                        });
+                    })
+                    // A slow client fails once a buffer behind instead of holding memory for it, and
+                    // is never called back on the thread that published
+                    .onBackpressureBuffer(ring.length)
+                    .publishOn(Schedulers.parallel())
+                    .doOnNext(change -> delivered[0] = change.version())
+                    .onErrorMap(Exceptions::isOverflow, overflow -> {
+                        synchronized (this) {
+                            return new ChangesNotAvailableException(delivered[0], oldest(), latest);
+                        }
+                    });
+        });
+    }
+
+    // Guarded by this
+    private long oldest() {
+        return Math.max(1, latest - ring.length + 1);
+    }
+
+    private int slot(long version) {
+        return (int) (version % ring.length);
+    }
+}
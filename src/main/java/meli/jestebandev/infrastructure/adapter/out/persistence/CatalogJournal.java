@@ -0,0 +1,442 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Makes writes to the in-memory catalog durable, when {@code catalog.wal.directory} is set.
+ * <p>
+ * Every write is appended to a {@link WriteAheadLog} as the resulting item and its version, and
+ * acknowledged once the log has forced it to disk. Every {@code catalog.wal.snapshot-interval}
+ * the whole catalog is written to a compacted snapshot, after which the log segments it covers
+ * are deleted. Snapshots also hold the copies a cluster node keeps of items other nodes own. On
+ * startup the latest snapshot, or the source catalog when there is none, is loaded and the log
+ * written after it is replayed.
+ * <p>
+ * A write is applied in memory and queued to the log under one lock, so the log holds the writes
+ * to each item in the order they were applied. When the log fails it stops for good: the writes
+ * waiting on it are undone in memory, newest first, before they fail, and no write is applied
+ * again until a restart. A snapshot taken while writes are running may already include some of
+ * the records logged after it, so replay keeps, per item, the highest version it sees, which
+ * makes it independent of record order and safe to repeat. A write that failed after reaching
+ * the disk may still be recovered.
+ */
+@Slf4j
+@Component
+@Profile("!h2 & !coordinator")
+public class CatalogJournal implements DisposableBean {
+
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{12})\\.json");
+
+    private final ObjectMapper objectMapper;
+    private final ItemMetrics metrics;
+    private final Path directory;
+    private final Duration snapshotInterval;
+    private final int maxBatch;
+
+    // Held while a write is applied and queued, while one is undone and while the catalog is
+    // replaced
+    private final Object writes = new Object();
+    private volatile WriteAheadLog wal;
+    // Catalog written to and snapshotted, replaced on reload
+    private volatile CatalogShards state;
+    // Copies of items owned by other nodes, snapshotted with the catalog
+    private volatile Supplier<CatalogReplicas> replicas;
+    private long nextSegment = 1;
+    private Scheduler snapshotScheduler;
+    private Disposable snapshots;
+
+    public CatalogJournal(
+            ObjectMapper objectMapper,
+            ItemMetrics metrics,
+            @Value("${catalog.wal.directory:}") String directory,
+            @Value("${catalog.wal.snapshot-interval:5m}") Duration snapshotInterval,
+            @Value("${catalog.wal.max-batch:1024}") int maxBatch
+    ) {
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        this.snapshotInterval = snapshotInterval;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    /**
+     * A journal that keeps nothing: writes stay in memory only.
+     */
+    public static CatalogJournal disabled() {
+        return new CatalogJournal(null, null, null, Duration.ZERO, 1);
+    }
+
+    boolean enabled() {
+        return directory != null;
+    }
+
+    /**
+     * Items to start from, with their versions: the latest snapshot, or the items of
+     * {@code source} when there is none, with every logged write after it applied. Source is
+     * not read when there is a snapshot.
+     */
+    Recovered recover(Source source) throws IOException {
+        if (!enabled()) {
+            List<Item> items = source.read();
+            long[] orders = new long[items.size()];
+            Arrays.fill(orders, -1);
+            return new Recovered(items, new long[items.size()], new long[items.size()], orders, null);
+        }
+        long start = System.nanoTime();
+        List<Long> snapshotNumbers = numbers(SNAPSHOT);
+        long from = snapshotNumbers.isEmpty() ? 0 : snapshotNumbers.get(snapshotNumbers.size() - 1);
+        Replay replay = from > 0 ? readSnapshot(from) : Replay.of(source.read());
+
+        int replayed = 0;
+        List<Long> segments = WriteAheadLog.segments(directory);
+        for (long segment : segments) {
+            if (segment >= from) {
+                replayed += WriteAheadLog.read(directory, segment, record -> replay.apply(readEntry(record)));
+            }
+        }
+        nextSegment = Math.max(from, segments.isEmpty() ? 0 : segments.get(segments.size() - 1)) + 1;
+        log.info("Recovered {} items from {} and replayed {} logged writes in {} ms",
+                replay.items.size(), from > 0 ? snapshotFile(from) : "the source catalog", replayed,
+                (System.nanoTime() - start) / 1_000_000);
+        return replay.result();
+    }
+
+    /**
+     * Starts taking the writes to {@code state}, which must be the state built from the last
+     * {@link #recover}, logging them and taking its periodic snapshots when enabled. Snapshots
+     * take the copies {@code replicas} holds at the time. Starts once only.
+     */
+    synchronized void start(CatalogShards state, Supplier<CatalogReplicas> replicas) throws IOException {
+        if (this.state != null) {
+            throw new IllegalStateException("The catalog journal is already started");
+        }
+        this.state = state;
+        this.replicas = replicas;
+        if (!enabled()) {
+            return;
+        }
+        wal = WriteAheadLog.open(directory, nextSegment, maxBatch, metrics);
+        if (!snapshotInterval.isZero() && !snapshotInterval.isNegative()) {
+            snapshotScheduler = Schedulers.newSingle("catalog-snapshot", true);
+            snapshots = snapshotScheduler.schedulePeriodically(() -> {
+                try {
+                    snapshot();
+                } catch (IOException | RuntimeException e) {
+                    log.error("Could not write a catalog snapshot to {}", directory, e);
+                }
+            }, snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Logging catalog writes to {} with a snapshot every {}", directory, snapshotInterval);
+    }
+
+    /**
+     * Applies {@code write} to the shard of the current catalog holding item {@code id} and logs
+     * the result, emitting the written item once the record is on disk. If the log fails, the
+     * write is undone before the error is emitted; once it has failed, writes are rejected
+     * without being applied.
+     */
+    Mono<Item> write(String id, Function<CatalogState, CatalogState.ItemVersion> write) {
+        return Mono.defer(() -> {
+            WriteAheadLog log = wal;
+            CompletableFuture<Void> logged;
+            CatalogState.ItemVersion written;
+            synchronized (writes) {
+                if (log == null) {
+                    return Mono.just(write.apply(state.shardFor(id)).item());
+                }
+                if (log.failure() != null) {
+                    return Mono.error(log.failure());
+                }
+                CatalogState shard = state.shardFor(id);
+                int before = shard.ordinalOf(id);
+                CatalogState.ItemVersion previous = before >= 0 ? shard.version(before) : null;
+                written = write.apply(shard);
+                // Registered before another write can be applied, so the undoing follows the log
+                // newest first even if the record already failed
+                logged = append(log, written).whenComplete((ok, error) -> {
+                    if (error != null) {
+                        undo(id, written, previous);
+                    }
+                });
+            }
+            return Mono.fromFuture(logged).thenReturn(written.item());
+        });
+    }
+
+    /**
+     * Undoes {@code written} in the current catalog, which may have replaced the one it was
+     * applied to.
+     */
+    private void undo(String id, CatalogState.ItemVersion written, CatalogState.ItemVersion previous) {
+        synchronized (writes) {
+            CatalogState shard = state.shardFor(id);
+            int ordinal = shard.ordinalOf(id);
+            if (ordinal >= 0) {
+                shard.revert(ordinal, written, previous);
+            }
+        }
+    }
+
+    /**
+     * Logs {@code written} as is, emitting its item once the record is on disk.
+     */
+    Mono<Item> append(CatalogState.ItemVersion written) {
+        WriteAheadLog log = wal;
+        if (log == null) {
+            return Mono.just(written.item());
+        }
+        return Mono.fromFuture(append(log, written)).thenReturn(written.item());
+    }
+
+    private CompletableFuture<Void> append(WriteAheadLog log, CatalogState.ItemVersion written) {
+        return log.append(writeEntry(new Entry(written.version(), written.item(), written.source())));
+    }
+
+    /**
+     * Continues from {@code state}, a catalog that replaces the one being written. Writes are
+     * held off while {@code catchUp} brings it up to date with those made to the replaced one
+     * since it was built, and publishes it, so that none is lost; it is then snapshotted right
+     * away so that a restart starts from it. Every record in the segments the snapshot deletes
+     * was applied before it took its copy, so the snapshot holds it.
+     */
+    void rebase(CatalogShards state, Runnable catchUp) throws IOException {
+        synchronized (writes) {
+            catchUp.run();
+            this.state = state;
+        }
+        if (wal != null) {
+            snapshot(state);
+        }
+    }
+
+    private synchronized void snapshot() throws IOException {
+        snapshot(state);
+    }
+
+    /**
+     * Writes every item of {@code state}, in catalog order, and then the replicas, to a new
+     * snapshot and deletes the snapshots and log segments it replaces.
+     */
+    synchronized void snapshot(CatalogShards state) throws IOException {
+        long start = System.nanoTime();
+        // Every write logged in the segments before this one was applied before the copy starts
+        long segment = wal.rotate().join();
+        Path target = snapshotFile(segment);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        int size = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Iterator<CatalogShards.Ordered> versions = state.versions(); versions.hasNext(); ) {
+                CatalogShards.Ordered ordered = versions.next();
+                CatalogState.ItemVersion version = ordered.version();
+                if (version.item() != null) {
+                    objectMapper.writeValue(generator, new Entry(version.version(), version.item(), version.source(),
+                            state.ordered() ? ordered.order() : null, false));
+                    size++;
+                }
+            }
+            for (Item replica : replicas.get().items()) {
+                objectMapper.writeValue(generator, new Entry(0, replica, 0, null, true));
+            }
+            generator.writeEndArray();
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+
+        for (long older : numbers(SNAPSHOT)) {
+            if (older < segment) {
+                Files.deleteIfExists(snapshotFile(older));
+            }
+        }
+        wal.deleteSegmentsBefore(segment);
+        metrics.recordCatalogSnapshot(System.nanoTime() - start);
+        log.info("Wrote a snapshot of {} items to {} in {} ms", size, target, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() {
+        if (snapshots != null) {
+            snapshots.dispose();
+            snapshotScheduler.dispose();
+        }
+        if (wal != null) {
+            wal.close();
+        }
+    }
+
+    private Replay readSnapshot(long number) throws IOException {
+        Replay replay = Replay.of(List.of());
+        replay.replicas = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(snapshotFile(number));
+             MappingIterator<Entry> entries = objectMapper.readerFor(Entry.class).readValues(in)) {
+            while (entries.hasNext()) {
+                replay.apply(entries.next());
+            }
+        }
+        return replay;
+    }
+
+    private List<Long> numbers(Pattern pattern) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> pattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path snapshotFile(long number) {
+        return directory.resolve(String.format("snapshot-%012d.json", number));
+    }
+
+    private byte[] writeEntry(Entry entry) {
+        try {
+            return objectMapper.writeValueAsBytes(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Item " + entry.item().getId() + " cannot be logged", e);
+        }
+    }
+
+    private Entry readEntry(byte[] record) {
+        try {
+            return objectMapper.readValue(record, Entry.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable write-ahead log record", e);
+        }
+    }
+
+    /**
+     * Reads the source catalog, only when there is no snapshot to start from.
+     */
+    @FunctionalInterface
+    interface Source {
+        List<Item> read() throws IOException;
+    }
+
+    /**
+     * Items to build the catalog from, and the version, source version and catalog order, -1
+     * when unknown, of each by position, with the replicas of the snapshot it started from; null
+     * replicas when it started from the source.
+     */
+    record Recovered(List<Item> items, long[] versions, long[] sources, long[] orders, List<Item> replicas) {
+    }
+
+    /**
+     * One item as written, in the log and in snapshots, with the version the catalog file last
+     * set it to; or, in snapshots only, a replica. Snapshots of a cluster node also keep the
+     * catalog order of each item.
+     */
+    record Entry(long version, Item item, long source,
+                 @JsonInclude(JsonInclude.Include.NON_NULL) Long order,
+                 @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean replica) {
+
+        Entry(long version, Item item, long source) {
+            this(version, item, source, null, false);
+        }
+    }
+
+    /**
+     * Items in catalog order, updated by entries that carry a higher version than the one held
+     * and extended by entries for new IDs.
+     */
+    private static final class Replay {
+
+        private final List<Item> items;
+        private long[] versions;
+        private long[] sources;
+        private long[] orders;
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        // Replicas read from a snapshot, null when started from the source
+        private List<Item> replicas;
+
+        private Replay(List<Item> items) {
+            this.items = new ArrayList<>(items);
+            this.versions = new long[Math.max(16, items.size())];
+            this.sources = new long[versions.length];
+            this.orders = new long[versions.length];
+            Arrays.fill(orders, -1);
+            for (int ordinal = 0; ordinal < items.size(); ordinal++) {
+                ordinals.putIfAbsent(items.get(ordinal).getId(), ordinal);
+            }
+        }
+
+        static Replay of(List<Item> items) {
+            return new Replay(items);
+        }
+
+        void apply(Entry entry) {
+            if (entry.replica()) {
+                replicas.add(entry.item());
+                return;
+            }
+            Integer ordinal = ordinals.get(entry.item().getId());
+            if (ordinal == null) {
+                ordinals.put(entry.item().getId(), items.size());
+                if (items.size() == versions.length) {
+                    versions = Arrays.copyOf(versions, versions.length * 2);
+                    sources = Arrays.copyOf(sources, versions.length);
+                    orders = Arrays.copyOf(orders, versions.length);
+                }
+                versions[items.size()] = entry.version();
+                sources[items.size()] = entry.source();
+                orders[items.size()] = entry.order() != null ? entry.order() : -1;
+                items.add(entry.item());
+            } else if (entry.version() > versions[ordinal]) {
+                items.set(ordinal, entry.item());
+                versions[ordinal] = entry.version();
+                sources[ordinal] = entry.source();
+            }
+        }
+
+        Recovered result() {
+            return new Recovered(items, Arrays.copyOf(versions, items.size()), Arrays.copyOf(sources, items.size()),
+                    Arrays.copyOf(orders, items.size()), replicas);
+        }
+    }
+}
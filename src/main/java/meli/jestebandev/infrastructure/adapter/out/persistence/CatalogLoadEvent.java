@@ -0,0 +1,32 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted once per catalog load. Disabled by default; enable it with
+ * {@code -XX:StartFlightRecording:settings=<file>} or {@code jfr configure}.
+ */
+@Name("meli.CatalogLoad")
+@Label("Catalog Load")
+@Description("Reading and parsing of the item catalog")
+@Category({"MeliApi", "Catalog"})
+@Enabled(false)
+@StackTrace(false)
+class CatalogLoadEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Items")
+    int items;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,136 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Flushes and merges the segments of every shard of the in-memory catalog on a dedicated thread, so indexing
+ * written items never runs on a request thread.
+ * <p>
+ * The writes since the last flush are sealed into a segment as soon as there are
+ * {@code catalog.segments.flush-size} of them in a shard, and every {@code catalog.segments.merge-interval}
+ * whatever their number; segments are then merged once there are more than
+ * {@code catalog.segments.max-segments}. See {@link CatalogState#flush} and
+ * {@link CatalogState#merge}.
+ */
+@Slf4j
+@Component
+@Profile("!h2 & !coordinator")
+public class CatalogMerger implements DisposableBean {
+
+    private final ItemMetrics metrics;
+    private final int flushSize;
+    private final int maxSegments;
+    private final Duration interval;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // Catalog being merged, replaced on reload
+    private volatile CatalogShards state;
+    private Scheduler mergeScheduler;
+    private Disposable merges;
+
+    public CatalogMerger(
+            ItemMetrics metrics,
+            @Value("${catalog.segments.flush-size:1024}") int flushSize,
+            @Value("${catalog.segments.max-segments:8}") int maxSegments,
+            @Value("${catalog.segments.merge-interval:1s}") Duration interval
+    ) {
+        this.metrics = metrics;
+        this.flushSize = Math.max(1, flushSize);
+        this.maxSegments = Math.max(1, maxSegments);
+        this.interval = interval;
+    }
+
+    /**
+     * A merger that never runs: written items are indexed on the next reload only.
+     */
+    public static CatalogMerger disabled() {
+        return new CatalogMerger(null, Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ZERO);
+    }
+
+    boolean enabled() {
+        return !interval.isZero() && !interval.isNegative();
+    }
+
+    /**
+     * Starts flushing and merging {@code state}. Starts once only.
+     */
+    synchronized void start(CatalogShards state) {
+        if (merges != null) {
+            throw new IllegalStateException("The catalog merger is already started");
+        }
+        if (!enabled()) {
+            return;
+        }
+        this.state = state;
+        mergeScheduler = Schedulers.newSingle("catalog-merge", true);
+        merges = mergeScheduler.schedulePeriodically(this::run,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Merging catalog segments every {}, flushing every {} writes", interval, flushSize);
+    }
+
+    /**
+     * Continues with {@code state}, a catalog that replaces the one being merged.
+     */
+    void rebase(CatalogShards state) {
+        this.state = state;
+    }
+
+    /**
+     * Called after each write, to flush right away once enough writes are waiting.
+     */
+    void written() {
+        CatalogShards current = state;
+        if (current != null && current.unflushedWrites() >= flushSize && flushScheduled.compareAndSet(false, true)) {
+            mergeScheduler.schedule(() -> {
+                // Cleared first: writes from now on schedule the next flush
+                flushScheduled.set(false);
+                run();
+            });
+        }
+    }
+
+    private void run() {
+        CatalogShards current = state;
+        for (int shard = 0; shard < current.count(); shard++) {
+            run(current, current.state(shard));
+        }
+    }
+
+    private void run(CatalogShards catalog, CatalogState shard) {
+        try {
+            long start = System.nanoTime();
+            int flushed = shard.flush();
+            if (flushed > 0) {
+                metrics.recordSegmentFlush(System.nanoTime() - start, catalog.segmentCount());
+            }
+            start = System.nanoTime();
+            int merged = shard.merge(maxSegments);
+            if (merged > 0) {
+                metrics.recordSegmentMerge(System.nanoTime() - start, catalog.segmentCount());
+                log.debug("Merged {} catalog segments in {} ms", merged, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not flush or merge the catalog segments", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (merges != null) {
+            merges.dispose();
+            mergeScheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+
+import java.util.List;
+
+/**
+ * One page of the matches of a node of a cluster, with the total and the position of each match
+ * in the catalog order; null positions outside a cluster.
+ */
+public record CatalogPage(
+        List<Item> content,
+        long totalElements,
+        List<Long> positions
+) {
+}
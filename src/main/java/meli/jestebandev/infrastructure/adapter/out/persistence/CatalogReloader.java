@@ -0,0 +1,63 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Checks every {@code catalog.reload-interval} whether the catalog file changed and, if so,
+ * reloads it into the {@link JsonItemRepository}, applying only the diff while the items changed
+ * since the last full load stay within {@code catalog.reload-rebuild-ratio} of the catalog.
+ * Disabled with a zero interval.
+ */
+@Slf4j
+@Component
+@Profile("!h2 & !coordinator")
+public class CatalogReloader implements InitializingBean, DisposableBean {
+
+    private final JsonItemRepository repository;
+    private final Duration interval;
+    private final double rebuildRatio;
+    private Disposable polling;
+
+    public CatalogReloader(
+            JsonItemRepository repository,
+            @Value("${catalog.reload-interval:0s}") Duration interval,
+            @Value("${catalog.reload-rebuild-ratio:0.1}") double rebuildRatio
+    ) {
+        this.repository = repository;
+        this.interval = interval;
+        this.rebuildRatio = rebuildRatio;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        polling = Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> repository.reloadIfModified(rebuildRatio)
+                        .onErrorResume(e -> {
+                            log.error("Could not reload the catalog", e);
+                            return Mono.just(false);
+                        }), 1)
+                .subscribe();
+        log.info("Checking the catalog for changes every {}", interval);
+    }
+
+    @Override
+    public void destroy() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ItemAlreadyExistsException;
+import meli.jestebandev.domain.exception.ItemNotFoundException;
+import meli.jestebandev.domain.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Copies a shard node keeps of the items other nodes own, by ID, so that a lookup can be answered
+ * when the owner is slow or down. They are never searched, logged or published as changes: the
+ * owner does that, and the coordinator forwards each write to the replicas once the owner took it.
+ */
+final class CatalogReplicas {
+
+    private final ConcurrentMap<String, Item> items = new ConcurrentHashMap<>();
+
+    private CatalogReplicas(List<Item> items) {
+        items.forEach(item -> this.items.putIfAbsent(item.getId(), item));
+    }
+
+    static CatalogReplicas of(List<Item> items) {
+        return new CatalogReplicas(items);
+    }
+
+    Collection<Item> items() {
+        return items.values();
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    Item find(String id) {
+        return items.get(id);
+    }
+
+    Item create(Item item) {
+        if (items.putIfAbsent(item.getId(), item) != null) {
+            throw new ItemAlreadyExistsException(item.getId());
+        }
+        return item;
+    }
+
+    Item update(Item item) {
+        if (items.replace(item.getId(), item) == null) {
+            throw new ItemNotFoundException(item.getId());
+        }
+        return item;
+    }
+
+    Item decrementStock(String id, int quantity) {
+        while (true) {
+            Item current = items.get(id);
+            if (current == null) {
+                throw new ItemNotFoundException(id);
+            }
+            int stock = current.getStock() != null ? current.getStock() : 0;
+            if (stock < quantity) {
+                throw new InsufficientStockException(id, quantity, stock);
+            }
+            Item next = current.toBuilder().stock(stock - quantity).build();
+            if (items.replace(id, current, next)) {
+                return next;
+            }
+        }
+    }
+}
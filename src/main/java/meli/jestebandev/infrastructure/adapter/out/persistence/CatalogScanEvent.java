@@ -0,0 +1,39 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every filtered scan over the catalog. Disabled by default.
+ * <p>
+ * The event spans from the first candidate to completion or cancellation, so a paginated
+ * search that stops early only reports the candidates it actually visited.
+ */
+@Name("meli.CatalogScan")
+@Label("Catalog Scan")
+@Description("Filtered scan of the item catalog for a search")
+@Category({"MeliApi", "Catalog"})
+@Enabled(false)
+@StackTrace(false)
+class CatalogScanEvent extends jdk.jfr.Event {
+
+    @Label("Filter")
+    String filter;
+
+    @Label("Query Length")
+    int queryLength;
+
+    @Label("Candidates Scanned")
+    long candidatesScanned;
+
+    @Label("Matches")
+    long matches;
+
+    @Label("Partitions")
+    @Description("Partitions evaluated in parallel; 0 when the scan ran on the calling thread")
+    int partitions;
+}
@@ -0,0 +1,49 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable index over some of the catalog positions: the items written to them up to one flush
+ * of a {@link CatalogState}, indexed like a load. Position {@code p} of {@code index} holds the
+ * item at ordinal {@code ordinals[p]}, and ordinals are ascending, so a scan in catalog order
+ * visits the segment in order too.
+ */
+record CatalogSegment(int[] ordinals, CatalogSnapshot index) {
+
+    static CatalogSegment of(int[] ordinals, List<Item> items, TextAnalyzer analyzer) {
+        return new CatalogSegment(ordinals, CatalogSnapshot.of(items, analyzer));
+    }
+
+    /**
+     * One segment holding, for each ordinal in any of {@code segments}, the item of the last
+     * segment that has it; {@code segments} go from oldest to newest.
+     */
+    static CatalogSegment merge(List<CatalogSegment> segments, TextAnalyzer analyzer) {
+        Map<Integer, Item> latest = new TreeMap<>();
+        for (CatalogSegment segment : segments) {
+            for (int position = 0; position < segment.size(); position++) {
+                latest.put(segment.ordinals[position], segment.index.items().get(position));
+            }
+        }
+        int[] ordinals = latest.keySet().stream().mapToInt(Integer::intValue).toArray();
+        return of(ordinals, new ArrayList<>(latest.values()), analyzer);
+    }
+
+    int size() {
+        return ordinals.length;
+    }
+
+    /**
+     * Position of the item at {@code ordinal} in this segment, or -1.
+     */
+    int position(int ordinal) {
+        int position = Arrays.binarySearch(ordinals, ordinal);
+        return position >= 0 ? position : -1;
+    }
+}
@@ -0,0 +1,252 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.infrastructure.adapter.out.cluster.ConsistentHashRing;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the in-memory catalog into {@code catalog.shards.count} independent {@link CatalogShards
+ * shards}, each with its own indexes, and runs the scans of a search across them in parallel.
+ * <p>
+ * With {@code catalog.shards.key} {@code site} an item goes to the shard of its site prefix, the
+ * letters its ID starts with ({@code MLA}, {@code MLB}...), so each site is indexed and searched
+ * together; a shard may hold several sites, and a large site makes a large shard. With
+ * {@code hash}, the default, items spread evenly by a hash of the whole ID. One shard, the
+ * default count, keeps a single catalog and scans it on the calling thread.
+ * <p>
+ * A shard node of a cluster (see the {@code coordinator} profile) only keeps part of the catalog
+ * file: with {@code catalog.node.count} nodes, node {@code catalog.node.index} keeps the items the
+ * {@link ConsistentHashRing} of the cluster gives it, by ID. It searches those it owns and, with a
+ * {@code catalog.node.replication-factor} above 1, also keeps a copy of those it replicates, only
+ * for lookups and writes.
+ */
+@Component
+@Profile("!h2 & !coordinator")
+public class CatalogSharding implements DisposableBean {
+
+    private final int count;
+    private final boolean bySite;
+    private final int nodeIndex;
+    private final ConsistentHashRing ring;
+    private final Scheduler shardScheduler;
+
+    public CatalogSharding(
+            @Value("${catalog.shards.count:1}") int count,
+            @Value("${catalog.shards.key:hash}") String key,
+            @Value("${catalog.node.index:0}") int nodeIndex,
+            @Value("${catalog.node.count:1}") int nodeCount,
+            @Value("${catalog.node.replication-factor:1}") int replicationFactor,
+            @Value("${catalog.node.virtual-nodes:128}") int virtualNodes
+    ) {
+        if (nodeIndex < 0 || nodeIndex >= Math.max(1, nodeCount)) {
+            throw new IllegalArgumentException("catalog.node.index must be between 0 and catalog.node.count - 1");
+        }
+        this.bySite = switch (key.toLowerCase(Locale.ROOT)) {
+            case "site" -> true;
+            case "hash" -> false;
+            default -> throw new IllegalArgumentException("Unknown catalog.shards.key: " + key);
+        };
+        this.count = Math.max(1, count);
+        this.nodeIndex = nodeIndex;
+        this.ring = nodeCount > 1 ? new ConsistentHashRing(nodeCount, virtualNodes, replicationFactor) : null;
+        this.shardScheduler = this.count > 1 ? Schedulers.newParallel("catalog-shard", this.count, true) : null;
+    }
+
+    /**
+     * A single shard: the whole catalog in one.
+     */
+    public static CatalogSharding single() {
+        return of(1, "hash");
+    }
+
+    /**
+     * {@code count} shards by {@code key}, holding the whole catalog file.
+     */
+    public static CatalogSharding of(int count, String key) {
+        return new CatalogSharding(count, key, 0, 1, 1, 1);
+    }
+
+    /**
+     * Node {@code index} of a cluster of {@code nodes} nodes, with a single shard.
+     */
+    public static CatalogSharding node(int index, int nodes, int replicationFactor, int virtualNodes) {
+        return new CatalogSharding(1, "hash", index, nodes, replicationFactor, virtualNodes);
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Shard of item {@code id}; items without ID go to the first.
+     */
+    int shardOf(String id) {
+        if (count == 1 || id == null) {
+            return 0;
+        }
+        return Math.floorMod(mix((bySite ? site(id) : id).hashCode()), count);
+    }
+
+    /**
+     * Leading letters of {@code id}, its site prefix; the whole ID when it has none.
+     */
+    private static String site(String id) {
+        int end = 0;
+        while (end < id.length() && Character.isLetter(id.charAt(end))) {
+            end++;
+        }
+        return end > 0 ? id.substring(0, end) : id;
+    }
+
+    private static int mix(int hash) {
+        // Spreads IDs that differ in the last characters only
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Whether this node owns item {@code id}, so indexes and searches it; always, outside a
+     * cluster.
+     */
+    boolean owns(String id) {
+        return ring == null || id == null || ring.owner(id) == nodeIndex;
+    }
+
+    /**
+     * The items of {@code items}, the whole catalog file, owned by this node, in file order.
+     */
+    List<Item> slice(List<Item> items) {
+        if (ring == null) {
+            return items;
+        }
+        return items.stream().filter(item -> owns(item.getId())).toList();
+    }
+
+    /**
+     * Position in {@code items}, the whole catalog file, of each item of its {@link #slice};
+     * null outside a cluster.
+     */
+    long[] positions(List<Item> items) {
+        if (ring == null) {
+            return null;
+        }
+        return IntStream.range(0, items.size()).filter(position -> owns(items.get(position).getId()))
+                .asLongStream().toArray();
+    }
+
+    /**
+     * The items of {@code items}, the whole catalog file, this node keeps a copy of for another.
+     */
+    List<Item> replicas(List<Item> items) {
+        if (ring == null) {
+            return List.of();
+        }
+        return items.stream()
+                .filter(item -> item.getId() != null && !owns(item.getId()) && ring.holds(nodeIndex, item.getId()))
+                .toList();
+    }
+
+    /**
+     * Shards indexing {@code items}, in parallel, with the versions, source versions and, on a
+     * node of a cluster, catalog orders given by position. Items with no order, -1, are ordered
+     * as created, after the others; null orders leave every item so outside a cluster.
+     */
+    CatalogShards build(List<Item> items, long[] versions, long[] sources, long[] orders, TextAnalyzer analyzer) {
+        Split split = split(items);
+        long[] ordered = ring != null ? ordered(orders, items.size()) : null;
+        long[][] shardOrders = ordered != null ? new long[count][] : null;
+        CatalogState[] states = IntStream.range(0, count).parallel()
+                .mapToObj(shard -> {
+                    int[] positions = split.positions()[shard];
+                    long[] shardVersions = new long[positions.length];
+                    long[] shardSources = new long[positions.length];
+                    for (int ordinal = 0; ordinal < positions.length; ordinal++) {
+                        shardVersions[ordinal] = versions[positions[ordinal]];
+                        shardSources[ordinal] = sources[positions[ordinal]];
+                    }
+                    if (shardOrders != null) {
+                        shardOrders[shard] = Arrays.stream(positions).mapToLong(position -> ordered[position]).toArray();
+                    }
+                    return CatalogState.of(CatalogSnapshot.of(split.items().get(shard), analyzer), analyzer,
+                            shardVersions, shardSources);
+                })
+                .toArray(CatalogState[]::new);
+        return new CatalogShards(this, states, split.positions(), shardOrders);
+    }
+
+    /**
+     * {@code orders} with every missing one, -1 or past its end, taken in turn after the highest
+     * and past any catalog file.
+     */
+    private static long[] ordered(long[] orders, int size) {
+        long[] ordered = new long[size];
+        long next = CatalogShards.CREATED;
+        for (int position = 0; position < size; position++) {
+            ordered[position] = orders != null && position < orders.length ? orders[position] : -1;
+            next = Math.max(next, ordered[position] + 1);
+        }
+        for (int position = 0; position < size; position++) {
+            if (ordered[position] < 0) {
+                ordered[position] = next++;
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * {@code items} by shard, with the position in {@code items} of each.
+     */
+    Split split(List<Item> items) {
+        List<List<Item>> shards = new ArrayList<>(count);
+        int[][] positions = new int[count][];
+        int[] sizes = new int[count];
+        for (int shard = 0; shard < count; shard++) {
+            shards.add(new ArrayList<>(items.size() / count + 1));
+            positions[shard] = new int[items.size() / count + 1];
+        }
+        for (int position = 0; position < items.size(); position++) {
+            int shard = shardOf(items.get(position).getId());
+            shards.get(shard).add(items.get(position));
+            if (sizes[shard] == positions[shard].length) {
+                positions[shard] = Arrays.copyOf(positions[shard], sizes[shard] * 2);
+            }
+            positions[shard][sizes[shard]++] = position;
+        }
+        for (int shard = 0; shard < count; shard++) {
+            positions[shard] = Arrays.copyOf(positions[shard], sizes[shard]);
+        }
+        return new Split(shards, positions);
+    }
+
+    /**
+     * Runs {@code scan}, the scan of one shard, on a thread of its own when there are several.
+     */
+    <T> Flux<T> onShardThread(Flux<T> scan) {
+        return shardScheduler == null ? scan : scan.subscribeOn(shardScheduler);
+    }
+
+    @Override
+    public void destroy() {
+        if (shardScheduler != null) {
+            shardScheduler.dispose();
+        }
+    }
+
+    /**
+     * Items by shard, and the source position of each by shard and ordinal.
+     */
+    record Split(List<List<Item>> items, int[][] positions) {
+    }
+}
@@ -0,0 +1,226 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The in-memory catalog as independent shards, each a {@link CatalogState} with its own ID index,
+ * text, tries and segments, split by {@link CatalogSharding}.
+ * <p>
+ * Items keep one catalog order across shards, given by {@link #order}: loaded items by their
+ * position in the source, then the items created since, taking turns between shards. Merging
+ * the scans of every shard by that order gives the items of a single catalog, in the same order
+ * as long as nothing was created. On a node of a cluster, loaded items are ordered by their
+ * position in the whole catalog file instead, and created ones after any file could reach, so
+ * the coordinator merges the nodes by the same order.
+ */
+final class CatalogShards {
+
+    // First order of the items created on a node of a cluster: past any catalog file
+    static final long CREATED = 1L << 40;
+
+    private static final Comparator<Ranked> BY_SUGGESTION = Comparator
+            .comparingDouble((Ranked ranked) -> -CatalogState.reputation(ranked.item()))
+            .thenComparingLong(Ranked::order);
+
+    private final CatalogSharding sharding;
+    private final CatalogState[] states;
+    // Source position of each loaded item by shard and ordinal; null for a single shard
+    private final int[][] positions;
+    // Order of each loaded item by shard and ordinal on a node of a cluster; null elsewhere
+    private final long[][] orders;
+    // Order of the first item created
+    private final long created;
+
+    CatalogShards(CatalogSharding sharding, CatalogState[] states, int[][] positions, long[][] orders) {
+        this.sharding = sharding;
+        this.states = states;
+        this.positions = states.length > 1 ? positions : null;
+        this.orders = orders;
+        long next = orders != null ? CREATED : 0;
+        for (int shard = 0; shard < states.length; shard++) {
+            if (orders == null) {
+                next += states[shard].loaded();
+            } else {
+                // Items created before a snapshot are loaded from it with their order
+                for (long order : orders[shard]) {
+                    next = Math.max(next, order + 1);
+                }
+            }
+        }
+        this.created = next;
+    }
+
+    /**
+     * {@code state} as the only shard.
+     */
+    static CatalogShards of(CatalogState state) {
+        return new CatalogShards(CatalogSharding.single(), new CatalogState[]{state}, null, null);
+    }
+
+    /**
+     * These shards with {@code states} in their place, loaded from sources at {@code positions}.
+     */
+    CatalogShards with(CatalogState[] states, int[][] positions) {
+        return new CatalogShards(sharding, states, positions, orders);
+    }
+
+    int count() {
+        return states.length;
+    }
+
+    CatalogState state(int shard) {
+        return states[shard];
+    }
+
+    /**
+     * Shard holding, or to hold, item {@code id}.
+     */
+    CatalogState shardFor(String id) {
+        return states[sharding.shardOf(id)];
+    }
+
+    int[] positions(int shard) {
+        return positions != null ? positions[shard] : null;
+    }
+
+    /**
+     * Position in the catalog order of the item at {@code ordinal} of {@code shard}.
+     */
+    long order(int shard, int ordinal) {
+        int shardLoaded = states[shard].loaded();
+        if (ordinal < shardLoaded) {
+            if (orders != null) {
+                return orders[shard][ordinal];
+            }
+            return positions != null ? positions[shard][ordinal] : ordinal;
+        }
+        return created + (long) (ordinal - shardLoaded) * states.length + shard;
+    }
+
+    /**
+     * Whether items are ordered by their position in the whole catalog file, on a node of a
+     * cluster.
+     */
+    boolean ordered() {
+        return orders != null;
+    }
+
+    /**
+     * Position in the catalog order of live item {@code id}, -1 when there is none.
+     */
+    long order(String id) {
+        int shard = sharding.shardOf(id);
+        int ordinal = states[shard].ordinalOf(id);
+        return ordinal >= 0 ? order(shard, ordinal) : -1;
+    }
+
+    /**
+     * Versions of every item, removed ones included, in catalog order, with that order.
+     */
+    Iterator<Ordered> versions() {
+        int[] sizes = new int[states.length];
+        for (int shard = 0; shard < states.length; shard++) {
+            sizes[shard] = states[shard].size();
+        }
+        int[] next = new int[states.length];
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                for (int shard = 0; shard < states.length; shard++) {
+                    if (next[shard] < sizes[shard]) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public Ordered next() {
+                int first = -1;
+                for (int shard = 0; shard < states.length; shard++) {
+                    if (next[shard] < sizes[shard]
+                            && (first < 0 || order(shard, next[shard]) < order(first, next[first]))) {
+                        first = shard;
+                    }
+                }
+                if (first < 0) {
+                    throw new NoSuchElementException();
+                }
+                int ordinal = next[first]++;
+                return new Ordered(order(first, ordinal), states[first].version(ordinal));
+            }
+        };
+    }
+
+    /**
+     * Up to {@code limit} live items with a word starting with {@code prefix}, best reputation
+     * first across shards.
+     */
+    List<Item> suggest(String prefix, int limit) {
+        if (states.length == 1) {
+            return states[0].suggest(prefix, limit);
+        }
+        List<Ranked> candidates = new ArrayList<>();
+        for (int shard = 0; shard < states.length; shard++) {
+            for (Item item : states[shard].suggest(prefix, limit)) {
+                candidates.add(new Ranked(order(shard, states[shard].ordinalOf(item.getId())), item));
+            }
+        }
+        return candidates.stream().sorted(BY_SUGGESTION).limit(limit).map(Ranked::item).toList();
+    }
+
+    /**
+     * Closest dictionary terms to each word of {@code query} across every shard, so a query
+     * resolves to the same terms however the catalog is split.
+     */
+    List<List<String>> expand(String query) {
+        if (states.length == 1) {
+            return states[0].expand(query);
+        }
+        List<FuzzyTermIndex> dictionaries = new ArrayList<>();
+        for (CatalogState state : states) {
+            dictionaries.addAll(state.dictionaries());
+        }
+        return dictionaries.get(0).expand(query, dictionaries.subList(1, dictionaries.size()));
+    }
+
+    /**
+     * Most writes waiting for a flush in any one shard.
+     */
+    int unflushedWrites() {
+        int unflushed = 0;
+        for (CatalogState state : states) {
+            unflushed = Math.max(unflushed, state.unflushedWrites());
+        }
+        return unflushed;
+    }
+
+    int segmentCount() {
+        int segments = 0;
+        for (CatalogState state : states) {
+            segments += state.segmentCount();
+        }
+        return segments;
+    }
+
+    /**
+     * A version of an item and its position in the catalog order.
+     */
+    record Ordered(long order, CatalogState.ItemVersion version) {
+    }
+
+    /**
+     * An item and its position in the catalog order.
+     */
+    record Ranked(long order, Item item) {
+
+        static final Comparator<Ranked> ORDER = Comparator.comparingLong(Ranked::order);
+    }
+}
@@ -0,0 +1,74 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable result of one catalog load: the items plus every structure derived from them.
+ * <p>
+ * {@code text} holds the {@link TextAnalyzer#fold folded} title and description of each item by
+ * position, so searches never normalize catalog text per request, and {@code hashes} the
+ * {@link Item#hashCode content hash} of each, so a reload tells most changed items apart from
+ * unchanged ones without comparing them field by field.
+ */
+record CatalogSnapshot(
+        List<Item> items,
+        PackedText text,
+        SuggestionIndex suggestions,
+        FuzzyTermIndex terms,
+        int[] hashes
+) {
+
+    static CatalogSnapshot of(List<Item> items, TextAnalyzer analyzer) {
+        String[] titles = new String[items.size()];
+        String[] descriptions = new String[items.size()];
+        int[] hashes = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            titles[i] = analyzer.fold(items.get(i).getTitle());
+            descriptions[i] = analyzer.fold(items.get(i).getDescription());
+            hashes[i] = items.get(i).hashCode();
+        }
+        return new CatalogSnapshot(
+                items,
+                PackedText.of(titles, descriptions),
+                SuggestionIndex.build(items, analyzer),
+                FuzzyTermIndex.build(titles, descriptions, analyzer),
+                hashes
+        );
+    }
+
+    /**
+     * Predicate accepting the items whose folded title or description contains
+     * {@code foldedText}. Stateful: build one per scan.
+     */
+    IntPredicate textMatcher(String foldedText) {
+        return text.matcher(foldedText);
+    }
+
+    /**
+     * Predicate accepting the items that, for every word of a fuzzy query, contain at least one
+     * of that word's alternative terms. Stateful: build one per scan.
+     */
+    IntPredicate everyWordMatcher(List<List<String>> alternatives) {
+        List<IntPredicate[]> words = alternatives.stream()
+                .map(terms -> terms.stream().map(text::matcher).toArray(IntPredicate[]::new))
+                .toList();
+        return ordinal -> {
+            for (IntPredicate[] terms : words) {
+                boolean found = false;
+                for (IntPredicate term : terms) {
+                    if (term.test(ordinal)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+}
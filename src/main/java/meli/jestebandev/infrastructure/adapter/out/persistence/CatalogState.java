@@ -0,0 +1,823 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ItemAlreadyExistsException;
+import meli.jestebandev.domain.exception.ItemNotFoundException;
+import meli.jestebandev.domain.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * The loaded {@link CatalogSnapshot} plus the writes applied to it since, without locks.
+ * <p>
+ * Every item lives in a cell holding its latest {@link ItemVersion}. Cells of loaded items are
+ * the slots of one {@link AtomicReferenceArray}, empty while the item is unchanged; items created
+ * afterwards get their own cell, appended to a growable array whose length is published after the
+ * cell, so a creation costs O(1) amortized. A write reads the current version of its cell,
+ * derives the next one and installs it only if the cell still holds what it read, retrying
+ * otherwise, so writes to the same item are serialized without blocking and a stock decrement
+ * can never act on a stock that another decrement already spent.
+ * <p>
+ * Reads never wait and never retry: a lookup is one index probe plus one volatile read, and a
+ * scan sees each item either before or after any given write.
+ * <p>
+ * Text is indexed log-structured. The load is the first, largest segment, and never changes.
+ * Written items keep their folded text in their version, a memtable that {@link #flush} seals into
+ * a new immutable {@link CatalogSegment} with its own packed text, suggestion trie and dictionary,
+ * after which their versions only point into it; {@link #merge} compacts segments in the
+ * background. A search visits each item in the segment that holds its latest text, so it runs over
+ * all segments at once and their matches come out merged in catalog order; suggestions and typo
+ * corrections are gathered from every segment and merged. Text written since the last flush is
+ * searched but neither suggested nor used for typo corrections yet. Removed items are tombstones,
+ * versions without an item, which lookups and scans skip; terms that only removed items had stay
+ * in the dictionaries until the next full load.
+ * <p>
+ * A reload that changes few items does not rebuild the load either: {@link #apply} derives the
+ * next state from a {@link Diff}, sharing the load and the segments and copying only the cells.
+ * Each version remembers the version the catalog file last set the item to, its source version;
+ * a reload leaves the items written since as they are.
+ */
+final class CatalogState {
+
+    private final CatalogSnapshot snapshot;
+    private final IdIndex ids;
+    private final TextAnalyzer analyzer;
+    private final int loaded;
+    // Version and source version of each loaded item at load time, all 0 when loaded from the
+    // source catalog
+    private final long[] loadedVersions;
+    private final long[] loadedSources;
+    // Latest version of each loaded item by ordinal, null while unchanged since the load
+    private final AtomicReferenceArray<ItemVersion> changes;
+    private final Created created;
+    // Segments flushed since the load, oldest first; never modified, replaced by flushes and merges
+    private final AtomicReference<List<CatalogSegment>> segments;
+    // Memtable: ordinals written since the last flush, in write order, possibly repeated
+    private final Queue<Integer> unflushed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unflushedWrites = new AtomicInteger();
+    // Removals minus re-creations, so at least the number of tombstones
+    private final AtomicInteger removed;
+
+    private CatalogState(CatalogSnapshot snapshot, IdIndex ids, TextAnalyzer analyzer, long[] loadedVersions,
+                         long[] loadedSources, AtomicReferenceArray<ItemVersion> changes, Created created,
+                         List<CatalogSegment> segments, int removed) {
+        this.snapshot = snapshot;
+        this.ids = ids;
+        this.analyzer = analyzer;
+        this.loaded = snapshot.items().size();
+        this.loadedVersions = loadedVersions;
+        this.loadedSources = loadedSources;
+        this.changes = changes;
+        this.created = created;
+        this.segments = new AtomicReference<>(segments);
+        this.removed = new AtomicInteger(removed);
+    }
+
+    private CatalogState(CatalogSnapshot snapshot, TextAnalyzer analyzer, long[] loadedVersions, long[] loadedSources) {
+        this(snapshot, IdIndex.build(snapshot.items()), analyzer, loadedVersions, loadedSources,
+                new AtomicReferenceArray<>(snapshot.items().size()), new Created(), List.of(), 0);
+    }
+
+    static CatalogState of(CatalogSnapshot snapshot, TextAnalyzer analyzer) {
+        return new CatalogState(snapshot, analyzer, new long[snapshot.items().size()], new long[snapshot.items().size()]);
+    }
+
+    /**
+     * State whose loaded items start at {@code versions}, and at {@code sources} as source
+     * versions, by ordinal, as recovered from a {@link CatalogJournal}, so that later writes keep
+     * numbering versions from there.
+     */
+    static CatalogState of(CatalogSnapshot snapshot, TextAnalyzer analyzer, long[] versions, long[] sources) {
+        return new CatalogState(snapshot, analyzer, versions, sources);
+    }
+
+    CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Number of items loaded; ordinals from it on are items created since.
+     */
+    int loaded() {
+        return loaded;
+    }
+
+    /**
+     * Number of items, loaded and created, removed ones included; ordinals below it stay valid
+     * for good.
+     */
+    int size() {
+        return loaded + created.size();
+    }
+
+    /**
+     * Latest version of the item at {@code ordinal}, or null once removed.
+     */
+    Item item(int ordinal) {
+        if (ordinal < loaded) {
+            ItemVersion changed = changes.get(ordinal);
+            return changed != null ? changed.item() : snapshot.items().get(ordinal);
+        }
+        return version(ordinal).item();
+    }
+
+    /**
+     * Ordinal of the item with {@code id}, or -1.
+     */
+    int ordinalOf(String id) {
+        int ordinal = slotOf(id);
+        return ordinal >= 0 && item(ordinal) != null ? ordinal : -1;
+    }
+
+    /**
+     * {@code predicate} restricted to the items that were not removed, which it may then assume.
+     */
+    IntPredicate live(IntPredicate predicate) {
+        if (removed.get() == 0) {
+            return predicate;
+        }
+        return ordinal -> item(ordinal) != null && predicate.test(ordinal);
+    }
+
+    /**
+     * Items compared against {@code id} while looking it up, for lookup events.
+     */
+    int probes(String id) {
+        return ids.probes(id) + (ids.find(id) < 0 ? 1 : 0);
+    }
+
+    List<Item> suggest(String prefix, int limit) {
+        List<CatalogSegment> flushed = segments.get();
+        if (flushed.isEmpty() && removed.get() == 0) {
+            return snapshot.suggestions().suggest(prefix, limit).stream()
+                    .map(item -> item(ids.find(item.getId())))
+                    .toList();
+        }
+        // Each segment, the load being -1, only answers for the items whose latest flushed text
+        // it holds. Some of its best candidates may be dropped, so all of them are taken
+        List<Suggestion> candidates = new ArrayList<>();
+        collectSuggestions(snapshot.suggestions().suggest(prefix, SuggestionIndex.CANDIDATES_PER_NODE),
+                -1, flushed, candidates);
+        for (int segment = 0; segment < flushed.size(); segment++) {
+            collectSuggestions(flushed.get(segment).index().suggestions().suggest(prefix, SuggestionIndex.CANDIDATES_PER_NODE),
+                    segment, flushed, candidates);
+        }
+        candidates.sort(Suggestion.RANKING);
+        return candidates.stream()
+                .limit(limit)
+                .map(candidate -> item(candidate.ordinal()))
+                .toList();
+    }
+
+    /**
+     * Resolves every word of {@code query} to its closest terms in the dictionaries of every
+     * segment; see {@link FuzzyTermIndex#expand(String)}.
+     */
+    List<List<String>> expand(String query) {
+        List<CatalogSegment> flushed = segments.get();
+        if (flushed.isEmpty()) {
+            return snapshot.terms().expand(query);
+        }
+        return snapshot.terms().expand(query, flushed.stream().map(segment -> segment.index().terms()).toList());
+    }
+
+    /**
+     * Typo-tolerance dictionaries of every segment, the load first.
+     */
+    List<FuzzyTermIndex> dictionaries() {
+        List<FuzzyTermIndex> dictionaries = new ArrayList<>();
+        dictionaries.add(snapshot.terms());
+        segments.get().forEach(segment -> dictionaries.add(segment.index().terms()));
+        return dictionaries;
+    }
+
+    ItemVersion create(Item item) {
+        ItemVersion first = new ItemVersion(item, 1,
+                analyzer.fold(item.getTitle()), analyzer.fold(item.getDescription()));
+        while (true) {
+            int ordinal = slotOf(item.getId());
+            if (ordinal < 0) {
+                int appended = created.add(item.getId(), loaded, first);
+                if (appended >= 0) {
+                    written(appended);
+                    return first;
+                }
+                continue;
+            }
+            // A removed item comes back in its former cell, numbered after its removal
+            ItemVersion tombstone = version(ordinal);
+            if (tombstone.item() != null) {
+                throw new ItemAlreadyExistsException(item.getId());
+            }
+            ItemVersion next = indexed(ordinal, item).numbered(tombstone.version() + 1, tombstone.source());
+            if (replace(ordinal, tombstone, next)) {
+                removed.decrementAndGet();
+                written(ordinal);
+                return next;
+            }
+        }
+    }
+
+    ItemVersion update(Item item) {
+        int ordinal = existing(item.getId());
+        ItemVersion written = indexed(ordinal, item);
+        while (true) {
+            ItemVersion current = version(ordinal);
+            ItemVersion next = written.numbered(current.version() + 1, current.source());
+            if (replace(ordinal, current, next)) {
+                written(ordinal);
+                return next;
+            }
+        }
+    }
+
+    ItemVersion decrementStock(String id, int quantity) {
+        int ordinal = existing(id);
+        while (true) {
+            ItemVersion current = version(ordinal);
+            int stock = current.item().getStock() != null ? current.item().getStock() : 0;
+            if (stock < quantity) {
+                throw new InsufficientStockException(id, quantity, stock);
+            }
+            ItemVersion next = current.with(current.item().toBuilder().stock(stock - quantity).build());
+            if (replace(ordinal, current, next)) {
+                written(ordinal);
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Undoes {@code written}, a write to the item at {@code ordinal} that could not be made
+     * durable, putting back {@code previous}, or a tombstone when the write created the item.
+     * Does nothing once the item was written again, since a later write carries this one.
+     * {@code previous} may come from the state this one replaced, so its text is indexed again.
+     */
+    void revert(int ordinal, ItemVersion written, ItemVersion previous) {
+        while (true) {
+            ItemVersion current = version(ordinal);
+            if (current.version() != written.version() || current.item() != written.item()) {
+                return;
+            }
+            ItemVersion restored = previous != null && previous.item() != null
+                    ? indexed(ordinal, previous.item()).numbered(previous.version(), previous.source())
+                    : new ItemVersion(null, written.version(), null, null);
+            if (replace(ordinal, current, restored)) {
+                if (previous == null || previous.item() == null) {
+                    removed.incrementAndGet();
+                }
+                written(ordinal);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Predicate accepting the items whose folded title or description contains
+     * {@code foldedText}. Stateful: build one per scan.
+     */
+    IntPredicate textMatcher(String foldedText) {
+        return routed(index -> index.textMatcher(foldedText), changed -> changed.contains(foldedText));
+    }
+
+    /**
+     * Predicate accepting the items that, for every word of a fuzzy query, contain at least one
+     * of that word's alternative terms. Stateful: build one per scan.
+     */
+    IntPredicate everyWordMatcher(List<List<String>> alternatives) {
+        return routed(index -> index.everyWordMatcher(alternatives),
+                changed -> alternatives.stream().allMatch(terms -> terms.stream().anyMatch(changed::contains)));
+    }
+
+    /**
+     * Predicate testing each item against the segment that holds its latest text, through the
+     * predicate {@code matcher} builds for that segment, or with {@code unflushed} when its text
+     * is only in its version. Segment predicates are built on first use and visited in ascending
+     * positions, since segment positions follow catalog order.
+     */
+    private IntPredicate routed(Function<CatalogSnapshot, IntPredicate> matcher, Predicate<ItemVersion> unflushed) {
+        IntPredicate loadedText = matcher.apply(snapshot);
+        Map<CatalogSegment, IntPredicate> bySegment = new IdentityHashMap<>();
+        Function<CatalogSegment, IntPredicate> segmentMatcher = segment -> matcher.apply(segment.index());
+        return ordinal -> {
+            ItemVersion changed = changedText(ordinal);
+            if (changed == null) {
+                return loadedText.test(ordinal);
+            }
+            if (changed.segment() != null) {
+                return bySegment.computeIfAbsent(changed.segment(), segmentMatcher).test(changed.position());
+            }
+            return unflushed.test(changed);
+        };
+    }
+
+    /**
+     * What turns this catalog into {@code items}: the items with a new ID, or the ID of a removed
+     * item, the items whose content differs from their latest version and the IDs missing from
+     * {@code items}. Items written since their source version are neither updated nor removed,
+     * since their written version is the newer one. Only the first item with each ID counts,
+     * since repeated IDs are never returned. The {@link CatalogSnapshot#hashes content hash} of
+     * the load rejects most changed items without comparing them field by field.
+     */
+    Diff diff(List<Item> items) {
+        List<Item> added = new ArrayList<>();
+        List<Item> updated = new ArrayList<>();
+        Set<String> seen = new HashSet<>(items.size() * 4 / 3 + 1);
+        for (Item item : items) {
+            if (item.getId() == null || !seen.add(item.getId())) {
+                continue;
+            }
+            int ordinal = ordinalOf(item.getId());
+            if (ordinal < 0) {
+                added.add(item);
+            } else if (!sameContent(ordinal, item) && !version(ordinal).writtenSinceSource()) {
+                updated.add(item);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        int size = size();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            Item item = item(ordinal);
+            if (item != null && item.getId() != null && !seen.contains(item.getId())
+                    && ordinalOf(item.getId()) == ordinal && !version(ordinal).writtenSinceSource()) {
+                removed.add(item.getId());
+            }
+        }
+        return new Diff(added, updated, removed);
+    }
+
+    /**
+     * Next state of the catalog, with {@code diff} applied to a copy of the cells of this one and
+     * flushed, the items it updates or adds taking their new version as source version. Shares
+     * the load and the segments, so its cost grows with the catalog size for the copy and with the
+     * changes for the rest. Writes to this state once the copy is taken are only carried over by
+     * {@link #carryWrites}.
+     */
+    CatalogState apply(Diff diff) {
+        AtomicReferenceArray<ItemVersion> nextChanges = new AtomicReferenceArray<>(loaded);
+        for (int ordinal = 0; ordinal < loaded; ordinal++) {
+            ItemVersion changed = changes.get(ordinal);
+            if (changed != null) {
+                nextChanges.set(ordinal, changed);
+            }
+        }
+        CatalogState next = new CatalogState(snapshot, ids, analyzer, loadedVersions, loadedSources, nextChanges,
+                created.copy(), segments.get(), removed.get());
+        unflushed.forEach(next::written);
+        diff.removed().forEach(next::remove);
+        diff.updated().forEach(item -> next.sourced(item.getId(), next.update(item)));
+        diff.added().forEach(item -> next.sourced(item.getId(), next.create(item)));
+        next.flush();
+        return next;
+    }
+
+    /**
+     * Version number of every item, by ordinal, to tell later which were written since.
+     */
+    long[] versionNumbers() {
+        long[] numbers = new long[size()];
+        for (int ordinal = 0; ordinal < numbers.length; ordinal++) {
+            ItemVersion changed = ordinal < loaded ? changes.get(ordinal) : null;
+            numbers[ordinal] = ordinal < loaded && changed == null ? loadedVersions[ordinal] : version(ordinal).version();
+        }
+        return numbers;
+    }
+
+    /**
+     * Puts in this state, which replaces {@code replaced}, the items written to that one since
+     * it had the {@link #versionNumbers} {@code seen}: each of them wins over the version here,
+     * since it was acknowledged or is still being logged. Must run before this state is written
+     * to, with writes to {@code replaced} held off.
+     */
+    void carryWrites(CatalogState replaced, long[] seen) {
+        int size = replaced.size();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            ItemVersion written = replaced.version(ordinal);
+            if (written.item() != null && (ordinal >= seen.length || written.version() != seen[ordinal])) {
+                restore(written);
+            }
+        }
+    }
+
+    /**
+     * Items changed since the load, at most: the ones in the segments plus the removed ones.
+     */
+    int changedSinceLoad() {
+        return segments.get().stream().mapToInt(CatalogSegment::size).sum() + removed.get();
+    }
+
+    /**
+     * Writes made since the last flush, counting repeated writes to an item.
+     */
+    int unflushedWrites() {
+        return unflushedWrites.get();
+    }
+
+    int segmentCount() {
+        return segments.get().size();
+    }
+
+    /**
+     * Seals the items written since the last flush into a new segment and returns how many it
+     * holds. Each cell still holding the flushed version then points into the segment instead of
+     * keeping its folded text; a cell written in the meantime keeps the newer version, which the
+     * next flush takes. Items whose text is still the one of the load are left out, unless a
+     * segment holds older text of theirs.
+     */
+    synchronized int flush() {
+        List<Integer> drained = new ArrayList<>();
+        for (Integer ordinal = unflushed.poll(); ordinal != null; ordinal = unflushed.poll()) {
+            drained.add(ordinal);
+        }
+        unflushedWrites.addAndGet(-drained.size());
+        int[] written = drained.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+
+        List<CatalogSegment> flushed = segments.get();
+        List<Integer> ordinals = new ArrayList<>();
+        List<ItemVersion> versions = new ArrayList<>();
+        for (int ordinal : written) {
+            ItemVersion version = version(ordinal);
+            if (version.item() == null || version.segment() != null
+                    || version.title() == null && newestSegmentWith(ordinal, flushed) < 0) {
+                continue;
+            }
+            ordinals.add(ordinal);
+            versions.add(version);
+        }
+        if (ordinals.isEmpty()) {
+            return 0;
+        }
+        CatalogSegment segment = CatalogSegment.of(ordinals.stream().mapToInt(Integer::intValue).toArray(),
+                versions.stream().map(ItemVersion::item).toList(), analyzer);
+        List<CatalogSegment> next = new ArrayList<>(flushed);
+        next.add(segment);
+        segments.set(List.copyOf(next));
+        for (int position = 0; position < versions.size(); position++) {
+            ItemVersion version = versions.get(position);
+            replace(ordinals.get(position), version, version.in(segment, position));
+        }
+        return ordinals.size();
+    }
+
+    /**
+     * Merges the newest segments into one once there are more than {@code maxSegments}, and
+     * returns how many it merged. The merge starts at the oldest segment no larger than all the
+     * newer ones together, so small recent segments are merged with each other before a large
+     * older one is rewritten, and always takes enough to get back to {@code maxSegments}.
+     * Searches keep using the merged segments until every cell points into the new one.
+     */
+    synchronized int merge(int maxSegments) {
+        List<CatalogSegment> flushed = segments.get();
+        int limit = Math.max(1, maxSegments);
+        if (flushed.size() <= limit) {
+            return 0;
+        }
+        int from = limit - 1;
+        int newer = 0;
+        for (int i = flushed.size() - 1; i > 0; i--) {
+            newer += flushed.get(i).size();
+            if (flushed.get(i - 1).size() <= newer) {
+                from = Math.min(from, i - 1);
+            }
+        }
+        List<CatalogSegment> merging = flushed.subList(from, flushed.size());
+        CatalogSegment merged = CatalogSegment.merge(merging, analyzer);
+        List<CatalogSegment> next = new ArrayList<>(flushed.subList(0, from));
+        next.add(merged);
+        segments.set(List.copyOf(next));
+
+        Set<CatalogSegment> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+        replaced.addAll(merging);
+        for (int position = 0; position < merged.size(); position++) {
+            int ordinal = merged.ordinals()[position];
+            while (true) {
+                ItemVersion version = version(ordinal);
+                if (version.segment() == null || !replaced.contains(version.segment())
+                        || replace(ordinal, version, version.in(merged, position))) {
+                    break;
+                }
+            }
+        }
+        return merging.size();
+    }
+
+    private void written(int ordinal) {
+        unflushed.add(ordinal);
+        unflushedWrites.incrementAndGet();
+    }
+
+    /**
+     * Makes {@code written}, just written to item {@code id} of a state nobody else writes to
+     * yet, its source version.
+     */
+    private void sourced(String id, ItemVersion written) {
+        replace(slotOf(id), written, written.numbered(written.version(), written.version()));
+    }
+
+    /**
+     * Puts {@code written} in place of the version of its item, creating the item if missing.
+     */
+    private void restore(ItemVersion written) {
+        String id = written.item().getId();
+        while (true) {
+            int ordinal = slotOf(id);
+            if (ordinal < 0) {
+                int appended = created.add(id, loaded, indexed(loaded + created.size(), written.item())
+                        .numbered(written.version(), written.source()));
+                if (appended >= 0) {
+                    written(appended);
+                    return;
+                }
+                continue;
+            }
+            ItemVersion current = version(ordinal);
+            if (replace(ordinal, current, indexed(ordinal, written.item()).numbered(written.version(), written.source()))) {
+                if (current.item() == null) {
+                    removed.decrementAndGet();
+                }
+                written(ordinal);
+                return;
+            }
+        }
+    }
+
+    private void remove(String id) {
+        int ordinal = existing(id);
+        while (true) {
+            ItemVersion current = version(ordinal);
+            if (replace(ordinal, current, new ItemVersion(null, current.version() + 1, null, null))) {
+                removed.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Index in {@code flushed} of the newest segment holding the item at {@code ordinal}, or -1.
+     */
+    private static int newestSegmentWith(int ordinal, List<CatalogSegment> flushed) {
+        for (int segment = flushed.size() - 1; segment >= 0; segment--) {
+            if (flushed.get(segment).position(ordinal) >= 0) {
+                return segment;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the {@code suggested} items of segment {@code segment} that it answers for and that
+     * were not removed.
+     */
+    private void collectSuggestions(List<Item> suggested, int segment, List<CatalogSegment> flushed,
+                                    List<Suggestion> candidates) {
+        for (Item item : suggested) {
+            int ordinal = ordinalOf(item.getId());
+            if (ordinal >= 0 && newestSegmentWith(ordinal, flushed) == segment) {
+                candidates.add(new Suggestion(ordinal, reputation(item)));
+            }
+        }
+    }
+
+    private boolean sameContent(int ordinal, Item item) {
+        Item latest;
+        int hash;
+        if (ordinal < loaded && changes.get(ordinal) == null) {
+            latest = snapshot.items().get(ordinal);
+            hash = snapshot.hashes()[ordinal];
+        } else {
+            latest = item(ordinal);
+            hash = latest.hashCode();
+        }
+        return hash == item.hashCode() && latest.equals(item);
+    }
+
+    /**
+     * Ordinal of the item with {@code id}, removed or not, or -1.
+     */
+    private int slotOf(String id) {
+        int ordinal = ids.find(id);
+        return ordinal >= 0 ? ordinal : created.ordinal(id);
+    }
+
+    /**
+     * Version 0 of {@code item} at {@code ordinal}, with its folded text unless it is the packed
+     * text of the load.
+     */
+    private ItemVersion indexed(int ordinal, Item item) {
+        String title = analyzer.fold(item.getTitle());
+        String description = analyzer.fold(item.getDescription());
+        // Loaded items whose text did not change keep matching against the packed text
+        if (ordinal < loaded && title.equals(snapshot.text().title(ordinal))
+                && description.equals(snapshot.text().description(ordinal))) {
+            return new ItemVersion(item, 0, null, null);
+        }
+        return new ItemVersion(item, 0, title, description);
+    }
+
+    static double reputation(Item item) {
+        return item.getSeller() != null && item.getSeller().getReputation() != null
+                ? item.getSeller().getReputation()
+                : 0.0;
+    }
+
+    private int existing(String id) {
+        int ordinal = ordinalOf(id);
+        if (ordinal < 0) {
+            throw new ItemNotFoundException(id);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Latest version of the item at {@code ordinal}, with its version number.
+     */
+    ItemVersion version(int ordinal) {
+        if (ordinal >= loaded) {
+            return created.cell(ordinal - loaded).get();
+        }
+        ItemVersion changed = changes.get(ordinal);
+        return changed != null
+                ? changed
+                : new ItemVersion(snapshot.items().get(ordinal), loadedVersions[ordinal], null, null, null, -1,
+                        loadedSources[ordinal]);
+    }
+
+    /**
+     * Version of the item at {@code ordinal} when its text differs from the packed text of the
+     * load, otherwise null.
+     */
+    private ItemVersion changedText(int ordinal) {
+        if (ordinal >= loaded) {
+            return created.cell(ordinal - loaded).get();
+        }
+        ItemVersion changed = changes.get(ordinal);
+        return changed != null && (changed.title() != null || changed.segment() != null) ? changed : null;
+    }
+
+    private boolean replace(int ordinal, ItemVersion current, ItemVersion next) {
+        if (ordinal >= loaded) {
+            return created.cell(ordinal - loaded).compareAndSet(current, next);
+        }
+        // An item never written since the load is an empty slot. The versions standing for it are
+        // never stored, so if the slot is no longer empty the compare-and-set fails and retries
+        ItemVersion expected = changes.get(ordinal) == null ? null : current;
+        return changes.compareAndSet(ordinal, expected, next);
+    }
+
+    /**
+     * One version of an item. {@code title} and {@code description} are its folded text until
+     * it is flushed; from then on {@code segment} and {@code position} locate it in the segment
+     * holding its text instead. All are empty for a loaded item whose text is still the one
+     * packed at load time. A null {@code item} marks a removed item. {@code source} is the
+     * version the catalog file last set the item to, 0 if it never did.
+     */
+    record ItemVersion(Item item, long version, String title, String description,
+                       CatalogSegment segment, int position, long source) {
+
+        ItemVersion(Item item, long version, String title, String description) {
+            this(item, version, title, description, null, -1, 0);
+        }
+
+        ItemVersion with(Item next) {
+            return new ItemVersion(next, version + 1, title, description, segment, position, source);
+        }
+
+        ItemVersion numbered(long next, long nextSource) {
+            return new ItemVersion(item, next, title, description, segment, position, nextSource);
+        }
+
+        ItemVersion in(CatalogSegment flushedTo, int flushedAt) {
+            return new ItemVersion(item, version, null, null, flushedTo, flushedAt, source);
+        }
+
+        /**
+         * Whether the item was written since the catalog file last set it.
+         */
+        boolean writtenSinceSource() {
+            return version > source;
+        }
+
+        boolean contains(String foldedText) {
+            return title.contains(foldedText) || description.contains(foldedText);
+        }
+    }
+
+    /**
+     * Items created since the load, in creation order, and their ordinals by ID. Appends are
+     * serialized and grow the array by doubling; each publishes the cells with their new length
+     * only after the cell is in place and before its ID can be found, so readers see a prefix of
+     * the cells that never changes and take no lock.
+     */
+    private static final class Created {
+
+        private final Map<String, Integer> ordinals;
+        private volatile Cells cells;
+
+        Created() {
+            this(new ConcurrentHashMap<>(), new Cells(newCells(16), 0));
+        }
+
+        private Created(Map<String, Integer> ordinals, Cells cells) {
+            this.ordinals = ordinals;
+            this.cells = cells;
+        }
+
+        int size() {
+            return cells.size();
+        }
+
+        AtomicReference<ItemVersion> cell(int index) {
+            Cells current = cells;
+            Objects.checkIndex(index, current.size());
+            return current.slots()[index];
+        }
+
+        /**
+         * Ordinal of the created item with {@code id}, or -1.
+         */
+        int ordinal(String id) {
+            return ordinals.getOrDefault(id, -1);
+        }
+
+        /**
+         * Appends a cell holding {@code first} and returns its ordinal, counted from
+         * {@code loaded}, or -1 when an item with {@code id} was created already.
+         */
+        synchronized int add(String id, int loaded, ItemVersion first) {
+            if (ordinals.containsKey(id)) {
+                return -1;
+            }
+            Cells current = cells;
+            AtomicReference<ItemVersion>[] slots = current.slots();
+            if (current.size() == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            slots[current.size()] = new AtomicReference<>(first);
+            cells = new Cells(slots, current.size() + 1);
+            int ordinal = loaded + current.size();
+            ordinals.put(id, ordinal);
+            return ordinal;
+        }
+
+        /**
+         * Same items in new cells, for a state whose writes must not reach this one.
+         */
+        synchronized Created copy() {
+            Cells current = cells;
+            AtomicReference<ItemVersion>[] slots = newCells(current.slots().length);
+            for (int index = 0; index < current.size(); index++) {
+                slots[index] = new AtomicReference<>(current.slots()[index].get());
+            }
+            return new Created(new ConcurrentHashMap<>(ordinals), new Cells(slots, current.size()));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static AtomicReference<ItemVersion>[] newCells(int length) {
+            return new AtomicReference[length];
+        }
+
+        /**
+         * The first {@code size} of {@code slots} are cells; later ones are not published yet.
+         */
+        private record Cells(AtomicReference<ItemVersion>[] slots, int size) {
+        }
+    }
+
+    /**
+     * Changes that turn a catalog into a newer one; see {@link #diff}.
+     */
+    record Diff(List<Item> added, List<Item> updated, List<String> removed) {
+
+        int size() {
+            return added.size() + updated.size() + removed.size();
+        }
+    }
+
+    /**
+     * Item at {@code ordinal} suggested with the seller reputation it was indexed with.
+     */
+    private record Suggestion(int ordinal, double reputation) {
+
+        // Same ranking as the tries: highest seller reputation, then catalog order
+        static final Comparator<Suggestion> RANKING = Comparator.comparingDouble(Suggestion::reputation).reversed()
+                .thenComparingInt(Suggestion::ordinal);
+    }
+}
@@ -0,0 +1,260 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dictionary of every word in titles and descriptions, indexed for typo-tolerant lookup.
+ * <p>
+ * SymSpell-style deletion neighbourhoods: each term is stored under every string obtained by
+ * deleting up to {@link #MAX_EDIT_DISTANCE} of its characters. A misspelled word generates its own
+ * deletions and only the terms sharing one of them are verified with an edit distance, so the
+ * cost of a lookup depends on the length of the word, not on the dictionary or catalog size.
+ * <p>
+ * Only alphabetic words are indexed. Words with digits are mostly model numbers and sizes
+ * ("g9510", "16gb"), where a one-character change names a different product, and they would
+ * otherwise make up most of the dictionary.
+ */
+final class FuzzyTermIndex {
+
+    static final int MAX_EDIT_DISTANCE = 2;
+
+    // Shorter deletions are never probed: words under 3 characters must match exactly
+    private static final int MIN_DELETION_LENGTH = 2;
+
+    private final Map<String, String[]> termsByDeletion;
+    private final TextAnalyzer analyzer;
+    private final int terms;
+
+    private FuzzyTermIndex(Map<String, String[]> termsByDeletion, TextAnalyzer analyzer, int terms) {
+        this.termsByDeletion = termsByDeletion;
+        this.analyzer = analyzer;
+        this.terms = terms;
+    }
+
+    /**
+     * Builds the dictionary from already folded titles and descriptions.
+     */
+    static FuzzyTermIndex build(String[] foldedTitles, String[] foldedDescriptions, TextAnalyzer analyzer) {
+        Builder builder = new Builder(analyzer);
+        for (int i = 0; i < foldedTitles.length; i++) {
+            builder.add(foldedTitles[i]);
+            builder.add(foldedDescriptions[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects the dictionary one text at a time, for callers that stream the catalog instead of
+     * holding every text in memory.
+     */
+    static final class Builder {
+
+        private final TextAnalyzer analyzer;
+        private final Set<String> dictionary = new HashSet<>();
+
+        Builder(TextAnalyzer analyzer) {
+            this.analyzer = analyzer;
+        }
+
+        Builder add(String folded) {
+            addWords(analyzer.tokensOfFolded(folded), dictionary);
+            return this;
+        }
+
+        FuzzyTermIndex build() {
+            Map<String, List<String>> byDeletion = new HashMap<>();
+            Set<String> deletions = new HashSet<>();
+            for (String term : dictionary) {
+                deletions.clear();
+                deletions.add(term);
+                collectDeletions(term, MAX_EDIT_DISTANCE, deletions);
+                for (String deletion : deletions) {
+                    byDeletion.computeIfAbsent(deletion, key -> new ArrayList<>(1)).add(term);
+                }
+            }
+
+            Map<String, String[]> compact = new HashMap<>(byDeletion.size() * 4 / 3 + 1);
+            byDeletion.forEach((deletion, matches) -> compact.put(deletion, matches.toArray(new String[0])));
+            return new FuzzyTermIndex(compact, analyzer, dictionary.size());
+        }
+    }
+
+    /**
+     * Resolves every word of {@code query} to its closest dictionary terms; words with digits are
+     * kept as they are. Empty when the query has no words or when any word has no term close
+     * enough, since nothing can match then.
+     */
+    List<List<String>> expand(String query) {
+        return expand(query, List.of());
+    }
+
+    /**
+     * {@link #expand(String)} against this dictionary and {@code more} together: each word
+     * resolves to the closest terms of any of them, joined when several are equally close.
+     */
+    List<List<String>> expand(String query, List<FuzzyTermIndex> more) {
+        List<String> words = analyzer.tokens(query);
+        List<List<String>> expanded = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (!isAlphabetic(word)) {
+                expanded.add(List.of(word));
+                continue;
+            }
+            List<String> closest = more.isEmpty() ? closestTerms(word) : closestTerms(word, more);
+            if (closest.isEmpty()) {
+                return List.of();
+            }
+            expanded.add(closest);
+        }
+        return expanded;
+    }
+
+    /**
+     * The word itself when it is a known term, otherwise every term at the smallest edit
+     * distance allowed for the word length.
+     */
+    List<String> closestTerms(String word) {
+        int maxDistance = maxDistance(word.length());
+        Set<String> probes = new HashSet<>();
+        probes.add(word);
+        collectDeletions(word, maxDistance, probes);
+
+        int best = maxDistance;
+        List<String> closest = new ArrayList<>();
+        Set<String> verified = new HashSet<>();
+        for (String probe : probes) {
+            String[] candidates = termsByDeletion.get(probe);
+            if (candidates == null) {
+                continue;
+            }
+            for (String term : candidates) {
+                if (!verified.add(term)) {
+                    continue;
+                }
+                int distance = distance(word, term, best);
+                if (distance < best) {
+                    best = distance;
+                    closest.clear();
+                }
+                if (distance == best) {
+                    closest.add(term);
+                }
+            }
+        }
+        return closest;
+    }
+
+    private List<String> closestTerms(String word, List<FuzzyTermIndex> more) {
+        int limit = maxDistance(word.length());
+        int best = limit + 1;
+        Set<String> closest = new LinkedHashSet<>();
+        for (int i = -1; i < more.size(); i++) {
+            List<String> terms = (i < 0 ? this : more.get(i)).closestTerms(word);
+            if (terms.isEmpty()) {
+                continue;
+            }
+            int distance = distance(word, terms.get(0), limit);
+            if (distance < best) {
+                best = distance;
+                closest.clear();
+            }
+            if (distance == best) {
+                closest.addAll(terms);
+            }
+        }
+        return List.copyOf(closest);
+    }
+
+    int terms() {
+        return terms;
+    }
+
+    /**
+     * Typos allowed for a word: none for very short words, where any edit yields an unrelated
+     * word, and more as words get longer.
+     */
+    static int maxDistance(int length) {
+        if (length < 3) {
+            return 0;
+        }
+        return length < 6 ? 1 : MAX_EDIT_DISTANCE;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), so that
+     * "lapotp" is one edit away from "laptop". Returns {@code limit + 1} as soon as the
+     * distance is known to exceed {@code limit}.
+     */
+    static int distance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], limit + 1);
+    }
+
+    private static void addWords(List<String> tokens, Set<String> dictionary) {
+        for (String token : tokens) {
+            if (isAlphabetic(token)) {
+                dictionary.add(token);
+            }
+        }
+    }
+
+    private static boolean isAlphabetic(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isLetter(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds to {@code out} every string obtained by deleting up to {@code distance} characters.
+     * A deletion's remaining budget depends only on its length, so already seen strings can be
+     * skipped along with everything below them.
+     */
+    private static void collectDeletions(String word, int distance, Set<String> out) {
+        if (distance == 0 || word.length() <= MIN_DELETION_LENGTH) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            String deletion = word.substring(0, i) + word.substring(i + 1);
+            if (out.add(deletion)) {
+                collectDeletions(deletion, distance - 1, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+
+import java.util.List;
+
+/**
+ * Ordinal of each item by ID, in an open-addressing table of {@code int}s: one array for the
+ * whole catalog instead of a map entry, a boxed key and a boxed value per item.
+ * <p>
+ * Slots hold {@code ordinal + 1}, so zero marks an empty slot, and collisions are resolved by
+ * linear probing. When the catalog repeats an ID the first item keeps it, as a scan in catalog
+ * order would.
+ */
+final class IdIndex {
+
+    private final List<Item> items;
+    private final int[] slots;
+    private final int mask;
+
+    private IdIndex(List<Item> items, int[] slots) {
+        this.items = items;
+        this.slots = slots;
+        this.mask = slots.length - 1;
+    }
+
+    static IdIndex build(List<Item> items) {
+        // Load factor of at most one half keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(1, items.size()) * 2 - 1) << 1;
+        IdIndex index = new IdIndex(items, new int[capacity]);
+        for (int ordinal = 0; ordinal < items.size(); ordinal++) {
+            String id = items.get(ordinal).getId();
+            if (id != null && index.find(id) < 0) {
+                index.slots[index.free(id)] = ordinal + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Ordinal of the first item with {@code id}, or -1.
+     */
+    int find(String id) {
+        for (int slot = slot(id); slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (id.equals(items.get(slots[slot] - 1).getId())) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Items compared against {@code id} by {@link #find}.
+     */
+    int probes(String id) {
+        int probes = 0;
+        for (int slot = slot(id); slots[slot] != 0; slot = (slot + 1) & mask) {
+            probes++;
+            if (id.equals(items.get(slots[slot] - 1).getId())) {
+                break;
+            }
+        }
+        return probes;
+    }
+
+    private int free(String id) {
+        int slot = slot(id);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int slot(String id) {
+        int hash = id.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,29 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every lookup by item ID. Disabled by default.
+ */
+@Name("meli.ItemLookup")
+@Label("Item Lookup")
+@Description("Lookup of a single item by ID")
+@Category({"MeliApi", "Catalog"})
+@Enabled(false)
+@StackTrace(false)
+class ItemLookupEvent extends jdk.jfr.Event {
+
+    @Label("Item ID")
+    String itemId;
+
+    @Label("Found")
+    boolean found;
+
+    @Label("Candidates Scanned")
+    long candidatesScanned;
+}
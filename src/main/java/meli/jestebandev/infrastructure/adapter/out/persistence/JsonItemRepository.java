@@ -2,92 +2,714 @@ package meli.jestebandev.infrastructure.adapter.out.persistence;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import jdk.jfr.EventType;
 import lombok.extern.slf4j.Slf4j;
 import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.ItemChange;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
 import meli.jestebandev.domain.port.out.ItemRepository;
-import org.springframework.core.io.ClassPathResource;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
 
 @Slf4j
 @Repository
-@RequiredArgsConstructor
+@Profile("!h2 & !coordinator")
 public class JsonItemRepository implements ItemRepository {
 
+    // Cached event types: isEnabled() is a field read, so disabled events cost no allocation
+    private static final EventType LOOKUP_EVENT = EventType.getEventType(ItemLookupEvent.class);
+    private static final EventType SCAN_EVENT = EventType.getEventType(CatalogScanEvent.class);
+    // Context key of the System.nanoTime() past which every shard scan of a search stops
+    private static final String SCAN_DEADLINE = "catalog.scan.deadline";
+    // Candidates scanned between two reads of the clock
+    private static final int DEADLINE_STRIDE = 1024;
+
     private final ObjectMapper objectMapper;
-    private Mono<List<Item>> itemsCacheMono;
+    private final ItemMetrics metrics;
+    private final TextAnalyzer analyzer;
+    private final PartitionedScanExecutor scanExecutor;
+    private final Scheduler blockingScheduler;
+    private final Resource catalogResource;
+    private final CatalogJournal journal;
+    private final CatalogChangeFeed changes;
+    private final CatalogMerger merger;
+    private final CatalogSharding sharding;
+    private volatile Mono<CatalogShards> catalogCacheMono;
+    // Latest state once loaded, and the modification time of the catalog file it was read from
+    private volatile CatalogShards current;
+    private volatile long loadedModified;
+    // Times the current catalog was replaced by a reload
+    private volatile long reloads;
+    // Items this node keeps a copy of for other nodes of a cluster, read with the catalog
+    private volatile CatalogReplicas replicas;
+    // Position in the catalog file of each item this node owns, read with the catalog; null
+    // outside a cluster
+    private volatile long[] positions;
+
+    public JsonItemRepository(
+            ObjectMapper objectMapper,
+            ItemMetrics metrics,
+            TextAnalyzer analyzer,
+            PartitionedScanExecutor scanExecutor,
+            @Qualifier("blockingScheduler") Scheduler blockingScheduler,
+            @Value("${catalog.location:classpath:data/items.json}") Resource catalogResource,
+            CatalogJournal journal,
+            CatalogChangeFeed changes,
+            CatalogMerger merger,
+            CatalogSharding sharding
+    ) {
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.analyzer = analyzer;
+        this.scanExecutor = scanExecutor;
+        this.blockingScheduler = blockingScheduler;
+        this.catalogResource = catalogResource;
+        this.journal = journal;
+        this.changes = changes;
+        this.merger = merger;
+        this.sharding = sharding;
+    }
 
-    private Mono<List<Item>> loadItems() {
-        if (itemsCacheMono == null) {
-            itemsCacheMono = Mono.fromCallable(() -> {
+    /**
+     * The catalog, loaded on first use. The load recovers the journal and starts it and the
+     * merger, so only one is ever made: concurrent first calls share it.
+     */
+    private Mono<CatalogShards> loadCatalog() {
+        Mono<CatalogShards> loaded = catalogCacheMono;
+        if (loaded != null) {
+            metrics.recordCatalogCacheHit();
+            return loaded;
+        }
+        synchronized (this) {
+            if (catalogCacheMono != null) {
+                metrics.recordCatalogCacheHit();
+                return catalogCacheMono;
+            }
+            metrics.recordCatalogCacheMiss();
+            catalogCacheMono = Mono.fromCallable(() -> {
                 try {
-                    ClassPathResource resource = new ClassPathResource("data/items.json");
-                    List<Item> items = objectMapper.readValue(
-                            resource.getInputStream(),
-                            new TypeReference<List<Item>>() {}
-                    );
-                    log.info("Loaded {} items from JSON file", items.size());
-                    return items;
+                    loadedModified = lastModified();
+                    CatalogJournal.Recovered recovered = journal.recover(this::readCatalog);
+                    long[] orders = recovered.orders();
+                    if (recovered.replicas() != null) {
+                        // Recovered from a snapshot, which holds the replicas and orders instead of the file
+                        replicas = CatalogReplicas.of(recovered.replicas());
+                    } else if (positions != null) {
+                        System.arraycopy(positions, 0, orders, 0, positions.length);
+                    }
+
+                    long indexStart = System.nanoTime();
+                    CatalogShards state = sharding.build(recovered.items(), recovered.versions(), recovered.sources(),
+                            orders, analyzer);
+                    long text = 0;
+                    long suggestionTerms = 0;
+                    long dictionaryTerms = 0;
+                    for (int shard = 0; shard < state.count(); shard++) {
+                        CatalogSnapshot catalog = state.state(shard).snapshot();
+                        text += catalog.text().length();
+                        suggestionTerms += catalog.suggestions().terms();
+                        dictionaryTerms += catalog.terms().terms();
+                    }
+                    log.info("Packed {} units of text for {} search, indexed {} suggestion terms and {} dictionary terms in {} shards in {} ms",
+                            text, state.state(0).snapshot().text().vectorized() ? "vector" : "scalar",
+                            suggestionTerms, dictionaryTerms, state.count(),
+                            (System.nanoTime() - indexStart) / 1_000_000);
+                    journal.start(state, () -> replicas);
+                    merger.start(state);
+                    current = state;
+                    return state;
                 } catch (IOException e) {
                     log.error("Error loading items from JSON", e);
                     throw new RuntimeException("Error loading items", e);
                 }
             })
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(blockingScheduler)
             .cache();
+            return catalogCacheMono;
+        }
+    }
+
+    private List<Item> readCatalog() throws IOException {
+        CatalogLoadEvent event = new CatalogLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Item> file = objectMapper.readValue(
+                catalogResource.getInputStream(),
+                new TypeReference<List<Item>>() {}
+        );
+        // A shard node keeps the items it owns, and a copy of those it replicates
+        List<Item> items = sharding.slice(file);
+        positions = sharding.positions(file);
+        replicas = CatalogReplicas.of(sharding.replicas(file));
+        metrics.recordCatalogLoad(System.nanoTime() - start, items.size());
+        if (event.shouldCommit()) {
+            event.source = catalogResource.getDescription();
+            event.items = items.size();
+            event.bytes = catalogResource.contentLength();
+            event.commit();
+        }
+        log.info("Loaded {} items from {}", items.size(), catalogResource.getDescription());
+        if (replicas.size() > 0) {
+            log.info("Keeping copies of {} items owned by other nodes", replicas.size());
+        }
+        return items;
+    }
+
+    /**
+     * Reloads the catalog when {@code catalog.location} was modified since it was last read,
+     * emitting whether it did. The new catalog replaces the current one, and every item added,
+     * changed or removed by the file is published to the {@link CatalogChangeFeed}. Items
+     * written since the file last set them keep their written version, as replay does, and
+     * writes made while the new catalog is built are carried over before it is published. Does
+     * nothing before the first load.
+     * <p>
+     * The file is diffed against the current catalog and, while the items changed since the
+     * last full load stay within {@code rebuildRatio} of the catalog, only the diff is
+     * {@link CatalogState#apply applied}: unchanged items keep their position and new ones are
+     * appended. Past that ratio, so with a ratio of 0 on any change, every index is rebuilt from
+     * the file, which also restores its order. Either way the new catalog is published at once.
+     * Each shard is diffed against its own part of the file, and all of them take the same path.
+     */
+    public Mono<Boolean> reloadIfModified(double rebuildRatio) {
+        if (catalogCacheMono == null) {
+            return Mono.just(false);
+        }
+        return loadCatalog()
+                .publishOn(blockingScheduler)
+                .map(loaded -> reloadIfChanged(rebuildRatio));
+    }
+
+    private synchronized boolean reloadIfChanged(double rebuildRatio) {
+        long modified = lastModified();
+        if (modified == loadedModified) {
+            return false;
         }
-        return itemsCacheMono;
+        try {
+            loadedModified = modified;
+            reload(readCatalog(), rebuildRatio);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reloading items", e);
+        }
+    }
+
+    private void reload(List<Item> items, double rebuildRatio) throws IOException {
+        long start = System.nanoTime();
+        CatalogShards previous = current;
+        long[][] seen = new long[previous.count()][];
+        for (int shard = 0; shard < previous.count(); shard++) {
+            seen[shard] = previous.state(shard).versionNumbers();
+        }
+        CatalogSharding.Split split = sharding.split(items);
+        CatalogState.Diff[] diffs = new CatalogState.Diff[previous.count()];
+        long changed = 0;
+        for (int shard = 0; shard < previous.count(); shard++) {
+            diffs[shard] = previous.state(shard).diff(split.items().get(shard));
+            changed += previous.state(shard).changedSinceLoad() + diffs[shard].size();
+        }
+        boolean incremental = changed <= rebuildRatio * items.size();
+        CatalogShards state;
+        if (incremental) {
+            CatalogState[] states = new CatalogState[previous.count()];
+            int[][] positions = new int[previous.count()][];
+            for (int shard = 0; shard < previous.count(); shard++) {
+                states[shard] = previous.state(shard).apply(diffs[shard]);
+                positions[shard] = previous.positions(shard);
+            }
+            state = previous.with(states, positions);
+        } else {
+            state = rebuild(items, previous, diffs);
+        }
+
+        journal.rebase(state, () -> {
+            for (int shard = 0; shard < state.count(); shard++) {
+                state.state(shard).carryWrites(previous.state(shard), seen[shard]);
+            }
+            current = state;
+            catalogCacheMono = Mono.just(state);
+            reloads++;
+        });
+        merger.rebase(state);
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+        for (CatalogState.Diff diff : diffs) {
+            diff.removed().forEach(id -> changes.publish(ItemChange.Type.REMOVED, id, () -> null));
+            diff.updated().forEach(item -> changes.publish(ItemChange.Type.UPDATED, item.getId(), () -> latest(item.getId())));
+            diff.added().forEach(item -> changes.publish(ItemChange.Type.ADDED, item.getId(), () -> latest(item.getId())));
+            added += diff.added().size();
+            updated += diff.updated().size();
+            removed += diff.removed().size();
+        }
+        log.info("Reloaded {} items from {} {} in {} ms: {} added, {} updated, {} removed", items.size(),
+                catalogResource.getDescription(), incremental ? "incrementally" : "with a full rebuild",
+                (System.nanoTime() - start) / 1_000_000, added, updated, removed);
+    }
+
+    /**
+     * New catalog built from {@code items}, where unchanged items keep their version and changed
+     * ones get the next, as if written, and take it as source version. Items written since the
+     * file last set them stay as written, after the file's items if it lacks them.
+     */
+    private CatalogShards rebuild(List<Item> items, CatalogShards previous, CatalogState.Diff[] diffs) {
+        Set<String> updated = new HashSet<>();
+        for (CatalogState.Diff diff : diffs) {
+            diff.updated().forEach(item -> updated.add(item.getId()));
+        }
+        Set<String> read = new HashSet<>(items.size() * 4 / 3 + 1);
+        List<Item> next = new ArrayList<>(items.size());
+        List<CatalogState.ItemVersion> versions = new ArrayList<>(items.size());
+        for (Item item : items) {
+            String id = item.getId();
+            read.add(id);
+            CatalogState shard = id != null ? previous.shardFor(id) : null;
+            int before = shard != null ? shard.ordinalOf(id) : -1;
+            CatalogState.ItemVersion version = before >= 0 ? shard.version(before) : null;
+            if (version == null) {
+                next.add(item);
+                versions.add(new CatalogState.ItemVersion(item, 1, null, null).numbered(1, 1));
+            } else if (version.writtenSinceSource()) {
+                next.add(version.item());
+                versions.add(version);
+            } else {
+                long number = updated.contains(id) ? version.version() + 1 : version.version();
+                next.add(item);
+                versions.add(version.numbered(number, number));
+            }
+        }
+        for (Iterator<CatalogShards.Ordered> kept = previous.versions(); kept.hasNext(); ) {
+            CatalogState.ItemVersion version = kept.next().version();
+            if (version.item() != null && version.writtenSinceSource() && !read.contains(version.item().getId())) {
+                next.add(version.item());
+                versions.add(version);
+            }
+        }
+        // Items kept after the file's are ordered as created
+        return sharding.build(next,
+                versions.stream().mapToLong(CatalogState.ItemVersion::version).toArray(),
+                versions.stream().mapToLong(CatalogState.ItemVersion::source).toArray(),
+                positions, analyzer);
+    }
+
+    @Override
+    public Optional<String> version() {
+        return Optional.of(reloads + "." + changes.latest());
+    }
+
+    @Override
+    public String matchedQuery(String query) {
+        return analyzer.fold(query);
+    }
+
+    private long lastModified() {
+        try {
+            return catalogResource.lastModified();
+        } catch (IOException e) {
+            // Not a file (e.g. inside a jar): never reloaded
+            return 0;
+        }
+    }
+
+    /**
+     * Latest version of item {@code id} in the current catalog, or null.
+     */
+    private Item latest(String id) {
+        return find(current.shardFor(id), id);
     }
 
     @Override
     public Mono<Item> findById(String id) {
-        return loadItems()
-                .flatMapMany(Flux::fromIterable)
-                .filter(item -> item.getId().equals(id))
-                .next();
+        if (!sharding.owns(id)) {
+            return loadCatalog().mapNotNull(catalog -> replicas.find(id));
+        }
+        if (!LOOKUP_EVENT.isEnabled()) {
+            return loadCatalog().mapNotNull(catalog -> find(catalog.shardFor(id), id));
+        }
+        return Mono.defer(() -> {
+            ItemLookupEvent event = new ItemLookupEvent();
+            event.begin();
+            return loadCatalog()
+                    .mapNotNull(catalog -> {
+                        CatalogState shard = catalog.shardFor(id);
+                        event.candidatesScanned = shard.probes(id);
+                        return find(shard, id);
+                    })
+                    .doOnSuccess(item -> {
+                        event.itemId = id;
+                        event.found = item != null;
+                        event.commit();
+                    });
+        });
     }
 
     @Override
     public Flux<Item> findAll() {
-        return loadItems()
-                .flatMapMany(Flux::fromIterable);
+        return scan("all", null, catalog -> shard -> () -> ordinal -> true);
     }
 
     @Override
     public Flux<Item> findByQuery(String query) {
-        String lowerQuery = query.toLowerCase();
-        return loadItems()
-                .flatMapMany(Flux::fromIterable)
-                .filter(item -> matchesQuery(item, lowerQuery));
+        String foldedQuery = analyzer.fold(query);
+        return scan("query", query, catalog -> shard -> () -> shard.textMatcher(foldedQuery));
     }
 
     @Override
     public Flux<Item> findByCategory(String categoryId) {
-        return loadItems()
-                .flatMapMany(Flux::fromIterable)
-                .filter(item -> item.getCategory() != null 
-                        && item.getCategory().getId().equals(categoryId));
+        return scan("category", null,
+                catalog -> shard -> () -> ordinal -> matchesCategory(shard.item(ordinal), categoryId));
     }
 
     @Override
     public Flux<Item> findByQueryAndCategory(String query, String categoryId) {
-        String lowerQuery = query.toLowerCase();
-        return loadItems()
-                .flatMapMany(Flux::fromIterable)
-                .filter(item -> item.getCategory() != null 
-                        && item.getCategory().getId().equals(categoryId))
-                .filter(item -> matchesQuery(item, lowerQuery));
+        String foldedQuery = analyzer.fold(query);
+        return scan("query+category", query, catalog -> shard -> () -> {
+            IntPredicate text = shard.textMatcher(foldedQuery);
+            return ordinal -> matchesCategory(shard.item(ordinal), categoryId) && text.test(ordinal);
+        });
     }
 
-    private boolean matchesQuery(Item item, String lowerQuery) {
-        return (item.getTitle() != null && item.getTitle().toLowerCase().contains(lowerQuery))
-                || (item.getDescription() != null && item.getDescription().toLowerCase().contains(lowerQuery));
+    @Override
+    public Flux<Item> findByFuzzyQuery(String query) {
+        return scan("fuzzy", query, catalog -> fuzzyMatcher(catalog, query, null));
+    }
+
+    @Override
+    public Flux<Item> findByFuzzyQueryAndCategory(String query, String categoryId) {
+        return scan("fuzzy+category", query, catalog -> fuzzyMatcher(catalog, query, categoryId));
+    }
+
+    @Override
+    public Mono<PaginatedResult<Item>> findPage(SearchCriteria criteria, int page, int size) {
+        return window(search(criteria), page, size)
+                .map(window -> new PaginatedResult<>(window.content, window.total, page, size));
+    }
+
+    /**
+     * Page {@code page} of the matches of {@code criteria}, for the coordinator of a cluster: every
+     * shard stops scanning at {@code timeout}, leaving the matches found until then, and each
+     * match comes with its position in the catalog order, to merge the pages of every node.
+     */
+    public Mono<CatalogPage> findNodePage(SearchCriteria criteria, int page, int size, Duration timeout) {
+        long nanos = timeout.toNanos();
+        Flux<Item> items = search(criteria)
+                .contextWrite(context -> context.put(SCAN_DEADLINE, System.nanoTime() + nanos));
+        return window(items, page, size)
+                .map(window -> new CatalogPage(window.content, window.total, positions(window.content)));
+    }
+
+    /**
+     * One scan of {@code items}, which gives both page {@code page} and the total.
+     */
+    private static Mono<PageWindow> window(Flux<Item> items, int page, int size) {
+        return items.collect(() -> new PageWindow((long) page * size, size), PageWindow::add);
+    }
+
+    /**
+     * Catalog order of each of {@code items} on a node of a cluster; null elsewhere.
+     */
+    private List<Long> positions(List<Item> items) {
+        CatalogShards catalog = current;
+        if (!catalog.ordered()) {
+            return null;
+        }
+        return items.stream().map(item -> catalog.order(item.getId())).toList();
+    }
+
+    @Override
+    public Flux<Item> suggest(String prefix, int limit) {
+        return loadCatalog()
+                .flatMapIterable(catalog -> catalog.suggest(prefix, limit));
     }
-}
 
+    @Override
+    public Mono<Item> create(Item item) {
+        if (!sharding.owns(item.getId())) {
+            return loadCatalog().map(catalog -> replicas.create(item));
+        }
+        return write(ItemChange.Type.ADDED, item.getId(), catalog -> catalog.create(item));
+    }
+
+    @Override
+    public Mono<Item> update(Item item) {
+        if (!sharding.owns(item.getId())) {
+            return loadCatalog().map(catalog -> replicas.update(item));
+        }
+        return write(ItemChange.Type.UPDATED, item.getId(), catalog -> catalog.update(item));
+    }
+
+    @Override
+    public Mono<Item> decrementStock(String id, int quantity) {
+        if (!sharding.owns(id)) {
+            return loadCatalog().map(catalog -> replicas.decrementStock(id, quantity));
+        }
+        return write(ItemChange.Type.UPDATED, id, catalog -> catalog.decrementStock(id, quantity));
+    }
+
+    /**
+     * Applies {@code write} to item {@code id} through the journal and publishes the change once
+     * durable.
+     */
+    private Mono<Item> write(ItemChange.Type type, String id, Function<CatalogState, CatalogState.ItemVersion> write) {
+        return loadCatalog()
+                .flatMap(catalog -> journal.write(id, shard -> {
+                    CatalogState.ItemVersion written = write.apply(shard);
+                    merger.written();
+                    return written;
+                }))
+                .doOnNext(written -> changes.publish(type, id, () -> latest(id)));
+    }
+
+    private static Item find(CatalogState catalog, String id) {
+        int ordinal = catalog.ordinalOf(id);
+        return ordinal >= 0 ? catalog.item(ordinal) : null;
+    }
+
+    private Flux<Item> search(SearchCriteria criteria) {
+        if (criteria.hasQuery() && criteria.fuzzy()) {
+            return criteria.hasCategory()
+                    ? findByFuzzyQueryAndCategory(criteria.query(), criteria.categoryId())
+                    : findByFuzzyQuery(criteria.query());
+        }
+        if (criteria.hasQuery()) {
+            return criteria.hasCategory()
+                    ? findByQueryAndCategory(criteria.query(), criteria.categoryId())
+                    : findByQuery(criteria.query());
+        }
+        return criteria.hasCategory() ? findByCategory(criteria.categoryId()) : findAll();
+    }
+
+    /**
+     * Filters the catalog by position with the predicates that {@code matcher} supplies for each
+     * shard of the loaded catalog; a null supplier means nothing can match in that shard. Each
+     * scan, or each partition of a partitioned scan, gets a new predicate, so predicates may keep
+     * state across ordinals. A deadline in the subscriber context stops every shard scan at that
+     * time, leaving the matches found until then. The scan is only wrapped in a
+     * {@link CatalogScanEvent} when that event is enabled in the running recording.
+     */
+    private Flux<Item> scan(String filter, String query, Function<CatalogShards, ShardMatcher> matcher) {
+        if (!SCAN_EVENT.isEnabled()) {
+            return Flux.deferContextual(context -> loadCatalog().flatMapMany(catalog -> matching(
+                    filter, catalog, matcher.apply(catalog), null, context.getOrDefault(SCAN_DEADLINE, 0L))));
+        }
+        return Flux.deferContextual(context -> {
+            long deadline = context.getOrDefault(SCAN_DEADLINE, 0L);
+            CatalogScanEvent event = new CatalogScanEvent();
+            event.begin();
+            return loadCatalog()
+                    .flatMapMany(catalog -> matching(filter, catalog, matcher.apply(catalog), event, deadline))
+                    .doOnNext(item -> event.matches++)
+                    .doFinally(signal -> {
+                        event.filter = filter;
+                        event.queryLength = query != null ? query.length() : 0;
+                        event.commit();
+                    });
+        });
+    }
+
+    /**
+     * Items of every shard accepted by the predicates {@code matcher} supplies, in catalog order.
+     * A single shard is scanned on the calling thread; several are scanned in parallel, each on a
+     * shard thread, and their matches merged by catalog order, every shard scanning only as far
+     * as the merge asks. A shard past {@code deadline} (a {@link System#nanoTime()}, 0 for none)
+     * stops, and the merge goes on with the others.
+     */
+    private Flux<Item> matching(String filter, CatalogShards catalog, ShardMatcher matcher, CatalogScanEvent event,
+                                long deadline) {
+        if (catalog.count() == 1) {
+            CatalogState shard = catalog.state(0);
+            return matching(filter, shard, matcher.predicates(shard), event, deadline, shard::item);
+        }
+        @SuppressWarnings("unchecked")
+        Flux<CatalogShards.Ranked>[] shards = new Flux[catalog.count()];
+        for (int index = 0; index < shards.length; index++) {
+            int number = index;
+            CatalogState shard = catalog.state(number);
+            shards[number] = sharding.onShardThread(Flux.defer(() -> matching(filter, shard, matcher.predicates(shard),
+                    event, deadline,
+                    ordinal -> new CatalogShards.Ranked(catalog.order(number, ordinal), shard.item(ordinal)))));
+        }
+        return Flux.mergeComparing(CatalogShards.Ranked.ORDER, shards).map(CatalogShards.Ranked::item);
+    }
+
+    /**
+     * Items of {@code shard} accepted by the supplied predicates, in shard order, resolved by
+     * {@code resolve}. Expensive filters over large shards are {@link PartitionedScanExecutor
+     * split across threads}; the others are evaluated lazily on the calling thread, so a
+     * paginated search stops scanning as soon as its page is complete. Either scan ends at
+     * {@code deadline} when there is one. Visited candidates are counted in {@code event} when it
+     * is not null.
+     */
+    private <T> Flux<T> matching(String filter, CatalogState shard, Supplier<IntPredicate> predicates,
+                                 CatalogScanEvent event, long deadline, IntFunction<T> resolve) {
+        if (predicates == null) {
+            return Flux.empty();
+        }
+        Supplier<IntPredicate> live = () -> shard.live(predicates.get());
+        int size = shard.size();
+        if (scanExecutor.shouldPartition(filter, size)) {
+            Flux<PartitionedScanExecutor.Partition> partitions = scanExecutor.scan(filter, size, live);
+            if (deadline != 0) {
+                // Partitions not done by then are cancelled; the ones done are still in order
+                partitions = partitions.takeUntilOther(
+                        Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))));
+            }
+            return partitions
+                    .doOnNext(partition -> {
+                        if (event != null) {
+                            event.candidatesScanned += partition.to() - partition.from();
+                            event.partitions++;
+                        }
+                    })
+                    .flatMapIterable(partition -> Arrays.stream(partition.matches()).mapToObj(resolve).toList());
+        }
+        IntPredicate predicate = live.get();
+        return Flux.fromIterable(() -> new SequentialScan<>(filter, resolve, size, deadline,
+                event == null ? predicate : ordinal -> {
+                    event.candidatesScanned++;
+                    return predicate.test(ordinal);
+                }));
+    }
+
+    /**
+     * Lazy scan on the calling thread, ending early once past its deadline. When it runs to the
+     * end its duration, including the time downstream operators take per item, feeds the cost
+     * model that decides which filters are worth partitioning.
+     */
+    private final class SequentialScan<T> implements Iterator<T> {
+
+        private final String filter;
+        private final IntFunction<T> resolve;
+        private final int size;
+        private final long deadline;
+        private final IntPredicate predicate;
+        private long start;
+        private int position;
+        private int found = -1;
+
+        private SequentialScan(String filter, IntFunction<T> resolve, int size, long deadline, IntPredicate predicate) {
+            this.filter = filter;
+            this.resolve = resolve;
+            this.size = size;
+            this.deadline = deadline;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (found < 0) {
+                if (position == 0) {
+                    start = System.nanoTime();
+                }
+                while (position < size) {
+                    if (deadline != 0 && position % DEADLINE_STRIDE == 0 && System.nanoTime() - deadline > 0) {
+                        // Cut short, so its duration says nothing of the cost of the filter
+                        start = 0;
+                        position = size;
+                    } else if (predicate.test(position)) {
+                        break;
+                    } else {
+                        position++;
+                    }
+                }
+                if (position == size) {
+                    if (start != 0) {
+                        scanExecutor.record(filter, size, System.nanoTime() - start);
+                        start = 0;
+                    }
+                    return false;
+                }
+                found = position++;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = resolve.apply(found);
+            found = -1;
+            return item;
+        }
+    }
+
+    /**
+     * Resolves each word of the query to its closest dictionary terms, once per scan and across
+     * shards, and accepts the items that contain one of those terms for every word. Matches
+     * nothing when some word has no close term.
+     */
+    private ShardMatcher fuzzyMatcher(CatalogShards catalog, String query, String categoryId) {
+        List<List<String>> alternatives = catalog.expand(query);
+        if (alternatives.isEmpty()) {
+            return shard -> null;
+        }
+        if (categoryId == null) {
+            return shard -> () -> shard.everyWordMatcher(alternatives);
+        }
+        return shard -> () -> {
+            IntPredicate words = shard.everyWordMatcher(alternatives);
+            return ordinal -> matchesCategory(shard.item(ordinal), categoryId) && words.test(ordinal);
+        };
+    }
+
+    private boolean matchesCategory(Item item, String categoryId) {
+        return item.getCategory() != null
+                && item.getCategory().getId().equals(categoryId);
+    }
+
+    /**
+     * The {@code size} matches of a scan past the first {@code offset}, counting them all.
+     */
+    private static final class PageWindow {
+
+        private final long offset;
+        private final int size;
+        private final List<Item> content = new ArrayList<>();
+        private long total;
+
+        PageWindow(long offset, int size) {
+            this.offset = offset;
+            this.size = size;
+        }
+
+        void add(Item item) {
+            if (total >= offset && content.size() < size) {
+                content.add(item);
+            }
+            total++;
+        }
+    }
+
+    /**
+     * Supplies the predicates of a scan for one shard, null when nothing in it can match.
+     */
+    @FunctionalInterface
+    private interface ShardMatcher {
+        Supplier<IntPredicate> predicates(CatalogState shard);
+    }
+}
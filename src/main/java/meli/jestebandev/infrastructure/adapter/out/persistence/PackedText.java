@@ -0,0 +1,153 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Folded titles and descriptions of the whole catalog, stored back to back in a single buffer.
+ * <p>
+ * Field {@code 2 * ordinal} is the title of the item at {@code ordinal} and field
+ * {@code 2 * ordinal + 1} its description; field {@code f} spans
+ * {@code [offsets[f], offsets[f + 1])}. Compared to one {@code String} per field this removes
+ * the object headers and references per item and lets a scan walk memory sequentially.
+ * <p>
+ * The buffer is a {@link VectorTextBuffer} when the JVM has the Vector API module, and a
+ * {@link StringTextBuffer} (one byte per character for Latin-1 text) otherwise. Both give the
+ * same results.
+ */
+final class PackedText {
+
+    /**
+     * Buffer units searched ahead of the current item when looking for the next occurrence of a
+     * pattern. Searching a window instead of item by item amortizes the cost of each call over
+     * many items, while bounding the work wasted on items the scan never asks about.
+     */
+    static final int SEARCH_WINDOW = 16 * 1024;
+
+    /**
+     * Whether the Vector API module is present in this JVM. Checked here, without touching any
+     * of its classes, because loading {@link VectorTextBuffer} fails when the module is missing.
+     */
+    static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private final TextBuffer buffer;
+    private final int[] offsets;
+
+    private PackedText(TextBuffer buffer, int[] offsets) {
+        this.buffer = buffer;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Packs the already folded {@code titles} and {@code descriptions}, both indexed by ordinal,
+     * into the fastest buffer this JVM supports.
+     */
+    static PackedText of(String[] titles, String[] descriptions) {
+        return of(titles, descriptions, VECTOR_API);
+    }
+
+    static PackedText of(String[] titles, String[] descriptions, boolean vectorized) {
+        String[] fields = new String[titles.length * 2];
+        for (int i = 0; i < titles.length; i++) {
+            fields[2 * i] = titles[i];
+            fields[2 * i + 1] = descriptions[i];
+        }
+        int[] offsets = new int[fields.length + 1];
+        TextBuffer buffer = vectorized
+                ? VectorTextBuffer.pack(fields, offsets)
+                : StringTextBuffer.pack(fields, offsets);
+        return new PackedText(buffer, offsets);
+    }
+
+    static void checkSize(long size) {
+        if (size > MAX_SIZE) {
+            throw new IllegalStateException("Catalog text exceeds " + MAX_SIZE + " buffer units: " + size);
+        }
+    }
+
+    /**
+     * Predicate telling whether the title or the description of an item contains
+     * {@code foldedText}. A match never spans the end of the title.
+     * <p>
+     * The predicate remembers where the next occurrence is, so it is meant for a single scan
+     * and is cheapest when items are tested in ascending order; it stays correct in any order.
+     */
+    IntPredicate matcher(String foldedText) {
+        return new Matcher(buffer.finder(foldedText));
+    }
+
+    /**
+     * Folded title of the item at {@code ordinal}.
+     */
+    String title(int ordinal) {
+        return buffer.substring(offsets[2 * ordinal], offsets[2 * ordinal + 1]);
+    }
+
+    /**
+     * Folded description of the item at {@code ordinal}.
+     */
+    String description(int ordinal) {
+        return buffer.substring(offsets[2 * ordinal + 1], offsets[2 * ordinal + 2]);
+    }
+
+    int length() {
+        return buffer.length();
+    }
+
+    boolean vectorized() {
+        return buffer instanceof VectorTextBuffer;
+    }
+
+    private final class Matcher implements IntPredicate {
+
+        private final TextBuffer.Finder finder;
+        // Result of the last search: first occurrence within [searchedFrom, searchedTo), or -1
+        private int searchedFrom = Integer.MAX_VALUE;
+        private int searchedTo;
+        private int found = -1;
+
+        private Matcher(TextBuffer.Finder finder) {
+            this.finder = finder;
+        }
+
+        @Override
+        public boolean test(int ordinal) {
+            int start = offsets[2 * ordinal];
+            int split = offsets[2 * ordinal + 1];
+            int end = offsets[2 * ordinal + 2];
+            int length = finder.length();
+            int position = start;
+            while (true) {
+                int occurrence = nextOccurrence(position, end);
+                if (occurrence < 0 || occurrence + length > end) {
+                    return false;
+                }
+                if (occurrence + length <= split || occurrence >= split) {
+                    return true;
+                }
+                // Spans the end of the title: look for a later occurrence in the same item
+                position = occurrence + 1;
+            }
+        }
+
+        /**
+         * First occurrence starting at or after {@code position}; -1 or any value past
+         * {@code end} when there is none ending by {@code end}.
+         */
+        private int nextOccurrence(int position, int end) {
+            if (position >= searchedFrom) {
+                if (found >= position) {
+                    return found;
+                }
+                if (found < 0 && end <= searchedTo) {
+                    return -1;
+                }
+            }
+            searchedFrom = position;
+            searchedTo = (int) Math.min(buffer.length(), Math.max(end, (long) position + SEARCH_WINDOW));
+            found = finder.indexOf(position, searchedTo);
+            return found;
+        }
+    }
+}
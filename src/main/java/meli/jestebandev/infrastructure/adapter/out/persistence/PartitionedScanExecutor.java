@@ -0,0 +1,129 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs expensive catalog scans on several cores by splitting the ordinal space into contiguous
+ * partitions, evaluated on a dedicated scheduler and emitted in catalog order.
+ * <p>
+ * Whether a scan is worth splitting is decided per filter from the cost observed so far: an
+ * exponential moving average of the nanoseconds spent per candidate, times the catalog size,
+ * must reach {@code catalog.scan.parallel-threshold}. Small catalogs and cheap filters such as
+ * a category check stay on the calling thread, and so does every filter until its first scan
+ * has been measured.
+ */
+@Slf4j
+@Component
+public class PartitionedScanExecutor implements DisposableBean {
+
+    // Weight of the newest measurement in the moving average
+    private static final double SMOOTHING = 0.2;
+    // Partitions per thread, so that a slow partition does not leave the other threads idle
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private final int parallelism;
+    private final long thresholdNanos;
+    private final int minPartitionSize;
+    private final Scheduler scheduler;
+    private final Map<String, Double> nanosPerCandidate = new ConcurrentHashMap<>();
+
+    public PartitionedScanExecutor(
+            @Value("${catalog.scan.parallelism:0}") int parallelism,
+            @Value("${catalog.scan.parallel-threshold:2ms}") Duration threshold,
+            @Value("${catalog.scan.min-partition-size:16384}") int minPartitionSize
+    ) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.thresholdNanos = threshold.toNanos();
+        this.minPartitionSize = Math.max(1, minPartitionSize);
+        this.scheduler = this.parallelism > 1
+                ? Schedulers.newParallel("catalog-scan", this.parallelism, true)
+                : null;
+        log.info("Catalog scans partitioned across {} threads above {} of estimated work",
+                this.parallelism, threshold);
+    }
+
+    /**
+     * Whether scanning {@code candidates} items with {@code filter} is expected to take long
+     * enough to be split across threads.
+     */
+    boolean shouldPartition(String filter, int candidates) {
+        if (scheduler == null || candidates < 2L * minPartitionSize) {
+            return false;
+        }
+        return nanosPerCandidate.getOrDefault(filter, 0.0) * candidates >= thresholdNanos;
+    }
+
+    /**
+     * Feeds the cost model with a scan of {@code candidates} items that took {@code nanos}.
+     */
+    void record(String filter, int candidates, long nanos) {
+        if (candidates == 0) {
+            return;
+        }
+        double observed = (double) nanos / candidates;
+        nanosPerCandidate.merge(filter, observed,
+                (average, latest) -> average + SMOOTHING * (latest - average));
+    }
+
+    /**
+     * Evaluates {@code [0, candidates)} in partitions, each with its own predicate from
+     * {@code predicates} since predicates may keep per-scan state. Partitions run concurrently
+     * but are emitted in order, so concatenating their matches gives catalog order; cancelling
+     * the result (e.g. once a page is complete) stops the partitions not yet started.
+     */
+    Flux<Partition> scan(String filter, int candidates, Supplier<IntPredicate> predicates) {
+        int partitions = (int) Math.min((long) parallelism * PARTITIONS_PER_THREAD,
+                Math.max(1, candidates / minPartitionSize));
+        int partitionSize = (candidates + partitions - 1) / partitions;
+        return Flux.range(0, partitions)
+                .flatMapSequential(index -> Mono.fromCallable(() -> {
+                    int from = index * partitionSize;
+                    int to = Math.min(candidates, from + partitionSize);
+                    long start = System.nanoTime();
+                    Partition partition = Partition.scan(from, to, predicates.get());
+                    record(filter, to - from, System.nanoTime() - start);
+                    return partition;
+                }).subscribeOn(scheduler), parallelism, 1);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * Ordinals in {@code [from, to)} accepted by the predicate, in ascending order.
+     */
+    record Partition(int from, int to, int[] matches) {
+
+        static Partition scan(int from, int to, IntPredicate predicate) {
+            int[] matches = new int[16];
+            int size = 0;
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                if (predicate.test(ordinal)) {
+                    if (size == matches.length) {
+                        matches = Arrays.copyOf(matches, size * 2);
+                    }
+                    matches[size++] = ordinal;
+                }
+            }
+            return new Partition(from, to, Arrays.copyOf(matches, size));
+        }
+    }
+}
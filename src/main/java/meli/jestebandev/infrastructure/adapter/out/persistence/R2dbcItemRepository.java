@@ -0,0 +1,776 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ItemAlreadyExistsException;
+import meli.jestebandev.domain.exception.ItemNotFoundException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * {@link ItemRepository} over an embedded H2 database accessed through R2DBC, active with the
+ * {@code h2} profile instead of {@link JsonItemRepository}.
+ * <p>
+ * The catalog is streamed from {@code catalog.location} into the database on first use, so the
+ * items are never all in memory at once; only the typo-tolerance dictionary stays on the heap.
+ * Searches match the folded title and description columns with {@code LIKE}, which keeps the
+ * substring semantics of the in-memory engine, and return items in catalog order. Terms are first
+ * looked up in the distinct words of the catalog: an item contains a one-word term exactly when
+ * it has a word that does, so those are matched by an inverted index of item words without
+ * reading any text. Longer terms are matched with {@code LIKE}, only on the items with their
+ * words when those are few. A page is a
+ * single statement: the {@code LIMIT}/{@code OFFSET} window plus a {@code COUNT(*)} subquery over
+ * the same filter. H2 evaluates the subquery once, and unlike {@code COUNT(*) OVER ()} it does not
+ * materialize every match, so unfiltered and category pages are read straight from the indexes.
+ * <p>
+ * Writes run in transactions. Stock lives in its own column, so a checkout is one conditional
+ * {@code UPDATE} rather than a read-modify-write of the JSON document.
+ * <p>
+ * H2 runs embedded and executes statements on the subscribing thread, so every query is
+ * subscribed, and its rows requested, on the blocking scheduler.
+ */
+@Slf4j
+@Repository
+@Profile("h2")
+public class R2dbcItemRepository implements ItemRepository {
+
+    private static final Resource SCHEMA = new ClassPathResource("db/h2/schema.sql");
+    // Rows per INSERT statement while importing the catalog
+    private static final int IMPORT_BATCH_SIZE = 500;
+
+    private static final String INSERT_ITEM = "INSERT INTO item (ordinal, id, category_id, price, reputation, stock, "
+            + "search_title, search_description, document) VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9)";
+    // Same columns, inserted only while no item has the ID
+    private static final String CREATE_ITEM = "INSERT INTO item (ordinal, id, category_id, price, reputation, stock, "
+            + "search_title, search_description, document) SELECT $1, $2, $3, $4, $5, $6, $7, $8, $9 "
+            + "WHERE NOT EXISTS (SELECT 1 FROM item WHERE id = $2)";
+    private static final String UPDATE_ITEM = "UPDATE item SET id = $2, category_id = $3, price = $4, reputation = $5, "
+            + "stock = $6, search_title = $7, search_description = $8, document = $9 WHERE ordinal = $1";
+    private static final String DECREMENT_STOCK = "SELECT document, stock FROM FINAL TABLE "
+            + "(UPDATE item SET stock = stock - $2 WHERE ordinal = $1 AND stock >= $2)";
+    private static final String INSERT_TITLE_WORD = "INSERT INTO item_title_word (word, ordinal) VALUES ($1, $2)";
+    private static final String INSERT_VOCABULARY = "INSERT INTO vocabulary (word, items) SELECT * FROM UNNEST($1, $2)";
+    // H2 arrays hold at most 65536 elements
+    private static final int MAX_ARRAY_LENGTH = 65_536;
+    private static final String INSERT_ITEM_WORDS = "INSERT INTO item_word (word, ordinal) SELECT * FROM UNNEST($1, $2)";
+    // Counts the words of a written item, which UPDATE_ITEM_WORDS uncounts first
+    private static final String COUNT_WORDS = "MERGE INTO vocabulary v USING (SELECT * FROM UNNEST($1)) w(word) "
+            + "ON v.word = w.word WHEN MATCHED THEN UPDATE SET items = v.items + 1 "
+            + "WHEN NOT MATCHED THEN INSERT (word, items) VALUES (w.word, 1)";
+    private static final String UNCOUNT_WORDS = "UPDATE vocabulary SET items = items - 1 "
+            + "WHERE word IN (SELECT word FROM item_word WHERE ordinal = $1)";
+    // Past one candidate in this many items, reading candidates by key costs more than scanning
+    // every item in catalog order, which also ends a first page as soon as it is full
+    private static final int MIN_ITEMS_PER_CANDIDATE = 16;
+    // Most catalog words a search reads candidates for
+    private static final int MAX_CANDIDATE_WORDS = 512;
+    // Creations that pick the same ordinal concurrently collide on the primary key and retry
+    private static final int MAX_CREATE_ATTEMPTS = 5;
+
+    private final DatabaseClient client;
+    private final ObjectMapper objectMapper;
+    private final ItemMetrics metrics;
+    private final TextAnalyzer analyzer;
+    private final Scheduler blockingScheduler;
+    private final Resource catalogResource;
+    private final TransactionalOperator transactions;
+    private final Mono<FuzzyTermIndex> imported;
+
+    public R2dbcItemRepository(
+            DatabaseClient client,
+            ObjectMapper objectMapper,
+            ItemMetrics metrics,
+            TextAnalyzer analyzer,
+            @Qualifier("blockingScheduler") Scheduler blockingScheduler,
+            @Value("${catalog.location:classpath:data/items.json}") Resource catalogResource
+    ) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.analyzer = analyzer;
+        this.blockingScheduler = blockingScheduler;
+        this.catalogResource = catalogResource;
+        this.transactions = TransactionalOperator.create(new R2dbcTransactionManager(client.getConnectionFactory()));
+        this.imported = importCatalog().cache();
+    }
+
+    @Override
+    public Mono<Item> findById(String id) {
+        Where where = new Where();
+        where.add("id = " + where.bind(id));
+        return select(where, " ORDER BY ordinal LIMIT 1").next();
+    }
+
+    @Override
+    public Flux<Item> findAll() {
+        return select(new Where(), " ORDER BY ordinal");
+    }
+
+    @Override
+    public Flux<Item> findByQuery(String query) {
+        return search(new SearchCriteria(query, null, MatchMode.EXACT));
+    }
+
+    @Override
+    public Flux<Item> findByCategory(String categoryId) {
+        return search(new SearchCriteria(null, categoryId, MatchMode.EXACT));
+    }
+
+    @Override
+    public Flux<Item> findByQueryAndCategory(String query, String categoryId) {
+        return search(new SearchCriteria(query, categoryId, MatchMode.EXACT));
+    }
+
+    @Override
+    public Flux<Item> findByFuzzyQuery(String query) {
+        return search(new SearchCriteria(query, null, MatchMode.FUZZY));
+    }
+
+    @Override
+    public Flux<Item> findByFuzzyQueryAndCategory(String query, String categoryId) {
+        return search(new SearchCriteria(query, categoryId, MatchMode.FUZZY));
+    }
+
+    @Override
+    public Mono<PaginatedResult<Item>> findPage(SearchCriteria criteria, int page, int size) {
+        PaginatedResult<Item> empty = new PaginatedResult<>(List.of(), 0, page, size);
+        return imported.flatMap(terms -> where(criteria, terms).flatMap(where -> {
+            // The filter appears twice but binds its values once: H2 reuses numbered parameters
+            String sql = "SELECT document, stock, (SELECT COUNT(*) FROM item" + where + ") AS total FROM item" + where
+                    + " ORDER BY ordinal LIMIT " + where.bind(size) + " OFFSET " + where.bind((long) page * size);
+            return query(sql, where, row -> new PageRow(toItem(row), row.get("total", Long.class)))
+                    .collectList()
+                    .flatMap(rows -> {
+                        if (!rows.isEmpty()) {
+                            List<Item> content = rows.stream().map(PageRow::item).toList();
+                            return Mono.just(new PaginatedResult<>(content, rows.get(0).total(), page, size));
+                        }
+                        // Past the last page the window has no row to carry the count
+                        return page == 0
+                                ? Mono.just(empty)
+                                : where(criteria, terms).flatMap(this::count)
+                                        .map(total -> new PaginatedResult<Item>(List.of(), total, page, size));
+                    });
+        })).defaultIfEmpty(empty);
+    }
+
+    @Override
+    public Flux<Item> suggest(String prefix, int limit) {
+        List<String> words = analyzer.words(prefix);
+        if (words.isEmpty()) {
+            return Flux.empty();
+        }
+        Where where = new Where();
+        where.add("ordinal IN (SELECT ordinal FROM item_title_word WHERE word LIKE "
+                + where.bind(escapeLike(words.get(words.size() - 1)) + "%") + " ESCAPE '\\')");
+        for (String word : new LinkedHashSet<>(words.subList(0, words.size() - 1))) {
+            where.add("ordinal IN (SELECT ordinal FROM item_title_word WHERE word = " + where.bind(word) + ")");
+        }
+        return select(where, " ORDER BY reputation DESC, ordinal LIMIT " + where.bind(limit));
+    }
+
+    @Override
+    public Mono<Item> create(Item item) {
+        String title = analyzer.fold(item.getTitle());
+        String description = analyzer.fold(item.getDescription());
+        return imported.then(client.sql("SELECT COALESCE(MAX(ordinal), -1) + 1 AS next FROM item")
+                        .map((row, metadata) -> row.get("next", Integer.class))
+                        .one()
+                        .flatMap(ordinal -> client.inConnection(connection -> {
+                            Statement insert = bindItem(connection.createStatement(CREATE_ITEM),
+                                    ordinal, item, title, description);
+                            return rowsUpdated(insert).flatMap(rows -> rows == 0
+                                    ? Mono.<Item>error(new ItemAlreadyExistsException(item.getId()))
+                                    : insertWords(connection, ordinal, item).thenReturn(item));
+                        }))
+                        .as(transactions::transactional))
+                .retryWhen(Retry.max(MAX_CREATE_ATTEMPTS - 1)
+                        .filter(DataIntegrityViolationException.class::isInstance))
+                .subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Mono<Item> update(Item item) {
+        String title = analyzer.fold(item.getTitle());
+        String description = analyzer.fold(item.getDescription());
+        return imported.then(ordinalOf(item.getId())
+                        .flatMap(ordinal -> client.inConnection(connection -> {
+                            Statement update = bindItem(connection.createStatement(UPDATE_ITEM),
+                                    ordinal, item, title, description);
+                            Statement deleteTitleWords = connection.createStatement(
+                                    "DELETE FROM item_title_word WHERE ordinal = $1").bind(0, ordinal);
+                            Statement uncountWords = connection.createStatement(UNCOUNT_WORDS).bind(0, ordinal);
+                            Statement deleteWords = connection.createStatement(
+                                    "DELETE FROM item_word WHERE ordinal = $1").bind(0, ordinal);
+                            return execute(update)
+                                    .then(execute(deleteTitleWords))
+                                    .then(execute(uncountWords))
+                                    .then(execute(deleteWords))
+                                    .then(insertWords(connection, ordinal, item));
+                        }).thenReturn(item))
+                        .as(transactions::transactional))
+                .subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * A single conditional {@code UPDATE} that returns the row it changed, outside of any
+     * transaction: H2 locks the row only while the statement runs, so concurrent decrements of the
+     * same item run one after the other, each checks the stock the previous one left, and none
+     * waits for another request to be scheduled.
+     */
+    @Override
+    public Mono<Item> decrementStock(String id, int quantity) {
+        return imported.then(ordinalOf(id)
+                        .flatMap(ordinal -> client.sql(DECREMENT_STOCK)
+                                .bind(0, ordinal)
+                                .bind(1, quantity)
+                                .map((row, metadata) -> toItem(row))
+                                .one()
+                                .switchIfEmpty(Mono.defer(() -> {
+                                    Where where = new Where();
+                                    where.add("ordinal = " + where.bind(ordinal));
+                                    return query("SELECT document, stock FROM item" + where, where, this::toItem)
+                                            .single()
+                                            .flatMap(item -> Mono.error(new InsufficientStockException(id, quantity,
+                                                    item.getStock() != null ? item.getStock() : 0)));
+                                }))))
+                .subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * Ordinal of the first item with {@code id}, the one lookups return, or an
+     * {@link ItemNotFoundException}.
+     */
+    private Mono<Integer> ordinalOf(String id) {
+        return client.sql("SELECT MIN(ordinal) AS ordinal FROM item WHERE id = $1")
+                .bind(0, id)
+                .map((row, metadata) -> Optional.ofNullable(row.get("ordinal", Integer.class)))
+                .one()
+                .flatMap(Mono::justOrEmpty)
+                .switchIfEmpty(Mono.error(new ItemNotFoundException(id)));
+    }
+
+    private Flux<Item> search(SearchCriteria criteria) {
+        return imported.flatMapMany(terms -> where(criteria, terms).flatMapMany(where ->
+                query("SELECT document, stock FROM item" + where + " ORDER BY ordinal", where, this::toItem)));
+    }
+
+    private Flux<Item> select(Where where, String suffix) {
+        return imported.thenMany(Flux.defer(() -> query("SELECT document, stock FROM item" + where + suffix, where, this::toItem)));
+    }
+
+    private Mono<Long> count(Where where) {
+        return query("SELECT COUNT(*) AS total FROM item" + where, where, row -> row.get("total", Long.class)).single();
+    }
+
+    private <T> Flux<T> query(String sql, Where where, Function<Row, T> mapper) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql);
+        for (int i = 0; i < where.values.size(); i++) {
+            spec = spec.bind(i, where.values.get(i));
+        }
+        return spec.map((row, metadata) -> mapper.apply(row))
+                .all()
+                .subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * Filter for {@code criteria}, or empty when nothing can match: a query with a term that no
+     * word of the catalog can be part of, or a fuzzy query with a word that has no close
+     * dictionary term.
+     * <p>
+     * Every term group must match, and within one any of its terms. A group of single words is
+     * matched by the word index alone: an item contains a word exactly when one of its words
+     * does. Other groups are matched with {@code LIKE}, and the one that the fewest items can
+     * match, by the counts of the words its terms can be part of, narrows the rows to match from
+     * the index, unless those are so many that scanning every item in catalog order costs less.
+     */
+    private Mono<Where> where(SearchCriteria criteria, FuzzyTermIndex terms) {
+        List<List<String>> groups;
+        if (!criteria.hasQuery()) {
+            groups = List.of();
+        } else if (criteria.fuzzy()) {
+            groups = terms.expand(criteria.query());
+            if (groups.isEmpty()) {
+                return Mono.empty();
+            }
+        } else {
+            groups = List.of(List.of(analyzer.fold(criteria.query())));
+        }
+        List<List<List<WordPattern>>> patterns = groups.stream()
+                .map(group -> group.stream().map(this::patterns).toList())
+                .toList();
+        return vocabulary(patterns).flatMap(vocabulary -> {
+            Where where = new Where();
+            if (criteria.hasCategory()) {
+                where.add("category_id = " + where.bind(criteria.categoryId()));
+            }
+            boolean indexed = false;
+            Candidates driver = null;
+            for (int i = 0; i < groups.size(); i++) {
+                Candidates candidates = Candidates.of(groups.get(i), patterns.get(i), vocabulary);
+                if (candidates == null || candidates.words().size() > MAX_CANDIDATE_WORDS) {
+                    containsAny(where, groups.get(i));
+                } else if (candidates.terms().isEmpty()) {
+                    return Mono.empty();
+                } else if (candidates.exact()) {
+                    where.add("ordinal IN (" + candidates.sql(where) + ")");
+                    indexed = true;
+                } else {
+                    containsAny(where, groups.get(i));
+                    if (driver == null || candidates.estimate() < driver.estimate()) {
+                        driver = candidates;
+                    }
+                }
+            }
+            if (!indexed && driver != null && driver.estimate() * MIN_ITEMS_PER_CANDIDATE <= vocabulary.items()) {
+                where.add("ordinal IN (" + driver.sql(where) + ")");
+            }
+            return Mono.just(where);
+        });
+    }
+
+    /**
+     * Items whose folded title or description contains at least one of {@code foldedTerms}.
+     * Title and description are separate columns, so a match never spans both.
+     */
+    private static void containsAny(Where where, List<String> foldedTerms) {
+        StringJoiner any = new StringJoiner(" OR ", "(", ")");
+        for (String term : foldedTerms) {
+            String pattern = "%" + escapeLike(term) + "%";
+            any.add("search_title LIKE " + where.bind(pattern) + " ESCAPE '\\'");
+            any.add("search_description LIKE " + where.bind(pattern) + " ESCAPE '\\'");
+        }
+        where.add(any.toString());
+    }
+
+    /**
+     * What the words of a text containing {@code foldedTerm} are like: one that contains a
+     * one-word term; for a longer one, a word ending with its first word, its middle words and a
+     * word starting with its last. None when the term has no word to look up.
+     */
+    private List<WordPattern> patterns(String foldedTerm) {
+        List<String> words = analyzer.wordsOfFolded(foldedTerm);
+        if (words.size() <= 1) {
+            return words.stream().map(word -> new WordPattern(word, WordPattern.Kind.CONTAINED)).toList();
+        }
+        List<WordPattern> patterns = new ArrayList<>();
+        patterns.add(new WordPattern(words.get(0), WordPattern.Kind.SUFFIX));
+        for (String word : words.subList(1, words.size() - 1)) {
+            patterns.add(new WordPattern(word, WordPattern.Kind.WHOLE));
+        }
+        patterns.add(new WordPattern(words.get(words.size() - 1), WordPattern.Kind.PREFIX));
+        return patterns;
+    }
+
+    /**
+     * The catalog words that match any of {@code patterns}, with the number of items that have
+     * each, in one statement: whole words and prefixes through the primary key, the rest in a
+     * single scan of the distinct words.
+     */
+    private Mono<Vocabulary> vocabulary(List<List<List<WordPattern>>> patterns) {
+        Where lookup = new Where();
+        StringJoiner sql = new StringJoiner(" UNION ALL ")
+                .add("SELECT CAST(NULL AS VARCHAR) AS word, COUNT(*) AS items FROM item");
+        StringJoiner scanned = new StringJoiner(" OR ", "SELECT word, items FROM vocabulary WHERE ", "")
+                .setEmptyValue("");
+        patterns.stream().flatMap(List::stream).flatMap(List::stream).distinct().forEach(pattern -> {
+            String condition = "word LIKE " + lookup.bind(pattern.like());
+            if (pattern.indexed()) {
+                sql.add("SELECT word, items FROM vocabulary WHERE " + condition);
+            } else {
+                scanned.add(condition);
+            }
+        });
+        if (scanned.length() > 0) {
+            sql.add(scanned.toString());
+        }
+        return query(sql.toString(), lookup, row -> new WordCount(row.get("word", String.class),
+                        row.get("items", Long.class)))
+                .collectList()
+                .map(Vocabulary::of);
+    }
+
+    /**
+     * The stored document with the stock of its column, which decrements change in place.
+     */
+    private Item toItem(Row row) {
+        try {
+            Item item = objectMapper.readValue(row.get("document", String.class), Item.class);
+            Integer stock = row.get("stock", Integer.class);
+            return Objects.equals(stock, item.getStock()) ? item : item.toBuilder().stock(stock).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable item document", e);
+        }
+    }
+
+    /**
+     * Recreates the schema and streams the catalog into it, returning the dictionary of the
+     * imported text for fuzzy queries.
+     */
+    private Mono<FuzzyTermIndex> importCatalog() {
+        Mono<FuzzyTermIndex> rows = client.inConnection(connection -> Mono.defer(() -> {
+            long start = System.nanoTime();
+            FuzzyTermIndex.Builder terms = new FuzzyTermIndex.Builder(analyzer);
+            Map<String, Long> vocabulary = new HashMap<>();
+            int[] count = new int[1];
+            MappingIterator<Item> items = readCatalog();
+            return Flux.fromIterable(() -> items)
+                    .buffer(IMPORT_BATCH_SIZE)
+                    .concatMap(batch -> {
+                        int first = count[0];
+                        count[0] += batch.size();
+                        return insert(connection, first, batch, terms, vocabulary);
+                    })
+                    .then(Mono.defer(() -> indexWords(connection, vocabulary)))
+                    .then(Mono.fromCallable(() -> {
+                        metrics.recordCatalogLoad(System.nanoTime() - start, count[0]);
+                        FuzzyTermIndex dictionary = terms.build();
+                        log.info("Imported {} items from {} into H2 and indexed {} dictionary terms in {} ms",
+                                count[0], catalogResource.getDescription(), dictionary.terms(),
+                                (System.nanoTime() - start) / 1_000_000);
+                        return dictionary;
+                    }))
+                    .doFinally(signal -> close(items));
+        }));
+        return new ResourceDatabasePopulator(SCHEMA).populate(client.getConnectionFactory())
+                .then(rows)
+                .subscribeOn(blockingScheduler);
+    }
+
+    private MappingIterator<Item> readCatalog() {
+        try {
+            return objectMapper.readerFor(Item.class).readValues(catalogResource.getInputStream());
+        } catch (IOException e) {
+            log.error("Error loading items from JSON", e);
+            throw new RuntimeException("Error loading items", e);
+        }
+    }
+
+    private static void close(MappingIterator<Item> items) {
+        try {
+            items.close();
+        } catch (IOException e) {
+            log.warn("Could not close the catalog stream", e);
+        }
+    }
+
+    private Mono<Void> insert(Connection connection, int firstOrdinal, List<Item> batch, FuzzyTermIndex.Builder terms,
+                              Map<String, Long> vocabulary) {
+        Statement items = connection.createStatement(INSERT_ITEM);
+        Statement titleWords = connection.createStatement(INSERT_TITLE_WORD);
+        boolean hasTitleWords = false;
+        List<String> words = new ArrayList<>();
+        List<Integer> ordinals = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Item item = batch.get(i);
+            int ordinal = firstOrdinal + i;
+            String title = analyzer.fold(item.getTitle());
+            String description = analyzer.fold(item.getDescription());
+            terms.add(title).add(description);
+
+            if (i > 0) {
+                items.add();
+            }
+            bindItem(items, ordinal, item, title, description);
+            hasTitleWords |= bindTitleWords(titleWords, ordinal, item, hasTitleWords);
+            for (String word : words(title, description)) {
+                words.add(word);
+                ordinals.add(ordinal);
+                vocabulary.merge(word, 1L, Long::sum);
+            }
+        }
+        Mono<Void> insertItems = execute(items);
+        if (hasTitleWords) {
+            insertItems = insertItems.then(execute(titleWords));
+        }
+        return words.isEmpty() ? insertItems : insertItems.then(execute(connection.createStatement(INSERT_ITEM_WORDS)
+                .bind(0, words.toArray(String[]::new))
+                .bind(1, ordinals.toArray(Integer[]::new))));
+    }
+
+    /**
+     * Keys the imported words, which is faster once they are all in than one at a time, and
+     * stores the vocabulary counted while importing them.
+     */
+    private static Mono<Void> indexWords(Connection connection, Map<String, Long> vocabulary) {
+        return execute(connection.createStatement("ALTER TABLE item_word ADD PRIMARY KEY (word, ordinal)"))
+                .thenMany(Flux.fromIterable(vocabulary.entrySet()))
+                .buffer(MAX_ARRAY_LENGTH)
+                .concatMap(counts -> execute(connection.createStatement(INSERT_VOCABULARY)
+                        .bind(0, counts.stream().map(Map.Entry::getKey).toArray(String[]::new))
+                        .bind(1, counts.stream().map(Map.Entry::getValue).toArray(Long[]::new))))
+                .then();
+    }
+
+    /**
+     * Indexes the words of a written {@code item} and counts them in the vocabulary.
+     */
+    private Mono<Void> insertWords(Connection connection, int ordinal, Item item) {
+        Statement titleWords = connection.createStatement(INSERT_TITLE_WORD);
+        Mono<Void> inserted = bindTitleWords(titleWords, ordinal, item, false) ? execute(titleWords) : Mono.empty();
+        String[] words = words(analyzer.fold(item.getTitle()), analyzer.fold(item.getDescription()))
+                .toArray(String[]::new);
+        if (words.length == 0) {
+            return inserted;
+        }
+        Integer[] ordinals = new Integer[words.length];
+        Arrays.fill(ordinals, ordinal);
+        return inserted
+                .then(execute(connection.createStatement(INSERT_ITEM_WORDS).bind(0, words).bind(1, ordinals)))
+                .then(execute(connection.createStatement(COUNT_WORDS).bind(0, words)));
+    }
+
+    /**
+     * Distinct words of an item's folded title and description.
+     */
+    private Set<String> words(String foldedTitle, String foldedDescription) {
+        Set<String> words = new LinkedHashSet<>(analyzer.wordsOfFolded(foldedTitle));
+        words.addAll(analyzer.wordsOfFolded(foldedDescription));
+        return words;
+    }
+
+    /**
+     * Binds the columns of {@code item}, in the order of {@link #INSERT_ITEM}, to the current
+     * parameter set of {@code statement}.
+     */
+    private Statement bindItem(Statement statement, int ordinal, Item item, String title, String description) {
+        statement.bind(0, ordinal).bind(1, item.getId());
+        bindNullable(statement, 2, item.getCategory() != null ? item.getCategory().getId() : null, String.class);
+        bindNullable(statement, 3, item.getPrice(), BigDecimal.class);
+        statement.bind(4, item.getSeller() != null && item.getSeller().getReputation() != null
+                ? item.getSeller().getReputation()
+                : 0.0);
+        bindNullable(statement, 5, item.getStock(), Integer.class);
+        return statement.bind(6, title)
+                .bind(7, description)
+                .bind(8, toJson(item));
+    }
+
+    /**
+     * Adds one parameter set per distinct title word of {@code item}; {@code started} tells
+     * whether {@code statement} already has one. Returns whether it has any now.
+     */
+    private boolean bindTitleWords(Statement statement, int ordinal, Item item, boolean started) {
+        for (String word : new LinkedHashSet<>(analyzer.words(item.getTitle()))) {
+            if (started) {
+                statement.add();
+            }
+            statement.bind(0, word).bind(1, ordinal);
+            started = true;
+        }
+        return started;
+    }
+
+    private static Mono<Void> execute(Statement statement) {
+        return rowsUpdated(statement).then();
+    }
+
+    private static Mono<Long> rowsUpdated(Statement statement) {
+        return Flux.from(statement.execute())
+                .flatMap(Result::getRowsUpdated)
+                .reduce(0L, Long::sum);
+    }
+
+    private static void bindNullable(Statement statement, int index, Object value, Class<?> type) {
+        if (value != null) {
+            statement.bind(index, value);
+        } else {
+            statement.bindNull(index, type);
+        }
+    }
+
+    private String toJson(Item item) {
+        try {
+            return objectMapper.writeValueAsString(item);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Item " + item.getId() + " cannot be stored", e);
+        }
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record PageRow(Item item, long total) {
+    }
+
+    private record WordCount(String word, long items) {
+    }
+
+    /**
+     * A word that a text containing a query term must have, by how it relates to a word of the
+     * term.
+     */
+    private record WordPattern(String word, Kind kind) {
+
+        enum Kind { CONTAINED, SUFFIX, WHOLE, PREFIX }
+
+        // Words are letters and digits, so patterns need no escaping
+        String like() {
+            return switch (kind) {
+                case CONTAINED -> "%" + word + "%";
+                case SUFFIX -> "%" + word;
+                case WHOLE -> word;
+                case PREFIX -> word + "%";
+            };
+        }
+
+        boolean matches(String candidate) {
+            return switch (kind) {
+                case CONTAINED -> candidate.contains(word);
+                case SUFFIX -> candidate.endsWith(word);
+                case WHOLE -> candidate.equals(word);
+                case PREFIX -> candidate.startsWith(word);
+            };
+        }
+
+        boolean indexed() {
+            return kind == Kind.WHOLE || kind == Kind.PREFIX;
+        }
+    }
+
+    /**
+     * Catalog words found for a search, with their item counts, and the number of items.
+     */
+    private record Vocabulary(Map<String, Long> words, long items) {
+
+        static Vocabulary of(List<WordCount> counts) {
+            Map<String, Long> words = new HashMap<>();
+            long items = 0;
+            for (WordCount count : counts) {
+                if (count.word() == null) {
+                    items = count.items();
+                } else {
+                    words.put(count.word(), count.items());
+                }
+            }
+            return new Vocabulary(words, items);
+        }
+
+        Map<String, Long> matching(WordPattern pattern) {
+            Map<String, Long> matching = new HashMap<>();
+            words.forEach((word, items) -> {
+                if (pattern.matches(word)) {
+                    matching.put(word, items);
+                }
+            });
+            return matching;
+        }
+    }
+
+    /**
+     * Items that may match a term group, as the words of each pattern of its terms: a term's
+     * items have a word of every pattern, and a group's those of any term. The estimate is an
+     * upper bound of their number. They are exactly the matches when every term is one word.
+     */
+    private record Candidates(List<List<Map<String, Long>>> terms, long estimate, Set<String> words, boolean exact) {
+
+        /**
+         * Candidates of {@code group}, whose terms have {@code patterns}, or null when a term has
+         * no word to look up, so any item may match it.
+         */
+        static Candidates of(List<String> group, List<List<WordPattern>> patterns, Vocabulary vocabulary) {
+            List<List<Map<String, Long>>> terms = new ArrayList<>();
+            Set<String> words = new HashSet<>();
+            long estimate = 0;
+            boolean exact = true;
+            for (int i = 0; i < group.size(); i++) {
+                List<WordPattern> termPatterns = patterns.get(i);
+                if (termPatterns.isEmpty()) {
+                    return null;
+                }
+                exact &= termPatterns.size() == 1 && termPatterns.get(0).word().equals(group.get(i));
+                List<Map<String, Long>> term = termPatterns.stream().map(vocabulary::matching).toList();
+                // A pattern that no catalog word matches leaves the term without items
+                if (term.stream().noneMatch(Map::isEmpty)) {
+                    terms.add(term);
+                    term.forEach(matching -> words.addAll(matching.keySet()));
+                    estimate += term.stream()
+                            .mapToLong(matching -> matching.values().stream().mapToLong(Long::longValue).sum())
+                            .min()
+                            .orElse(0);
+                }
+            }
+            return new Candidates(terms, estimate, words, exact);
+        }
+
+        String sql(Where where) {
+            StringJoiner any = new StringJoiner(" UNION ");
+            for (List<Map<String, Long>> term : terms) {
+                StringJoiner all = new StringJoiner(" INTERSECT ", "(", ")");
+                for (Map<String, Long> matching : term) {
+                    StringJoiner words = new StringJoiner(", ", "SELECT ordinal FROM item_word WHERE word IN (", ")");
+                    matching.keySet().forEach(word -> words.add(where.bind(word)));
+                    all.add(words.toString());
+                }
+                any.add(all.toString());
+            }
+            return any.toString();
+        }
+    }
+
+    /**
+     * {@code WHERE} clause built from conditions joined by {@code AND}, with the values bound to
+     * its {@code $n} markers in order.
+     */
+    private static final class Where {
+
+        private final StringJoiner conditions = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        private final List<Object> values = new ArrayList<>();
+
+        void add(String condition) {
+            conditions.add(condition);
+        }
+
+        String bind(Object value) {
+            values.add(value);
+            return "$" + values.size();
+        }
+
+        @Override
+        public String toString() {
+            return conditions.toString();
+        }
+    }
+}
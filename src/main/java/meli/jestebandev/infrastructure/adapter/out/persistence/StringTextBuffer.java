@@ -0,0 +1,60 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+/**
+ * Text packed in a single {@code String}, searched with {@link String#indexOf(String, int, int)}.
+ * The JDK already runs that search with SIMD instructions when the CPU has them, so this is
+ * the default whenever the Vector API is not available.
+ */
+final class StringTextBuffer implements TextBuffer {
+
+    private final String text;
+
+    private StringTextBuffer(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Packs {@code fields} back to back, storing the start of each one in {@code offsets} and
+     * the end of the last one after it.
+     */
+    static StringTextBuffer pack(String[] fields, int[] offsets) {
+        long size = 0;
+        for (String field : fields) {
+            size += field.length();
+        }
+        PackedText.checkSize(size);
+
+        StringBuilder packed = new StringBuilder((int) size);
+        for (int i = 0; i < fields.length; i++) {
+            offsets[i] = packed.length();
+            packed.append(fields[i]);
+        }
+        offsets[fields.length] = packed.length();
+        return new StringTextBuffer(packed.toString());
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public String substring(int from, int to) {
+        return text.substring(from, to);
+    }
+
+    @Override
+    public Finder finder(String pattern) {
+        return new Finder() {
+            @Override
+            public int length() {
+                return pattern.length();
+            }
+
+            @Override
+            public int indexOf(int from, int to) {
+                return text.indexOf(pattern, from, to);
+            }
+        };
+    }
+}
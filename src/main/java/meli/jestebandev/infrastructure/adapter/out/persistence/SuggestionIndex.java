@@ -0,0 +1,222 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type-ahead index over title tokens, built once per catalog load.
+ * <p>
+ * Tokens are stored in a radix trie whose every node keeps the ordinals of its best items
+ * (highest seller reputation, then catalog order). A lookup walks at most the length of the
+ * prefix and returns a precomputed list, so its cost does not depend on the catalog size.
+ */
+final class SuggestionIndex {
+
+    /**
+     * Candidates kept per node. Larger than any page of suggestions so that the extra words
+     * of a multi-word prefix can still be applied as a filter on the candidates.
+     */
+    static final int CANDIDATES_PER_NODE = 32;
+
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final List<Item> items;
+    private final TextAnalyzer analyzer;
+    private final Node root;
+    private final int terms;
+
+    private SuggestionIndex(List<Item> items, TextAnalyzer analyzer, Node root, int terms) {
+        this.items = items;
+        this.analyzer = analyzer;
+        this.root = root;
+        this.terms = terms;
+    }
+
+    static SuggestionIndex build(List<Item> items, TextAnalyzer analyzer) {
+        double[] scores = new double[items.size()];
+        Map<String, Candidates> byTerm = new HashMap<>();
+        for (int ordinal = 0; ordinal < items.size(); ordinal++) {
+            Item item = items.get(ordinal);
+            scores[ordinal] = item.getSeller() != null && item.getSeller().getReputation() != null
+                    ? item.getSeller().getReputation()
+                    : 0.0;
+            for (String token : new HashSet<>(analyzer.words(item.getTitle()))) {
+                byTerm.computeIfAbsent(token, t -> new Candidates(scores)).offer(ordinal);
+            }
+        }
+
+        String[] sorted = byTerm.keySet().toArray(new String[0]);
+        Arrays.sort(sorted);
+        Candidates[] candidates = new Candidates[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            candidates[i] = byTerm.get(sorted[i]);
+        }
+        Node root = sorted.length == 0
+                ? new Node(new String[0], new Node[0], NO_CANDIDATES)
+                : buildNode(sorted, candidates, 0, sorted.length, 0, scores);
+        return new SuggestionIndex(items, analyzer, root, sorted.length);
+    }
+
+    /**
+     * Best items whose title has a token starting with the last word of {@code prefix} and
+     * that also contain every previous word, in ranking order.
+     */
+    List<Item> suggest(String prefix, int limit) {
+        List<String> words = analyzer.words(prefix);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        int[] candidates = find(words.get(words.size() - 1));
+        List<String> context = words.subList(0, words.size() - 1);
+
+        List<Item> suggestions = new ArrayList<>(Math.min(limit, candidates.length));
+        for (int i = 0; i < candidates.length && suggestions.size() < limit; i++) {
+            Item item = items.get(candidates[i]);
+            if (context.isEmpty() || analyzer.words(item.getTitle()).containsAll(context)) {
+                suggestions.add(item);
+            }
+        }
+        return suggestions;
+    }
+
+    int terms() {
+        return terms;
+    }
+
+    private int[] find(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = null;
+            String label = null;
+            for (int i = 0; i < node.labels.length; i++) {
+                if (node.labels[i].charAt(0) == prefix.charAt(position)) {
+                    child = node.children[i];
+                    label = node.labels[i];
+                    break;
+                }
+            }
+            if (child == null) {
+                return NO_CANDIDATES;
+            }
+            // The prefix may end in the middle of an edge: every term below still matches
+            int length = Math.min(label.length(), prefix.length() - position);
+            if (!prefix.regionMatches(position, label, 0, length)) {
+                return NO_CANDIDATES;
+            }
+            position += length;
+            node = child;
+        }
+        return node.candidates;
+    }
+
+    /**
+     * Builds the subtree for {@code terms[from, to)}, which all share their first
+     * {@code depth} characters. Sorting guarantees terms sharing a longer prefix are adjacent,
+     * so each edge label is the common prefix of the first and last term of its group.
+     */
+    private static Node buildNode(String[] terms, Candidates[] candidates, int from, int to, int depth,
+                                  double[] scores) {
+        Candidates best = new Candidates(scores);
+        int i = from;
+        if (terms[i].length() == depth) {
+            best.offerAll(candidates[i]);
+            i++;
+        }
+
+        List<String> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        while (i < to) {
+            char first = terms[i].charAt(depth);
+            int end = i + 1;
+            while (end < to && terms[end].charAt(depth) == first) {
+                end++;
+            }
+            int shared = commonPrefixLength(terms[i], terms[end - 1]);
+            Node child = buildNode(terms, candidates, i, end, shared, scores);
+            labels.add(terms[i].substring(depth, shared));
+            children.add(child);
+            best.offerAll(child.candidates);
+            i = end;
+        }
+        return new Node(labels.toArray(new String[0]), children.toArray(new Node[0]), best.toArray());
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Node(String[] labels, Node[] children, int[] candidates) {
+    }
+
+    /**
+     * Bounded list of item ordinals kept sorted from best to worst.
+     */
+    private static final class Candidates {
+
+        private final double[] scores;
+        private final int[] ordinals = new int[CANDIDATES_PER_NODE];
+        private int size;
+
+        private Candidates(double[] scores) {
+            this.scores = scores;
+        }
+
+        void offer(int ordinal) {
+            if (size == ordinals.length && !ranksBefore(ordinal, ordinals[size - 1])) {
+                return;
+            }
+            int position = size == ordinals.length ? size - 1 : size;
+            while (position > 0 && ranksBefore(ordinal, ordinals[position - 1])) {
+                ordinals[position] = ordinals[position - 1];
+                position--;
+            }
+            ordinals[position] = ordinal;
+            if (size < ordinals.length) {
+                size++;
+            }
+        }
+
+        void offerAll(Candidates other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.ordinals[i]);
+            }
+        }
+
+        void offerAll(int[] others) {
+            for (int ordinal : others) {
+                if (!contains(ordinal)) {
+                    offer(ordinal);
+                }
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ordinals, size);
+        }
+
+        private boolean contains(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean ranksBefore(int a, int b) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+        }
+    }
+}
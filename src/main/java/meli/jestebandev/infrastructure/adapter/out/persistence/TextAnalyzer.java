@@ -0,0 +1,158 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Single text pipeline shared by catalog indexing and query parsing, so both sides of every
+ * comparison are normalized the same way.
+ * <p>
+ * {@link #fold} turns text into its search form: HTML entities decoded (queries arrive escaped
+ * by the input validator), Unicode NFKD decomposition, accents removed and locale-independent
+ * lower case, so "Electrónica", "ELECTRONICA" and "electr&oacute;nica" are all "electronica".
+ * {@link #tokens} splits the folded text into words, optionally dropping stop words and
+ * reducing plurals to their singular form; {@link #words} splits it without those filters.
+ */
+@Component
+public class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            // Spanish
+            "a", "al", "con", "de", "del", "el", "en", "la", "las", "los", "o", "para", "por", "sin", "un", "una", "y",
+            // Portuguese
+            "com", "da", "das", "do", "dos", "e", "em", "na", "no", "os", "um", "uma",
+            // English
+            "and", "for", "of", "the", "with"
+    );
+
+    private final boolean stemming;
+    private final boolean stopWords;
+
+    public TextAnalyzer(
+            @Value("${catalog.analyzer.stemming:false}") boolean stemming,
+            @Value("${catalog.analyzer.stop-words:true}") boolean stopWords
+    ) {
+        this.stemming = stemming;
+        this.stopWords = stopWords;
+    }
+
+    /**
+     * Search form of {@code text}, used for substring matching. Never null.
+     */
+    public String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        if (isPlainAscii(text)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decoded = text.indexOf('&') >= 0 ? StringEscapeUtils.unescapeHtml4(text) : text;
+        String decomposed = Normalizer.normalize(decoded, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type != Character.NON_SPACING_MARK && type != Character.COMBINING_SPACING_MARK
+                    && type != Character.ENCLOSING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Words of {@code text} in order of appearance: runs of letters and digits of the folded
+     * text, without stop words and stemmed when enabled.
+     */
+    public List<String> tokens(String text) {
+        return tokensOfFolded(fold(text));
+    }
+
+    /**
+     * Same as {@link #tokens} for text that is already folded.
+     */
+    public List<String> tokensOfFolded(String folded) {
+        return split(folded, true);
+    }
+
+    /**
+     * Every word of the folded {@code text}, without removing stop words or stemming. Used for
+     * prefix matching, where the last word is usually incomplete: "la" may be the start of
+     * "laptop" and "auriculare" is not a prefix of the stem "auricular".
+     */
+    public List<String> words(String text) {
+        return split(fold(text), false);
+    }
+
+    /**
+     * Same as {@link #words} for text that is already folded.
+     */
+    public List<String> wordsOfFolded(String folded) {
+        return split(folded, false);
+    }
+
+    private List<String> split(String folded, boolean filter) {
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!filter) {
+                    tokens.add(token);
+                } else if (!stopWords || !STOP_WORDS.contains(token)) {
+                    tokens.add(stemming ? stem(token) : token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Light plural stemmer for Spanish, Portuguese and English: "auriculares" and "auricular",
+     * "laptops" and "laptop" share a stem. A stem is always a prefix of its word, so stems can
+     * still be matched as substrings of folded catalog text. Deliberately conservative, since
+     * aggressive stemming merges unrelated product words.
+     */
+    static String stem(String token) {
+        int length = token.length();
+        if (length < 4 || !Character.isLetter(token.charAt(length - 1))) {
+            return token;
+        }
+        if (token.endsWith("es") && isPluralEsConsonant(token.charAt(length - 3))) {
+            return token.substring(0, length - 2);
+        }
+        if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us") && !token.endsWith("is")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+
+    // Consonants after which Spanish adds "-es" for the plural (color/colores, camion/camiones)
+    private static boolean isPluralEsConsonant(char c) {
+        return c == 'l' || c == 'r' || c == 'n' || c == 'd' || c == 'j' || c == 'y';
+    }
+
+    private static boolean isPlainAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80 || c == '&') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+/**
+ * Storage and substring search behind {@link PackedText}. Positions are in the buffer's own
+ * units: characters for {@link StringTextBuffer}, bytes for {@link VectorTextBuffer}.
+ */
+interface TextBuffer {
+
+    int length();
+
+    String substring(int from, int to);
+
+    /**
+     * Compiles {@code pattern} for repeated searches in this buffer.
+     */
+    Finder finder(String pattern);
+
+    interface Finder {
+
+        /**
+         * Length of the pattern in buffer units.
+         */
+        int length();
+
+        /**
+         * Start of the first occurrence of the pattern that lies entirely within
+         * {@code [from, to)}, or -1.
+         */
+        int indexOf(int from, int to);
+    }
+}
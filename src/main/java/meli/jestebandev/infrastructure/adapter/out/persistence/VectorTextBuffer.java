@@ -0,0 +1,130 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Text packed as UTF-8 in a byte array, searched with the incubating Vector API.
+ * <p>
+ * The search compares the first and the last byte of the pattern against a whole vector of
+ * candidate positions at once (32 bytes with AVX2, 64 with AVX-512) and only verifies the
+ * positions where both match. UTF-8 is self-synchronizing, so a match of the encoded pattern
+ * always starts on a character boundary and gives the same result as {@code String.contains}.
+ * <p>
+ * Only loaded when the JVM runs with {@code --add-modules jdk.incubator.vector}; see
+ * {@link PackedText#VECTOR_API}.
+ */
+final class VectorTextBuffer implements TextBuffer {
+
+    // Match positions are read from a 64-bit mask, so wider vectors (some SVE CPUs) are capped
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() <= Long.SIZE
+            ? ByteVector.SPECIES_PREFERRED
+            : ByteVector.SPECIES_512;
+
+    private final byte[] text;
+
+    private VectorTextBuffer(byte[] text) {
+        this.text = text;
+    }
+
+    /**
+     * Encodes {@code fields} back to back, storing the start of each one in {@code offsets} and
+     * the end of the last one after it.
+     */
+    static VectorTextBuffer pack(String[] fields, int[] offsets) {
+        byte[][] encoded = new byte[fields.length][];
+        long size = 0;
+        for (int i = 0; i < fields.length; i++) {
+            encoded[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+            size += encoded[i].length;
+        }
+        PackedText.checkSize(size);
+
+        byte[] packed = new byte[(int) size];
+        int position = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            offsets[i] = position;
+            System.arraycopy(encoded[i], 0, packed, position, encoded[i].length);
+            position += encoded[i].length;
+            encoded[i] = null;
+        }
+        offsets[fields.length] = position;
+        return new VectorTextBuffer(packed);
+    }
+
+    @Override
+    public int length() {
+        return text.length;
+    }
+
+    @Override
+    public String substring(int from, int to) {
+        return new String(text, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Finder finder(String pattern) {
+        return new VectorFinder(pattern.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private final class VectorFinder implements Finder {
+
+        private final byte[] pattern;
+        private final ByteVector first;
+        private final ByteVector last;
+
+        private VectorFinder(byte[] pattern) {
+            this.pattern = pattern;
+            this.first = pattern.length == 0 ? null : ByteVector.broadcast(SPECIES, pattern[0]);
+            this.last = pattern.length == 0 ? null : ByteVector.broadcast(SPECIES, pattern[pattern.length - 1]);
+        }
+
+        @Override
+        public int length() {
+            return pattern.length;
+        }
+
+        @Override
+        public int indexOf(int from, int to) {
+            int length = pattern.length;
+            int lastStart = to - length;
+            if (length == 0) {
+                return from <= to ? from : -1;
+            }
+            int lanes = SPECIES.length();
+            int position = from;
+            // Both loads must stay inside the array; they may read past 'to', but any candidate
+            // past lastStart is rejected below
+            int vectorEnd = text.length - lanes - (length - 1);
+            while (position <= lastStart && position <= vectorEnd) {
+                ByteVector heads = ByteVector.fromArray(SPECIES, text, position);
+                ByteVector tails = ByteVector.fromArray(SPECIES, text, position + length - 1);
+                long candidates = heads.eq(first).and(tails.eq(last)).toLong();
+                while (candidates != 0) {
+                    int candidate = position + Long.numberOfTrailingZeros(candidates);
+                    if (candidate > lastStart) {
+                        return -1;
+                    }
+                    if (matchesAt(candidate)) {
+                        return candidate;
+                    }
+                    candidates &= candidates - 1;
+                }
+                position += lanes;
+            }
+            for (; position <= lastStart; position++) {
+                if (text[position] == pattern[0] && matchesAt(position)) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matchesAt(int position) {
+            return Arrays.equals(text, position, position + pattern.length, pattern, 0, pattern.length);
+        }
+    }
+}
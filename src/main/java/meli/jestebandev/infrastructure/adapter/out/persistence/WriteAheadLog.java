@@ -0,0 +1,289 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque records, made durable in batches (group commit).
+ * <p>
+ * Appends only enqueue the record. A single writer thread takes everything queued, writes it
+ * with one gathering write and makes it durable with one {@link FileChannel#force}, then
+ * completes the futures of the whole batch. Records appended while a force is in progress wait
+ * for the next one, so under load each force covers many writes and throughput is bounded by
+ * the number of forces per second rather than by one force per write.
+ * <p>
+ * The log is a sequence of numbered segment files, {@code wal-<segment>.log}. Each record is
+ * framed as its length, a CRC32C of its bytes and the bytes; reading stops at the first frame
+ * that is incomplete or does not match its checksum, which is where a crash cut the last write.
+ * A new segment is started on every open and on {@link #rotate}, so a torn tail is never
+ * appended to.
+ * <p>
+ * A write or rotation that fails stops the log for good: a partial frame may be on disk, and
+ * anything after it would be lost on recovery. The batch and every record still queued fail,
+ * newest first, and later appends fail at once. Appending and stopping are synchronized on the
+ * log, so a caller holding its monitor can change state and append a record with no failure
+ * happening in between.
+ */
+@Slf4j
+final class WriteAheadLog implements AutoCloseable {
+
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{12})\\.log");
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int maxBatch;
+    private final ItemMetrics metrics;
+    private final Scheduler writer = Schedulers.newSingle("catalog-wal", true);
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Why the log stopped, or null while it is writable
+    private volatile UncheckedIOException failure;
+
+    // Only touched on the writer thread
+    private FileChannel channel;
+    private long segment;
+
+    private WriteAheadLog(Path directory, long segment, int maxBatch, ItemMetrics metrics) throws IOException {
+        this.directory = directory;
+        this.maxBatch = maxBatch;
+        this.metrics = metrics;
+        this.segment = segment;
+        this.channel = openSegment(segment);
+    }
+
+    /**
+     * Starts appending to a new segment numbered {@code segment} in {@code directory}.
+     */
+    static WriteAheadLog open(Path directory, long segment, int maxBatch, ItemMetrics metrics) throws IOException {
+        Files.createDirectories(directory);
+        return new WriteAheadLog(directory, segment, maxBatch, metrics);
+    }
+
+    /**
+     * Queues {@code record}; the future completes once it is on disk, or fails with the error
+     * that stopped the log.
+     */
+    synchronized CompletableFuture<Void> append(byte[] record) {
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + record.length);
+        frame.putInt(record.length).putInt(checksum(record)).put(record).flip();
+        Pending entry = new Pending(frame, new CompletableFuture<>());
+        pending.add(entry);
+        scheduleFlush();
+        return entry.done();
+    }
+
+    /**
+     * Makes everything appended so far durable and continues in a new segment, returning its
+     * number: every record appended before this call is in an older segment.
+     */
+    CompletableFuture<Long> rotate() {
+        CompletableFuture<Long> rotated = new CompletableFuture<>();
+        writer.schedule(() -> {
+            try {
+                flush();
+                if (failure != null) {
+                    throw failure;
+                }
+                channel.close();
+                channel = openSegment(++segment);
+                rotated.complete(segment);
+            } catch (IOException e) {
+                log.error("Could not start WAL segment {}", segment, e);
+                stop(e, List.of());
+                rotated.completeExceptionally(failure);
+            } catch (RuntimeException e) {
+                rotated.completeExceptionally(e);
+            }
+        });
+        return rotated;
+    }
+
+    /**
+     * Why the log stopped after failing to write, or null; once stopped it takes no more records.
+     */
+    UncheckedIOException failure() {
+        return failure;
+    }
+
+    /**
+     * Deletes the segments numbered below {@code segment}.
+     */
+    void deleteSegmentsBefore(long segment) throws IOException {
+        for (long number : segments(directory)) {
+            if (number < segment) {
+                Files.deleteIfExists(segmentFile(directory, number));
+            }
+        }
+    }
+
+    /**
+     * Numbers of the segments in {@code directory}, in ascending order.
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Passes every intact record of segment {@code segment}, in order, to {@code consumer} and
+     * returns how many there were.
+     */
+    static int read(Path directory, long segment, Consumer<byte[]> consumer) throws IOException {
+        Path file = segmentFile(directory, segment);
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        int records = 0;
+        while (data.remaining() >= HEADER_BYTES) {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length < 0 || length > data.remaining()) {
+                log.warn("Ignoring a torn record at the end of {}", file);
+                break;
+            }
+            byte[] record = new byte[length];
+            data.get(record);
+            if (checksum(record) != checksum) {
+                log.warn("Ignoring a corrupt record and the rest of {}", file);
+                break;
+            }
+            consumer.accept(record);
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Makes pending records durable and closes the current segment.
+     */
+    @Override
+    public void close() {
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        writer.schedule(() -> {
+            try {
+                flush();
+                channel.close();
+                closed.complete(null);
+            } catch (IOException | RuntimeException e) {
+                closed.completeExceptionally(e);
+            }
+        });
+        try {
+            closed.join();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(() -> {
+                // Cleared first: whatever is appended from now on schedules the next flush
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    private void flush() {
+        while (!pending.isEmpty()) {
+            if (failure != null) {
+                // Queued while the log was stopping
+                stop(null, List.of());
+                return;
+            }
+            List<Pending> batch = new ArrayList<>();
+            Pending entry;
+            while (batch.size() < maxBatch && (entry = pending.poll()) != null) {
+                batch.add(entry);
+            }
+            long start = System.nanoTime();
+            try {
+                ByteBuffer[] frames = batch.stream().map(Pending::frame).toArray(ByteBuffer[]::new);
+                while (frames[frames.length - 1].hasRemaining()) {
+                    channel.write(frames);
+                }
+                channel.force(false);
+                metrics.recordWalFlush(batch.size(), System.nanoTime() - start);
+                batch.forEach(done -> done.done().complete(null));
+            } catch (IOException e) {
+                log.error("Could not write {} records to WAL segment {}, stopping the log", batch.size(), segment, e);
+                stop(e, batch);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops the log, unless already stopped, because of {@code cause}, and fails {@code batch}
+     * and every queued record, newest first. The futures are completed outside the monitor, so
+     * that what depends on them may append, and fail at once, without waiting for the writer.
+     */
+    private void stop(IOException cause, List<Pending> batch) {
+        List<Pending> failed = new ArrayList<>(batch);
+        synchronized (this) {
+            if (failure == null) {
+                failure = new UncheckedIOException("Write-ahead log is not writable", cause);
+            }
+            for (Pending entry = pending.poll(); entry != null; entry = pending.poll()) {
+                failed.add(entry);
+            }
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close WAL segment {}", segment, e);
+        }
+        for (int i = failed.size() - 1; i >= 0; i--) {
+            failed.get(i).done().completeExceptionally(failure);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(segmentFile(directory, number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private static Path segmentFile(Path directory, long number) {
+        return directory.resolve(String.format("wal-%012d.log", number));
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    private record Pending(ByteBuffer frame, CompletableFuture<Void> done) {
+    }
+}
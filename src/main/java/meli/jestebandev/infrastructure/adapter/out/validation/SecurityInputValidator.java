@@ -1,10 +1,13 @@
 package meli.jestebandev.infrastructure.adapter.out.validation;
 
 import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Item;
 import meli.jestebandev.domain.port.out.InputValidator;
 import org.apache.commons.text.StringEscapeUtils;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.regex.Pattern;
 
 @Component
@@ -15,6 +18,13 @@ public class SecurityInputValidator implements InputValidator {
     private static final int MAX_ITEM_ID_LENGTH = 50;
     private static final int MIN_PAGE_SIZE = 1;
     private static final int MAX_PAGE_SIZE = 100;
+    private static final int MIN_SUGGESTION_LIMIT = 1;
+    private static final int MAX_SUGGESTION_LIMIT = 10;
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MAX_DESCRIPTION_LENGTH = 5000;
+    private static final int MAX_STOCK_QUANTITY = 10_000;
+    private static final Duration MIN_SEARCH_TIMEOUT = Duration.ofMillis(1);
+    private static final Duration MAX_SEARCH_TIMEOUT = Duration.ofSeconds(10);
     
     // Pattern for Mercado Libre item IDs (e.g., MLU123456789, MLA987654321)
     private static final Pattern ITEM_ID_PATTERN = Pattern.compile("^ML[A-Z]{1,3}\\d+$");
@@ -115,6 +125,79 @@ public class SecurityInputValidator implements InputValidator {
         }
     }
 
+    @Override
+    public void validateSuggestionLimit(int limit) {
+        if (limit < MIN_SUGGESTION_LIMIT || limit > MAX_SUGGESTION_LIMIT) {
+            throw new ValidationException(
+                String.format("Suggestion limit must be between %d and %d", MIN_SUGGESTION_LIMIT, MAX_SUGGESTION_LIMIT)
+            );
+        }
+    }
+
+    @Override
+    public Item validateItem(Item item) {
+        if (item == null) {
+            throw new ValidationException("Item cannot be null");
+        }
+
+        String id = validateItemId(item.getId());
+
+        if (item.getTitle() == null || item.getTitle().isBlank()) {
+            throw new ValidationException("Item title cannot be null or empty");
+        }
+        if (item.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new ValidationException(
+                String.format("Item title exceeds maximum length of %d characters", MAX_TITLE_LENGTH)
+            );
+        }
+        if (item.getDescription() != null && item.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new ValidationException(
+                String.format("Item description exceeds maximum length of %d characters", MAX_DESCRIPTION_LENGTH)
+            );
+        }
+
+        // Titles and descriptions are returned as is, so reject markup instead of escaping it
+        if (containsScriptTags(item.getTitle())
+                || (item.getDescription() != null && containsScriptTags(item.getDescription()))) {
+            throw new ValidationException("Item title or description contains invalid characters or patterns");
+        }
+
+        if (item.getPrice() == null || item.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new ValidationException("Item price is required and cannot be negative");
+        }
+        if (item.getStock() != null && item.getStock() < 0) {
+            throw new ValidationException("Item stock cannot be negative");
+        }
+
+        return item.toBuilder().id(id).title(item.getTitle().trim()).build();
+    }
+
+    @Override
+    public void validateStockQuantity(int quantity) {
+        if (quantity < 1 || quantity > MAX_STOCK_QUANTITY) {
+            throw new ValidationException(
+                String.format("Stock quantity must be between %d and %d", 1, MAX_STOCK_QUANTITY)
+            );
+        }
+    }
+
+    @Override
+    public void validateChangeVersion(Long version) {
+        if (version != null && version < 0) {
+            throw new ValidationException("Change version must be zero or positive");
+        }
+    }
+
+    @Override
+    public void validateSearchTimeout(Duration timeout) {
+        if (timeout == null || timeout.compareTo(MIN_SEARCH_TIMEOUT) < 0 || timeout.compareTo(MAX_SEARCH_TIMEOUT) > 0) {
+            throw new ValidationException(
+                String.format("Search timeout must be between %d ms and %d ms",
+                        MIN_SEARCH_TIMEOUT.toMillis(), MAX_SEARCH_TIMEOUT.toMillis())
+            );
+        }
+    }
+
     /**
      * Checks if the input contains script tags or common XSS patterns.
      *
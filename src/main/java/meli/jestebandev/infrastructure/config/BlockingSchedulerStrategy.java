@@ -0,0 +1,39 @@
+package meli.jestebandev.infrastructure.config;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Where adapters run the blocking calls they make on behalf of a port (file reads, JDBC,
+ * synchronous HTTP clients), selected with {@code blocking.scheduler}.
+ */
+public enum BlockingSchedulerStrategy {
+
+    /**
+     * Reactor's shared {@link Schedulers#boundedElastic()}: at most ten platform threads per
+     * core, with further calls queued until one is free.
+     */
+    BOUNDED_ELASTIC {
+        @Override
+        Scheduler create() {
+            return Schedulers.boundedElastic();
+        }
+    },
+
+    /**
+     * One Java 21 virtual thread per call. A blocked virtual thread releases its carrier, so
+     * thousands of concurrent calls wait in parallel instead of queueing for a pool thread.
+     */
+    VIRTUAL_THREADS {
+        @Override
+        Scheduler create() {
+            return Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blocking-", 0).factory()),
+                    "blocking-virtual");
+        }
+    };
+
+    abstract Scheduler create();
+}
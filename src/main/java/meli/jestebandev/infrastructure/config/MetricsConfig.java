@@ -0,0 +1,64 @@
+package meli.jestebandev.infrastructure.config;
+
+import meli.jestebandev.domain.port.in.GetItemByIdUseCase;
+import meli.jestebandev.domain.port.in.ManageItemsUseCase;
+import meli.jestebandev.domain.port.in.SearchItemsUseCase;
+import meli.jestebandev.domain.port.in.SuggestItemsUseCase;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import meli.jestebandev.infrastructure.metrics.MeteredGetItemByIdUseCase;
+import meli.jestebandev.infrastructure.metrics.MeteredInputValidator;
+import meli.jestebandev.infrastructure.metrics.MeteredItemRepository;
+import meli.jestebandev.infrastructure.metrics.MeteredManageItemsUseCase;
+import meli.jestebandev.infrastructure.metrics.MeteredSearchItemsUseCase;
+import meli.jestebandev.infrastructure.metrics.MeteredSuggestItemsUseCase;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Wraps every port implementation in its metered decorator.
+ * <p>
+ * The decorators are {@link Primary}, so services and controllers receive the instrumented
+ * version while each factory method still resolves the undecorated bean as its delegate.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @Primary
+    public ItemRepository meteredItemRepository(ItemRepository itemRepository, ItemMetrics metrics) {
+        return new MeteredItemRepository(itemRepository, metrics);
+    }
+
+    @Bean
+    @Primary
+    public InputValidator meteredInputValidator(InputValidator inputValidator, ItemMetrics metrics) {
+        return new MeteredInputValidator(inputValidator, metrics);
+    }
+
+    @Bean
+    @Primary
+    public GetItemByIdUseCase meteredGetItemByIdUseCase(GetItemByIdUseCase getItemByIdUseCase, ItemMetrics metrics) {
+        return new MeteredGetItemByIdUseCase(getItemByIdUseCase, metrics);
+    }
+
+    @Bean
+    @Primary
+    public SearchItemsUseCase meteredSearchItemsUseCase(SearchItemsUseCase searchItemsUseCase, ItemMetrics metrics) {
+        return new MeteredSearchItemsUseCase(searchItemsUseCase, metrics);
+    }
+
+    @Bean
+    @Primary
+    public SuggestItemsUseCase meteredSuggestItemsUseCase(SuggestItemsUseCase suggestItemsUseCase, ItemMetrics metrics) {
+        return new MeteredSuggestItemsUseCase(suggestItemsUseCase, metrics);
+    }
+
+    @Bean
+    @Primary
+    public ManageItemsUseCase meteredManageItemsUseCase(ManageItemsUseCase manageItemsUseCase, ItemMetrics metrics) {
+        return new MeteredManageItemsUseCase(manageItemsUseCase, metrics);
+    }
+}
@@ -0,0 +1,38 @@
+package meli.jestebandev.infrastructure.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Embedded H2 database of the {@code h2} profile. Spring Boot's R2DBC auto-configuration is
+ * excluded in {@code application.yml}, so that the default profile opens no database at all.
+ */
+@Slf4j
+@Configuration
+@Profile("h2")
+public class R2dbcConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(
+            @Value("${catalog.h2.url:r2dbc:h2:mem:///catalog?options=DB_CLOSE_DELAY=-1}") String url,
+            @Value("${catalog.h2.pool-size:10}") int poolSize
+    ) {
+        log.info("Catalog stored in {} with up to {} connections", url, poolSize);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(url))
+                .initialSize(1)
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,24 @@
+package meli.jestebandev.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+
+@Slf4j
+@Configuration
+public class SchedulerConfig {
+
+    /**
+     * Scheduler for blocking adapter calls. Disposing it on shutdown is a no-op for the shared
+     * bounded elastic scheduler.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(
+            @Value("${blocking.scheduler:bounded-elastic}") BlockingSchedulerStrategy strategy
+    ) {
+        log.info("Blocking adapter calls run on {}", strategy);
+        return strategy.create();
+    }
+}
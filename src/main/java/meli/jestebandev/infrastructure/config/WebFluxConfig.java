@@ -1,14 +1,73 @@
 package meli.jestebandev.infrastructure.config;
 
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.infrastructure.adapter.in.rest.codec.Jackson2CborResponseEncoder;
+import meli.jestebandev.infrastructure.adapter.in.rest.codec.Jackson2ProtobufEncoder;
+import meli.jestebandev.infrastructure.adapter.in.rest.codec.PrecompressedJsonWriter;
+import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.accept.HeaderContentTypeResolver;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
 import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.config.ResourceHandlerRegistry;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @EnableWebFlux
+@RequiredArgsConstructor
 public class WebFluxConfig implements WebFluxConfigurer {
 
+    private final PrecompressedJsonWriter precompressedJsonWriter;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        // Item lookups and search pages: ahead of the default JSON writer
+        configurer.customCodecs().register(precompressedJsonWriter);
+
+        // Binary formats for service-to-service callers, chosen by the Accept header
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder());
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder());
+        configurer.customCodecs().register(new Jackson2CborResponseEncoder());
+        configurer.customCodecs().register(new Jackson2CborDecoder());
+        configurer.customCodecs().register(new Jackson2ProtobufEncoder());
+    }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Durations such as timeout=200ms, as in the application properties
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
+    @Override
+    public void configureContentTypeResolver(RequestedContentTypeResolverBuilder builder) {
+        HeaderContentTypeResolver accept = new HeaderContentTypeResolver();
+        builder.resolver(exchange -> preferJson(accept.resolveMediaTypes(exchange)));
+    }
+
+    /**
+     * JSON ahead of each wildcard type the client accepts, with the same quality: the binary
+     * formats are registered as custom codecs, which are tried before the JSON one.
+     */
+    private static List<MediaType> preferJson(List<MediaType> accepted) {
+        List<MediaType> preferred = new ArrayList<>(accepted.size() + 1);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isWildcardSubtype() && mediaType.includes(MediaType.APPLICATION_JSON)) {
+                preferred.add(new MediaType(MediaType.APPLICATION_JSON, mediaType.getParameters()));
+            }
+            preferred.add(mediaType);
+        }
+        return preferred;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Swagger UI resources
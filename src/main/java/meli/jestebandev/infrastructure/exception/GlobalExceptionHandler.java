@@ -1,6 +1,9 @@
 package meli.jestebandev.infrastructure.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import meli.jestebandev.domain.exception.ChangesNotAvailableException;
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ItemAlreadyExistsException;
 import meli.jestebandev.domain.exception.ItemNotFoundException;
 import meli.jestebandev.domain.exception.ValidationException;
 import org.springframework.http.HttpStatus;
@@ -8,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -89,6 +93,116 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse));
     }
 
+    @ExceptionHandler(ItemAlreadyExistsException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleItemAlreadyExists(
+            ItemAlreadyExistsException ex,
+            ServerWebExchange exchange
+    ) {
+        String requestId = exchange.getRequest().getId();
+        String method = exchange.getRequest().getMethod().toString();
+        String path = exchange.getRequest().getPath().value();
+
+        log.warn("[RequestID: {}] [Method: {}] [Path: {}] Item already exists: {}",
+                requestId, method, path, ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(path)
+                .errorCode("COD005")
+                .build();
+
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse));
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleInsufficientStock(
+            InsufficientStockException ex,
+            ServerWebExchange exchange
+    ) {
+        String requestId = exchange.getRequest().getId();
+        String method = exchange.getRequest().getMethod().toString();
+        String path = exchange.getRequest().getPath().value();
+
+        log.warn("[RequestID: {}] [Method: {}] [Path: {}] Insufficient stock: {}",
+                requestId, method, path, ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(path)
+                .errorCode("COD006")
+                .build();
+
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse));
+    }
+
+    @ExceptionHandler(ChangesNotAvailableException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleChangesNotAvailable(
+            ChangesNotAvailableException ex,
+            ServerWebExchange exchange
+    ) {
+        String requestId = exchange.getRequest().getId();
+        String method = exchange.getRequest().getMethod().toString();
+        String path = exchange.getRequest().getPath().value();
+
+        log.warn("[RequestID: {}] [Method: {}] [Path: {}] Changes not available: {}",
+                requestId, method, path, ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GONE.value())
+                .error(HttpStatus.GONE.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(path)
+                .errorCode("COD007")
+                .build();
+
+        return Mono.just(ResponseEntity.status(HttpStatus.GONE).body(errorResponse));
+    }
+
+    /**
+     * A shard node refused a write forwarded by the coordinator: answers with the node's status
+     * and error.
+     */
+    @ExceptionHandler(WebClientResponseException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleShardNodeError(
+            WebClientResponseException ex,
+            ServerWebExchange exchange
+    ) {
+        String requestId = exchange.getRequest().getId();
+        String method = exchange.getRequest().getMethod().toString();
+        String path = exchange.getRequest().getPath().value();
+
+        log.warn("[RequestID: {}] [Method: {}] [Path: {}] Shard node error: {}",
+                requestId, method, path, ex.getMessage());
+
+        ErrorResponse nodeError = nodeError(ex);
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(ex.getStatusCode().value())
+                .error(ex.getStatusText())
+                .message(nodeError != null ? nodeError.getMessage() : ex.getStatusText())
+                .path(path)
+                .errorCode(nodeError != null ? nodeError.getErrorCode() : "COD008")
+                .build();
+
+        return Mono.just(ResponseEntity.status(ex.getStatusCode()).body(errorResponse));
+    }
+
+    private static ErrorResponse nodeError(WebClientResponseException ex) {
+        try {
+            return ex.getResponseBodyAs(ErrorResponse.class);
+        } catch (RuntimeException e) {
+            // Not an error of this API
+            return null;
+        }
+    }
+
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<ErrorResponse>> handleGenericException(
             Exception ex,
@@ -0,0 +1,563 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import meli.jestebandev.domain.model.ItemChange;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * Central registry of every meter exposed by the items API.
+ * <p>
+ * All meters are registered once at startup and kept in final fields, so the hot paths only
+ * read a field and record a value: no tag arrays, no registry lookups and no {@code Timer.Sample}
+ * allocations per call.
+ */
+@Component
+public class ItemMetrics {
+
+    // Upper bound for result-size histograms; keeps the bucket count (and scrape size) bounded
+    private static final double MAX_EXPECTED_ITEMS = 1_000_000.0;
+
+    private final Timer getItemByIdSuccess;
+    private final Timer getItemByIdError;
+    private final Timer searchItemsSuccess;
+    private final Timer searchItemsError;
+    private final Timer suggestItemsSuccess;
+    private final Timer suggestItemsError;
+    private final Timer createItemSuccess;
+    private final Timer createItemError;
+    private final Timer updateItemSuccess;
+    private final Timer updateItemError;
+    private final Timer decrementStockSuccess;
+    private final Timer decrementStockError;
+
+    private final DistributionSummary searchPageSize;
+    private final DistributionSummary searchTotalElements;
+
+    private final RepositoryMeters findById;
+    private final RepositoryMeters findAll;
+    private final RepositoryMeters findByQuery;
+    private final RepositoryMeters findByCategory;
+    private final RepositoryMeters findByQueryAndCategory;
+    private final RepositoryMeters findByFuzzyQuery;
+    private final RepositoryMeters findByFuzzyQueryAndCategory;
+    private final RepositoryMeters findPage;
+    private final RepositoryMeters suggest;
+    private final RepositoryMeters create;
+    private final RepositoryMeters update;
+    private final RepositoryMeters decrementStock;
+
+    private final Counter lookupFound;
+    private final Counter lookupMissing;
+
+    private final Timer validateItemId;
+    private final Timer validateSearchQuery;
+    private final Timer validateCategory;
+    private final Timer validatePagination;
+    private final Timer validateSuggestionLimit;
+    private final Timer validateItem;
+    private final Timer validateStockQuantity;
+    private final Timer validateChangeVersion;
+    private final Timer validateSearchTimeout;
+
+    private final Timer catalogLoad;
+    private final Counter catalogCacheHit;
+    private final Counter catalogCacheMiss;
+    private final AtomicLong catalogSize = new AtomicLong();
+
+    private final Timer walSync;
+    private final DistributionSummary walBatch;
+    private final Timer catalogSnapshot;
+    private final Timer segmentFlush;
+    private final Timer segmentMerge;
+    private final AtomicLong segments = new AtomicLong();
+
+    private final Timer shardRequestSuccess;
+    private final Timer shardRequestTimeout;
+    private final Timer shardRequestError;
+    private final Counter hedgedLookups;
+
+    private final Counter responseCacheHit;
+    private final Counter responseCacheMiss;
+
+    private final Counter itemAdded;
+    private final Counter itemUpdated;
+    private final Counter itemRemoved;
+    private final AtomicLong changeSubscribers = new AtomicLong();
+
+    public ItemMetrics(MeterRegistry registry) {
+        this.getItemByIdSuccess = useCaseTimer(registry, "get_item_by_id", "success");
+        this.getItemByIdError = useCaseTimer(registry, "get_item_by_id", "error");
+        this.searchItemsSuccess = useCaseTimer(registry, "search_items", "success");
+        this.searchItemsError = useCaseTimer(registry, "search_items", "error");
+        this.suggestItemsSuccess = useCaseTimer(registry, "suggest_items", "success");
+        this.suggestItemsError = useCaseTimer(registry, "suggest_items", "error");
+        this.createItemSuccess = useCaseTimer(registry, "create_item", "success");
+        this.createItemError = useCaseTimer(registry, "create_item", "error");
+        this.updateItemSuccess = useCaseTimer(registry, "update_item", "success");
+        this.updateItemError = useCaseTimer(registry, "update_item", "error");
+        this.decrementStockSuccess = useCaseTimer(registry, "decrement_stock", "success");
+        this.decrementStockError = useCaseTimer(registry, "decrement_stock", "error");
+
+        this.searchPageSize = DistributionSummary.builder("items.search.page.size")
+                .description("Number of items returned in a search page")
+                .baseUnit("items")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100.0)
+                .register(registry);
+        this.searchTotalElements = DistributionSummary.builder("items.search.total")
+                .description("Total number of items matched by a search before pagination")
+                .baseUnit("items")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(MAX_EXPECTED_ITEMS)
+                .register(registry);
+
+        this.findById = new RepositoryMeters(registry, "findById");
+        this.findAll = new RepositoryMeters(registry, "findAll");
+        this.findByQuery = new RepositoryMeters(registry, "findByQuery");
+        this.findByCategory = new RepositoryMeters(registry, "findByCategory");
+        this.findByQueryAndCategory = new RepositoryMeters(registry, "findByQueryAndCategory");
+        this.findByFuzzyQuery = new RepositoryMeters(registry, "findByFuzzyQuery");
+        this.findByFuzzyQueryAndCategory = new RepositoryMeters(registry, "findByFuzzyQueryAndCategory");
+        this.findPage = new RepositoryMeters(registry, "findPage");
+        this.suggest = new RepositoryMeters(registry, "suggest");
+        this.create = new RepositoryMeters(registry, "create");
+        this.update = new RepositoryMeters(registry, "update");
+        this.decrementStock = new RepositoryMeters(registry, "decrementStock");
+
+        this.lookupFound = lookupCounter(registry, "found");
+        this.lookupMissing = lookupCounter(registry, "missing");
+
+        this.validateItemId = validationTimer(registry, "item_id");
+        this.validateSearchQuery = validationTimer(registry, "search_query");
+        this.validateCategory = validationTimer(registry, "category");
+        this.validatePagination = validationTimer(registry, "pagination");
+        this.validateSuggestionLimit = validationTimer(registry, "suggestion_limit");
+        this.validateItem = validationTimer(registry, "item");
+        this.validateStockQuantity = validationTimer(registry, "stock_quantity");
+        this.validateChangeVersion = validationTimer(registry, "change_version");
+        this.validateSearchTimeout = validationTimer(registry, "search_timeout");
+
+        this.catalogLoad = Timer.builder("items.catalog.load")
+                .description("Time spent reading and parsing the item catalog")
+                .register(registry);
+        this.catalogCacheHit = catalogCacheCounter(registry, "hit");
+        this.catalogCacheMiss = catalogCacheCounter(registry, "miss");
+        Gauge.builder("items.catalog.size", catalogSize, AtomicLong::get)
+                .description("Number of items in the loaded catalog")
+                .baseUnit("items")
+                .register(registry);
+
+        this.walSync = Timer.builder("items.wal.sync")
+                .description("Time to write and force one batch of write-ahead log records to disk")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+        this.walBatch = DistributionSummary.builder("items.wal.batch")
+                .description("Write-ahead log records made durable by a single force")
+                .baseUnit("records")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(registry);
+        this.catalogSnapshot = Timer.builder("items.catalog.snapshot")
+                .description("Time spent writing a compacted snapshot of the catalog")
+                .register(registry);
+        this.segmentFlush = Timer.builder("items.catalog.segment.flush")
+                .description("Time spent sealing recent writes into a new catalog segment")
+                .register(registry);
+        this.segmentMerge = Timer.builder("items.catalog.segment.merge")
+                .description("Time spent merging catalog segments into one")
+                .register(registry);
+        Gauge.builder("items.catalog.segments", segments, AtomicLong::get)
+                .description("Segments of changed items searched along with the loaded catalog")
+                .register(registry);
+
+        this.shardRequestSuccess = shardRequestTimer(registry, "success");
+        this.shardRequestTimeout = shardRequestTimer(registry, "timeout");
+        this.shardRequestError = shardRequestTimer(registry, "error");
+        this.hedgedLookups = Counter.builder("items.cluster.hedged.lookups")
+                .description("Lookups by ID also sent to a replica because the owner node was slow or failed")
+                .register(registry);
+
+        this.responseCacheHit = responseCacheCounter(registry, "hit");
+        this.responseCacheMiss = responseCacheCounter(registry, "miss");
+
+        this.itemAdded = changeCounter(registry, ItemChange.Type.ADDED);
+        this.itemUpdated = changeCounter(registry, ItemChange.Type.UPDATED);
+        this.itemRemoved = changeCounter(registry, ItemChange.Type.REMOVED);
+        Gauge.builder("items.changes.subscribers", changeSubscribers, AtomicLong::get)
+                .description("Clients following the catalog change stream")
+                .register(registry);
+    }
+
+    /**
+     * Times {@code source} from subscription, so a deferred or retried call is timed when it runs.
+     * Use cases pass their call deferred, so validation errors are timed as errors too.
+     */
+    public <T> Mono<T> timeGetItemById(Mono<T> source) {
+        return timeMono(source, getItemByIdSuccess, getItemByIdError);
+    }
+
+    public <T> Mono<T> timeSearchItems(Mono<T> source) {
+        return timeMono(source, searchItemsSuccess, searchItemsError);
+    }
+
+    public <T> Flux<T> timeSearchItems(Flux<T> source) {
+        return timeFlux(source, searchItemsSuccess, searchItemsError);
+    }
+
+    public <T> Flux<T> timeSuggestItems(Flux<T> source) {
+        return timeFlux(source, suggestItemsSuccess, suggestItemsError);
+    }
+
+    public <T> Mono<T> timeCreateItem(Mono<T> source) {
+        return timeMono(source, createItemSuccess, createItemError);
+    }
+
+    public <T> Mono<T> timeUpdateItem(Mono<T> source) {
+        return timeMono(source, updateItemSuccess, updateItemError);
+    }
+
+    public <T> Mono<T> timeDecrementStock(Mono<T> source) {
+        return timeMono(source, decrementStockSuccess, decrementStockError);
+    }
+
+    public void recordSearchPage(int pageSize, long totalElements) {
+        searchPageSize.record(pageSize);
+        searchTotalElements.record(totalElements);
+    }
+
+    public RepositoryMeters findById() {
+        return findById;
+    }
+
+    public RepositoryMeters findAll() {
+        return findAll;
+    }
+
+    public RepositoryMeters findByQuery() {
+        return findByQuery;
+    }
+
+    public RepositoryMeters findByCategory() {
+        return findByCategory;
+    }
+
+    public RepositoryMeters findByQueryAndCategory() {
+        return findByQueryAndCategory;
+    }
+
+    public RepositoryMeters findByFuzzyQuery() {
+        return findByFuzzyQuery;
+    }
+
+    public RepositoryMeters findByFuzzyQueryAndCategory() {
+        return findByFuzzyQueryAndCategory;
+    }
+
+    public RepositoryMeters findPage() {
+        return findPage;
+    }
+
+    public RepositoryMeters suggest() {
+        return suggest;
+    }
+
+    public RepositoryMeters create() {
+        return create;
+    }
+
+    public RepositoryMeters update() {
+        return update;
+    }
+
+    public RepositoryMeters decrementStock() {
+        return decrementStock;
+    }
+
+    public void recordLookup(boolean found) {
+        (found ? lookupFound : lookupMissing).increment();
+    }
+
+    public Timer validateItemId() {
+        return validateItemId;
+    }
+
+    public Timer validateSearchQuery() {
+        return validateSearchQuery;
+    }
+
+    public Timer validateCategory() {
+        return validateCategory;
+    }
+
+    public Timer validatePagination() {
+        return validatePagination;
+    }
+
+    public Timer validateSuggestionLimit() {
+        return validateSuggestionLimit;
+    }
+
+    public Timer validateItem() {
+        return validateItem;
+    }
+
+    public Timer validateStockQuantity() {
+        return validateStockQuantity;
+    }
+
+    public Timer validateChangeVersion() {
+        return validateChangeVersion;
+    }
+
+    public Timer validateSearchTimeout() {
+        return validateSearchTimeout;
+    }
+
+    public void recordCatalogLoad(long durationNanos, int items) {
+        catalogLoad.record(durationNanos, TimeUnit.NANOSECONDS);
+        catalogSize.set(items);
+    }
+
+    public void recordWalFlush(int records, long durationNanos) {
+        walSync.record(durationNanos, TimeUnit.NANOSECONDS);
+        walBatch.record(records);
+    }
+
+    public void recordCatalogSnapshot(long durationNanos) {
+        catalogSnapshot.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSegmentFlush(long durationNanos, int segmentCount) {
+        segmentFlush.record(durationNanos, TimeUnit.NANOSECONDS);
+        segments.set(segmentCount);
+    }
+
+    public void recordSegmentMerge(long durationNanos, int segmentCount) {
+        segmentMerge.record(durationNanos, TimeUnit.NANOSECONDS);
+        segments.set(segmentCount);
+    }
+
+    /**
+     * Records a request to a shard node that succeeded, when {@code error} is null, timed out or
+     * failed.
+     */
+    public void recordShardRequest(long durationNanos, Throwable error) {
+        Timer timer = error == null ? shardRequestSuccess
+                : error instanceof TimeoutException ? shardRequestTimeout
+                : shardRequestError;
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHedgedLookup() {
+        hedgedLookups.increment();
+    }
+
+    /**
+     * Records a lookup or search response written from its kept body, when {@code hit}, or
+     * serialized anew.
+     */
+    public void recordResponseCache(boolean hit) {
+        (hit ? responseCacheHit : responseCacheMiss).increment();
+    }
+
+    public void recordItemChange(ItemChange.Type type) {
+        switch (type) {
+            case ADDED -> itemAdded.increment();
+            case UPDATED -> itemUpdated.increment();
+            case REMOVED -> itemRemoved.increment();
+        }
+    }
+
+    public void recordChangeSubscriber(int delta) {
+        changeSubscribers.addAndGet(delta);
+    }
+
+    public void recordCatalogCacheHit() {
+        catalogCacheHit.increment();
+    }
+
+    public void recordCatalogCacheMiss() {
+        catalogCacheMiss.increment();
+    }
+
+    private static <T> Mono<T> timeMono(Mono<T> source, Timer success, Timer error) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source
+                    .doOnSuccess(value -> success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static <T> Flux<T> timeFlux(Flux<T> source, Timer success, Timer error) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            // A cancelled search is one its caller had enough of, not a failed one
+            return source.doFinally(signal -> (signal == SignalType.ON_ERROR ? error : success)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static Timer useCaseTimer(MeterRegistry registry, String useCase, String outcome) {
+        return Timer.builder("items.usecase")
+                .description("End-to-end latency of an inbound use case, including validation")
+                .tag("usecase", useCase)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    private static Timer validationTimer(MeterRegistry registry, String check) {
+        return Timer.builder("items.validation")
+                .description("Latency of input validation checks")
+                .tag("check", check)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(10))
+                .register(registry);
+    }
+
+    private static Timer shardRequestTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("items.cluster.shard")
+                .description("Latency of requests from the coordinator to shard nodes")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("items.repository.lookups")
+                .description("Item lookups by ID, split by whether the item exists")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter changeCounter(MeterRegistry registry, ItemChange.Type type) {
+        return Counter.builder("items.changes")
+                .description("Catalog changes published to the change stream, by type")
+                .tag("type", type.name().toLowerCase())
+                .register(registry);
+    }
+
+    private static Counter responseCacheCounter(MeterRegistry registry, String result) {
+        return Counter.builder("items.responses.cache")
+                .description("Lookup and search responses written from their kept serialized body, or serialized anew")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter catalogCacheCounter(MeterRegistry registry, String result) {
+        return Counter.builder("items.catalog.cache")
+                .description("Accesses to the in-memory catalog, split by cache hit or load")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Latency and result-size meters for one {@code ItemRepository} method. Latency is recorded
+     * however the call ends, tagged with its outcome: {@code success}, {@code error},
+     * {@code timeout} or {@code cancelled}.
+     */
+    public static final class RepositoryMeters {
+
+        private final Timer success;
+        private final Timer error;
+        private final Timer timeout;
+        private final Timer cancelled;
+        private final DistributionSummary results;
+
+        private RepositoryMeters(MeterRegistry registry, String method) {
+            this.success = latencyTimer(registry, method, "success");
+            this.error = latencyTimer(registry, method, "error");
+            this.timeout = latencyTimer(registry, method, "timeout");
+            this.cancelled = latencyTimer(registry, method, "cancelled");
+            this.results = DistributionSummary.builder("items.repository.results")
+                    .description("Number of items emitted by an ItemRepository call")
+                    .tag("method", method)
+                    .baseUnit("items")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(MAX_EXPECTED_ITEMS)
+                    .register(registry);
+        }
+
+        public <T> Mono<T> time(Mono<T> source) {
+            return time(source, value -> 1);
+        }
+
+        /**
+         * Times a call that emits a container of items, such as a page, counting
+         * {@code itemCount} of its value as results.
+         */
+        public <T> Mono<T> time(Mono<T> source, ToIntFunction<T> itemCount) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                Throwable[] failure = new Throwable[1];
+                int[] emitted = new int[1];
+                return source
+                        .doOnNext(value -> emitted[0] = itemCount.applyAsInt(value))
+                        .doOnError(e -> failure[0] = e)
+                        .doFinally(signal -> record(signal, failure[0], start, emitted[0]));
+            });
+        }
+
+        public <T> Flux<T> time(Flux<T> source) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                Throwable[] failure = new Throwable[1];
+                long[] emitted = new long[1];
+                // Paginated searches end by cancelling (take), so a cancelled Flux is a success
+                return source
+                        .doOnNext(value -> emitted[0]++)
+                        .doOnError(e -> failure[0] = e)
+                        .doFinally(signal -> record(signal == SignalType.CANCEL ? SignalType.ON_COMPLETE : signal,
+                                failure[0], start, emitted[0]));
+            });
+        }
+
+        private void record(SignalType signal, Throwable failure, long startNanos, long emitted) {
+            Timer latency = switch (signal) {
+                case ON_ERROR -> failure instanceof TimeoutException ? timeout : error;
+                case CANCEL -> cancelled;
+                default -> success;
+            };
+            latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (latency == success) {
+                results.record(emitted);
+            }
+        }
+
+        private static Timer latencyTimer(MeterRegistry registry, String method, String outcome) {
+            return Timer.builder("items.repository")
+                    .description("Latency of an ItemRepository call, from subscription to completion")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.in.GetItemByIdUseCase;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link GetItemByIdUseCase} decorator that records end-to-end latency split by outcome.
+ */
+@RequiredArgsConstructor
+public class MeteredGetItemByIdUseCase implements GetItemByIdUseCase {
+
+    private final GetItemByIdUseCase delegate;
+    private final ItemMetrics metrics;
+
+    @Override
+    public Mono<Item> execute(String id) {
+        return metrics.timeGetItemById(Mono.defer(() -> delegate.execute(id)));
+    }
+}
@@ -0,0 +1,108 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.out.InputValidator;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InputValidator} decorator that records the latency of each validation check.
+ */
+@RequiredArgsConstructor
+public class MeteredInputValidator implements InputValidator {
+
+    private final InputValidator delegate;
+    private final ItemMetrics metrics;
+
+    @Override
+    public String validateItemId(String id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.validateItemId(id);
+        } finally {
+            metrics.validateItemId().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public String validateSearchQuery(String query) {
+        long start = System.nanoTime();
+        try {
+            return delegate.validateSearchQuery(query);
+        } finally {
+            metrics.validateSearchQuery().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public String validateCategory(String category) {
+        long start = System.nanoTime();
+        try {
+            return delegate.validateCategory(category);
+        } finally {
+            metrics.validateCategory().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void validatePagination(int page, int size) {
+        long start = System.nanoTime();
+        try {
+            delegate.validatePagination(page, size);
+        } finally {
+            metrics.validatePagination().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void validateSuggestionLimit(int limit) {
+        long start = System.nanoTime();
+        try {
+            delegate.validateSuggestionLimit(limit);
+        } finally {
+            metrics.validateSuggestionLimit().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Item validateItem(Item item) {
+        long start = System.nanoTime();
+        try {
+            return delegate.validateItem(item);
+        } finally {
+            metrics.validateItem().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void validateStockQuantity(int quantity) {
+        long start = System.nanoTime();
+        try {
+            delegate.validateStockQuantity(quantity);
+        } finally {
+            metrics.validateStockQuantity().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void validateChangeVersion(Long version) {
+        long start = System.nanoTime();
+        try {
+            delegate.validateChangeVersion(version);
+        } finally {
+            metrics.validateChangeVersion().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void validateSearchTimeout(Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            delegate.validateSearchTimeout(timeout);
+        } finally {
+            metrics.validateSearchTimeout().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
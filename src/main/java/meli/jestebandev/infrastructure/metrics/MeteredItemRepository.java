@@ -0,0 +1,92 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * {@link ItemRepository} decorator that records latency and result size of every call.
+ */
+@RequiredArgsConstructor
+public class MeteredItemRepository implements ItemRepository {
+
+    private final ItemRepository delegate;
+    private final ItemMetrics metrics;
+
+    @Override
+    public Mono<Item> findById(String id) {
+        return metrics.findById().time(delegate.findById(id))
+                .doOnSuccess(item -> metrics.recordLookup(item != null));
+    }
+
+    @Override
+    public Flux<Item> findAll() {
+        return metrics.findAll().time(delegate.findAll());
+    }
+
+    @Override
+    public Flux<Item> findByQuery(String query) {
+        return metrics.findByQuery().time(delegate.findByQuery(query));
+    }
+
+    @Override
+    public Flux<Item> findByCategory(String categoryId) {
+        return metrics.findByCategory().time(delegate.findByCategory(categoryId));
+    }
+
+    @Override
+    public Flux<Item> findByQueryAndCategory(String query, String categoryId) {
+        return metrics.findByQueryAndCategory().time(delegate.findByQueryAndCategory(query, categoryId));
+    }
+
+    @Override
+    public Flux<Item> findByFuzzyQuery(String query) {
+        return metrics.findByFuzzyQuery().time(delegate.findByFuzzyQuery(query));
+    }
+
+    @Override
+    public Flux<Item> findByFuzzyQueryAndCategory(String query, String categoryId) {
+        return metrics.findByFuzzyQueryAndCategory().time(delegate.findByFuzzyQueryAndCategory(query, categoryId));
+    }
+
+    @Override
+    public Mono<PaginatedResult<Item>> findPage(SearchCriteria criteria, int page, int size) {
+        return metrics.findPage().time(delegate.findPage(criteria, page, size), paginated -> paginated.content().size());
+    }
+
+    @Override
+    public Flux<Item> suggest(String prefix, int limit) {
+        return metrics.suggest().time(delegate.suggest(prefix, limit));
+    }
+
+    @Override
+    public Mono<Item> create(Item item) {
+        return metrics.create().time(delegate.create(item));
+    }
+
+    @Override
+    public Mono<Item> update(Item item) {
+        return metrics.update().time(delegate.update(item));
+    }
+
+    @Override
+    public Mono<Item> decrementStock(String id, int quantity) {
+        return metrics.decrementStock().time(delegate.decrementStock(id, quantity));
+    }
+
+    @Override
+    public Optional<String> version() {
+        return delegate.version();
+    }
+
+    @Override
+    public String matchedQuery(String query) {
+        return delegate.matchedQuery(query);
+    }
+}
@@ -0,0 +1,32 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.in.ManageItemsUseCase;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ManageItemsUseCase} decorator that records end-to-end latency of each write split by
+ * outcome.
+ */
+@RequiredArgsConstructor
+public class MeteredManageItemsUseCase implements ManageItemsUseCase {
+
+    private final ManageItemsUseCase delegate;
+    private final ItemMetrics metrics;
+
+    @Override
+    public Mono<Item> create(Item item) {
+        return metrics.timeCreateItem(Mono.defer(() -> delegate.create(item)));
+    }
+
+    @Override
+    public Mono<Item> update(String id, Item item) {
+        return metrics.timeUpdateItem(Mono.defer(() -> delegate.update(id, item)));
+    }
+
+    @Override
+    public Mono<Item> decrementStock(String id, int quantity) {
+        return metrics.timeDecrementStock(Mono.defer(() -> delegate.decrementStock(id, quantity)));
+    }
+}
@@ -0,0 +1,41 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.in.SearchItemsUseCase;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * {@link SearchItemsUseCase} decorator that records end-to-end latency and page sizes.
+ */
+@RequiredArgsConstructor
+public class MeteredSearchItemsUseCase implements SearchItemsUseCase {
+
+    private final SearchItemsUseCase delegate;
+    private final ItemMetrics metrics;
+
+    @Override
+    public Flux<Item> execute(String query, String categoryId) {
+        return metrics.timeSearchItems(Flux.defer(() -> delegate.execute(query, categoryId)));
+    }
+
+    @Override
+    public Mono<PaginatedResult<Item>> executeWithPagination(SearchCriteria criteria, int page, int size) {
+        return timePage(Mono.defer(() -> delegate.executeWithPagination(criteria, page, size)));
+    }
+
+    @Override
+    public Optional<String> pageKey(SearchCriteria criteria, int page, int size) {
+        return delegate.pageKey(criteria, page, size);
+    }
+
+    private Mono<PaginatedResult<Item>> timePage(Mono<PaginatedResult<Item>> result) {
+        return metrics.timeSearchItems(result.doOnNext(paginated -> metrics.recordSearchPage(
+                paginated.content().size(), paginated.totalElements())));
+    }
+}
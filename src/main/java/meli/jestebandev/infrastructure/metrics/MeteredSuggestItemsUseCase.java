@@ -0,0 +1,21 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.in.SuggestItemsUseCase;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link SuggestItemsUseCase} decorator that records end-to-end latency split by outcome.
+ */
+@RequiredArgsConstructor
+public class MeteredSuggestItemsUseCase implements SuggestItemsUseCase {
+
+    private final SuggestItemsUseCase delegate;
+    private final ItemMetrics metrics;
+
+    @Override
+    public Flux<Item> execute(String prefix, int limit) {
+        return metrics.timeSuggestItems(Flux.defer(() -> delegate.execute(prefix, limit)));
+    }
+}
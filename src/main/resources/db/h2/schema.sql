@@ -0,0 +1,46 @@
+-- Catalog tables of the h2 profile (R2dbcItemRepository), recreated on every import
+DROP TABLE IF EXISTS item_title_word;
+DROP TABLE IF EXISTS item_word;
+DROP TABLE IF EXISTS vocabulary;
+DROP TABLE IF EXISTS item;
+
+CREATE TABLE item (
+    -- Position in the source catalog: every search returns items in this order
+    ordinal            INT PRIMARY KEY,
+    id                 VARCHAR(64) NOT NULL,
+    category_id        VARCHAR(64),
+    price              DECIMAL(20, 4),
+    reputation         DOUBLE PRECISION NOT NULL,
+    -- Authoritative stock: decremented in place, it overrides the stock in the document
+    stock              INT,
+    -- Title and description folded by TextAnalyzer, the same form queries are folded to
+    search_title       VARCHAR NOT NULL,
+    search_description VARCHAR NOT NULL,
+    -- The item as JSON, returned as is
+    document           VARCHAR NOT NULL
+);
+
+CREATE INDEX item_id_idx ON item (id);
+CREATE INDEX item_category_idx ON item (category_id, ordinal);
+CREATE INDEX item_price_idx ON item (price);
+
+-- Inverted index of title words, for type-ahead prefix lookups
+CREATE TABLE item_title_word (
+    word    VARCHAR NOT NULL,
+    ordinal INT NOT NULL,
+    PRIMARY KEY (word, ordinal)
+);
+
+-- Inverted index of title and description words: selective text searches read their candidates
+-- here and only match those rows with LIKE. Keyed on (word, ordinal) once the catalog is in
+CREATE TABLE item_word (
+    word    VARCHAR NOT NULL,
+    ordinal INT NOT NULL
+);
+
+-- Distinct words of item_word and how many items have each: a search looks up the words its
+-- terms can be part of here, and how many items those could match
+CREATE TABLE vocabulary (
+    word  VARCHAR PRIMARY KEY,
+    items BIGINT NOT NULL
+);
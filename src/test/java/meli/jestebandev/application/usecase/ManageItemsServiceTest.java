@@ -0,0 +1,146 @@
+package meli.jestebandev.application.usecase;
+
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Category;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.ItemCondition;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ManageItemsService Unit Tests")
+class ManageItemsServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private InputValidator inputValidator;
+
+    @InjectMocks
+    private ManageItemsService manageItemsService;
+
+    private Item testItem;
+
+    @BeforeEach
+    void setUp() {
+        testItem = Item.builder()
+                .id("MLU123456789")
+                .title("Laptop Test")
+                .price(BigDecimal.valueOf(1299.99))
+                .stock(10)
+                .condition(ItemCondition.NEW)
+                .category(Category.builder()
+                        .id("CAT001")
+                        .name("Computación")
+                        .build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should validate and store a new item")
+    void shouldCreateValidatedItem() {
+        when(inputValidator.validateItem(testItem)).thenReturn(testItem);
+        when(itemRepository.create(testItem)).thenReturn(Mono.just(testItem));
+
+        StepVerifier.create(manageItemsService.create(testItem))
+                .expectNext(testItem)
+                .verifyComplete();
+
+        verify(inputValidator, times(1)).validateItem(testItem);
+        verify(itemRepository, times(1)).create(testItem);
+    }
+
+    @Test
+    @DisplayName("Should not store an item that fails validation")
+    void shouldNotCreateInvalidItem() {
+        when(inputValidator.validateItem(testItem)).thenThrow(new ValidationException("Item title cannot be null or empty"));
+
+        assertThatThrownBy(() -> manageItemsService.create(testItem))
+                .isInstanceOf(ValidationException.class);
+
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should replace the item identified by the path ID")
+    void shouldUpdateItemOfPath() {
+        Item withoutId = testItem.toBuilder().id(null).build();
+        when(inputValidator.validateItemId("MLU123456789")).thenReturn("MLU123456789");
+        when(inputValidator.validateItem(testItem)).thenReturn(testItem);
+        when(itemRepository.update(testItem)).thenReturn(Mono.just(testItem));
+
+        StepVerifier.create(manageItemsService.update("MLU123456789", withoutId))
+                .expectNext(testItem)
+                .verifyComplete();
+
+        verify(itemRepository, times(1)).update(testItem);
+    }
+
+    @Test
+    @DisplayName("Should reject a body whose ID differs from the path")
+    void shouldRejectMismatchedIds() {
+        when(inputValidator.validateItemId("MLA111")).thenReturn("MLA111");
+
+        assertThatThrownBy(() -> manageItemsService.update("MLA111", testItem))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("does not match");
+
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should validate the quantity before decrementing stock")
+    void shouldDecrementValidatedQuantity() {
+        Item decremented = testItem.toBuilder().stock(7).build();
+        when(inputValidator.validateItemId("MLU123456789")).thenReturn("MLU123456789");
+        when(itemRepository.decrementStock("MLU123456789", 3)).thenReturn(Mono.just(decremented));
+
+        StepVerifier.create(manageItemsService.decrementStock("MLU123456789", 3))
+                .expectNextMatches(item -> item.getStock() == 7)
+                .verifyComplete();
+
+        verify(inputValidator, times(1)).validateStockQuantity(3);
+    }
+
+    @Test
+    @DisplayName("Should propagate insufficient stock from the repository")
+    void shouldPropagateInsufficientStock() {
+        when(inputValidator.validateItemId("MLU123456789")).thenReturn("MLU123456789");
+        when(itemRepository.decrementStock("MLU123456789", 11))
+                .thenReturn(Mono.error(new InsufficientStockException("MLU123456789", 11, 10)));
+
+        StepVerifier.create(manageItemsService.decrementStock("MLU123456789", 11))
+                .expectError(InsufficientStockException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should not touch the stock when the quantity is invalid")
+    void shouldRejectInvalidQuantity() {
+        when(inputValidator.validateItemId("MLU123456789")).thenReturn("MLU123456789");
+        doThrow(new ValidationException("Stock quantity must be between 1 and 10000"))
+                .when(inputValidator).validateStockQuantity(0);
+
+        assertThatThrownBy(() -> manageItemsService.decrementStock("MLU123456789", 0))
+                .isInstanceOf(ValidationException.class);
+
+        verify(itemRepository, never()).decrementStock(any(), anyInt());
+    }
+}
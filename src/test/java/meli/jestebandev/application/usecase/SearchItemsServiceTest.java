@@ -4,7 +4,9 @@ import meli.jestebandev.domain.exception.ValidationException;
 import meli.jestebandev.domain.model.Category;
 import meli.jestebandev.domain.model.Item;
 import meli.jestebandev.domain.model.ItemCondition;
+import meli.jestebandev.domain.model.MatchMode;
 import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
 import meli.jestebandev.domain.port.out.InputValidator;
 import meli.jestebandev.domain.port.out.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,8 +23,12 @@ import reactor.test.StepVerifier;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -152,9 +158,11 @@ class SearchItemsServiceTest {
         when(inputValidator.validateSearchQuery(null)).thenReturn(null);
         when(inputValidator.validateCategory(null)).thenReturn(null);
         doNothing().when(inputValidator).validatePagination(page, size);
-        when(itemRepository.findAll()).thenReturn(Flux.fromIterable(testItems));
+        when(itemRepository.findPage(new SearchCriteria(null, null, MatchMode.EXACT), page, size))
+                .thenReturn(Mono.just(new PaginatedResult<>(testItems, 2, page, size)));
 
-        Mono<PaginatedResult<Item>> result = searchItemsService.executeWithPagination(null, null, page, size);
+        Mono<PaginatedResult<Item>> result = searchItemsService.executeWithPagination(
+                new SearchCriteria(null, null, MatchMode.EXACT_OR_FUZZY), page, size);
 
         StepVerifier.create(result)
                 .assertNext(paginatedResult -> {
@@ -178,9 +186,11 @@ class SearchItemsServiceTest {
         when(inputValidator.validateSearchQuery(null)).thenReturn(null);
         when(inputValidator.validateCategory(null)).thenReturn(null);
         doNothing().when(inputValidator).validatePagination(page, size);
-        when(itemRepository.findAll()).thenReturn(Flux.fromIterable(testItems));
+        when(itemRepository.findPage(new SearchCriteria(null, null, MatchMode.EXACT), page, size))
+                .thenReturn(Mono.just(new PaginatedResult<>(List.of(), 2, page, size)));
 
-        Mono<PaginatedResult<Item>> result = searchItemsService.executeWithPagination(null, null, page, size);
+        Mono<PaginatedResult<Item>> result = searchItemsService.executeWithPagination(
+                new SearchCriteria(null, null, MatchMode.EXACT_OR_FUZZY), page, size);
 
         StepVerifier.create(result)
                 .assertNext(paginatedResult -> {
@@ -200,13 +210,92 @@ class SearchItemsServiceTest {
                 .when(inputValidator).validatePagination(page, size);
 
         try {
-            searchItemsService.executeWithPagination(null, null, page, size);
+            searchItemsService.executeWithPagination(
+                    new SearchCriteria(null, null, MatchMode.EXACT_OR_FUZZY), page, size);
             assertThat(false).as("Should have thrown ValidationException").isTrue();
         } catch (ValidationException e) {
             assertThat(e.getMessage()).isEqualTo("Page number cannot be negative");
         }
 
         verify(inputValidator, times(1)).validatePagination(page, size);
-        verify(itemRepository, never()).findAll();
+        verify(itemRepository, never()).findPage(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should fall back to fuzzy matching when the exact search finds nothing")
+    void shouldFallBackToFuzzyWhenNoExactResults() {
+        when(inputValidator.validateSearchQuery("lapotp")).thenReturn("lapotp");
+        when(inputValidator.validateCategory(null)).thenReturn(null);
+        when(itemRepository.findPage(new SearchCriteria("lapotp", null, MatchMode.EXACT), 0, 10))
+                .thenReturn(Mono.just(new PaginatedResult<>(List.of(), 0, 0, 10)));
+        when(itemRepository.findPage(new SearchCriteria("lapotp", null, MatchMode.FUZZY), 0, 10))
+                .thenReturn(Mono.just(new PaginatedResult<>(testItems, 2, 0, 10)));
+
+        Mono<PaginatedResult<Item>> result = searchItemsService.executeWithPagination(
+                new SearchCriteria("lapotp", null, MatchMode.EXACT_OR_FUZZY), 0, 10);
+
+        StepVerifier.create(result)
+                .assertNext(paginatedResult -> {
+                    assertThat(paginatedResult.content()).hasSize(2);
+                    assertThat(paginatedResult.totalElements()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not run fuzzy matching when the exact search finds results")
+    void shouldNotFallBackWhenExactResultsExist() {
+        when(inputValidator.validateSearchQuery("laptop")).thenReturn("laptop");
+        when(inputValidator.validateCategory(null)).thenReturn(null);
+        when(itemRepository.findPage(new SearchCriteria("laptop", null, MatchMode.EXACT), 0, 10))
+                .thenReturn(Mono.just(new PaginatedResult<>(List.of(testItems.get(0)), 1, 0, 10)));
+
+        StepVerifier.create(searchItemsService.executeWithPagination(
+                new SearchCriteria("laptop", null, MatchMode.EXACT_OR_FUZZY), 0, 10))
+                .assertNext(paginatedResult -> assertThat(paginatedResult.totalElements()).isEqualTo(1))
+                .verifyComplete();
+
+        verify(itemRepository, never()).findPage(eq(new SearchCriteria("laptop", null, MatchMode.FUZZY)), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should search fuzzily within a category when requested")
+    void shouldSearchFuzzyWithCategory() {
+        when(inputValidator.validateSearchQuery("lapotp")).thenReturn("lapotp");
+        when(inputValidator.validateCategory("CAT001")).thenReturn("CAT001");
+        when(itemRepository.findPage(new SearchCriteria("lapotp", "CAT001", MatchMode.FUZZY), 0, 10))
+                .thenReturn(Mono.just(new PaginatedResult<>(List.of(testItems.get(0)), 1, 0, 10)));
+
+        StepVerifier.create(searchItemsService.executeWithPagination(
+                new SearchCriteria("lapotp", "CAT001", MatchMode.FUZZY), 0, 10))
+                .assertNext(paginatedResult -> assertThat(paginatedResult.content()).containsExactly(testItems.get(0)))
+                .verifyComplete();
+
+        verify(itemRepository, never()).findPage(eq(new SearchCriteria("lapotp", "CAT001", MatchMode.EXACT)), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should key a page by catalog version, validated criteria and matched query")
+    void shouldKeyPageByValidatedCriteria() {
+        when(itemRepository.version()).thenReturn(Optional.of("0.3"));
+        when(inputValidator.validateSearchQuery(" Café ")).thenReturn("Café");
+        when(inputValidator.validateCategory("CAT001")).thenReturn("CAT001");
+        when(itemRepository.matchedQuery("Café")).thenReturn("cafe");
+
+        assertThat(searchItemsService.pageKey(new SearchCriteria(" Café ", "CAT001", MatchMode.FUZZY), 1, 20))
+                .contains("0.3 FUZZY 1 20 CAT001 cafe");
+
+        doThrow(new ValidationException("Page size must be between 1 and 100"))
+                .when(inputValidator).validatePagination(0, 1000);
+        assertThat(searchItemsService.pageKey(new SearchCriteria(null, null, MatchMode.EXACT), 0, 1000)).isEmpty();
+        verify(itemRepository, never()).findPage(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should not key pages of a catalog without a version")
+    void shouldNotKeyPageWithoutVersion() {
+        when(itemRepository.version()).thenReturn(Optional.empty());
+
+        assertThat(searchItemsService.pageKey(new SearchCriteria("laptop", null, MatchMode.EXACT), 0, 10)).isEmpty();
     }
 }
@@ -0,0 +1,57 @@
+package meli.jestebandev.application.usecase;
+
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.ItemChange;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.domain.port.out.ItemChangeStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StreamItemChangesService Unit Tests")
+class StreamItemChangesServiceTest {
+
+    @Mock
+    private ItemChangeStream itemChangeStream;
+
+    @Mock
+    private InputValidator inputValidator;
+
+    @InjectMocks
+    private StreamItemChangesService streamItemChangesService;
+
+    @Test
+    @DisplayName("Should stream the changes after the validated version")
+    void shouldStreamChangesSinceVersion() {
+        ItemChange change = new ItemChange(6, ItemChange.Type.REMOVED, "MLU123456789", null);
+        when(itemChangeStream.changesSince(5L)).thenReturn(Flux.just(change));
+
+        StepVerifier.create(streamItemChangesService.execute(5L))
+                .expectNext(change)
+                .verifyComplete();
+
+        verify(inputValidator).validateChangeVersion(5L);
+    }
+
+    @Test
+    @DisplayName("Should not subscribe to changes when the version is invalid")
+    void shouldRejectInvalidVersion() {
+        doThrow(new ValidationException("Change version must be zero or positive"))
+                .when(inputValidator).validateChangeVersion(-1L);
+
+        assertThatThrownBy(() -> streamItemChangesService.execute(-1L))
+                .isInstanceOf(ValidationException.class);
+
+        verify(itemChangeStream, never()).changesSince(any());
+    }
+}
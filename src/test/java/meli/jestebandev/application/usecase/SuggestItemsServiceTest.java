@@ -0,0 +1,70 @@
+package meli.jestebandev.application.usecase;
+
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.out.InputValidator;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SuggestItemsService Unit Tests")
+class SuggestItemsServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private InputValidator inputValidator;
+
+    @InjectMocks
+    private SuggestItemsService suggestItemsService;
+
+    @Test
+    @DisplayName("Should return suggestions for the validated prefix")
+    void shouldSuggestForValidatedPrefix() {
+        Item item = Item.builder().id("MLU123456789").title("Laptop Test").build();
+        when(inputValidator.validateSearchQuery(" lap ")).thenReturn("lap");
+        when(itemRepository.suggest("lap", 5)).thenReturn(Flux.just(item));
+
+        StepVerifier.create(suggestItemsService.execute(" lap ", 5))
+                .expectNext(item)
+                .verifyComplete();
+
+        verify(inputValidator).validateSuggestionLimit(5);
+    }
+
+    @Test
+    @DisplayName("Should return no suggestions for a blank prefix without hitting the repository")
+    void shouldReturnEmptyForBlankPrefix() {
+        when(inputValidator.validateSearchQuery("  ")).thenReturn(null);
+
+        StepVerifier.create(suggestItemsService.execute("  ", 5))
+                .verifyComplete();
+
+        verify(itemRepository, never()).suggest(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should propagate an invalid limit as a validation error")
+    void shouldRejectInvalidLimit() {
+        doThrow(new ValidationException("Suggestion limit must be between 1 and 10"))
+                .when(inputValidator).validateSuggestionLimit(20);
+
+        assertThatThrownBy(() -> suggestItemsService.execute("lap", 20))
+                .isInstanceOf(ValidationException.class);
+
+        verifyNoInteractions(itemRepository);
+    }
+}
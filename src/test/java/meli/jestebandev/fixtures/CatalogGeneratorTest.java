@@ -0,0 +1,85 @@
+package meli.jestebandev.fixtures;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import meli.jestebandev.domain.model.Item;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogGenerator Tests")
+class CatalogGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate the same catalog for the same seed")
+    void shouldBeDeterministic() {
+        List<Item> first = CatalogGenerator.of(500, 7L).items().toList();
+        List<Item> second = CatalogGenerator.of(500, 7L).items().toList();
+        List<Item> otherSeed = CatalogGenerator.of(500, 8L).items().toList();
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(otherSeed);
+    }
+
+    @Test
+    @DisplayName("Should rebuild any item and its ID from the ordinal alone")
+    void shouldSupportRandomAccess() {
+        CatalogGenerator generator = CatalogGenerator.of(1_000, 42L);
+        List<Item> items = generator.items().toList();
+
+        assertThat(generator.item(731)).isEqualTo(items.get(731));
+        assertThat(generator.itemId(731)).isEqualTo(items.get(731).getId());
+    }
+
+    @Test
+    @DisplayName("Should generate unique IDs in the Mercado Libre format")
+    void shouldGenerateValidUniqueIds() {
+        Set<String> ids = new HashSet<>();
+        CatalogGenerator.of(5_000, 42L).items().forEach(item -> {
+            assertThat(item.getId()).matches("^ML[A-Z]{1,3}\\d+$");
+            assertThat(ids.add(item.getId())).isTrue();
+            assertThat(item.getPrice()).isPositive();
+            assertThat(item.getStock()).isNotNegative();
+            assertThat(item.getSeller().getReputation()).isBetween(1.0, 5.0);
+        });
+    }
+
+    @Test
+    @DisplayName("Should skew category popularity following a Zipf law")
+    void shouldSkewCategoryPopularity() {
+        Map<String, Long> perCategory = CatalogGenerator.of(20_000, 42L).items()
+                .collect(Collectors.groupingBy(item -> item.getCategory().getId(), Collectors.counting()));
+
+        long top = perCategory.get("MLA1000");
+        double uniform = 20_000.0 / CatalogSpec.DEFAULT_CATEGORIES;
+        assertThat(top).isGreaterThan((long) (10 * uniform));
+        assertThat(perCategory.get("MLA1000")).isGreaterThan(perCategory.getOrDefault("MLA1050", 0L));
+    }
+
+    @Test
+    @DisplayName("Should stream JSON readable as the items.json schema")
+    void shouldWriteReadableJson() throws Exception {
+        CatalogGenerator generator = CatalogGenerator.of(200, 42L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        generator.writeJson(out);
+
+        List<Item> parsed = new ObjectMapper().readValue(out.toByteArray(), new TypeReference<List<Item>>() {});
+        assertThat(parsed).isEqualTo(generator.items().toList());
+        assertThat(parsed.stream().map(Item::getTitle).map(String::length).collect(Collectors.toSet()))
+                .hasSizeGreaterThan(20);
+        assertThat(parsed.stream().collect(Collectors.groupingBy(Item::getCondition, Collectors.counting())))
+                .hasSize(2);
+        assertThat(parsed.stream().map(Item::getId).collect(Collectors.toMap(Function.identity(), id -> 1)))
+                .hasSize(200);
+    }
+}
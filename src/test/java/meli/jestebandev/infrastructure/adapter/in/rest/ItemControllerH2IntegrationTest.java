@@ -0,0 +1,82 @@
+package meli.jestebandev.infrastructure.adapter.in.rest;
+
+import meli.jestebandev.infrastructure.adapter.out.persistence.JsonItemRepository;
+import meli.jestebandev.infrastructure.adapter.out.persistence.R2dbcItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("h2")
+@DisplayName("ItemController Integration Tests with the h2 profile")
+class ItemControllerH2IntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("Should serve the catalog from H2 instead of memory")
+    void shouldUseH2Repository() {
+        assertThat(context.getBeansOfType(R2dbcItemRepository.class)).hasSize(1);
+        assertThat(context.getBeansOfType(JsonItemRepository.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id} - Should return existing item")
+    void shouldReturnExistingItem() {
+        webTestClient.get()
+                .uri("/api/items/MLU123456789")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("MLU123456789")
+                .jsonPath("$.seller.reputation").exists();
+    }
+
+    @Test
+    @DisplayName("GET /api/items - Should return the page and the total of the same query")
+    void shouldReturnPageWithTotal() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items")
+                        .queryParam("category", "MLA1648")
+                        .queryParam("page", 1)
+                        .queryParam("size", 4)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.totalElements").isEqualTo(6)
+                .jsonPath("$.hasNext").isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("GET /api/items?q=lapotp - Should fall back to fuzzy matching")
+    void shouldFallBackToFuzzy() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items")
+                        .queryParam("q", "lapotp")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content").isNotEmpty();
+    }
+}
@@ -1,13 +1,30 @@
 package meli.jestebandev.infrastructure.adapter.in.rest;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import meli.jestebandev.infrastructure.adapter.in.rest.codec.Jackson2ProtobufEncoder;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.PageResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
 @DisplayName("ItemController Integration Tests")
@@ -16,6 +33,9 @@ class ItemControllerIntegrationTest {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     @DisplayName("GET /api/items/{id} - Should return existing item with complete structure")
     void shouldReturnExistingItem() {
@@ -72,6 +92,23 @@ class ItemControllerIntegrationTest {
                 .jsonPath("$.hasPrevious").isEqualTo(false);
     }
 
+    @Test
+    @DisplayName("GET /internal/shard/items?timeout=5s - Should search a node within a bounded scan timeout")
+    void shouldSearchNodeWithinTimeout() {
+        webTestClient.get()
+                .uri("/internal/shard/items?timeout=5s")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(13);
+        webTestClient.get()
+                .uri("/internal/shard/items?timeout=1m")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     @DisplayName("GET /api/items?q=laptop - Should search by query")
     void shouldSearchByQuery() {
@@ -147,4 +184,291 @@ class ItemControllerIntegrationTest {
                 .jsonPath("$.hasNext").isEqualTo(true)
                 .jsonPath("$.hasPrevious").isEqualTo(false);
     }
+
+    @Test
+    @DisplayName("GET /api/items/suggest?prefix=lap - Should suggest matching titles ranked by seller reputation")
+    void shouldSuggestByPrefix() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items/suggest")
+                        .queryParam("prefix", "lap")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo("MLU123456789")
+                .jsonPath("$[1].id").isEqualTo("MLU334455667")
+                .jsonPath("$[0].title").exists()
+                .jsonPath("$[0].price").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("GET /api/items/suggest?limit=50 - Should return 400 when limit is out of range")
+    void shouldRejectInvalidSuggestionLimit() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items/suggest")
+                        .queryParam("prefix", "lap")
+                        .queryParam("limit", 50)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /api/items?q=lapotp - Should tolerate typos when the exact search finds nothing")
+    void shouldFallBackToFuzzySearch() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items")
+                        .queryParam("q", "lapotp")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.content[0].id").isEqualTo("MLU123456789");
+    }
+
+    @Test
+    @DisplayName("GET /api/items?q=samsnug&fuzzy=true - Should search fuzzily when requested")
+    void shouldSearchFuzzily() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items")
+                        .queryParam("q", "samsnug")
+                        .queryParam("category", "MLA1002")
+                        .queryParam("fuzzy", true)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo("MLU345678901");
+    }
+
+    @Test
+    @DisplayName("GET /api/items?q=CÁNON - Should ignore accents and case in the query")
+    void shouldIgnoreAccentsInQuery() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items")
+                        .queryParam("q", "CÁNON")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo("MLU901234567");
+    }
+
+    @Test
+    @DisplayName("GET /api/items?q=55\" 4K - Should match characters escaped by the validator")
+    void shouldMatchEscapedCharacters() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/items")
+                        .queryParam("q", "{q}")
+                        .build("55\" 4K"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo("MLU345678901");
+    }
+
+    @Test
+    @DisplayName("GET /api/items - Should gzip search pages for clients that accept it")
+    void shouldCompressSearchPage() throws IOException {
+        byte[] plain = webTestClient.get()
+                .uri("/api/items?category=MLA1648")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .expectBody().returnResult().getResponseBody();
+
+        for (int request = 0; request < 2; request++) {
+            byte[] compressed = webTestClient.get()
+                    .uri("/api/items?category=MLA1648")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .expectBody().returnResult().getResponseBody();
+
+            assertThat(compressed.length).isLessThan(plain.length);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertThat(in.readAllBytes()).isEqualTo(plain);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/items - Should answer a compressed search asked again from its kept body without running it")
+    void shouldReuseKeptSearchBody() {
+        long searches = meterRegistry.get("items.usecase").tag("usecase", "search_items")
+                .tag("outcome", "success").timer().count();
+
+        byte[] first = webTestClient.get()
+                .uri("/api/items?q=Laptop&size=5")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectBody().returnResult().getResponseBody();
+        byte[] again = webTestClient.get()
+                .uri("/api/items?size=5&q= LAPTOP ")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectBody().returnResult().getResponseBody();
+
+        assertThat(again).isEqualTo(first);
+        assertThat(meterRegistry.get("items.usecase").tag("usecase", "search_items")
+                .tag("outcome", "success").timer().count()).isEqualTo(searches + 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id} - Should write an unchanged item from its kept body")
+    void shouldReuseKeptItemBody() {
+        double hits = meterRegistry.get("items.responses.cache").tag("result", "hit").counter().count();
+
+        for (int request = 0; request < 2; request++) {
+            webTestClient.get()
+                    .uri("/api/items/MLU234567890")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo("MLU234567890");
+        }
+
+        assertThat(meterRegistry.get("items.responses.cache").tag("result", "hit").counter().count())
+                .isGreaterThan(hits);
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id} - Should return the same item as Smile and CBOR")
+    void shouldReturnItemInBinaryFormats() throws IOException {
+        ItemResponse json = webTestClient.get()
+                .uri("/api/items/MLU123456789")
+                .exchange()
+                .expectBody(ItemResponse.class).returnResult().getResponseBody();
+
+        assertThat(new SmileMapper().readValue(
+                body("/api/items/MLU123456789", new MediaType("application", "x-jackson-smile")), ItemResponse.class))
+                .isEqualTo(json);
+        assertThat(new CBORMapper().readValue(
+                body("/api/items/MLU123456789", MediaType.APPLICATION_CBOR), ItemResponse.class))
+                .isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("GET /api/items - Should return the same page as CBOR and Protobuf")
+    void shouldReturnPageInBinaryFormats() throws IOException {
+        PageResponse<ItemResponse> json = webTestClient.get()
+                .uri("/api/items?category=MLA1648&size=4")
+                .exchange()
+                .expectBody(new ParameterizedTypeReference<PageResponse<ItemResponse>>() {
+                }).returnResult().getResponseBody();
+
+        assertThat(new CBORMapper().readValue(body("/api/items?category=MLA1648&size=4", MediaType.APPLICATION_CBOR),
+                new TypeReference<PageResponse<ItemResponse>>() {
+                })).isEqualTo(json);
+        ObjectMapper protobuf = new ProtobufMapper();
+        assertThat(protobuf.readerFor(new TypeReference<PageResponse<ItemResponse>>() {
+                })
+                .with(new Jackson2ProtobufEncoder().schema(PageResponse.class))
+                .<PageResponse<ItemResponse>>readValue(
+                        body("/api/items?category=MLA1648&size=4", Jackson2ProtobufEncoder.APPLICATION_PROTOBUF)))
+                .isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("GET /api/items/{id} - Should return errors as Protobuf only to Protobuf clients")
+    void shouldReturnProtobufError() {
+        webTestClient.get()
+                .uri("/api/items/MLU999999999")
+                .accept(Jackson2ProtobufEncoder.APPLICATION_PROTOBUF)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(Jackson2ProtobufEncoder.APPLICATION_PROTOBUF);
+
+        webTestClient.get()
+                .uri("/api/items/MLU999999999")
+                .header(HttpHeaders.ACCEPT, "text/html, */*;q=0.8")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("GET /api/items?fields - Should return only the requested fields of each item")
+    void shouldReturnSparseFieldsets() {
+        webTestClient.get()
+                .uri("/api/items?category=MLA1648&size=3&fields=id,title,price,image,condition")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(3)
+                .jsonPath("$.content[0].id").exists()
+                .jsonPath("$.content[0].condition").exists()
+                .jsonPath("$.content[0].description").doesNotExist()
+                .jsonPath("$.content[0].seller").doesNotExist()
+                .jsonPath("$.totalElements").isEqualTo(6);
+
+        webTestClient.get()
+                .uri("/api/items/MLU123456789?fields=title,seller.name")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").doesNotExist()
+                .jsonPath("$.title").exists()
+                .jsonPath("$.seller.name").exists()
+                .jsonPath("$.seller.reputation").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("GET /api/items?fields - Should return the requested fields as Protobuf")
+    void shouldReturnSparseFieldsetAsProtobuf() throws IOException {
+        ItemResponse item = new ProtobufMapper().readerFor(ItemResponse.class)
+                .with(new Jackson2ProtobufEncoder().schema(ItemResponse.class))
+                .readValue(body("/api/items/MLU123456789?fields=id,price", Jackson2ProtobufEncoder.APPLICATION_PROTOBUF));
+
+        assertThat(item.getId()).isEqualTo("MLU123456789");
+        assertThat(item.getPrice()).isNotNull();
+        assertThat(item.getTitle()).isNull();
+    }
+
+    @Test
+    @DisplayName("GET /api/items?fields - Should return 400 for an unknown field")
+    void shouldRejectUnknownField() {
+        webTestClient.get()
+                .uri("/api/items?fields=id,secret")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("COD002");
+    }
+
+    private byte[] body(String uri, MediaType mediaType) {
+        return webTestClient.get()
+                .uri(uri)
+                .accept(mediaType)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(mediaType)
+                .expectBody().returnResult().getResponseBody();
+    }
 }
@@ -1,12 +1,17 @@
 package meli.jestebandev.infrastructure.adapter.in.rest;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import meli.jestebandev.domain.model.Category;
 import meli.jestebandev.domain.model.Item;
 import meli.jestebandev.domain.model.ItemCondition;
+import meli.jestebandev.domain.model.MatchMode;
 import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
 import meli.jestebandev.domain.model.Seller;
 import meli.jestebandev.domain.port.in.GetItemByIdUseCase;
 import meli.jestebandev.domain.port.in.SearchItemsUseCase;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemPage;
 import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemResponse;
 import meli.jestebandev.infrastructure.adapter.in.rest.dto.PageResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,8 +31,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -144,18 +149,19 @@ class ItemControllerTest {
         );
 
         PaginatedResult<Item> paginatedResult = new PaginatedResult<>(testItems, 20L, 0, 10);
-        when(searchItemsUseCase.executeWithPagination(eq(null), eq(null), eq(0), eq(10)))
+        when(searchItemsUseCase.executeWithPagination(
+                eq(new SearchCriteria(null, null, MatchMode.EXACT_OR_FUZZY)), eq(0), eq(10)))
                 .thenReturn(Mono.just(paginatedResult));
 
-        Mono<ResponseEntity<PageResponse<ItemResponse>>> result = 
-                itemController.searchItems(null, null, 0, 10);
+        Mono<ResponseEntity<ItemPage>> result = 
+                itemController.searchItems(null, null, 0, 10, false, true);
 
         StepVerifier.create(result)
                 .assertNext(response -> {
                     assertThat(response.getStatusCodeValue()).isEqualTo(200);
                     assertThat(response.getBody()).isNotNull();
                     
-                    PageResponse<ItemResponse> pageResponse = response.getBody();
+                    PageResponse<ItemResponse> pageResponse = written(response.getBody());
                     assertThat(pageResponse.getContent()).hasSize(2);
                     assertThat(pageResponse.getTotalElements()).isEqualTo(20);
                     assertThat(pageResponse.getPage()).isEqualTo(0);
@@ -165,7 +171,8 @@ class ItemControllerTest {
                 })
                 .verifyComplete();
 
-        verify(searchItemsUseCase, times(1)).executeWithPagination(null, null, 0, 10);
+        verify(searchItemsUseCase, times(1)).executeWithPagination(
+                new SearchCriteria(null, null, MatchMode.EXACT_OR_FUZZY), 0, 10);
     }
 
     @Test
@@ -176,21 +183,23 @@ class ItemControllerTest {
         List<Item> testItems = Collections.singletonList(testItem);
         PaginatedResult<Item> paginatedResult = new PaginatedResult<>(testItems, 1L, 0, 10);
         
-        when(searchItemsUseCase.executeWithPagination(eq(query), eq(category), eq(0), eq(10)))
+        when(searchItemsUseCase.executeWithPagination(
+                eq(new SearchCriteria(query, category, MatchMode.EXACT_OR_FUZZY)), eq(0), eq(10)))
                 .thenReturn(Mono.just(paginatedResult));
 
-        Mono<ResponseEntity<PageResponse<ItemResponse>>> result = 
-                itemController.searchItems(query, category, 0, 10);
+        Mono<ResponseEntity<ItemPage>> result = 
+                itemController.searchItems(query, category, 0, 10, false, true);
 
         StepVerifier.create(result)
                 .assertNext(response -> {
                     assertThat(response.getStatusCodeValue()).isEqualTo(200);
-                    PageResponse<ItemResponse> pageResponse = response.getBody();
+                    PageResponse<ItemResponse> pageResponse = written(response.getBody());
                     assertThat(pageResponse.getContent()).hasSize(1);
                 })
                 .verifyComplete();
 
-        verify(searchItemsUseCase, times(1)).executeWithPagination(query, category, 0, 10);
+        verify(searchItemsUseCase, times(1)).executeWithPagination(
+                new SearchCriteria(query, category, MatchMode.EXACT_OR_FUZZY), 0, 10);
     }
 
     @Test
@@ -199,15 +208,15 @@ class ItemControllerTest {
         List<Item> testItems = Arrays.asList(testItem);
         PaginatedResult<Item> paginatedResult = new PaginatedResult<>(testItems, 1L, 0, 10);
         
-        when(searchItemsUseCase.executeWithPagination(anyString(), eq(null), anyInt(), anyInt()))
+        when(searchItemsUseCase.executeWithPagination(any(), anyInt(), anyInt()))
                 .thenReturn(Mono.just(paginatedResult));
 
-        Mono<ResponseEntity<PageResponse<ItemResponse>>> result = 
-                itemController.searchItems("laptop", null, 0, 10);
+        Mono<ResponseEntity<ItemPage>> result = 
+                itemController.searchItems("laptop", null, 0, 10, false, true);
 
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    PageResponse<ItemResponse> pageResponse = response.getBody();
+                    PageResponse<ItemResponse> pageResponse = written(response.getBody());
                     List<ItemResponse> items = pageResponse.getContent();
                     
                     assertThat(items.get(0).getId()).isEqualTo("MLU123456789");
@@ -217,21 +226,35 @@ class ItemControllerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should search without the typo-tolerant fallback when it is turned off")
+    void shouldSearchExactlyWithoutFallback() {
+        PaginatedResult<Item> emptyResult = new PaginatedResult<>(Collections.emptyList(), 0L, 0, 10);
+        when(searchItemsUseCase.executeWithPagination(any(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(emptyResult));
+
+        StepVerifier.create(itemController.searchItems("lapotp", null, 0, 10, false, false))
+                .assertNext(response -> assertThat(written(response.getBody()).getTotalElements()).isZero())
+                .verifyComplete();
+
+        verify(searchItemsUseCase).executeWithPagination(new SearchCriteria("lapotp", null, MatchMode.EXACT), 0, 10);
+    }
+
     @Test
     @DisplayName("Should handle empty search results")
     void shouldHandleEmptySearchResults() {
         PaginatedResult<Item> emptyResult = new PaginatedResult<>(
                 Collections.emptyList(), 0L, 0, 10
         );
-        when(searchItemsUseCase.executeWithPagination(anyString(), eq(null), anyInt(), anyInt()))
+        when(searchItemsUseCase.executeWithPagination(any(), anyInt(), anyInt()))
                 .thenReturn(Mono.just(emptyResult));
 
-        Mono<ResponseEntity<PageResponse<ItemResponse>>> result = 
-                itemController.searchItems("nonexistent", null, 0, 10);
+        Mono<ResponseEntity<ItemPage>> result = 
+                itemController.searchItems("nonexistent", null, 0, 10, false, true);
 
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    PageResponse<ItemResponse> pageResponse = response.getBody();
+                    PageResponse<ItemResponse> pageResponse = written(response.getBody());
                     assertThat(pageResponse.getContent()).isEmpty();
                     assertThat(pageResponse.getTotalElements()).isEqualTo(0);
                     assertThat(pageResponse.getTotalPages()).isEqualTo(0);
@@ -245,15 +268,16 @@ class ItemControllerTest {
         List<Item> testItems = Arrays.asList(testItem);
         PaginatedResult<Item> middlePageResult = new PaginatedResult<>(testItems, 100L, 5, 10);
         
-        when(searchItemsUseCase.executeWithPagination(eq(null), eq(null), eq(5), eq(10)))
+        when(searchItemsUseCase.executeWithPagination(
+                eq(new SearchCriteria(null, null, MatchMode.EXACT_OR_FUZZY)), eq(5), eq(10)))
                 .thenReturn(Mono.just(middlePageResult));
 
-        Mono<ResponseEntity<PageResponse<ItemResponse>>> result = 
-                itemController.searchItems(null, null, 5, 10);
+        Mono<ResponseEntity<ItemPage>> result = 
+                itemController.searchItems(null, null, 5, 10, false, true);
 
         StepVerifier.create(result)
                 .assertNext(response -> {
-                    PageResponse<ItemResponse> pageResponse = response.getBody();
+                    PageResponse<ItemResponse> pageResponse = written(response.getBody());
                     assertThat(pageResponse.getPage()).isEqualTo(5);
                     assertThat(pageResponse.getTotalPages()).isEqualTo(10);
                     assertThat(pageResponse.isHasNext()).isTrue();
@@ -263,4 +287,10 @@ class ItemControllerTest {
                 })
                 .verifyComplete();
     }
+
+    // The page as clients read it
+    private static PageResponse<ItemResponse> written(ItemPage page) {
+        return new ObjectMapper().convertValue(page, new TypeReference<>() {
+        });
+    }
 }
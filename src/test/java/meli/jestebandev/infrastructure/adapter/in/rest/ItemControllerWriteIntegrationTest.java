@@ -0,0 +1,219 @@
+package meli.jestebandev.infrastructure.adapter.in.rest;
+
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.CategoryResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemChangeResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemRequest;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.StockDecrementRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes change the catalog the other integration tests read, so this class gets its own
+ * application context and discards it when done.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DirtiesContext
+@DisplayName("ItemController Write Integration Tests")
+class ItemControllerWriteIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("POST /api/items - Should create an item visible to lookups and searches")
+    void shouldCreateItem() {
+        webTestClient.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("MLA900000001", "Samovar de cobre", 3))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().location("/api/items/MLA900000001")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("MLA900000001")
+                .jsonPath("$.condition").isEqualTo("NEW")
+                .jsonPath("$.category.id").isEqualTo("MLA1648");
+
+        webTestClient.get()
+                .uri("/api/items/MLA900000001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Samovar de cobre");
+
+        webTestClient.get()
+                .uri("/api/items?q=samovar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo("MLA900000001");
+    }
+
+    @Test
+    @DisplayName("POST /api/items - Should return 409 when the ID is taken")
+    void shouldRejectDuplicateItem() {
+        webTestClient.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("MLU123456789", "Duplicado", 1))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("COD005");
+    }
+
+    @Test
+    @DisplayName("POST /api/items - Should return 400 for an invalid item")
+    void shouldRejectInvalidItem() {
+        webTestClient.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("MLA900000002", " ", 1))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("COD002");
+    }
+
+    @Test
+    @DisplayName("PUT /api/items/{id} - Should replace an existing item")
+    void shouldUpdateItem() {
+        webTestClient.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("MLA900000003", "Tetera de hierro", 2))
+                .exchange()
+                .expectStatus().isCreated();
+
+        ItemRequest replacement = request(null, "Tetera de hierro fundido", 8);
+        webTestClient.put()
+                .uri("/api/items/MLA900000003")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(replacement)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("MLA900000003")
+                .jsonPath("$.title").isEqualTo("Tetera de hierro fundido")
+                .jsonPath("$.stock").isEqualTo(8);
+
+        webTestClient.put()
+                .uri("/api/items/MLA900000099")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(replacement)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("PATCH /api/items/{id}/stock - Should decrement stock until it runs out")
+    void shouldDecrementStock() {
+        webTestClient.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("MLA900000004", "Molinillo de café", 3))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.patch()
+                .uri("/api/items/MLA900000004/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new StockDecrementRequest(2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stock").isEqualTo(1);
+
+        webTestClient.patch()
+                .uri("/api/items/MLA900000004/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new StockDecrementRequest(2))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("COD006");
+
+        webTestClient.patch()
+                .uri("/api/items/MLA900000004/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new StockDecrementRequest(0))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get()
+                .uri("/api/items/MLA900000004")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.stock").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/items/changes - Should stream the changes made since a version")
+    void shouldStreamChanges() {
+        webTestClient.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("MLA900000005", "Cafetera italiana", 4))
+                .exchange()
+                .expectStatus().isCreated();
+        webTestClient.patch()
+                .uri("/api/items/MLA900000005/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new StockDecrementRequest(1))
+                .exchange()
+                .expectStatus().isOk();
+
+        Flux<ServerSentEvent<ItemChangeResponse>> events = webTestClient.get()
+                .uri("/api/items/changes?sinceVersion=0")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<ItemChangeResponse>>() {})
+                .getResponseBody();
+
+        StepVerifier.create(events.filter(event -> "MLA900000005".equals(event.data().getItemId())).take(2))
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("ADDED");
+                    assertThat(event.id()).isEqualTo(Long.toString(event.data().getVersion()));
+                })
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("UPDATED");
+                    assertThat(event.data().getItem().getStock()).isEqualTo(3);
+                })
+                .verifyComplete();
+
+        webTestClient.get()
+                .uri("/api/items/changes?sinceVersion=1000000")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(410);
+    }
+
+    private static ItemRequest request(String id, String title, int stock) {
+        return ItemRequest.builder()
+                .id(id)
+                .title(title)
+                .description("Hecho a mano")
+                .price(BigDecimal.valueOf(150))
+                .stock(stock)
+                .condition("NEW")
+                .category(CategoryResponse.builder().id("MLA1648").name("Computación").build())
+                .build();
+    }
+}
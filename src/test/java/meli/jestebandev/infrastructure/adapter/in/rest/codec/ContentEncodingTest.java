@@ -0,0 +1,40 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContentEncoding Unit Tests")
+class ContentEncodingTest {
+
+    @Test
+    @DisplayName("Should pick the accepted encoding with the highest weight")
+    void shouldNegotiateEncoding() {
+        assertThat(ContentEncoding.negotiate(null)).isNull();
+        assertThat(ContentEncoding.negotiate(List.of("identity"))).isNull();
+        assertThat(ContentEncoding.negotiate(List.of("gzip;q=0"))).isNull();
+        assertThat(ContentEncoding.negotiate(List.of("deflate, GZIP"))).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate(List.of("*;q=0.5"))).isNotNull();
+        assertThat(ContentEncoding.negotiate(List.of("*", "gzip;q=0"))).isNotEqualTo(ContentEncoding.GZIP);
+    }
+
+    @Test
+    @DisplayName("Should compress with gzip")
+    void shouldEncodeGzip() throws IOException {
+        byte[] plain = "{\"title\":\"Samovar\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = ContentEncoding.GZIP.encode(plain);
+
+        assertThat(encoded.length).isLessThan(plain.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain);
+        }
+    }
+}
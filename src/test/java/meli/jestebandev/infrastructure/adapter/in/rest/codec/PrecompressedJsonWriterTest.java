@@ -0,0 +1,150 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.codec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.application.usecase.SearchItemsService;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemPage;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.ItemResponse;
+import meli.jestebandev.infrastructure.adapter.in.rest.dto.PageResponse;
+import meli.jestebandev.infrastructure.adapter.out.persistence.TextAnalyzer;
+import meli.jestebandev.infrastructure.adapter.out.validation.SecurityInputValidator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PrecompressedJsonWriter Unit Tests")
+class PrecompressedJsonWriterTest {
+
+    private final PaginatedResult<Item> result = new PaginatedResult<>(
+            CatalogGenerator.of(10, 3).items().toList(), 40, 0, 10);
+
+    @Test
+    @DisplayName("Should stream search pages with the bytes WebFlux would write for a PageResponse")
+    void shouldStreamSameBytesAsPageResponse() {
+        byte[] expected = written(new EncoderHttpMessageWriter<>(new Jackson2JsonEncoder()), toPageResponse(result));
+
+        assertThat(written(writer(0), ItemPage.of(result))).isEqualTo(expected);
+        // Not compressed, so streamed rather than kept
+        assertThat(written(writer(10), ItemPage.of(result), null, Context.of(PrecompressedJsonWriter.SEARCH_KEY, "gzip 0.0")))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should answer a kept search from its compressed body, by encoding, fields and page key")
+    void shouldAnswerKeptSearchWithoutRunningIt() throws IOException {
+        ItemRepository catalog = mock(ItemRepository.class);
+        TextAnalyzer analyzer = new TextAnalyzer(false, true);
+        when(catalog.version()).thenReturn(Optional.of("0.1"));
+        when(catalog.matchedQuery(anyString())).thenAnswer(call -> analyzer.fold(call.getArgument(0)));
+        PrecompressedJsonWriter writer = writer(10, catalog);
+        byte[] compressed = written(writer, ItemPage.of(result), "gzip",
+                Context.of(PrecompressedJsonWriter.SEARCH_KEY, "gzip  0.1 EXACT_OR_FUZZY 0 10  cafe"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(written(writer, ItemPage.of(result)));
+        }
+
+        assertThat(filtered(writer, "/api/items?q=%20Caf%C3%A9%20", "gzip")).isEqualTo(compressed);
+        assertThat(filtered(writer, "/api/items?q=cafe&page=0&fallback=true", "gzip")).isEqualTo(compressed);
+        assertThat(filtered(writer, "/api/items?q=cafe", null)).isNull();
+        assertThat(filtered(writer, "/api/items?q=cafe&fuzzy=true", "gzip")).isNull();
+        assertThat(filtered(writer, "/api/items?q=cafe&fields=id", "gzip")).isNull();
+        // Invalid or read otherwise by the controller: run, so it answers them
+        assertThat(filtered(writer, "/api/items?q=cafe&size=1000", "gzip")).isNull();
+        assertThat(filtered(writer, "/api/items?q=cafe&page=0x0", "gzip")).isNull();
+        when(catalog.version()).thenReturn(Optional.of("0.2"));
+        assertThat(filtered(writer, "/api/items?q=cafe", "gzip")).isNull();
+    }
+
+    private static PrecompressedJsonWriter writer(int searches) {
+        return writer(searches, mock(ItemRepository.class));
+    }
+
+    private static PrecompressedJsonWriter writer(int searches, ItemRepository catalog) {
+        return new PrecompressedJsonWriter(new ItemMetrics(new SimpleMeterRegistry()), true,
+                DataSize.ofKilobytes(1), 10, searches, new SearchItemsService(catalog, new SecurityInputValidator()));
+    }
+
+    /**
+     * The body {@code writer} answers {@code uri} with as a filter, null when it lets the search run.
+     */
+    private static byte[] filtered(PrecompressedJsonWriter writer, String uri, String acceptEncoding) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(uri);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        boolean[] ran = new boolean[1];
+        writer.filter(exchange, filtered -> Mono.fromRunnable(() -> ran[0] = true)).block();
+        return ran[0] ? null : body(exchange.getResponse());
+    }
+
+    private static byte[] written(HttpMessageWriter<Object> writer, Object value) {
+        return written(writer, value, null, Context.empty());
+    }
+
+    private static byte[] written(HttpMessageWriter<Object> writer, Object value, String acceptEncoding,
+                                  Context context) {
+        MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("/api/items?size=10");
+        if (acceptEncoding != null) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockServerHttpRequest request = builder.build();
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        ResolvableType type = ResolvableType.forInstance(value);
+        writer.write(Mono.just(value), type, type, MediaType.APPLICATION_JSON, request, response, Map.of())
+                .contextWrite(context)
+                .block();
+        return body(response);
+    }
+
+    private static byte[] body(MockServerHttpResponse response) {
+        DataBuffer body = DataBufferUtils.join(response.getBody()).block();
+        byte[] bytes = new byte[body.readableByteCount()];
+        body.read(bytes);
+        DataBufferUtils.release(body);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(bytes.length);
+        return bytes;
+    }
+
+    private static PageResponse<ItemResponse> toPageResponse(PaginatedResult<Item> result) {
+        return PageResponse.<ItemResponse>builder()
+                .content(result.content().stream().map(ItemResponse::fromDomain).toList())
+                .page(result.page())
+                .size(result.size())
+                .totalElements(result.totalElements())
+                .totalPages(result.totalPages())
+                .hasNext(result.hasNext())
+                .hasPrevious(result.hasPrevious())
+                .isFirst(result.isFirst())
+                .isLast(result.isLast())
+                .build();
+    }
+}
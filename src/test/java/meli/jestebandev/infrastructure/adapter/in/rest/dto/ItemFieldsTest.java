@@ -0,0 +1,75 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Category;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.ItemCondition;
+import meli.jestebandev.domain.model.Seller;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ItemFields Unit Tests")
+class ItemFieldsTest {
+
+    private static final String ALL = "id,title,price,description,image,stock,condition,category,seller";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Item item = Item.builder()
+            .id("MLU123456789")
+            .title("Laptop \"Pro\"")
+            .price(new BigDecimal("1299.90"))
+            .image("http://example.com/image.jpg")
+            .stock(10)
+            .condition(ItemCondition.NEW)
+            .category(Category.builder().id("CAT001").name("Computación").build())
+            .seller(Seller.builder().id("SELLER001").name("Test Seller").reputation(4.5).build())
+            .build();
+
+    @Test
+    @DisplayName("Should write every field as ItemResponse does")
+    void shouldMatchItemResponse() throws Exception {
+        assertThat(write(item, ALL)).isEqualTo(objectMapper.writeValueAsString(ItemResponse.fromDomain(item)));
+
+        Item withoutOptionals = item.toBuilder().stock(null).condition(null).category(null).seller(null).build();
+        assertThat(write(withoutOptionals, ALL))
+                .isEqualTo(objectMapper.writeValueAsString(ItemResponse.fromDomain(withoutOptionals)));
+    }
+
+    @Test
+    @DisplayName("Should write only the selected fields, in ItemResponse order")
+    void shouldWriteSelectedFields() throws Exception {
+        assertThat(write(item, "title, id,seller.name,price"))
+                .isEqualTo("{\"id\":\"MLU123456789\",\"title\":\"Laptop \\\"Pro\\\"\",\"price\":1299.90,"
+                        + "\"seller\":{\"name\":\"Test Seller\"}}");
+        assertThat(write(item, "category")).isEqualTo("{\"category\":{\"id\":\"CAT001\",\"name\":\"Computación\"}}");
+    }
+
+    @Test
+    @DisplayName("Should compile each selection once")
+    void shouldReuseCompiledFields() {
+        assertThat(ItemFields.of("title,id")).isSameAs(ItemFields.of("id, title"));
+        assertThat(ItemFields.of("seller")).isSameAs(ItemFields.of("seller.id,seller.name,seller.reputation"));
+        assertThat(ItemFields.of("seller.name,id")).hasToString("id,seller.name");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or empty fields")
+    void shouldRejectInvalidFields() {
+        assertThatThrownBy(() -> ItemFields.of("id,password"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("'password'");
+        assertThatThrownBy(() -> ItemFields.of(" , ")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> ItemFields.of("id,".repeat(100))).isInstanceOf(ValidationException.class);
+    }
+
+    private String write(Item item, String fields) throws Exception {
+        return objectMapper.writeValueAsString(new ItemProjection(item, ItemFields.of(fields)));
+    }
+}
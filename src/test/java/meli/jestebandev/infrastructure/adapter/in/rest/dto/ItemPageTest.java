@@ -0,0 +1,61 @@
+package meli.jestebandev.infrastructure.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ItemPage Unit Tests")
+class ItemPageTest {
+
+    // The mapper WebFlux writes JSON responses with
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("Should write the same bytes as a PageResponse of ItemResponses")
+    void shouldMatchPageResponse() throws Exception {
+        List<Item> items = new ArrayList<>(CatalogGenerator.of(25, 7).items().toList());
+        items.add(Item.builder().id("MLA100000099").title("Sin datos").build());
+
+        for (PaginatedResult<Item> result : List.of(
+                new PaginatedResult<>(items.subList(0, 10), 26, 0, 10),
+                new PaginatedResult<>(items.subList(20, 26), 26, 2, 10),
+                new PaginatedResult<>(List.<Item>of(), 0, 0, 10))) {
+            assertThat(objectMapper.writeValueAsBytes(ItemPage.of(result)))
+                    .isEqualTo(objectMapper.writeValueAsBytes(toPageResponse(result)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write only the selected fields of each item")
+    void shouldWriteSelectedFields() throws Exception {
+        Item item = Item.builder().id("MLA100000001").title("Mate").build();
+        ItemPage page = new ItemPage(new PaginatedResult<>(List.of(item), 1, 0, 10), ItemFields.of("id"));
+
+        assertThat(objectMapper.writeValueAsString(page)).isEqualTo("{\"content\":[{\"id\":\"MLA100000001\"}],"
+                + "\"page\":0,\"size\":10,\"totalElements\":1,\"totalPages\":1,\"hasNext\":false,"
+                + "\"hasPrevious\":false,\"first\":true,\"last\":true}");
+    }
+
+    private static PageResponse<ItemResponse> toPageResponse(PaginatedResult<Item> result) {
+        return PageResponse.<ItemResponse>builder()
+                .content(result.content().stream().map(ItemResponse::fromDomain).toList())
+                .page(result.page())
+                .size(result.size())
+                .totalElements(result.totalElements())
+                .totalPages(result.totalPages())
+                .hasNext(result.hasNext())
+                .hasPrevious(result.hasPrevious())
+                .isFirst(result.isFirst())
+                .isLast(result.isLast())
+                .build();
+    }
+}
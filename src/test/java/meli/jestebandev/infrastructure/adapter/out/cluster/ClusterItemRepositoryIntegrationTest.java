@@ -0,0 +1,174 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.infrastructure.adapter.out.persistence.JsonItemRepository;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The coordinator profile with three shard nodes started in the same process, each owning about a
+ * third of the catalog and keeping a copy of another third. Writes change the nodes, so the
+ * context is discarded when done.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("coordinator")
+@DirtiesContext
+@DisplayName("ClusterItemRepository Integration Tests")
+class ClusterItemRepositoryIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ShardNodes nodes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should answer through the shard nodes instead of a local catalog")
+    void shouldUseShardNodes() {
+        assertThat(context.getBeansOfType(ClusterItemRepository.class)).hasSize(1);
+        assertThat(context.getBeansOfType(JsonItemRepository.class)).isEmpty();
+        assertThat(nodes.urls()).hasSize(3);
+
+        webTestClient.get()
+                .uri("/api/items/MLU123456789")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("MLU123456789");
+        webTestClient.get()
+                .uri("/api/items/MLA999999999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Should merge node pages into pages holding every match once, in catalog order")
+    void shouldMergePages() throws Exception {
+        List<String> expected = catalog().stream()
+                .filter(item -> item.getCategory().getId().equals("MLA1648"))
+                .map(Item::getId)
+                .toList();
+
+        List<String> merged = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            webTestClient.get()
+                    .uri("/api/items?category=MLA1648&page={page}&size=2", page)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.totalElements").isEqualTo(6)
+                    .jsonPath("$.positions").doesNotExist()
+                    .jsonPath("$.content[*].id").value((List<String> ids) -> merged.addAll(ids));
+        }
+
+        assertThat(merged).containsExactlyElementsOf(expected);
+        // The typo-tolerant fallback is decided on the totals of every node
+        webTestClient.get()
+                .uri("/api/items?q=lapotp")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").value(total -> assertThat((Integer) total).isPositive());
+    }
+
+    @Test
+    @DisplayName("Should search the other nodes and find every item on a replica when a node is down")
+    void shouldReturnPartialResults() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<String> urls = new ArrayList<>(nodes.urls());
+        urls.set(1, "http://localhost:1");
+        ClusterItemRepository repository = new ClusterItemRepository(objectMapper, new ItemMetrics(registry),
+                new ShardNodes(urls, 0, "classpath:data/items.json", 2, 128),
+                Duration.ofMillis(500), Duration.ofMillis(400), Duration.ofMillis(10));
+
+        PaginatedResult<Item> partial = repository.findPage(new SearchCriteria(null, null, MatchMode.EXACT), 0, 100).block();
+        PaginatedResult<Item> complete = context.getBean(ClusterItemRepository.class)
+                .findPage(new SearchCriteria(null, null, MatchMode.EXACT), 0, 100).block();
+
+        long lost = catalog().stream().filter(item -> nodes.ring().owner(item.getId()) == 1).count();
+        assertThat(lost).isPositive();
+        assertThat(partial.content()).isEqualTo(complete.content().stream()
+                .filter(item -> nodes.ring().owner(item.getId()) != 1)
+                .toList());
+        for (Item item : catalog()) {
+            assertThat(repository.findById(item.getId()).map(Item::getId).block()).isEqualTo(item.getId());
+        }
+        assertThat(registry.get("items.cluster.shard").tag("outcome", "error").timer().count()).isPositive();
+        // Every lookup of an item owned by the dead node went on to a replica
+        assertThat(registry.get("items.cluster.hedged.lookups").counter().count()).isGreaterThanOrEqualTo(lost);
+    }
+
+    @Test
+    @DisplayName("Should forward writes to the node holding the item")
+    void shouldForwardWrites() {
+        webTestClient.post()
+                .uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("id", "MLA900000001", "title", "Samovar de cobre", "price", 100,
+                        "stock", 3, "condition", "NEW", "category", Map.of("id", "MLA1500", "name", "Hogar")))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.patch()
+                .uri("/api/items/MLA900000001/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("quantity", 2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stock").isEqualTo(1);
+        webTestClient.patch()
+                .uri("/api/items/MLA900000001/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("quantity", 2))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("COD006");
+
+        webTestClient.get()
+                .uri("/api/items?q=samovar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo("MLA900000001");
+    }
+
+    private List<Item> catalog() throws Exception {
+        try (InputStream in = new ClassPathResource("data/items.json").getInputStream()) {
+            return objectMapper.readValue(in, new TypeReference<List<Item>>() {});
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lookup routing against stand-in nodes: small HTTP servers answering any item lookup after a
+ * set delay, with a title naming the node.
+ */
+@DisplayName("ClusterItemRepository Unit Tests")
+class ClusterItemRepositoryTest {
+
+    private static final String ID = "MLA100000001";
+
+    private final List<StandIn> standIns = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        standIns.forEach(standIn -> standIn.server().disposeNow());
+    }
+
+    @Test
+    @DisplayName("Should send a lookup to the owner only when it answers in time")
+    void shouldRouteLookupToOwner() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ClusterItemRepository repository = repository(registry, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1));
+        int owner = ring().owner(ID);
+
+        Item item = repository.findById(ID).block();
+
+        assertThat(item.getTitle()).isEqualTo("Node " + owner);
+        assertThat(standIns.get(owner).lookups()).hasValue(1);
+        assertThat(standIns.get(1 - owner).lookups()).hasValue(0);
+        assertThat(registry.get("items.cluster.hedged.lookups").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hedge a lookup to a replica when the owner is slow")
+    void shouldHedgeSlowLookup() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        int owner = ring().owner(ID);
+        Duration slow = Duration.ofSeconds(3);
+        ClusterItemRepository repository = repository(registry,
+                owner == 0 ? slow : Duration.ZERO, owner == 1 ? slow : Duration.ZERO, Duration.ofMillis(50));
+
+        long start = System.nanoTime();
+        Item item = repository.findById(ID).block();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(item.getTitle()).isEqualTo("Node " + (1 - owner));
+        assertThat(standIns.get(owner).lookups()).hasValue(1);
+        assertThat(registry.get("items.cluster.hedged.lookups").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the hedge delay at the owner latency when a slow owner loses to its replica")
+    void shouldNotCollapseHedgeDelayUnderSlowOwner() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        int owner = ring().owner(ID);
+        Duration slow = Duration.ofSeconds(3);
+        // The owner times out at 300 ms, long after its replica answered
+        ClusterItemRepository repository = repository(registry, owner == 0 ? slow : Duration.ZERO,
+                owner == 1 ? slow : Duration.ZERO, Duration.ofMillis(300), Duration.ofMillis(1));
+
+        Flux.range(0, 64).flatMap(i -> repository.findById(ID)).blockLast();
+        for (int waited = 0; waited < 200 && timeouts(registry) < 64; waited++) {
+            Thread.sleep(10);
+        }
+
+        // Waits for the owner again, instead of hedging at once as replica latencies would have it
+        long start = System.nanoTime();
+        Item item = repository.findById(ID).block();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThan(Duration.ofMillis(200));
+        assertThat(item.getTitle()).isEqualTo("Node " + (1 - owner));
+    }
+
+    private static long timeouts(SimpleMeterRegistry registry) {
+        return registry.get("items.cluster.shard").tag("outcome", "timeout").timer().count();
+    }
+
+    private static ConsistentHashRing ring() {
+        return new ConsistentHashRing(2, 64, 2);
+    }
+
+    private ClusterItemRepository repository(SimpleMeterRegistry registry, Duration delay0, Duration delay1,
+                                             Duration hedgeMinDelay) {
+        return repository(registry, delay0, delay1, Duration.ofSeconds(5), hedgeMinDelay);
+    }
+
+    private ClusterItemRepository repository(SimpleMeterRegistry registry, Duration delay0, Duration delay1,
+                                             Duration timeout, Duration hedgeMinDelay) {
+        standIns.add(standIn(0, delay0));
+        standIns.add(standIn(1, delay1));
+        List<String> urls = standIns.stream().map(standIn -> "http://localhost:" + standIn.server().port()).toList();
+        return new ClusterItemRepository(new ObjectMapper(), new ItemMetrics(registry),
+                new ShardNodes(urls, 0, "classpath:data/items.json", 2, 64),
+                timeout, Duration.ofSeconds(4), hedgeMinDelay);
+    }
+
+    private static StandIn standIn(int node, Duration delay) {
+        AtomicInteger lookups = new AtomicInteger();
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/items/{id}", (request, response) -> {
+                    lookups.incrementAndGet();
+                    String body = "{\"id\":\"" + request.param("id") + "\",\"title\":\"Node " + node + "\"}";
+                    return response.header("Content-Type", "application/json")
+                            .sendString(Mono.just(body).delayElement(delay));
+                }))
+                .bindNow();
+        return new StandIn(server, lookups);
+    }
+
+    private record StandIn(DisposableServer server, AtomicInteger lookups) {
+    }
+}
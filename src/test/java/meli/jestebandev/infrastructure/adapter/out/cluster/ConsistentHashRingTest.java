@@ -0,0 +1,59 @@
+package meli.jestebandev.infrastructure.adapter.out.cluster;
+
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ConsistentHashRing Unit Tests")
+class ConsistentHashRingTest {
+
+    private static final List<String> IDS = CatalogGenerator.of(20_000, 5).items()
+            .map(Item::getId)
+            .toList();
+
+    @Test
+    @DisplayName("Should give each key its owner first and then distinct replicas")
+    void shouldReplicateOnDistinctNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(5, 64, 3);
+
+        for (String id : IDS.subList(0, 1_000)) {
+            int[] replicas = ring.replicas(id);
+            assertThat(replicas).hasSize(3).doesNotHaveDuplicates();
+            assertThat(replicas[0]).isEqualTo(ring.owner(id));
+            assertThat(ring.holds(replicas[2], id)).isTrue();
+        }
+        assertThat(new ConsistentHashRing(2, 64, 3).replicas(IDS.get(0))).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    @DisplayName("Should spread keys evenly over the nodes")
+    void shouldBalanceKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128, 1);
+
+        int[] owned = new int[4];
+        IDS.forEach(id -> owned[ring.owner(id)]++);
+
+        assertThat(Arrays.stream(owned).min().getAsInt()).isGreaterThan(IDS.size() / 4 * 3 / 4);
+        assertThat(Arrays.stream(owned).max().getAsInt()).isLessThan(IDS.size() / 4 * 5 / 4);
+    }
+
+    @Test
+    @DisplayName("Should only move keys to the new node when a node is added")
+    void shouldMoveFewKeysOnResize() {
+        ConsistentHashRing before = new ConsistentHashRing(4, 128, 1);
+        ConsistentHashRing after = new ConsistentHashRing(5, 128, 1);
+
+        long moved = IDS.stream().filter(id -> before.owner(id) != after.owner(id)).count();
+
+        IDS.stream()
+                .filter(id -> before.owner(id) != after.owner(id))
+                .forEach(id -> assertThat(after.owner(id)).isEqualTo(4));
+        assertThat(moved).isBetween(IDS.size() / 5 * 3 / 4L, IDS.size() / 5 * 5 / 4L);
+    }
+}
@@ -0,0 +1,138 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.exception.ChangesNotAvailableException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.ItemChange;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogChangeFeed Unit Tests")
+class CatalogChangeFeedTest {
+
+    private final CatalogChangeFeed feed = new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 4);
+
+    @Test
+    @DisplayName("Should replay the changes after a version, then continue with new ones")
+    void shouldReplayThenFollow() {
+        publish("MLA1", "MLA2", "MLA3");
+
+        StepVerifier.create(feed.changesSince(1L).map(ItemChange::version))
+                .expectNext(2L, 3L)
+                .then(() -> publish("MLA4"))
+                .expectNext(4L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(feed.changesSince(null).map(ItemChange::itemId))
+                .then(() -> publish("MLA5"))
+                .expectNext("MLA5")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should reject versions no longer buffered or not yet published")
+    void shouldRejectUnavailableVersions() {
+        publish("MLA1", "MLA2", "MLA3", "MLA4", "MLA5", "MLA6");
+
+        StepVerifier.create(feed.changesSince(1L))
+                .verifyError(ChangesNotAvailableException.class);
+        StepVerifier.create(feed.changesSince(7L))
+                .verifyError(ChangesNotAvailableException.class);
+        StepVerifier.create(feed.changesSince(2L).map(ItemChange::version))
+                .expectNext(3L, 4L, 5L, 6L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @ParameterizedTest(name = "rebuild ratio {0}")
+    @ValueSource(doubles = {0, 0.1})
+    @DisplayName("Should publish what a reload of a changed catalog file added, updated and removed")
+    void shouldPublishReloadDifferences(double rebuildRatio, @TempDir Path dir) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        CatalogGenerator generator = CatalogGenerator.of(100, 42);
+        Path file = dir.resolve("catalog.json");
+        List<Item> items = new ArrayList<>(generator.items().toList());
+        mapper.writeValue(file.toFile(), items);
+        JsonItemRepository repository = new JsonItemRepository(mapper, new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true), new PartitionedScanExecutor(1, Duration.ofMillis(2), 16_384),
+                Schedulers.boundedElastic(), new FileSystemResource(file), CatalogJournal.disabled(), feed, CatalogMerger.disabled(),
+                CatalogSharding.single());
+        assertThat(repository.reloadIfModified(rebuildRatio).block()).isFalse();
+        assertThat(repository.findAll().count().block()).isEqualTo(100);
+        assertThat(repository.reloadIfModified(rebuildRatio).block()).isFalse();
+
+        Item removed = items.remove(10);
+        items.set(20, items.get(20).toBuilder().title("Samovar ruso de cobre").build());
+        items.add(Item.builder().id("MLA900000001").title("Tetera de hierro").build());
+        mapper.writeValue(file.toFile(), items);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertThat(repository.reloadIfModified(rebuildRatio).block()).isTrue();
+
+        assertThat(repository.findById(removed.getId()).block()).isNull();
+        assertThat(repository.findById("MLA900000001").block()).isNotNull();
+        assertThat(repository.findByQuery("samovar").map(Item::getId).collectList().block())
+                .containsExactly(items.get(20).getId());
+        assertThat(repository.reloadIfModified(rebuildRatio).block()).isFalse();
+        List<ItemChange> changes = feed.changesSince(0L).take(3).collectList().block(Duration.ofSeconds(5));
+        assertThat(changes).extracting(ItemChange::version).containsExactly(1L, 2L, 3L);
+        assertThat(changes).extracting(ItemChange::type)
+                .containsExactly(ItemChange.Type.REMOVED, ItemChange.Type.UPDATED, ItemChange.Type.ADDED);
+        assertThat(changes.get(0).itemId()).isEqualTo(removed.getId());
+        assertThat(changes.get(1).item().getTitle()).isEqualTo("Samovar ruso de cobre");
+    }
+
+    @ParameterizedTest(name = "rebuild ratio {0}")
+    @ValueSource(doubles = {0, 0.1})
+    @DisplayName("Should keep the items written since the catalog file set them across a reload")
+    void shouldKeepWrittenItemsOnReload(double rebuildRatio, @TempDir Path dir) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        CatalogGenerator generator = CatalogGenerator.of(100, 42);
+        Path file = dir.resolve("catalog.json");
+        List<Item> items = new ArrayList<>(generator.items().toList());
+        mapper.writeValue(file.toFile(), items);
+        JsonItemRepository repository = new JsonItemRepository(mapper, new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true), new PartitionedScanExecutor(1, Duration.ofMillis(2), 16_384),
+                Schedulers.boundedElastic(), new FileSystemResource(file), CatalogJournal.disabled(), feed, CatalogMerger.disabled(),
+                CatalogSharding.single());
+        Item bought = repository.decrementStock(generator.itemId(5), 1).block();
+        repository.create(Item.builder().id("MLA900000001").title("Tetera de hierro").build()).block();
+
+        items.set(30, items.get(30).toBuilder().title("Samovar ruso de cobre").build());
+        mapper.writeValue(file.toFile(), items);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        assertThat(repository.reloadIfModified(rebuildRatio).block()).isTrue();
+
+        assertThat(repository.findById(generator.itemId(5)).block()).isEqualTo(bought);
+        assertThat(repository.findById("MLA900000001").block()).isNotNull();
+        assertThat(repository.findById(generator.itemId(30)).block().getTitle()).isEqualTo("Samovar ruso de cobre");
+        assertThat(repository.decrementStock(generator.itemId(5), 1).block().getStock()).isEqualTo(bought.getStock() - 1);
+    }
+
+    private void publish(String... ids) {
+        for (String id : ids) {
+            feed.publish(ItemChange.Type.UPDATED, id, () -> Item.builder().id(id).build());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JsonItemRepository JFR Events Tests")
+class CatalogJfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should emit load, scan and lookup events when enabled")
+    void shouldEmitEventsWhenEnabled() throws Exception {
+        JsonItemRepository repository = newRepository();
+        Path dump = tempDir.resolve("catalog.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("meli.CatalogLoad");
+            recording.enable("meli.CatalogScan");
+            recording.enable("meli.ItemLookup");
+            recording.start();
+
+            StepVerifier.create(repository.findByQuery("laptop")).expectNextCount(2).verifyComplete();
+            StepVerifier.create(repository.findById("MLU123456789")).expectNextCount(1).verifyComplete();
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("meli.CatalogLoad"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getInt("items")).isEqualTo(13);
+                    assertThat(e.getLong("bytes")).isPositive();
+                });
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("meli.CatalogScan"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getString("filter")).isEqualTo("query");
+                    assertThat(e.getInt("queryLength")).isEqualTo(6);
+                    assertThat(e.getLong("candidatesScanned")).isEqualTo(13);
+                    assertThat(e.getLong("matches")).isEqualTo(2);
+                });
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("meli.ItemLookup"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getString("itemId")).isEqualTo("MLU123456789");
+                    assertThat(e.getBoolean("found")).isTrue();
+                });
+    }
+
+    @Test
+    @DisplayName("Should scan the catalog once for a page and its total")
+    void shouldScanOncePerPage() throws Exception {
+        JsonItemRepository repository = newRepository();
+        Path dump = tempDir.resolve("page.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("meli.CatalogScan");
+            recording.start();
+            StepVerifier.create(repository.findPage(new SearchCriteria("laptop", null, MatchMode.EXACT), 0, 1))
+                    .assertNext(page -> {
+                        assertThat(page.content()).hasSize(1);
+                        assertThat(page.totalElements()).isEqualTo(2);
+                    })
+                    .verifyComplete();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertThat(RecordingFile.readAllEvents(dump))
+                .filteredOn(e -> e.getEventType().getName().equals("meli.CatalogScan"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getLong("matches")).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Should not emit events when they are not enabled")
+    void shouldNotEmitEventsByDefault() throws Exception {
+        JsonItemRepository repository = newRepository();
+        Path dump = tempDir.resolve("default.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            StepVerifier.create(repository.findByQuery("laptop")).expectNextCount(2).verifyComplete();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertThat(RecordingFile.readAllEvents(dump))
+                .noneMatch(e -> e.getEventType().getName().startsWith("meli."));
+    }
+
+    private JsonItemRepository newRepository() {
+        return new JsonItemRepository(
+                new ObjectMapper(),
+                new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true),
+                new PartitionedScanExecutor(0, Duration.ofMillis(2), 16_384),
+                Schedulers.boundedElastic(),
+                new ClassPathResource("data/items.json"),
+                CatalogJournal.disabled(),
+                new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 16),
+                CatalogMerger.disabled(),
+                CatalogSharding.single()
+        );
+    }
+}
@@ -0,0 +1,266 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CatalogJournal Unit Tests")
+class CatalogJournalTest {
+
+    private static final CatalogGenerator GENERATOR = CatalogGenerator.of(500, 42);
+    private static final TextAnalyzer ANALYZER = new TextAnalyzer(false, true);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private CatalogJournal journal;
+    private CatalogJournal.Recovered recovered;
+    private CatalogReplicas replicas = CatalogReplicas.of(List.of());
+
+    @AfterEach
+    void tearDown() {
+        journal.destroy();
+    }
+
+    @Test
+    @DisplayName("Should recover every acknowledged write after a restart")
+    void shouldReplayLogAfterRestart() throws Exception {
+        CatalogState state = restart(GENERATOR.items()::toList);
+        Item created = journal.append(state.create(item("MLA900000001", "Cafetera espresso", 5))).block();
+        journal.append(state.decrementStock("MLA900000001", 2)).block();
+        journal.append(state.update(GENERATOR.item(7).toBuilder().title("Samovar ruso").build())).block();
+
+        state = restart(GENERATOR.items()::toList);
+
+        assertThat(state.size()).isEqualTo(501);
+        assertThat(state.item(state.ordinalOf(created.getId())).getStock()).isEqualTo(3);
+        assertThat(state.version(state.ordinalOf(created.getId())).version()).isEqualTo(2);
+        assertThat(state.item(7).getTitle()).isEqualTo("Samovar ruso");
+        assertThat(state.version(7).version()).isEqualTo(1);
+        // Versions carry on from the recovered ones
+        assertThat(state.decrementStock(created.getId(), 1).version()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should start from the latest snapshot without reading the source catalog")
+    void shouldRecoverFromSnapshotAndLogTail() throws Exception {
+        CatalogState state = restart(GENERATOR.items()::toList);
+        journal.append(state.create(item("MLA900000001", "Cafetera espresso", 5))).block();
+        journal.snapshot(CatalogShards.of(state));
+        journal.append(state.decrementStock("MLA900000001", 4)).block();
+        journal.append(state.create(item("MLA900000002", "Tetera de hierro", 1))).block();
+
+        assertThat(files("snapshot-")).containsExactly("snapshot-000000000002.json");
+        assertThat(WriteAheadLog.segments(directory)).containsExactly(2L);
+
+        state = restart(() -> {
+            throw new IOException("the source catalog must not be read");
+        });
+
+        assertThat(state.size()).isEqualTo(502);
+        assertThat(state.item(state.ordinalOf("MLA900000001")).getStock()).isEqualTo(1);
+        assertThat(state.item(state.ordinalOf("MLA900000002")).getTitle()).isEqualTo("Tetera de hierro");
+        assertThat(state.item(0)).isEqualTo(GENERATOR.item(0));
+    }
+
+    @Test
+    @DisplayName("Should recover the replicas from the snapshot instead of the source catalog")
+    void shouldRecoverReplicasFromSnapshot() throws Exception {
+        CatalogState state = restart(GENERATOR.items()::toList);
+        assertThat(recovered.replicas()).isNull();
+        Item replica = item("MLA900000009", "Molinillo de café", 2);
+        replicas = CatalogReplicas.of(List.of(replica));
+        journal.snapshot(CatalogShards.of(state));
+
+        state = restart(() -> {
+            throw new IOException("the source catalog must not be read");
+        });
+
+        assertThat(recovered.replicas()).containsExactly(replica);
+        assertThat(state.size()).isEqualTo(500);
+        assertThat(state.ordinalOf(replica.getId())).isNegative();
+    }
+
+    @Test
+    @DisplayName("Should keep the catalog order of the items of a cluster node in snapshots")
+    void shouldRecoverOrdersFromSnapshot() throws Exception {
+        CatalogSharding node = CatalogSharding.node(1, 3, 1, 16);
+        List<Item> file = GENERATOR.items().toList();
+        long[] positions = node.positions(file);
+        CatalogShards state = restart(() -> node.slice(file), node, positions);
+        assertThat(state.order(file.get((int) positions[1]).getId())).isEqualTo(positions[1]);
+        journal.append(state.state(0).create(item("MLA900000001", "Cafetera espresso", 5))).block();
+        long created = state.order("MLA900000001");
+        assertThat(created).isGreaterThanOrEqualTo(CatalogShards.CREATED);
+        journal.snapshot(state);
+
+        CatalogShards restored = restart(() -> {
+            throw new IOException("the source catalog must not be read");
+        }, node, null);
+
+        for (long position : positions) {
+            String id = file.get((int) position).getId();
+            assertThat(restored.order(id)).isEqualTo(position);
+        }
+        assertThat(restored.order("MLA900000001")).isEqualTo(created);
+        restored.state(0).create(item("MLA900000002", "Tetera de hierro", 1));
+        assertThat(restored.order("MLA900000002")).isGreaterThan(created);
+    }
+
+    @Test
+    @DisplayName("Should keep the highest version of an item whatever order its records are replayed in")
+    void shouldIgnoreStaleRecords() throws Exception {
+        CatalogState state = restart(GENERATOR.items()::toList);
+        journal.append(state.decrementStock(GENERATOR.itemId(3), 1)).block();
+        CatalogState.ItemVersion stale = state.version(3);
+        journal.append(state.decrementStock(GENERATOR.itemId(3), 1)).block();
+        journal.snapshot(CatalogShards.of(state));
+        // A write applied before the snapshot but logged after it
+        journal.append(stale).block();
+
+        state = restart(GENERATOR.items()::toList);
+
+        assertThat(state.version(3).version()).isEqualTo(2);
+        assertThat(state.item(3).getStock()).isEqualTo(GENERATOR.item(3).getStock() - 2);
+    }
+
+    @Test
+    @DisplayName("Should reject writes without applying them once the log has failed")
+    void shouldRejectWritesAfterFailing() throws Exception {
+        CatalogState state = restart(GENERATOR.items()::toList);
+        journal.write(GENERATOR.itemId(3), shard -> shard.decrementStock(GENERATOR.itemId(3), 1)).block();
+        // The segment a snapshot rotates to is taken, so the log stops
+        Files.createFile(directory.resolve("wal-000000000002.log"));
+        assertThatThrownBy(() -> journal.snapshot(CatalogShards.of(state))).isInstanceOf(CompletionException.class);
+
+        assertThatThrownBy(() -> journal.write(GENERATOR.itemId(3),
+                shard -> shard.decrementStock(GENERATOR.itemId(3), 1)).block())
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(state.item(3).getStock()).isEqualTo(GENERATOR.item(3).getStock() - 1);
+        assertThat(state.version(3).version()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start twice")
+    void shouldStartOnce() throws Exception {
+        CatalogState state = restart(GENERATOR.items()::toList);
+
+        assertThatThrownBy(() -> journal.start(CatalogShards.of(state), () -> replicas))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should recover and start the journal once under concurrent first loads")
+    void shouldLoadCatalogOnce(@TempDir Path catalog) throws Exception {
+        journal = new CatalogJournal(MAPPER, new ItemMetrics(new SimpleMeterRegistry()),
+                directory.toString(), Duration.ZERO, 64);
+        JsonItemRepository repository = new JsonItemRepository(
+                MAPPER,
+                new ItemMetrics(new SimpleMeterRegistry()),
+                ANALYZER,
+                new PartitionedScanExecutor(1, Duration.ofMillis(2), 16_384),
+                Schedulers.boundedElastic(),
+                new FileSystemResource(GENERATOR.writeJson(catalog.resolve("catalog.json"))),
+                journal,
+                new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 16),
+                CatalogMerger.disabled(),
+                CatalogSharding.of(1, "hash")
+        );
+        int loads = 16;
+        CyclicBarrier start = new CyclicBarrier(loads);
+        ExecutorService threads = Executors.newFixedThreadPool(loads);
+        try {
+            List<Future<Item>> found = new ArrayList<>();
+            for (int load = 0; load < loads; load++) {
+                found.add(threads.submit(() -> {
+                    start.await();
+                    return repository.findById(GENERATOR.itemId(3)).block();
+                }));
+            }
+            for (Future<Item> item : found) {
+                assertThat(item.get(10, TimeUnit.SECONDS)).isEqualTo(GENERATOR.item(3));
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertThat(repository.decrementStock(GENERATOR.itemId(3), 1).block().getStock())
+                .isEqualTo(GENERATOR.item(3).getStock() - 1);
+        assertThat(files("wal-")).containsExactly("wal-000000000001.log");
+    }
+
+    private CatalogState restart(CatalogJournal.Source source) throws IOException {
+        if (journal != null) {
+            journal.destroy();
+        }
+        journal = new CatalogJournal(MAPPER, new ItemMetrics(new SimpleMeterRegistry()),
+                directory.toString(), Duration.ZERO, 64);
+        recovered = journal.recover(source);
+        CatalogState state = CatalogState.of(CatalogSnapshot.of(recovered.items(), ANALYZER), ANALYZER,
+                recovered.versions(), recovered.sources());
+        journal.start(CatalogShards.of(state), () -> replicas);
+        return state;
+    }
+
+    private CatalogShards restart(CatalogJournal.Source source, CatalogSharding sharding, long[] positions)
+            throws IOException {
+        if (journal != null) {
+            journal.destroy();
+        }
+        journal = new CatalogJournal(MAPPER, new ItemMetrics(new SimpleMeterRegistry()),
+                directory.toString(), Duration.ZERO, 64);
+        recovered = journal.recover(source);
+        long[] orders = recovered.orders();
+        if (positions != null) {
+            System.arraycopy(positions, 0, orders, 0, positions.length);
+        }
+        CatalogShards state = sharding.build(recovered.items(), recovered.versions(), recovered.sources(), orders,
+                ANALYZER);
+        journal.start(state, () -> replicas);
+        return state;
+    }
+
+    private List<String> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).filter(name -> name.startsWith(prefix)).toList();
+        }
+    }
+
+    private static Item item(String id, String title, Integer stock) {
+        return Item.builder()
+                .id(id)
+                .title(title)
+                .description("Producto de prueba")
+                .price(BigDecimal.TEN)
+                .stock(stock)
+                .build();
+    }
+}
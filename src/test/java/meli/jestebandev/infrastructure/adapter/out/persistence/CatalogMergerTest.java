@@ -0,0 +1,58 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogMerger Unit Tests")
+class CatalogMergerTest {
+
+    private static final CatalogGenerator GENERATOR = CatalogGenerator.of(500, 7);
+    private static final TextAnalyzer ANALYZER = new TextAnalyzer(false, true);
+
+    @Test
+    @DisplayName("Should flush once enough writes wait and keep the segment count bounded")
+    void shouldFlushAndMergeInTheBackground() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CatalogState catalog = CatalogState.of(CatalogSnapshot.of(GENERATOR.items().toList(), ANALYZER), ANALYZER);
+        CatalogMerger merger = new CatalogMerger(new ItemMetrics(registry), 4, 2, Duration.ofHours(1));
+        merger.start(CatalogShards.of(catalog));
+        try {
+            for (int i = 0; i < 40; i++) {
+                catalog.update(GENERATOR.item(i).toBuilder().title("Samovar " + i).build());
+                merger.written();
+                // One flush at a time: wait for this one before queueing enough for the next
+                long flushes = (i + 1) / 4;
+                if (i % 4 == 3) {
+                    await(() -> flushCount(registry) == flushes && catalog.segmentCount() <= 2);
+                }
+            }
+
+            assertThat(flushCount(registry)).isEqualTo(10);
+            assertThat(catalog.unflushedWrites()).isZero();
+            assertThat(catalog.suggest("samov", 10)).hasSize(10);
+            assertThat(registry.get("items.catalog.segment.merge").timer().count()).isPositive();
+        } finally {
+            merger.destroy();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static long flushCount(SimpleMeterRegistry registry) {
+        return registry.get("items.catalog.segment.flush").timer().count();
+    }
+}
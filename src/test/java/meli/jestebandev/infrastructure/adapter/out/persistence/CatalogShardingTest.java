@@ -0,0 +1,151 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogSharding Unit Tests")
+class CatalogShardingTest {
+
+    private static final CatalogGenerator GENERATOR = CatalogGenerator.of(2_000, 11);
+
+    private final List<CatalogSharding> shardings = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        shardings.forEach(CatalogSharding::destroy);
+    }
+
+    @Test
+    @DisplayName("Should keep every item of a site in the same shard")
+    void shouldShardBySitePrefix() {
+        CatalogSharding sharding = sharding(4, "site");
+
+        Map<String, List<Integer>> shardsBySite = GENERATOR.items()
+                .collect(Collectors.groupingBy(item -> item.getId().substring(0, 3),
+                        Collectors.mapping(item -> sharding.shardOf(item.getId()), Collectors.toList())));
+
+        assertThat(shardsBySite).hasSizeGreaterThan(1);
+        shardsBySite.values().forEach(shards -> assertThat(shards).containsOnly(shards.get(0)));
+    }
+
+    @ParameterizedTest(name = "by {0}")
+    @ValueSource(strings = {"hash", "site"})
+    @DisplayName("Should find, search and paginate across shards like a single catalog")
+    void shouldMatchSingleCatalog(String key) throws Exception {
+        Path file = GENERATOR.writeJson(dir.resolve("catalog.json"));
+        JsonItemRepository single = repository(file, sharding(1, "hash"));
+        JsonItemRepository sharded = repository(file, sharding(4, key));
+        String category = GENERATOR.category(3).getId();
+
+        assertThat(sharded.findById(GENERATOR.itemId(1_234)).block()).isEqualTo(GENERATOR.item(1_234));
+        assertThat(sharded.findById("MLA999999999").blockOptional()).isEmpty();
+        assertThat(ids(sharded.findAll().collectList().block())).isEqualTo(ids(GENERATOR.items().toList()));
+        assertThat(sharded.findByQuery("gamer").collectList().block())
+                .isNotEmpty()
+                .isEqualTo(single.findByQuery("gamer").collectList().block());
+        assertThat(sharded.findByFuzzyQueryAndCategory("gamre", category).collectList().block())
+                .isEqualTo(single.findByFuzzyQueryAndCategory("gamre", category).collectList().block());
+        assertThat(sharded.suggest("gam", 5).collectList().block())
+                .isEqualTo(single.suggest("gam", 5).collectList().block());
+        for (SearchCriteria criteria : List.of(
+                new SearchCriteria(null, category, MatchMode.EXACT),
+                new SearchCriteria("envío gratis", null, MatchMode.EXACT))) {
+            assertThat(sharded.findPage(criteria, 3, 7).block())
+                    .isEqualTo(single.findPage(criteria, 3, 7).block());
+        }
+    }
+
+    @Test
+    @DisplayName("Should write to the shard of the item and list created items after the loaded ones")
+    void shouldRouteWrites() throws Exception {
+        JsonItemRepository sharded = repository(GENERATOR.writeJson(dir.resolve("catalog.json")), sharding(4, "hash"));
+        List<String> created = List.of("MLB900000001", "MLA900000002", "MLM900000003");
+        created.forEach(id -> sharded.create(GENERATOR.item(0).toBuilder().id(id).title("Samovar").build()).block());
+        sharded.decrementStock("MLA900000002", 1).block();
+
+        assertThat(sharded.findById("MLA900000002").block().getStock()).isEqualTo(GENERATOR.item(0).getStock() - 1);
+        assertThat(ids(sharded.findByQuery("samovar").collectList().block())).containsExactlyInAnyOrderElementsOf(created);
+        List<String> all = ids(sharded.findAll().collectList().block());
+        assertThat(all).hasSize(2_003);
+        assertThat(all.subList(2_000, 2_003)).containsExactlyInAnyOrderElementsOf(created);
+    }
+
+    @Test
+    @DisplayName("Should search the items a cluster node owns and look up the ones it replicates")
+    void shouldKeepNodePartOfCatalog() throws Exception {
+        Path file = GENERATOR.writeJson(dir.resolve("catalog.json"));
+        List<Item> all = GENERATOR.items().toList();
+        List<String> owned = new ArrayList<>();
+        Map<String, Integer> copies = new HashMap<>();
+        for (int node = 0; node < 3; node++) {
+            CatalogSharding sharding = CatalogSharding.node(node, 3, 2, 64);
+            sharding.slice(all).forEach(item -> owned.add(item.getId()));
+            sharding.replicas(all).forEach(item -> copies.merge(item.getId(), 1, Integer::sum));
+        }
+
+        assertThat(owned).containsExactlyInAnyOrderElementsOf(ids(all));
+        assertThat(copies).hasSize(all.size()).allSatisfy((id, count) -> assertThat(count).isEqualTo(1));
+
+        CatalogSharding sharding = CatalogSharding.node(1, 3, 2, 64);
+        JsonItemRepository node = repository(file, sharding);
+        Item replica = sharding.replicas(all).stream()
+                .filter(item -> item.getStock() > 0)
+                .findFirst()
+                .orElseThrow();
+        assertThat(ids(node.findAll().collectList().block())).isEqualTo(ids(sharding.slice(all)));
+        assertThat(node.findById(replica.getId()).block()).isEqualTo(replica);
+        assertThat(node.decrementStock(replica.getId(), 1).block().getStock()).isEqualTo(replica.getStock() - 1);
+        assertThat(ids(node.findByQuery(replica.getTitle()).collectList().block())).doesNotContain(replica.getId());
+    }
+
+    private CatalogSharding sharding(int count, String key) {
+        CatalogSharding sharding = CatalogSharding.of(count, key);
+        shardings.add(sharding);
+        return sharding;
+    }
+
+    private static JsonItemRepository repository(Path file, CatalogSharding sharding) {
+        return new JsonItemRepository(
+                new ObjectMapper(),
+                new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true),
+                new PartitionedScanExecutor(1, Duration.ofMillis(2), 16_384),
+                Schedulers.boundedElastic(),
+                new FileSystemResource(file),
+                CatalogJournal.disabled(),
+                new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 16),
+                CatalogMerger.disabled(),
+                sharding
+        );
+    }
+
+    private static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+}
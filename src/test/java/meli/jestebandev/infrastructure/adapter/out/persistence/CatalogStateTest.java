@@ -0,0 +1,419 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ItemAlreadyExistsException;
+import meli.jestebandev.domain.exception.ItemNotFoundException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CatalogState Unit Tests")
+class CatalogStateTest {
+
+    private static final CatalogGenerator GENERATOR = CatalogGenerator.of(2_000, 42);
+    private static final TextAnalyzer ANALYZER = new TextAnalyzer(false, true);
+
+    private CatalogState catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = CatalogState.of(CatalogSnapshot.of(GENERATOR.items().toList(), ANALYZER), ANALYZER);
+    }
+
+    @Test
+    @DisplayName("Should find every loaded item by ID through the index")
+    void shouldFindLoadedItems() {
+        for (int ordinal = 0; ordinal < 2_000; ordinal += 97) {
+            assertThat(catalog.ordinalOf(GENERATOR.itemId(ordinal))).isEqualTo(ordinal);
+            assertThat(catalog.item(ordinal)).isEqualTo(GENERATOR.item(ordinal));
+        }
+        assertThat(catalog.ordinalOf("MLA000")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should append created items and make them searchable")
+    void shouldCreateItems() {
+        catalog.create(item("MLA900000001", "Cafetera espresso italiana", 5));
+
+        int ordinal = catalog.ordinalOf("MLA900000001");
+        assertThat(ordinal).isEqualTo(2_000);
+        assertThat(catalog.size()).isEqualTo(2_001);
+        assertThat(catalog.item(ordinal).getTitle()).isEqualTo("Cafetera espresso italiana");
+        assertThat(matches(catalog.textMatcher("espresso"))).containsExactly(ordinal);
+        assertThat(matches(catalog.everyWordMatcher(List.of(List.of("cafetera"), List.of("italiana")))))
+                .containsExactly(ordinal);
+    }
+
+    @Test
+    @DisplayName("Should reject IDs that are already taken, loaded or created")
+    void shouldRejectDuplicateIds() {
+        catalog.create(item("MLA900000001", "Cafetera", 5));
+
+        assertThatThrownBy(() -> catalog.create(item(GENERATOR.itemId(10), "Cafetera", 5)))
+                .isInstanceOf(ItemAlreadyExistsException.class);
+        assertThatThrownBy(() -> catalog.create(item("MLA900000001", "Otra", 1)))
+                .isInstanceOf(ItemAlreadyExistsException.class);
+        assertThat(catalog.size()).isEqualTo(2_001);
+    }
+
+    @Test
+    @DisplayName("Should search the new text of updated items, and only that")
+    void shouldUpdateItems() {
+        Item original = GENERATOR.item(42);
+        catalog.update(original.toBuilder().title("Samovar ruso de cobre").build());
+
+        assertThat(catalog.item(42).getTitle()).isEqualTo("Samovar ruso de cobre");
+        assertThat(matches(catalog.textMatcher("samovar"))).containsExactly(42);
+        assertThat(matches(catalog.textMatcher(ANALYZER.fold(original.getTitle())))).doesNotContain(42);
+        assertThatThrownBy(() -> catalog.update(item("MLA000", "Nada", 1)))
+                .isInstanceOf(ItemNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should decrement stock and refuse to go below zero")
+    void shouldDecrementStock() {
+        catalog.create(item("MLA900000001", "Cafetera", 5));
+
+        CatalogState.ItemVersion decremented = catalog.decrementStock("MLA900000001", 3);
+        assertThat(decremented.item().getStock()).isEqualTo(2);
+        assertThat(decremented.version()).isEqualTo(2);
+        assertThatThrownBy(() -> catalog.decrementStock("MLA900000001", 3))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("available 2");
+        assertThat(catalog.item(catalog.ordinalOf("MLA900000001")).getStock()).isEqualTo(2);
+
+        catalog.create(item("MLA900000002", "Sin stock", null));
+        assertThatThrownBy(() -> catalog.decrementStock("MLA900000002", 1))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    @DisplayName("Should never oversell when many checkouts race for the same item")
+    void shouldNotOversellUnderContention() throws Exception {
+        int stock = 500;
+        int ordinal = 7;
+        catalog.update(GENERATOR.item(ordinal).toBuilder().stock(stock).build());
+
+        int buyers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(buyers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            // A reader keeps looking the item up: it must only ever see stocks a checkout left
+            Future<Integer> reads = executor.submit(() -> {
+                int seen = 0;
+                start.await();
+                while (!done.get()) {
+                    int current = catalog.item(catalog.ordinalOf(GENERATOR.itemId(ordinal))).getStock();
+                    assertThat(current).isBetween(0, stock);
+                    seen++;
+                }
+                return seen;
+            });
+            List<Future<Integer>> sold = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                sold.add(executor.submit(buyer(start, GENERATOR.itemId(ordinal), stock)));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> units : sold) {
+                total += units.get(30, TimeUnit.SECONDS);
+            }
+            done.set(true);
+
+            assertThat(total).isEqualTo(stock);
+            assertThat(catalog.item(ordinal).getStock()).isZero();
+            assertThat(reads.get(30, TimeUnit.SECONDS)).isPositive();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of several concurrent creations of an ID win")
+    void shouldCreateOnceUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String title = "Cafetera " + i;
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        catalog.create(item("MLA900000001", title, 1));
+                        return true;
+                    } catch (ItemAlreadyExistsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<Boolean> attempt : attempts) {
+                created += attempt.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(created).isEqualTo(1);
+            assertThat(catalog.size()).isEqualTo(2_001);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give concurrent creations of different IDs their own ordinals while the cells grow")
+    void shouldCreateConcurrentlyWhileGrowing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 4; writer++) {
+                int first = writer * 250;
+                writers.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int i = first; i < first + 250; i++) {
+                        catalog.create(item("MLA9%08d".formatted(i), "Cafetera " + i, 1));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(catalog.size()).isEqualTo(3_000);
+            assertThat(IntStream.range(0, 1_000).map(i -> catalog.ordinalOf("MLA9%08d".formatted(i))))
+                    .allMatch(ordinal -> ordinal >= 2_000)
+                    .doesNotHaveDuplicates();
+            int ordinal = catalog.ordinalOf("MLA900000999");
+            assertThat(catalog.item(ordinal).getTitle()).isEqualTo("Cafetera 999");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should undo a write that could not be made durable unless written again since")
+    void shouldRevertWrites() {
+        CatalogState.ItemVersion before = catalog.version(7);
+        CatalogState.ItemVersion decremented = catalog.decrementStock(GENERATOR.itemId(7), 1);
+        catalog.revert(7, decremented, before);
+        assertThat(catalog.item(7)).isEqualTo(GENERATOR.item(7));
+        assertThat(catalog.version(7).version()).isZero();
+
+        CatalogState.ItemVersion created = catalog.create(item("MLA900000001", "Cafetera", 5));
+        catalog.revert(2_000, created, null);
+        assertThat(catalog.ordinalOf("MLA900000001")).isEqualTo(-1);
+        assertThat(catalog.create(item("MLA900000001", "Cafetera", 5)).version()).isEqualTo(2);
+
+        CatalogState.ItemVersion loaded = catalog.version(8);
+        CatalogState.ItemVersion first = catalog.decrementStock(GENERATOR.itemId(8), 1);
+        catalog.decrementStock(GENERATOR.itemId(8), 1);
+        catalog.revert(8, first, loaded);
+        assertThat(catalog.version(8).version()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should apply a reload diff to a copy, indexing only the changed items")
+    void shouldApplyDiff() {
+        List<Item> items = new ArrayList<>(GENERATOR.items().toList());
+        Item removed = items.remove(10);
+        items.set(41, items.get(41).toBuilder().title("Samovar ruso de cobre").build());
+        items.add(item("MLA900000001", "Tetera de hierro fundido", 3));
+
+        CatalogState.Diff diff = catalog.diff(items);
+        assertThat(diff.removed()).containsExactly(removed.getId());
+        assertThat(diff.updated()).extracting(Item::getId).containsExactly(GENERATOR.itemId(42));
+        assertThat(diff.added()).extracting(Item::getId).containsExactly("MLA900000001");
+
+        CatalogState next = catalog.apply(diff);
+        assertThat(next.ordinalOf(removed.getId())).isEqualTo(-1);
+        assertThat(next.item(10)).isNull();
+        assertThat(next.version(42).version()).isEqualTo(1);
+        assertThat(next.ordinalOf("MLA900000001")).isEqualTo(2_000);
+        assertThat(matches(next, next.live(next.textMatcher("samovar")))).containsExactly(42);
+        assertThat(matches(next, next.live(ordinal -> true))).hasSize(2_000).doesNotContain(10);
+        assertThat(next.suggest("samov", 5)).extracting(Item::getId).containsExactly(GENERATOR.itemId(42));
+        assertThat(next.suggest("tetera", SuggestionIndex.CANDIDATES_PER_NODE + 1)).extracting(Item::getId).contains("MLA900000001");
+        assertThat(next.suggest(removed.getTitle(), SuggestionIndex.CANDIDATES_PER_NODE)).doesNotContain(removed);
+        assertThat(next.expand("samovr")).containsExactly(List.of("samovar"));
+        assertThat(next.changedSinceLoad()).isEqualTo(3);
+        assertThat(next.diff(items).size()).isZero();
+
+        // The state it was derived from is left as it was
+        assertThat(catalog.ordinalOf(removed.getId())).isEqualTo(10);
+        assertThat(catalog.ordinalOf("MLA900000001")).isEqualTo(-1);
+        assertThat(matches(catalog.textMatcher("samovar"))).isEmpty();
+        assertThat(catalog.expand("samovr")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should carry writes made while a reload was built into the new state")
+    void shouldCarryWritesIntoReloadedState() {
+        List<Item> items = new ArrayList<>(GENERATOR.items().toList());
+        items.set(41, items.get(41).toBuilder().title("Samovar ruso de cobre").build());
+        long[] seen = catalog.versionNumbers();
+        CatalogState next = catalog.apply(catalog.diff(items));
+
+        CatalogState.ItemVersion bought = catalog.decrementStock(GENERATOR.itemId(41), 1);
+        catalog.create(item("MLA900000001", "Tetera de hierro fundido", 3));
+        next.carryWrites(catalog, seen);
+
+        assertThat(next.item(41)).isEqualTo(bought.item());
+        assertThat(next.version(41).version()).isEqualTo(bought.version());
+        assertThat(next.item(next.ordinalOf("MLA900000001")).getTitle()).isEqualTo("Tetera de hierro fundido");
+        assertThat(matches(next, next.live(next.textMatcher("tetera de hierro")))).containsExactly(2_000);
+        // Written since the file set it, so a reload leaves it alone
+        assertThat(next.diff(items).updated()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should bring a removed item back in its former cell")
+    void shouldRecreateRemovedItems() {
+        List<Item> items = new ArrayList<>(GENERATOR.items().toList());
+        Item removed = items.remove(10);
+        CatalogState next = catalog.apply(catalog.diff(items));
+
+        CatalogState.ItemVersion recreated = next.create(removed);
+        assertThat(recreated.version()).isEqualTo(2);
+        assertThat(next.ordinalOf(removed.getId())).isEqualTo(10);
+        assertThat(next.item(10)).isEqualTo(removed);
+        assertThatThrownBy(() -> next.create(removed)).isInstanceOf(ItemAlreadyExistsException.class);
+    }
+
+    @Test
+    @DisplayName("Should flush written items into a segment that searches, suggestions and typo corrections use")
+    void shouldFlushWrittenItems() {
+        catalog.update(GENERATOR.item(42).toBuilder().title("Samovar ruso de cobre").build());
+        catalog.create(item("MLA900000001", "Tetera de hierro fundido", 3));
+        assertThat(catalog.unflushedWrites()).isEqualTo(2);
+        assertThat(catalog.expand("samovr")).isEmpty();
+
+        assertThat(catalog.flush()).isEqualTo(2);
+        assertThat(catalog.unflushedWrites()).isZero();
+        assertThat(catalog.segmentCount()).isEqualTo(1);
+        assertThat(catalog.version(42).segment()).isNotNull();
+        assertThat(catalog.version(42).title()).isNull();
+        assertThat(matches(catalog.textMatcher("samovar"))).containsExactly(42);
+        assertThat(matches(catalog.textMatcher("hierro fundido"))).containsExactly(2_000);
+        assertThat(catalog.suggest("samov", 5)).extracting(Item::getId).containsExactly(GENERATOR.itemId(42));
+        assertThat(catalog.expand("samovr")).containsExactly(List.of("samovar"));
+
+        // Writes that keep the text only change the version, not where its text is
+        catalog.decrementStock(GENERATOR.itemId(42), 0);
+        assertThat(catalog.flush()).isZero();
+        assertThat(matches(catalog.textMatcher("samovar"))).containsExactly(42);
+    }
+
+    @Test
+    @DisplayName("Should merge segments keeping the newest text of each item")
+    void shouldMergeSegments() {
+        catalog.update(GENERATOR.item(42).toBuilder().title("Samovar antiguo").build());
+        catalog.flush();
+        catalog.update(GENERATOR.item(43).toBuilder().title("Tetera esmaltada").build());
+        catalog.flush();
+        catalog.update(GENERATOR.item(42).toBuilder().title("Samovar moderno").build());
+        catalog.flush();
+        assertThat(catalog.segmentCount()).isEqualTo(3);
+        assertThat(catalog.merge(3)).isZero();
+
+        assertThat(catalog.merge(1)).isEqualTo(3);
+        assertThat(catalog.segmentCount()).isEqualTo(1);
+        assertThat(catalog.changedSinceLoad()).isEqualTo(2);
+        assertThat(matches(catalog.textMatcher("antiguo"))).isEmpty();
+        assertThat(matches(catalog.textMatcher("moderno"))).containsExactly(42);
+        assertThat(matches(catalog.textMatcher("esmaltada"))).containsExactly(43);
+        assertThat(catalog.suggest("samov", 5)).extracting(Item::getTitle).containsExactly("Samovar moderno");
+    }
+
+    @Test
+    @DisplayName("Should never lose a write that races with flushes and merges")
+    void shouldKeepWritesRacingWithMerges() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            Future<Integer> merges = executor.submit(() -> {
+                int rounds = 0;
+                while (!done.get()) {
+                    catalog.flush();
+                    catalog.merge(2);
+                    rounds++;
+                }
+                return rounds;
+            });
+            Future<?> writes = executor.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    int ordinal = i % 50;
+                    catalog.update(GENERATOR.item(ordinal).toBuilder().title("Modelo" + (char) ('a' + i % 26)).build());
+                }
+            });
+            writes.get(30, TimeUnit.SECONDS);
+            done.set(true);
+            assertThat(merges.get(30, TimeUnit.SECONDS)).isPositive();
+
+            catalog.flush();
+            for (int ordinal = 0; ordinal < 50; ordinal++) {
+                String title = ANALYZER.fold(catalog.item(ordinal).getTitle());
+                assertThat(catalog.textMatcher(title).test(ordinal)).as(title).isTrue();
+            }
+            assertThat(catalog.segmentCount()).isLessThanOrEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Integer> buyer(CountDownLatch start, String id, int attempts) {
+        return () -> {
+            start.await();
+            int bought = 0;
+            for (int i = 0; i < attempts; i++) {
+                try {
+                    catalog.decrementStock(id, 1);
+                    bought++;
+                } catch (InsufficientStockException e) {
+                    return bought;
+                }
+            }
+            return bought;
+        };
+    }
+
+    private int[] matches(IntPredicate matcher) {
+        return matches(catalog, matcher);
+    }
+
+    private static int[] matches(CatalogState state, IntPredicate matcher) {
+        return IntStream.range(0, state.size()).filter(matcher).toArray();
+    }
+
+    private static Item item(String id, String title, Integer stock) {
+        return Item.builder()
+                .id(id)
+                .title(title)
+                .description("")
+                .price(BigDecimal.TEN)
+                .stock(stock)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FuzzyTermIndex Unit Tests")
+class FuzzyTermIndexTest {
+
+    private FuzzyTermIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = CatalogSnapshot.of(List.of(
+                item("Laptop Gamer 16GB", "Portátil con teclado retroiluminado"),
+                item("Smart TV Samsung", "Pantalla de 55 pulgadas"),
+                item("Auriculares inalámbricos", null)
+        ), new TextAnalyzer(false, true)).terms();
+    }
+
+    @Test
+    @DisplayName("Should resolve transpositions, deletions and substitutions to the closest term")
+    void shouldResolveTypos() {
+        assertThat(index.closestTerms("lapotp")).containsExactly("laptop");
+        assertThat(index.closestTerms("samsng")).containsExactly("samsung");
+        assertThat(index.closestTerms("gamor")).containsExactly("gamer");
+        assertThat(index.closestTerms("auriculres")).containsExactly("auriculares");
+    }
+
+    @Test
+    @DisplayName("Should return the exact term only when the word is known")
+    void shouldPreferExactTerm() {
+        assertThat(index.closestTerms("laptop")).containsExactly("laptop");
+    }
+
+    @Test
+    @DisplayName("Should allow fewer edits for shorter words")
+    void shouldBoundDistanceByLength() {
+        assertThat(index.closestTerms("tx")).isEmpty();
+        assertThat(index.closestTerms("gmaer")).containsExactly("gamer");
+        assertThat(index.closestTerms("gxmxr")).isEmpty();
+        assertThat(index.closestTerms("lxptxp")).containsExactly("laptop");
+        assertThat(index.closestTerms("xxptxp")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep words with digits as they are and fail fast on unknown words")
+    void shouldExpandQueries() {
+        assertThat(index.expand("lapotp 16gb")).containsExactly(List.of("laptop"), List.of("16gb"));
+        assertThat(index.expand("lapotp zzzzzz")).isEmpty();
+        assertThat(index.expand(" - ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should compute optimal string alignment distance with an early exit")
+    void shouldComputeDistance() {
+        assertThat(FuzzyTermIndex.distance("laptop", "laptop", 2)).isZero();
+        assertThat(FuzzyTermIndex.distance("lapotp", "laptop", 2)).isEqualTo(1);
+        assertThat(FuzzyTermIndex.distance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(FuzzyTermIndex.distance("kitten", "sitting", 1)).isEqualTo(2);
+    }
+
+    private static Item item(String title, String description) {
+        return Item.builder().id("MLA1").title(title).description(description).build();
+    }
+}
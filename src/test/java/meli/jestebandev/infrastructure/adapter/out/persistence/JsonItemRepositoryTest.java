@@ -1,6 +1,8 @@
 package meli.jestebandev.infrastructure.adapter.out.persistence;
 
 import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.SearchCriteria;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @DisplayName("JsonItemRepository Integration Tests")
 class JsonItemRepositoryTest {
@@ -137,5 +143,58 @@ class JsonItemRepositoryTest {
                 .expectNextMatches(count -> count > 0)
                 .verifyComplete();
     }
-}
 
+    @Test
+    @DisplayName("Should return one page of matches with the total count")
+    void shouldFindPageWithTotal() {
+        StepVerifier.create(jsonItemRepository.findPage(new SearchCriteria(null, "MLA1648", MatchMode.EXACT), 1, 4))
+                .assertNext(page -> {
+                    assertThat(page.content()).hasSize(2)
+                            .allMatch(item -> item.getCategory().getId().equals("MLA1648"));
+                    assertThat(page.totalElements()).isEqualTo(6);
+                    assertThat(page.page()).isEqualTo(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should return an empty page with the total when exceeding range")
+    void shouldFindEmptyPagePastTheEnd() {
+        StepVerifier.create(jsonItemRepository.findPage(new SearchCriteria(null, null, MatchMode.EXACT), 10, 3))
+                .assertNext(page -> {
+                    assertThat(page.content()).isEmpty();
+                    assertThat(page.totalElements()).isEqualTo(13);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should page fuzzy matches only when asked to")
+    void shouldFindFuzzyPage() {
+        StepVerifier.create(jsonItemRepository.findPage(new SearchCriteria("lapotp", null, MatchMode.EXACT), 0, 10))
+                .assertNext(page -> assertThat(page.totalElements()).isZero())
+                .verifyComplete();
+        StepVerifier.create(jsonItemRepository.findPage(new SearchCriteria("lapotp", null, MatchMode.FUZZY), 0, 10))
+                .assertNext(page -> assertThat(page.content()).isNotEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should answer with the matches found when the scan timeout passes")
+    void shouldStopScanningAtTimeout() {
+        StepVerifier.create(jsonItemRepository.findNodePage(
+                        new SearchCriteria(null, null, MatchMode.EXACT), 0, 10, Duration.ZERO))
+                .assertNext(page -> {
+                    assertThat(page.content()).isEmpty();
+                    assertThat(page.totalElements()).isZero();
+                })
+                .verifyComplete();
+        StepVerifier.create(jsonItemRepository.findNodePage(
+                        new SearchCriteria(null, null, MatchMode.EXACT), 0, 10, Duration.ofMinutes(1)))
+                .assertNext(page -> {
+                    assertThat(page.content()).hasSize(10);
+                    assertThat(page.totalElements()).isEqualTo(jsonItemRepository.findAll().count().block());
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,167 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every case runs against both buffers: {@code vectorized = false} is the scalar fallback and
+ * {@code true} the Vector API search (the test JVM runs with the incubator module).
+ */
+@DisplayName("PackedText Unit Tests")
+class PackedTextTest {
+
+    private static PackedText sample(boolean vectorized) {
+        return PackedText.of(
+                new String[]{"laptop gamer 16gb", "smart tv", ""},
+                new String[]{"teclado retroiluminado", "", "cafe con leche"},
+                vectorized
+        );
+    }
+
+    @Test
+    @DisplayName("Should use the Vector API when its module is available")
+    void shouldPickVectorBufferWhenSupported() {
+        assertThat(PackedText.VECTOR_API).isTrue();
+        assertThat(PackedText.of(new String[]{"tv"}, new String[]{""}).vectorized()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should keep every field of every item by ordinal")
+    void shouldPackFieldsByOrdinal(boolean vectorized) {
+        PackedText text = sample(vectorized);
+
+        assertThat(text.title(0)).isEqualTo("laptop gamer 16gb");
+        assertThat(text.description(0)).isEqualTo("teclado retroiluminado");
+        assertThat(text.title(1)).isEqualTo("smart tv");
+        assertThat(text.description(1)).isEmpty();
+        assertThat(text.title(2)).isEmpty();
+        assertThat(text.description(2)).isEqualTo("cafe con leche");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should find a pattern in the title or the description of the same item only")
+    void shouldMatchWithinItem(boolean vectorized) {
+        PackedText text = sample(vectorized);
+
+        assertThat(text.matcher("gamer").test(0)).isTrue();
+        assertThat(text.matcher("retro").test(0)).isTrue();
+        assertThat(text.matcher("gamer").test(1)).isFalse();
+        assertThat(text.matcher("leche").test(2)).isTrue();
+        assertThat(text.matcher("smart").test(2)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should not match across the end of a field")
+    void shouldNotMatchAcrossFields(boolean vectorized) {
+        PackedText text = sample(vectorized);
+
+        assertThat(text.matcher("16gbteclado").test(0)).isFalse();
+        assertThat(text.matcher("gbtec").test(0)).isFalse();
+        assertThat(text.matcher("tvcafe").test(1)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should match the empty pattern everywhere, also in empty fields")
+    void shouldMatchEmptyPattern(boolean vectorized) {
+        PackedText text = sample(vectorized);
+
+        assertThat(text.matcher("").test(1)).isTrue();
+        assertThat(text.matcher("").test(2)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should match text outside Latin-1")
+    void shouldMatchNonLatin1Text(boolean vectorized) {
+        PackedText unicode = PackedText.of(new String[]{"55\" 4k ñandu ☕"}, new String[]{"日本語"}, vectorized);
+
+        assertThat(unicode.matcher("ñandu").test(0)).isTrue();
+        assertThat(unicode.matcher("☕").test(0)).isTrue();
+        assertThat(unicode.matcher("本").test(0)).isTrue();
+        assertThat(unicode.matcher("nandu").test(0)).isFalse();
+        assertThat(unicode.title(0)).isEqualTo("55\" 4k ñandu ☕");
+        assertThat(unicode.description(0)).isEqualTo("日本語");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should agree with String.contains on random text")
+    void shouldAgreeWithStringContains(boolean vectorized) {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] titles = new String[500];
+        String[] descriptions = new String[500];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = randomText(random, random.nextInt(40));
+            descriptions[i] = randomText(random, random.nextInt(120));
+        }
+        PackedText packed = PackedText.of(titles, descriptions, vectorized);
+
+        for (int run = 0; run < 200; run++) {
+            String query = randomText(random, 1 + random.nextInt(4));
+            IntPredicate matcher = packed.matcher(query);
+            for (int i = 0; i < titles.length; i++) {
+                boolean expected = titles[i].contains(query) || descriptions[i].contains(query);
+                assertThat(matcher.test(i)).as("%s in item %d", query, i).isEqualTo(expected);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should stay correct when items are skipped or tested out of order")
+    void shouldMatchInAnyOrder(boolean vectorized) {
+        String[] titles = new String[2_000];
+        String[] descriptions = new String[2_000];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = "item " + i;
+            descriptions[i] = i % 250 == 0 ? "laptop " + "x".repeat(40) : "x".repeat(40);
+        }
+        PackedText packed = PackedText.of(titles, descriptions, vectorized);
+        IntPredicate matcher = packed.matcher("laptop");
+
+        assertThat(matcher.test(1)).isFalse();
+        assertThat(matcher.test(250)).isTrue();
+        assertThat(matcher.test(0)).isTrue();
+        assertThat(matcher.test(1_999)).isFalse();
+        assertThat(matcher.test(1_750)).isTrue();
+        assertThat(matcher.test(1_751)).isFalse();
+        assertThat(matcher.test(500)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should find matches at the very end of the buffer")
+    void shouldMatchAtBufferEnd(boolean vectorized) {
+        PackedText packed = PackedText.of(
+                new String[]{"a".repeat(200), "b"},
+                new String[]{"a".repeat(150) + "xyz", "xy"},
+                vectorized
+        );
+
+        assertThat(packed.matcher("xyz").test(0)).isTrue();
+        assertThat(packed.matcher("xy").test(1)).isTrue();
+        assertThat(packed.matcher("xyz").test(1)).isFalse();
+        assertThat(packed.matcher("bxy").test(1)).isFalse();
+    }
+
+    // Small alphabet, with a non-ASCII letter, so that partial matches are frequent
+    private static String randomText(SplittableRandom random, int length) {
+        String alphabet = "abcñ ";
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
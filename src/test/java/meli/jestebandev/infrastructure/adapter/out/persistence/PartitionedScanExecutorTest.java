@@ -0,0 +1,120 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PartitionedScanExecutor Unit Tests")
+class PartitionedScanExecutorTest {
+
+    private final PartitionedScanExecutor executor = new PartitionedScanExecutor(4, Duration.ofMillis(2), 1_000);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should stay on the calling thread until the filter cost is known")
+    void shouldNotPartitionUnmeasuredFilters() {
+        assertThat(executor.shouldPartition("query", 1_000_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should partition only filters whose estimated scan reaches the threshold")
+    void shouldPartitionExpensiveFilters() {
+        executor.record("query", 100_000, Duration.ofMillis(10).toNanos());
+        executor.record("category", 100_000, Duration.ofMillis(1).toNanos());
+
+        assertThat(executor.shouldPartition("query", 100_000)).isTrue();
+        assertThat(executor.shouldPartition("query", 10_000)).isFalse();
+        assertThat(executor.shouldPartition("category", 100_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep small catalogs and single-threaded executors sequential")
+    void shouldNotPartitionSmallCatalogsOrSingleThread() {
+        executor.record("query", 1_000, Duration.ofSeconds(1).toNanos());
+        assertThat(executor.shouldPartition("query", 1_999)).isFalse();
+
+        PartitionedScanExecutor single = new PartitionedScanExecutor(1, Duration.ZERO, 1);
+        assertThat(single.shouldPartition("query", 1_000_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should emit partitions in order, each with its own predicate")
+    void shouldEmitPartitionsInOrder() {
+        List<PartitionedScanExecutor.Partition> partitions = executor.scan("query", 10_500, () -> {
+            int[] last = {-1};
+            return ordinal -> {
+                // Every partition gets a fresh predicate that sees ascending ordinals only
+                assertThat(ordinal).isGreaterThan(last[0]);
+                last[0] = ordinal;
+                return ordinal % 7 == 0;
+            };
+        }).collectList().block();
+
+        assertThat(partitions).hasSize(10);
+        assertThat(partitions.get(0).from()).isZero();
+        assertThat(partitions.get(partitions.size() - 1).to()).isEqualTo(10_500);
+        assertThat(partitions.stream().flatMapToInt(p -> IntStream.of(p.matches())).toArray())
+                .isEqualTo(IntStream.range(0, 10_500).filter(i -> i % 7 == 0).toArray());
+    }
+
+    @Test
+    @DisplayName("Should return the same items in the same order as a sequential scan")
+    void shouldMatchSequentialRepositoryResults(@TempDir Path dir) throws Exception {
+        Path catalog = CatalogGenerator.of(20_000, 42).writeJson(dir.resolve("catalog.json"));
+        PartitionedScanExecutor sequential = new PartitionedScanExecutor(1, Duration.ofMillis(2), 1_000);
+        PartitionedScanExecutor alwaysParallel = new PartitionedScanExecutor(4, Duration.ZERO, 1_000);
+        try {
+            JsonItemRepository expected = repository(sequential, catalog);
+            JsonItemRepository actual = repository(alwaysParallel, catalog);
+            String category = CatalogGenerator.of(20_000, 42).category(0).getId();
+
+            assertThat(ids(actual.findByQuery("laptop").collectList().block()))
+                    .isNotEmpty()
+                    .isEqualTo(ids(expected.findByQuery("laptop").collectList().block()));
+            assertThat(ids(actual.findByQueryAndCategory("pro", category).collectList().block()))
+                    .isEqualTo(ids(expected.findByQueryAndCategory("pro", category).collectList().block()));
+            assertThat(ids(actual.findByFuzzyQuery("lapotp").skip(30).take(10).collectList().block()))
+                    .isEqualTo(ids(expected.findByFuzzyQuery("lapotp").skip(30).take(10).collectList().block()));
+        } finally {
+            alwaysParallel.destroy();
+        }
+    }
+
+    private static JsonItemRepository repository(PartitionedScanExecutor executor, Path catalog) {
+        return new JsonItemRepository(
+                new ObjectMapper(),
+                new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true),
+                executor,
+                Schedulers.boundedElastic(),
+                new FileSystemResource(catalog),
+                CatalogJournal.disabled(),
+                new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 16),
+                CatalogMerger.disabled(),
+                CatalogSharding.single()
+        );
+    }
+
+    private static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+}
@@ -0,0 +1,246 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ItemAlreadyExistsException;
+import meli.jestebandev.domain.exception.ItemNotFoundException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.fixtures.CatalogGenerator;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same searches against the H2 adapter and the in-memory {@link JsonItemRepository}
+ * over one generated catalog: both engines must return the same items in the same order.
+ */
+@DisplayName("R2dbcItemRepository Tests")
+class R2dbcItemRepositoryTest {
+
+    private static final CatalogGenerator GENERATOR = CatalogGenerator.of(5_000, 42);
+
+    @TempDir
+    static Path dir;
+
+    private static ConnectionPool pool;
+    private static R2dbcItemRepository h2;
+    private static JsonItemRepository memory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        Path catalog = GENERATOR.writeJson(dir.resolve("catalog.json"));
+        pool = newPool();
+        h2 = newRepository(pool, catalog);
+        memory = new JsonItemRepository(
+                new ObjectMapper(),
+                new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true),
+                new PartitionedScanExecutor(1, Duration.ofMillis(2), 16_384),
+                Schedulers.boundedElastic(),
+                new FileSystemResource(catalog),
+                CatalogJournal.disabled(),
+                new CatalogChangeFeed(new ItemMetrics(new SimpleMeterRegistry()), 16),
+                CatalogMerger.disabled(),
+                CatalogSharding.single()
+        );
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    @DisplayName("Should import every item and find them by ID")
+    void shouldImportWholeCatalog() {
+        assertThat(h2.findAll().count().block()).isEqualTo(5_000);
+        assertThat(h2.findById(GENERATOR.itemId(4_321)).block()).isEqualTo(GENERATOR.item(4_321));
+        StepVerifier.create(h2.findById("MLA000")).verifyComplete();
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            "null, -1, EXACT, 0",
+            "null, 3, EXACT, 4",
+            "gamer, -1, EXACT, 0",
+            "gamer, -1, EXACT, 7",
+            "envío gratis, 0, EXACT, 0",
+            "amer pr, -1, EXACT, 0",
+            "' - ', -1, EXACT, 0",
+            "pro, 2, EXACT, 1",
+            "lapotp, -1, FUZZY, 0",
+            "gamre pro, -1, FUZZY, 2",
+            "samsnug, 1, FUZZY, 0",
+            "xyznonexistent, -1, EXACT, 0",
+            "qwrtyzx, -1, FUZZY, 0"
+    })
+    @DisplayName("Should return the same page and total as the in-memory engine")
+    void shouldMatchInMemoryPages(String query, int categoryRank, MatchMode match, int page) {
+        String category = categoryRank < 0 ? null : GENERATOR.category(categoryRank).getId();
+        SearchCriteria criteria = new SearchCriteria(query, category, match);
+
+        PaginatedResult<Item> expected = memory.findPage(criteria, page, 20).block();
+        PaginatedResult<Item> actual = h2.findPage(criteria, page, 20).block();
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should count every match when the page is past the end")
+    void shouldCountPastLastPage() {
+        PaginatedResult<Item> page = h2.findPage(new SearchCriteria("gamer", null, MatchMode.EXACT), 10_000, 20).block();
+
+        assertThat(page.content()).isEmpty();
+        assertThat(page.totalElements()).isEqualTo(memory.findByQuery("gamer").count().block()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should stream search results in catalog order")
+    void shouldStreamInCatalogOrder() {
+        String category = GENERATOR.category(0).getId();
+
+        assertThat(h2.findByQueryAndCategory("pro", category).collectList().block())
+                .isNotEmpty()
+                .isEqualTo(memory.findByQueryAndCategory("pro", category).collectList().block());
+        assertThat(h2.findByFuzzyQuery("lapotp").take(15).collectList().block())
+                .isEqualTo(memory.findByFuzzyQuery("lapotp").take(15).collectList().block());
+    }
+
+    @Test
+    @DisplayName("Should suggest the same items as the in-memory trie")
+    void shouldMatchInMemorySuggestions() {
+        for (String prefix : List.of("gam", "s", "note", "zzz")) {
+            assertThat(h2.suggest(prefix, 5).collectList().block())
+                    .as(prefix)
+                    .isEqualTo(memory.suggest(prefix, 5).collectList().block());
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in the query as plain characters")
+    void shouldEscapeLikeWildcards() throws Exception {
+        Path catalog = Files.writeString(dir.resolve("wildcards.json"), """
+                [
+                  {"id": "MLA1", "title": "Remera 100% algodón", "description": "talle_m"},
+                  {"id": "MLA2", "title": "Remera 1000 hilos", "description": "talle m"}
+                ]
+                """);
+        ConnectionPool wildcardsPool = newPool();
+        try {
+            R2dbcItemRepository repository = newRepository(wildcardsPool, catalog);
+
+            assertThat(repository.findByQuery("100%").map(Item::getId).collectList().block()).containsExactly("MLA1");
+            assertThat(repository.findByQuery("talle_m").map(Item::getId).collectList().block()).containsExactly("MLA1");
+            assertThat(repository.findByQuery("ALGODON").map(Item::getId).collectList().block()).containsExactly("MLA1");
+        } finally {
+            wildcardsPool.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should create, replace and find items, keeping searches and suggestions in sync")
+    void shouldWriteItems() throws Exception {
+        Path catalog = Files.writeString(dir.resolve("writes.json"), """
+                [
+                  {"id": "MLA1", "title": "Remera algodón", "description": "talle m", "stock": 3}
+                ]
+                """);
+        ConnectionPool writesPool = newPool();
+        try {
+            R2dbcItemRepository repository = newRepository(writesPool, catalog);
+            Item created = Item.builder().id("MLA2").title("Cafetera espresso").description("")
+                    .price(BigDecimal.TEN).stock(4).build();
+
+            StepVerifier.create(repository.create(created)).expectNext(created).verifyComplete();
+            StepVerifier.create(repository.create(created)).verifyError(ItemAlreadyExistsException.class);
+            assertThat(repository.findById("MLA2").block()).isEqualTo(created);
+            assertThat(repository.findAll().map(Item::getId).collectList().block()).containsExactly("MLA1", "MLA2");
+            assertThat(repository.suggest("cafe", 5).map(Item::getId).collectList().block()).containsExactly("MLA2");
+            assertThat(repository.findByQuery("pressO").map(Item::getId).collectList().block()).containsExactly("MLA2");
+
+            Item replaced = repository.findById("MLA1").block().toBuilder().title("Buzo polar").build();
+            StepVerifier.create(repository.update(replaced)).expectNext(replaced).verifyComplete();
+            assertThat(repository.findByQuery("polar").map(Item::getId).collectList().block()).containsExactly("MLA1");
+            assertThat(repository.findByQuery("remera").collectList().block()).isEmpty();
+            assertThat(repository.suggest("rem", 5).collectList().block()).isEmpty();
+            StepVerifier.create(repository.update(created.toBuilder().id("MLA3").build()))
+                    .verifyError(ItemNotFoundException.class);
+        } finally {
+            writesPool.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should never oversell when checkouts race for the same item")
+    void shouldNotOversellUnderContention() throws Exception {
+        Path catalog = Files.writeString(dir.resolve("stock.json"), """
+                [
+                  {"id": "MLA1", "title": "Remera algodón", "description": "", "stock": 50}
+                ]
+                """);
+        ConnectionPool stockPool = newPool();
+        try {
+            R2dbcItemRepository repository = newRepository(stockPool, catalog);
+
+            List<Boolean> results = Flux.range(0, 80)
+                    .flatMap(i -> repository.decrementStock("MLA1", 1)
+                            .map(item -> true)
+                            .onErrorResume(InsufficientStockException.class, e -> Mono.just(false)), 8)
+                    .collectList()
+                    .block();
+
+            assertThat(results).filteredOn(sold -> sold).hasSize(50);
+            assertThat(repository.findById("MLA1").block().getStock()).isZero();
+            StepVerifier.create(repository.decrementStock("MLA9", 1)).verifyError(ItemNotFoundException.class);
+        } finally {
+            stockPool.dispose();
+        }
+    }
+
+    private static ConnectionPool newPool() {
+        // A database per pool, so that tests never see each other's catalog
+        String url = "r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1";
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(url))
+                .initialSize(1)
+                .maxSize(4)
+                .build());
+    }
+
+    private static R2dbcItemRepository newRepository(ConnectionPool pool, Path catalog) {
+        return new R2dbcItemRepository(
+                DatabaseClient.create(pool),
+                new ObjectMapper(),
+                new ItemMetrics(new SimpleMeterRegistry()),
+                new TextAnalyzer(false, true),
+                Schedulers.boundedElastic(),
+                new FileSystemResource(catalog)
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.Seller;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SuggestionIndex Unit Tests")
+class SuggestionIndexTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer(false, true);
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = SuggestionIndex.build(List.of(
+                item("MLA1", "Laptop Gamer 16GB", 4.2),
+                item("MLA2", "Laptops usadas - lote de laptop", 4.9),
+                item("MLA3", "Smart TV 55\" Samsung", 4.7),
+                item("MLA4", "Smartwatch Samsung Galaxy", 4.7),
+                item("MLA5", "Lámpara LED", 3.0),
+                item("MLA6", "Samsung Smart TV 43\"", 5.0)
+        ), analyzer);
+    }
+
+    @Test
+    @DisplayName("Should rank suggestions by seller reputation, then catalog order")
+    void shouldRankByReputation() {
+        assertThat(ids(index.suggest("sma", 10))).containsExactly("MLA6", "MLA3", "MLA4");
+    }
+
+    @Test
+    @DisplayName("Should match prefixes that end in the middle of a trie edge")
+    void shouldMatchInsideEdge() {
+        assertThat(ids(index.suggest("smartw", 10))).containsExactly("MLA4");
+        assertThat(ids(index.suggest("LAPTOP", 10))).containsExactly("MLA2", "MLA1");
+        assertThat(ids(index.suggest("lám", 10))).containsExactly("MLA5");
+    }
+
+    @Test
+    @DisplayName("Should ignore accents and case on both the titles and the prefix")
+    void shouldIgnoreAccents() {
+        assertThat(ids(index.suggest("lamp", 10))).containsExactly("MLA5");
+        assertThat(ids(index.suggest("LÁ", 10))).containsExactly("MLA2", "MLA1", "MLA5");
+    }
+
+    @Test
+    @DisplayName("Should list an item once even when several of its words match")
+    void shouldNotDuplicateItems() {
+        assertThat(ids(index.suggest("lap", 10))).containsExactly("MLA2", "MLA1");
+    }
+
+    @Test
+    @DisplayName("Should require the previous words of a multi-word prefix")
+    void shouldFilterByPreviousWords() {
+        assertThat(ids(index.suggest("smart t", 10))).containsExactly("MLA6", "MLA3");
+        assertThat(ids(index.suggest("galaxy sm", 10))).containsExactly("MLA4");
+    }
+
+    @Test
+    @DisplayName("Should honour the limit and return nothing for unknown prefixes")
+    void shouldHonourLimit() {
+        assertThat(index.suggest("sa", 1)).hasSize(1);
+        assertThat(index.suggest("xyz", 5)).isEmpty();
+        assertThat(index.suggest("  - ", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep only the best candidates per node")
+    void shouldBoundCandidatesPerNode() {
+        List<Item> items = new java.util.ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(item("MLA" + i, "Mouse " + i, i % 10 / 2.0));
+        }
+        SuggestionIndex large = SuggestionIndex.build(items, analyzer);
+
+        List<Item> suggestions = large.suggest("mou", 10);
+
+        assertThat(suggestions).hasSize(10);
+        assertThat(suggestions).allMatch(item -> item.getSeller().getReputation() == 4.5);
+        assertThat(suggestions.get(0).getId()).isEqualTo("MLA9");
+    }
+
+    private static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+
+    private static Item item(String id, String title, double reputation) {
+        return Item.builder()
+                .id(id)
+                .title(title)
+                .seller(Seller.builder().id("S-" + id).name("Seller").reputation(reputation).build())
+                .build();
+    }
+}
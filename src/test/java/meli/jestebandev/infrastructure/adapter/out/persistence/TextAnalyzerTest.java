@@ -0,0 +1,63 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TextAnalyzer Unit Tests")
+class TextAnalyzerTest {
+
+    private final TextAnalyzer analyzer = new TextAnalyzer(false, true);
+
+    @Test
+    @DisplayName("Should fold accents, case and compatibility characters")
+    void shouldFoldText() {
+        assertThat(analyzer.fold("Electrónica")).isEqualTo("electronica");
+        assertThat(analyzer.fold("CÂMERA Ação")).isEqualTo("camera acao");
+        assertThat(analyzer.fold("Año ＰＲＯ ﬁbra")).isEqualTo("ano pro fibra");
+        assertThat(analyzer.fold(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should decode the HTML entities added by the input validator")
+    void shouldDecodeHtmlEntities() {
+        assertThat(analyzer.fold("Audio &amp; Video")).isEqualTo("audio & video");
+        assertThat(analyzer.fold("Smart TV 55&quot;")).isEqualTo("smart tv 55\"");
+        assertThat(analyzer.fold("electr&oacute;nica")).isEqualTo("electronica");
+    }
+
+    @Test
+    @DisplayName("Should lower-case the same way regardless of the default locale")
+    void shouldIgnoreDefaultLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertThat(analyzer.fold("LIGHTNING")).isEqualTo("lightning");
+            assertThat(analyzer.fold("İPHONE")).isEqualTo("iphone");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    @DisplayName("Should split words and drop stop words")
+    void shouldTokenize() {
+        assertThat(analyzer.tokens("Funda de Silicona para iPhone 15 - Azul/Rosa"))
+                .containsExactly("funda", "silicona", "iphone", "15", "azul", "rosa");
+        assertThat(analyzer.words("Funda de Silicona")).containsExactly("funda", "de", "silicona");
+    }
+
+    @Test
+    @DisplayName("Should stem plurals only when enabled")
+    void shouldStemWhenEnabled() {
+        TextAnalyzer stemming = new TextAnalyzer(true, false);
+
+        assertThat(stemming.tokens("Auriculares Laptops cámaras colores mouse 16GB"))
+                .containsExactly("auricular", "laptop", "camara", "color", "mouse", "16gb");
+        assertThat(stemming.tokens("de")).containsExactly("de");
+        assertThat(analyzer.tokens("Laptops")).containsExactly("laptops");
+    }
+}
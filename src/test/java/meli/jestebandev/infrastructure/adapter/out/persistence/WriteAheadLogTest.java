@@ -0,0 +1,123 @@
+package meli.jestebandev.infrastructure.adapter.out.persistence;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.infrastructure.metrics.ItemMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WriteAheadLog Unit Tests")
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry registry;
+    private ItemMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ItemMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("Should make concurrent appends durable in batches, in append order")
+    void shouldGroupCommitAppends() throws Exception {
+        List<CompletableFuture<Void>> appended;
+        try (WriteAheadLog wal = WriteAheadLog.open(directory, 1, 64, metrics)) {
+            appended = IntStream.range(0, 1_000).parallel()
+                    .mapToObj(i -> wal.append(record(i)))
+                    .toList();
+            CompletableFuture.allOf(appended.toArray(CompletableFuture[]::new)).join();
+        }
+
+        List<String> records = new ArrayList<>();
+        assertThat(WriteAheadLog.read(directory, 1, bytes -> records.add(new String(bytes, StandardCharsets.UTF_8))))
+                .isEqualTo(1_000);
+        assertThat(records).containsExactlyInAnyOrderElementsOf(
+                IntStream.range(0, 1_000).mapToObj(i -> "record-" + i).toList());
+
+        DistributionSummary batches = registry.get("items.wal.batch").summary();
+        assertThat(batches.totalAmount()).isEqualTo(1_000);
+        assertThat(batches.max()).isLessThanOrEqualTo(64);
+        assertThat(registry.get("items.wal.sync").timer().count()).isEqualTo(batches.count());
+    }
+
+    @Test
+    @DisplayName("Should stop reading at a torn or corrupt record")
+    void shouldIgnoreTornTail() throws Exception {
+        try (WriteAheadLog wal = WriteAheadLog.open(directory, 1, 64, metrics)) {
+            for (int i = 0; i < 3; i++) {
+                wal.append(record(i)).join();
+            }
+        }
+        Path segment = directory.resolve("wal-000000000001.log");
+        long intact = Files.size(segment);
+        // Header of a fourth record whose bytes never made it to disk
+        Files.write(segment, new byte[] {0, 0, 0, 100, 1, 2, 3, 4, 'x'}, StandardOpenOption.APPEND);
+        assertThat(WriteAheadLog.read(directory, 1, bytes -> { })).isEqualTo(3);
+
+        byte[] data = Files.readAllBytes(segment);
+        data[(int) intact - 1] ^= 1;
+        Files.write(segment, data);
+        List<String> records = new ArrayList<>();
+        assertThat(WriteAheadLog.read(directory, 1, bytes -> records.add(new String(bytes, StandardCharsets.UTF_8))))
+                .isEqualTo(2);
+        assertThat(records).containsExactly("record-0", "record-1");
+    }
+
+    @Test
+    @DisplayName("Should continue in a new segment on rotate and delete the older ones")
+    void shouldRotateSegments() throws Exception {
+        try (WriteAheadLog wal = WriteAheadLog.open(directory, 1, 64, metrics)) {
+            wal.append(record(0)).join();
+            assertThat(wal.rotate().join()).isEqualTo(2);
+            wal.append(record(1)).join();
+            assertThat(WriteAheadLog.segments(directory)).containsExactly(1L, 2L);
+
+            wal.deleteSegmentsBefore(2);
+        }
+
+        assertThat(WriteAheadLog.segments(directory)).containsExactly(2L);
+        List<String> records = new ArrayList<>();
+        WriteAheadLog.read(directory, 2, bytes -> records.add(new String(bytes, StandardCharsets.UTF_8)));
+        assertThat(records).containsExactly("record-1");
+    }
+
+    @Test
+    @DisplayName("Should stop for good, failing every later append, once it cannot write")
+    void shouldStopAfterFailing() throws Exception {
+        // The next segment is taken, so the rotation fails after closing the current one
+        Files.createFile(directory.resolve("wal-000000000002.log"));
+        try (WriteAheadLog wal = WriteAheadLog.open(directory, 1, 64, metrics)) {
+            wal.append(record(0)).join();
+
+            assertThat(wal.rotate()).failsWithin(Duration.ofSeconds(5));
+            assertThat(wal.failure()).isNotNull();
+            assertThat(wal.append(record(1))).isCompletedExceptionally();
+        }
+
+        List<String> records = new ArrayList<>();
+        WriteAheadLog.read(directory, 1, bytes -> records.add(new String(bytes, StandardCharsets.UTF_8)));
+        assertThat(records).containsExactly("record-0");
+    }
+
+    private static byte[] record(int i) {
+        return ("record-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,12 +1,16 @@
 package meli.jestebandev.infrastructure.adapter.out.validation;
 
 import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Item;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -151,4 +155,81 @@ class SecurityInputValidatorTest {
                 .isInstanceOf(ValidationException.class)
                 .hasMessage("Page size cannot exceed 100 items");
     }
+
+    @Test
+    @DisplayName("Should reject suggestion limits outside 1 to 10")
+    void shouldValidateSuggestionLimit() {
+        validator.validateSuggestionLimit(1);
+        validator.validateSuggestionLimit(10);
+
+        assertThatThrownBy(() -> validator.validateSuggestionLimit(0))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Suggestion limit must be between 1 and 10");
+        assertThatThrownBy(() -> validator.validateSuggestionLimit(11))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Suggestion limit must be between 1 and 10");
+    }
+
+    @Test
+    @DisplayName("Should reject search timeouts outside 1 ms to 10 s")
+    void shouldValidateSearchTimeout() {
+        validator.validateSearchTimeout(Duration.ofMillis(1));
+        validator.validateSearchTimeout(Duration.ofSeconds(10));
+
+        for (Duration timeout : new Duration[]{null, Duration.ZERO, Duration.ofMillis(-5), Duration.ofSeconds(11)}) {
+            assertThatThrownBy(() -> validator.validateSearchTimeout(timeout))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessage("Search timeout must be between 1 ms and 10000 ms");
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept a complete item, trimming its ID and title")
+    void shouldValidateItem() {
+        Item item = Item.builder().id(" MLA123 ").title(" Laptop ").price(BigDecimal.TEN).stock(0).build();
+
+        Item validated = validator.validateItem(item);
+
+        assertThat(validated.getId()).isEqualTo("MLA123");
+        assertThat(validated.getTitle()).isEqualTo("Laptop");
+    }
+
+    @Test
+    @DisplayName("Should reject items without title or price, or with negative values")
+    void shouldRejectInvalidItems() {
+        Item item = Item.builder().id("MLA123").title("Laptop").price(BigDecimal.TEN).build();
+
+        assertThatThrownBy(() -> validator.validateItem(item.toBuilder().title(" ").build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Item title cannot be null or empty");
+        assertThatThrownBy(() -> validator.validateItem(item.toBuilder().price(null).build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("price");
+        assertThatThrownBy(() -> validator.validateItem(item.toBuilder().price(BigDecimal.valueOf(-1)).build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("price");
+        assertThatThrownBy(() -> validator.validateItem(item.toBuilder().stock(-1).build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Item stock cannot be negative");
+        assertThatThrownBy(() -> validator.validateItem(item.toBuilder().id("123").build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Item ID format is invalid");
+        assertThatThrownBy(() -> validator.validateItem(item.toBuilder().description("<script>alert(1)</script>").build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("invalid characters");
+    }
+
+    @Test
+    @DisplayName("Should reject stock quantities outside 1 to 10000")
+    void shouldValidateStockQuantity() {
+        validator.validateStockQuantity(1);
+        validator.validateStockQuantity(10_000);
+
+        assertThatThrownBy(() -> validator.validateStockQuantity(0))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Stock quantity must be between 1 and 10000");
+        assertThatThrownBy(() -> validator.validateStockQuantity(10_001))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Stock quantity must be between 1 and 10000");
+    }
 }
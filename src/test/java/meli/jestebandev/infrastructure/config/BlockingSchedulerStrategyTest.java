@@ -0,0 +1,63 @@
+package meli.jestebandev.infrastructure.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BlockingSchedulerStrategy Unit Tests")
+class BlockingSchedulerStrategyTest {
+
+    @Test
+    @DisplayName("Should run blocking calls on platform threads with bounded elastic")
+    void shouldUseBoundedElastic() {
+        Scheduler scheduler = BlockingSchedulerStrategy.BOUNDED_ELASTIC.create();
+
+        Thread thread = Mono.fromCallable(Thread::currentThread).subscribeOn(scheduler).block();
+
+        assertThat(thread.isVirtual()).isFalse();
+        assertThat(thread.getName()).startsWith("boundedElastic");
+    }
+
+    @Test
+    @DisplayName("Should run every blocking call on its own virtual thread")
+    void shouldUseVirtualThreads() {
+        Scheduler scheduler = BlockingSchedulerStrategy.VIRTUAL_THREADS.create();
+        try {
+            Thread thread = Mono.fromCallable(Thread::currentThread).subscribeOn(scheduler).block();
+
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(thread.getName()).startsWith("blocking-");
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not queue blocking calls behind a thread limit with virtual threads")
+    void shouldRunManyBlockingCallsConcurrently() {
+        Scheduler scheduler = BlockingSchedulerStrategy.VIRTUAL_THREADS.create();
+        try {
+            // 2,000 calls sleeping 200 ms: far beyond the bounded elastic cap, so any queueing
+            // would take several seconds
+            long start = System.nanoTime();
+            Long completed = Flux.range(0, 2_000)
+                    .flatMap(i -> Mono.fromCallable(() -> {
+                        Thread.sleep(200);
+                        return i;
+                    }).subscribeOn(scheduler), 2_000)
+                    .count()
+                    .block(Duration.ofSeconds(30));
+
+            assertThat(completed).isEqualTo(2_000);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        } finally {
+            scheduler.dispose();
+        }
+    }
+}
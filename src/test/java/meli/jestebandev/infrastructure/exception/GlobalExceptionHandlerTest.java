@@ -1,5 +1,7 @@
 package meli.jestebandev.infrastructure.exception;
 
+import meli.jestebandev.domain.exception.InsufficientStockException;
+import meli.jestebandev.domain.exception.ItemAlreadyExistsException;
 import meli.jestebandev.domain.exception.ItemNotFoundException;
 import meli.jestebandev.domain.exception.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -141,5 +143,45 @@ class GlobalExceptionHandlerTest {
                 })
                 .verifyComplete();
     }
-}
 
+    @Test
+    void handleItemAlreadyExists_ShouldReturnConflictWithCOD005() {
+        // Arrange
+        ItemAlreadyExistsException exception = new ItemAlreadyExistsException("MLU123456789");
+
+        // Act
+        Mono<ResponseEntity<ErrorResponse>> result = exceptionHandler.handleItemAlreadyExists(exception, exchange);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().getErrorCode()).isEqualTo("COD005");
+                    assertThat(response.getBody().getStatus()).isEqualTo(409);
+                    assertThat(response.getBody().getMessage()).contains("MLU123456789");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void handleInsufficientStock_ShouldReturnConflictWithCOD006() {
+        // Arrange
+        InsufficientStockException exception = new InsufficientStockException("MLU123456789", 5, 2);
+
+        // Act
+        Mono<ResponseEntity<ErrorResponse>> result = exceptionHandler.handleInsufficientStock(exception, exchange);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().getErrorCode()).isEqualTo("COD006");
+                    assertThat(response.getBody().getStatus()).isEqualTo(409);
+                    assertThat(response.getBody().getMessage())
+                            .isEqualTo("Insufficient stock for item MLU123456789: requested 5, available 2");
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,65 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.exception.ValidationException;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.port.in.GetItemByIdUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MeteredGetItemByIdUseCase Unit Tests")
+class MeteredGetItemByIdUseCaseTest {
+
+    @Mock
+    private GetItemByIdUseCase delegate;
+
+    private SimpleMeterRegistry registry;
+    private MeteredGetItemByIdUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        useCase = new MeteredGetItemByIdUseCase(delegate, new ItemMetrics(registry));
+    }
+
+    @Test
+    @DisplayName("Should time each subscription from when it starts")
+    void shouldTimeFromSubscription() throws InterruptedException {
+        when(delegate.execute("MLU1")).thenReturn(Mono.just(Item.builder().id("MLU1").build()));
+
+        Mono<Item> lookup = useCase.execute("MLU1");
+        Thread.sleep(50);
+        StepVerifier.create(lookup).expectNextCount(1).verifyComplete();
+        StepVerifier.create(lookup).expectNextCount(1).verifyComplete();
+
+        assertThat(latency("success").count()).isEqualTo(2);
+        assertThat(latency("success").max(TimeUnit.MILLISECONDS)).isLessThan(50);
+    }
+
+    @Test
+    @DisplayName("Should record validation errors as failed calls when subscribed")
+    void shouldRecordValidationErrors() {
+        when(delegate.execute("bad")).thenThrow(new ValidationException("Invalid item ID"));
+
+        StepVerifier.create(useCase.execute("bad")).verifyError(ValidationException.class);
+
+        assertThat(latency("error").count()).isEqualTo(1);
+    }
+
+    private Timer latency(String outcome) {
+        return registry.get("items.usecase").tag("usecase", "get_item_by_id").tag("outcome", outcome).timer();
+    }
+}
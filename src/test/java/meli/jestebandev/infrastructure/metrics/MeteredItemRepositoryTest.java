@@ -0,0 +1,134 @@
+package meli.jestebandev.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.MatchMode;
+import meli.jestebandev.domain.model.PaginatedResult;
+import meli.jestebandev.domain.model.SearchCriteria;
+import meli.jestebandev.domain.port.out.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MeteredItemRepository Unit Tests")
+class MeteredItemRepositoryTest {
+
+    @Mock
+    private ItemRepository delegate;
+
+    private SimpleMeterRegistry registry;
+    private MeteredItemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new MeteredItemRepository(delegate, new ItemMetrics(registry));
+    }
+
+    @Test
+    @DisplayName("Should record latency and result size for a search")
+    void shouldRecordLatencyAndResultSize() {
+        when(delegate.findByQuery("laptop")).thenReturn(Flux.just(item("MLU1"), item("MLU2"), item("MLU3")));
+
+        StepVerifier.create(repository.findByQuery("laptop"))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(latency("findByQuery", "success").count()).isEqualTo(1);
+        assertThat(registry.get("items.repository.results").tag("method", "findByQuery").summary().totalAmount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should record search when the subscriber cancels after a page")
+    void shouldRecordWhenCancelled() {
+        when(delegate.findAll()).thenReturn(Flux.just(item("MLU1"), item("MLU2"), item("MLU3")));
+
+        StepVerifier.create(repository.findAll().take(2))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertThat(latency("findAll", "success").count()).isEqualTo(1);
+        assertThat(registry.get("items.repository.results").tag("method", "findAll").summary().totalAmount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count found and missing lookups")
+    void shouldCountLookups() {
+        when(delegate.findById("MLU1")).thenReturn(Mono.just(item("MLU1")));
+        when(delegate.findById("MLU2")).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.findById("MLU1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.findById("MLU2")).verifyComplete();
+
+        assertThat(registry.get("items.repository.lookups").tag("result", "found").counter().count()).isEqualTo(1);
+        assertThat(registry.get("items.repository.lookups").tag("result", "missing").counter().count()).isEqualTo(1);
+        assertThat(latency("findById", "success").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should record the items of a page as its result size")
+    void shouldRecordPageContent() {
+        SearchCriteria criteria = new SearchCriteria("laptop", null, MatchMode.EXACT);
+        when(delegate.findPage(criteria, 0, 2))
+                .thenReturn(Mono.just(new PaginatedResult<>(List.of(item("MLU1"), item("MLU2")), 40, 0, 2)));
+
+        StepVerifier.create(repository.findPage(criteria, 0, 2)).expectNextCount(1).verifyComplete();
+
+        assertThat(latency("findPage", "success").count()).isEqualTo(1);
+        assertThat(registry.get("items.repository.results").tag("method", "findPage").summary().totalAmount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should record failed and timed out calls by outcome")
+    void shouldRecordFailures() {
+        when(delegate.findById("MLU1")).thenReturn(Mono.error(new IllegalStateException("down")));
+        when(delegate.findByQuery("laptop")).thenReturn(Flux.error(new TimeoutException()));
+
+        StepVerifier.create(repository.findById("MLU1")).verifyError(IllegalStateException.class);
+        StepVerifier.create(repository.findByQuery("laptop")).verifyError(TimeoutException.class);
+
+        assertThat(latency("findById", "error").count()).isEqualTo(1);
+        assertThat(latency("findById", "success").count()).isZero();
+        assertThat(latency("findByQuery", "timeout").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time a call from subscription, once per subscription")
+    void shouldTimeFromSubscription() throws InterruptedException {
+        when(delegate.findById("MLU1")).thenReturn(Mono.just(item("MLU1")));
+
+        Mono<Item> lookup = repository.findById("MLU1");
+        Thread.sleep(50);
+        StepVerifier.create(lookup).expectNextCount(1).verifyComplete();
+        StepVerifier.create(lookup).expectNextCount(1).verifyComplete();
+
+        assertThat(latency("findById", "success").count()).isEqualTo(2);
+        assertThat(latency("findById", "success").max(TimeUnit.MILLISECONDS)).isLessThan(50);
+    }
+
+    private Timer latency(String method, String outcome) {
+        return registry.get("items.repository").tag("method", method).tag("outcome", outcome).timer();
+    }
+
+    private Item item(String id) {
+        return Item.builder().id(id).title("Item " + id).build();
+    }
+}
@@ -0,0 +1,341 @@
+package meli.jestebandev.fixtures;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import meli.jestebandev.domain.model.Category;
+import meli.jestebandev.domain.model.Item;
+import meli.jestebandev.domain.model.ItemCondition;
+import meli.jestebandev.domain.model.Seller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic generator of synthetic catalogs in the {@code data/items.json} schema.
+ * <p>
+ * Every item is derived from the spec seed and its ordinal alone, so {@link #item(int)} can
+ * rebuild any item without generating the ones before it, and {@link #writeJson} streams
+ * catalogs of any size with constant memory.
+ * <p>
+ * Distributions: category and seller popularity follow a Zipf law, titles and descriptions
+ * vary widely in length, prices are log-normal around a per-category base price and stock
+ * is geometric with a share of sold-out items.
+ * <p>
+ * CLI usage: {@code ./gradlew generateCatalog -Pitems=1000000 -Pseed=42 -Pout=build/catalog.json}
+ */
+public final class CatalogGenerator {
+
+    // Only sites whose IDs pass SecurityInputValidator (ML[A-Z]{1,3}digits)
+    private static final String[] SITES = {"MLA", "MLB", "MLM", "MLC", "MLU", "MLV"};
+    private static final double[] SITE_WEIGHTS = {0.32, 0.36, 0.18, 0.07, 0.04, 0.03};
+
+    private static final String[][] FAMILIES = {
+            {"Computación", "Laptop", "Notebook", "Ultrabook", "Desktop", "Monitor", "Teclado", "Mouse"},
+            {"Celulares y Teléfonos", "Smartphone", "Celular", "Teléfono", "Funda", "Cargador"},
+            {"Electrónica, Audio y Video", "Smart TV", "Parlante", "Auriculares", "Barra de Sonido", "Proyector"},
+            {"Consolas y Videojuegos", "Consola", "Control", "Juego", "Volante", "Headset Gamer"},
+            {"Cámaras y Accesorios", "Cámara", "Lente", "Trípode", "Drone", "Cámara de Acción"},
+            {"Electrodomésticos", "Heladera", "Lavarropas", "Microondas", "Aspiradora", "Cafetera"},
+            {"Hogar y Muebles", "Sillón", "Mesa", "Lámpara", "Colchón", "Escritorio"},
+            {"Deportes y Fitness", "Bicicleta", "Cinta de Correr", "Mancuernas", "Pelota", "Zapatillas"},
+            {"Herramientas", "Taladro", "Amoladora", "Sierra", "Caja de Herramientas", "Destornillador"},
+            {"Belleza y Cuidado Personal", "Secador", "Plancha de Pelo", "Perfume", "Afeitadora", "Crema"},
+            {"Juegos y Juguetes", "Muñeca", "Lego", "Peluche", "Rompecabezas", "Auto a Control Remoto"},
+            {"Ropa y Accesorios", "Campera", "Remera", "Jean", "Mochila", "Reloj"},
+            {"Instrumentos Musicales", "Guitarra", "Teclado Musical", "Batería", "Ukelele", "Amplificador"},
+            {"Bebés", "Cochecito", "Cuna", "Silla de Auto", "Mamadera", "Pañales"},
+            {"Autos, Motos y Otros", "Neumático", "Batería de Auto", "Casco", "Cubre Asiento", "Estéreo"}
+    };
+
+    private static final String[] BRANDS = {
+            "Samsung", "Apple", "Motorola", "Xiaomi", "Lenovo", "Dell", "HP", "Asus", "Acer", "LG",
+            "Sony", "Philips", "JBL", "Logitech", "Nintendo", "Microsoft", "Canon", "Nikon", "GoPro",
+            "Whirlpool", "Electrolux", "Bosch", "Black+Decker", "Stanley", "Nike", "Adidas", "Puma",
+            "Fender", "Yamaha", "Gamer Pro", "TechStore", "Genérica"
+    };
+
+    private static final String[] ADJECTIVES = {
+            "Nuevo", "Original", "Premium", "Pro", "Ultra", "Compacto", "Portátil", "Inalámbrico",
+            "Profesional", "Gamer", "Económico", "Reforzado", "Slim", "Max", "Plus", "Lite"
+    };
+
+    private static final String[] SPECS = {
+            "16GB RAM", "8GB RAM", "512GB SSD", "1TB", "256GB", "128GB", "4K UHD", "Full HD",
+            "Bluetooth 5.3", "Wi-Fi 6", "USB-C", "120Hz", "Intel Core i7", "Ryzen 5", "5000mAh",
+            "Negro", "Blanco", "Azul", "Rojo", "Gris", "Talle M", "Talle L", "220V", "Garantía Oficial"
+    };
+
+    private static final String[] SENTENCES = {
+            "Producto %s con garantía oficial de 12 meses.",
+            "Ideal para uso diario, trabajo y entretenimiento.",
+            "Incluye todos los accesorios originales en su caja sellada.",
+            "Envío gratis a todo el país y devolución sin cargo.",
+            "Diseño %s con materiales de alta calidad y terminaciones cuidadas.",
+            "Compatible con la mayoría de los dispositivos del mercado.",
+            "Excelente relación precio-calidad, el más vendido de la categoría.",
+            "Batería de larga duración y carga rápida.",
+            "Stock disponible para entrega inmediata.",
+            "Factura A y B, vendedor con reputación verde.",
+            "High performance %s designed for professionals and gamers alike.",
+            "Producto %s importado, manual en español incluido.",
+            "Consultá por medios de pago y cuotas sin interés."
+    };
+
+    private final CatalogSpec spec;
+    private final ZipfDistribution categoryPopularity;
+    private final ZipfDistribution sellerPopularity;
+    private final double[] siteCumulative;
+
+    public CatalogGenerator(CatalogSpec spec) {
+        this.spec = spec;
+        this.categoryPopularity = new ZipfDistribution(spec.categories(), spec.zipfExponent());
+        this.sellerPopularity = new ZipfDistribution(spec.sellers(), spec.zipfExponent());
+        this.siteCumulative = new double[SITE_WEIGHTS.length];
+        double sum = 0;
+        for (int i = 0; i < SITE_WEIGHTS.length; i++) {
+            sum += SITE_WEIGHTS[i];
+            siteCumulative[i] = sum;
+        }
+    }
+
+    public static CatalogGenerator of(int items, long seed) {
+        return new CatalogGenerator(CatalogSpec.of(items, seed));
+    }
+
+    public CatalogSpec spec() {
+        return spec;
+    }
+
+    /**
+     * Rebuilds the item at the given ordinal. Pure function of the spec and the ordinal.
+     */
+    public Item item(int ordinal) {
+        if (ordinal < 0 || ordinal >= spec.items()) {
+            throw new IndexOutOfBoundsException("Ordinal " + ordinal + " outside catalog of " + spec.items());
+        }
+        SplittableRandom random = randomFor(ordinal);
+        // The ID must be the first draw so that itemId(ordinal) agrees with item(ordinal)
+        String id = itemId(ordinal, random);
+
+        int categoryRank = categoryPopularity.sample(random);
+        String[] family = FAMILIES[categoryRank % FAMILIES.length];
+        String noun = family[1 + random.nextInt(family.length - 1)];
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        int sellerRank = sellerPopularity.sample(random);
+
+        return Item.builder()
+                .id(id)
+                .title(title(random, brand, noun))
+                .price(price(random, categoryRank))
+                .description(description(random, noun))
+                .image("https://http2.mlstatic.com/D_NQ_NP_" + Integer.toHexString(ordinal) + "-F.jpg")
+                .stock(stock(random))
+                .condition(random.nextInt(100) < 85 ? ItemCondition.NEW : ItemCondition.USED)
+                .category(category(categoryRank))
+                .seller(seller(sellerRank, random))
+                .build();
+    }
+
+    /**
+     * Lazily generated items in ordinal order.
+     */
+    public Stream<Item> items() {
+        return IntStream.range(0, spec.items()).mapToObj(this::item);
+    }
+
+    public Iterator<Item> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < spec.items();
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return item(next++);
+            }
+        };
+    }
+
+    /**
+     * ID of the item at the given ordinal, without generating the rest of the item.
+     */
+    public String itemId(int ordinal) {
+        return itemId(ordinal, randomFor(ordinal));
+    }
+
+    /**
+     * Category at the given popularity rank (0 is the most popular).
+     */
+    public Category category(int rank) {
+        String[] family = FAMILIES[rank % FAMILIES.length];
+        int variant = rank / FAMILIES.length;
+        return Category.builder()
+                .id("MLA" + (1_000 + rank))
+                .name(variant == 0 ? family[0] : family[0] + " " + (variant + 1))
+                .build();
+    }
+
+    /**
+     * Streams the catalog as a JSON array, item by item, to the given stream.
+     * The stream is flushed but not closed.
+     */
+    public void writeJson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.writeStartArray();
+            for (int ordinal = 0; ordinal < spec.items(); ordinal++) {
+                writeItem(generator, item(ordinal));
+            }
+            generator.writeEndArray();
+        }
+        out.flush();
+    }
+
+    public Path writeJson(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            writeJson(out);
+        }
+        return file;
+    }
+
+    private static void writeItem(JsonGenerator generator, Item item) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", item.getId());
+        generator.writeStringField("title", item.getTitle());
+        generator.writeNumberField("price", item.getPrice());
+        generator.writeStringField("description", item.getDescription());
+        generator.writeStringField("image", item.getImage());
+        generator.writeNumberField("stock", item.getStock());
+        generator.writeStringField("condition", item.getCondition().name());
+        generator.writeObjectFieldStart("category");
+        generator.writeStringField("id", item.getCategory().getId());
+        generator.writeStringField("name", item.getCategory().getName());
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("seller");
+        generator.writeStringField("id", item.getSeller().getId());
+        generator.writeStringField("name", item.getSeller().getName());
+        generator.writeNumberField("reputation", item.getSeller().getReputation());
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private SplittableRandom randomFor(int ordinal) {
+        return new SplittableRandom(mix(spec.seed() ^ (ordinal * 0x9E3779B97F4A7C15L)));
+    }
+
+    private String itemId(int ordinal, SplittableRandom random) {
+        double pick = random.nextDouble() * siteCumulative[siteCumulative.length - 1];
+        int site = 0;
+        while (site < siteCumulative.length - 1 && pick > siteCumulative[site]) {
+            site++;
+        }
+        // The ordinal keeps IDs unique; the offset keeps them the length of real MeLi IDs
+        return SITES[site] + (1_000_000_000L + ordinal);
+    }
+
+    private static String title(SplittableRandom random, String brand, String noun) {
+        StringBuilder title = new StringBuilder(96);
+        title.append(noun).append(' ').append(brand);
+        if (random.nextInt(100) < 60) {
+            title.append(' ').append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]);
+        }
+        title.append(' ').append((char) ('A' + random.nextInt(26))).append(random.nextInt(10, 9_999));
+        int specs = geometric(random, 0.45, 5);
+        for (int i = 0; i < specs; i++) {
+            title.append(" - ").append(SPECS[random.nextInt(SPECS.length)]);
+        }
+        return title.toString();
+    }
+
+    private static String description(SplittableRandom random, String noun) {
+        int sentences = 1 + geometric(random, 0.25, 14);
+        StringBuilder description = new StringBuilder(sentences * 60);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            String sentence = SENTENCES[random.nextInt(SENTENCES.length)];
+            description.append(sentence.contains("%s")
+                    ? String.format(sentence, noun.toLowerCase())
+                    : sentence);
+        }
+        return description.toString();
+    }
+
+    private static BigDecimal price(SplittableRandom random, int categoryRank) {
+        // Log-normal around a per-category base price between ~10 and ~2000
+        double base = 10 * Math.pow(200, (mix(categoryRank) >>> 11) / (double) (1L << 53));
+        double logNormal = Math.exp(random.nextGaussian() * 0.6);
+        return BigDecimal.valueOf(Math.max(0.99, base * logNormal)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static int stock(SplittableRandom random) {
+        if (random.nextInt(100) < 6) {
+            return 0;
+        }
+        return 1 + geometric(random, 0.08, 999);
+    }
+
+    private Seller seller(int rank, SplittableRandom random) {
+        // Popular sellers tend to have better reputation; the tail is spread out
+        double quality = 1.0 - Math.log1p(rank) / Math.log1p(spec.sellers());
+        double reputation = Math.min(5.0, Math.max(1.0, 2.5 + 2.5 * quality + random.nextGaussian() * 0.4));
+        return Seller.builder()
+                .id("SELLER" + String.format("%05d", rank))
+                .name(BRANDS[rank % BRANDS.length] + " Store " + rank)
+                .reputation(Math.round(reputation * 10) / 10.0)
+                .build();
+    }
+
+    private static int geometric(SplittableRandom random, double p, int max) {
+        int n = (int) (Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+        return Math.min(n, max);
+    }
+
+    // SplitMix64 finalizer: decorrelates seeds of neighbouring ordinals
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int items = 10_000;
+        long seed = 42L;
+        Path output = Path.of("build", "catalog.json");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--items" -> items = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                case "--output" -> output = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        long start = System.nanoTime();
+        CatalogGenerator.of(items, seed).writeJson(output);
+        System.out.printf("Generated %,d items (seed %d) into %s: %,d bytes in %d ms%n",
+                items, seed, output.toAbsolutePath(), Files.size(output),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,30 @@
+package meli.jestebandev.fixtures;
+
+/**
+ * Shape of a synthetic catalog. The same spec always produces the same catalog.
+ *
+ * @param items        number of items to generate
+ * @param seed         seed for every random choice
+ * @param categories   number of distinct categories
+ * @param sellers      number of distinct sellers
+ * @param zipfExponent skew of category and seller popularity (1.0 is classic Zipf)
+ */
+public record CatalogSpec(int items, long seed, int categories, int sellers, double zipfExponent) {
+
+    public static final int DEFAULT_CATEGORIES = 200;
+    public static final int DEFAULT_SELLERS = 5_000;
+    public static final double DEFAULT_ZIPF_EXPONENT = 1.07;
+
+    public CatalogSpec {
+        if (items < 0) {
+            throw new IllegalArgumentException("Item count cannot be negative");
+        }
+        if (categories <= 0 || sellers <= 0) {
+            throw new IllegalArgumentException("Catalog needs at least one category and one seller");
+        }
+    }
+
+    public static CatalogSpec of(int items, long seed) {
+        return new CatalogSpec(items, seed, DEFAULT_CATEGORIES, DEFAULT_SELLERS, DEFAULT_ZIPF_EXPONENT);
+    }
+}